@@ -0,0 +1,238 @@
+package com.example;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.SerializableFunction;
+
+/**
+ * Keeps the children of a container in sync with a list value, reusing
+ * components across list values by key.
+ * <p>
+ * Each reconciliation matches the new elements against the components created
+ * for earlier values, using either element identity or a key extracted from
+ * the element:
+ * <ul>
+ * <li>A component whose key is still present is kept. If its position changed
+ * relative to the other kept components, it is moved.</li>
+ * <li>A component whose key disappeared is removed.</li>
+ * <li>Only elements with a new key are passed to the component factory.</li>
+ * </ul>
+ * Moves are minimized by keeping the longest run of components that are
+ * already in the right relative order in place, so re-sorting a list where one
+ * entry changed rank moves a single child.
+ * <p>
+ * Components are built once per key and never see later element values for the
+ * same key, so the factory should bind to per-element signals rather than copy
+ * their current values. The factory runs inside the reconciling effect and
+ * should read signals with {@code peek()} or bindings only, not with
+ * {@code get()}.
+ *
+ * @param <T>
+ *            the list element type
+ * @param <K>
+ *            the key type
+ * @see MissingAPI#bindKeyedChildren(Component, com.vaadin.flow.signals.Signal,
+ *      SerializableFunction, SerializableFunction)
+ */
+public class KeyedChildrenBinding<T, K> implements Serializable {
+
+    /**
+     * Counts for a single reconciliation.
+     *
+     * @param created
+     *            the number of components built by the factory
+     * @param moved
+     *            the number of kept components that changed position
+     * @param removed
+     *            the number of components removed
+     */
+    public record Reconciliation(int created, int moved, int removed)
+            implements Serializable {
+    }
+
+    private final Element parent;
+    private final SerializableFunction<T, K> keyExtractor;
+    private final SerializableFunction<T, ? extends Component> factory;
+    private final boolean identityKeys;
+
+    private List<K> keys = List.of();
+    private Map<K, Component> components;
+
+    private Reconciliation lastReconciliation = new Reconciliation(0, 0, 0);
+    private long totalCreated;
+    private long totalMoved;
+    private long totalRemoved;
+    private long reconciliationCount;
+
+    KeyedChildrenBinding(Component container,
+            SerializableFunction<T, K> keyExtractor,
+            SerializableFunction<T, ? extends Component> factory,
+            boolean identityKeys) {
+        this.parent = container.getElement();
+        this.keyExtractor = keyExtractor;
+        this.factory = factory;
+        this.identityKeys = identityKeys;
+        this.components = newKeyMap(0);
+    }
+
+    /**
+     * Reconciles the container children with a new list value.
+     *
+     * @param elements
+     *            the new list value
+     */
+    void update(List<? extends T> elements) {
+        int size = elements.size();
+        List<K> nextKeys = new ArrayList<>(size);
+        List<Component> ordered = new ArrayList<>(size);
+        Map<K, Component> nextComponents = newKeyMap(size);
+        Map<K, Integer> previousIndex = newKeyMap(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            previousIndex.put(keys.get(i), i);
+        }
+
+        // Old index of each kept element in new order, -1 for new keys
+        int[] oldIndexes = new int[size];
+        int created = 0;
+        for (int i = 0; i < size; i++) {
+            T element = elements.get(i);
+            K key = keyExtractor.apply(element);
+            if (nextComponents.containsKey(key)) {
+                throw new IllegalArgumentException(
+                        "Duplicate key in list: " + key);
+            }
+            nextKeys.add(key);
+            Component component = components.get(key);
+            if (component == null) {
+                component = factory.apply(element);
+                oldIndexes[i] = -1;
+                created++;
+            } else {
+                oldIndexes[i] = previousIndex.getOrDefault(key, -1);
+            }
+            nextComponents.put(key, component);
+            ordered.add(component);
+        }
+
+        // Remove components whose key is gone
+        int removed = 0;
+        for (var entry : components.entrySet()) {
+            if (!nextComponents.containsKey(entry.getKey())) {
+                parent.removeChild(entry.getValue().getElement());
+                removed++;
+            }
+        }
+
+        // Detach kept components that are out of order, then insert them and
+        // the new components at their target index. Components in the
+        // longest increasing run of old indexes never leave the DOM.
+        boolean[] stable = longestIncreasingRun(oldIndexes);
+        int moved = 0;
+        for (int i = 0; i < size; i++) {
+            if (oldIndexes[i] >= 0 && !stable[i]) {
+                parent.removeChild(ordered.get(i).getElement());
+                moved++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            Element child = ordered.get(i).getElement();
+            if (i >= parent.getChildCount() || parent.getChild(i) != child) {
+                parent.insertChild(i, child);
+            }
+        }
+
+        keys = nextKeys;
+        components = nextComponents;
+        lastReconciliation = new Reconciliation(created, moved, removed);
+        totalCreated += created;
+        totalMoved += moved;
+        totalRemoved += removed;
+        reconciliationCount++;
+    }
+
+    /**
+     * Marks the positions that form a longest strictly increasing subsequence
+     * of the given old indexes. Negative entries (new elements) are ignored.
+     */
+    static boolean[] longestIncreasingRun(int[] oldIndexes) {
+        int n = oldIndexes.length;
+        int[] tails = new int[n];
+        int[] predecessors = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int value = oldIndexes[i];
+            if (value < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (oldIndexes[tails[mid]] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            predecessors[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] stable = new boolean[n];
+        int i = length > 0 ? tails[length - 1] : -1;
+        while (i >= 0) {
+            stable[i] = true;
+            i = predecessors[i];
+        }
+        return stable;
+    }
+
+    private <V> Map<K, V> newKeyMap(int expectedSize) {
+        return identityKeys ? new IdentityHashMap<>(expectedSize)
+                : HashMap.newHashMap(expectedSize);
+    }
+
+    /**
+     * Gets the counts of the most recent reconciliation.
+     */
+    public Reconciliation getLastReconciliation() {
+        return lastReconciliation;
+    }
+
+    /**
+     * Gets the total number of components built by the factory.
+     */
+    public long getTotalCreated() {
+        return totalCreated;
+    }
+
+    /**
+     * Gets the total number of components moved to a new position.
+     */
+    public long getTotalMoved() {
+        return totalMoved;
+    }
+
+    /**
+     * Gets the total number of components removed.
+     */
+    public long getTotalRemoved() {
+        return totalRemoved;
+    }
+
+    /**
+     * Gets the number of reconciliations run so far.
+     */
+    public long getReconciliationCount() {
+        return reconciliationCount;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.jspecify.annotations.Nullable;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.data.provider.DataView;
+import com.vaadin.flow.data.provider.IdentifierProvider;
+import com.vaadin.flow.shared.Registration;
+import com.vaadin.flow.signals.Signal;
+
+/**
+ * Connects a signal-backed list to a lazy data view of a component.
+ * <p>
+ * The binding holds a reference to the latest list value and serves the
+ * component's offset/limit queries from it, so the component never receives
+ * the full item set. When a new list value arrives, it is compared against the
+ * previous one:
+ * <ul>
+ * <li>If only element values changed and every position keeps its identifier,
+ * each changed element is refreshed with {@link DataView#refreshItem}.</li>
+ * <li>If elements were inserted, removed or moved, the change is structural and
+ * the data view is refreshed with {@link DataView#refreshAll}. For a lazy data
+ * view this only re-sends the item count and the currently requested range,
+ * not the whole list.</li>
+ * </ul>
+ * When bound to a list of element signals, each element signal has its own
+ * effect, so a change to one element refreshes its row without reading the
+ * other elements or rebuilding the list. Only changes to the list itself are
+ * diffed as above.
+ * <p>
+ * Refresh counts are tracked so that callers and tests can verify how much was
+ * sent per change.
+ *
+ * @param <T>
+ *            the item type
+ * @see MissingAPI#bindLazyItems(com.vaadin.flow.component.grid.Grid,
+ *      com.vaadin.flow.signals.Signal, IdentifierProvider)
+ */
+public class LazyItemsBinding<T> implements Serializable {
+
+    /**
+     * Above this many changed elements a single full refresh is cheaper than
+     * individual item refreshes.
+     */
+    static final int MAX_ITEM_REFRESHES = 32;
+
+    private final IdentifierProvider<T> identifierProvider;
+    private @Nullable DataView<T> dataView;
+    private List<T> items;
+
+    // Element signal bindings: the position of each bound element signal and
+    // the effect that follows its value
+    private Map<Signal<T>, Integer> positions = new IdentityHashMap<>();
+    private final Map<Signal<T>, Registration> elementEffects;
+
+    private long refreshedItemCount;
+    private long fullRefreshCount;
+    private int lastRefreshedItems;
+    private boolean lastChangeStructural;
+
+    LazyItemsBinding(List<T> initialItems,
+            IdentifierProvider<T> identifierProvider) {
+        this.items = initialItems;
+        this.identifierProvider = identifierProvider;
+        this.elementEffects = new IdentityHashMap<>();
+    }
+
+    void attach(DataView<T> dataView) {
+        this.dataView = dataView;
+        dataView.setIdentifierProvider(identifierProvider);
+    }
+
+    /**
+     * Gets the current window of items.
+     *
+     * @param offset
+     *            the index of the first item
+     * @param limit
+     *            the maximum number of items
+     * @return a stream of the items in the window
+     */
+    Stream<T> fetch(int offset, int limit) {
+        List<T> current = items;
+        int from = Math.min(offset, current.size());
+        int to = (int) Math.min(current.size(), (long) offset + limit);
+        return current.subList(from, to).stream();
+    }
+
+    /**
+     * Gets the current number of items.
+     */
+    int size() {
+        return items.size();
+    }
+
+    /**
+     * Gets all current items. Used by filtered queries that need to scan.
+     */
+    List<T> items() {
+        return items;
+    }
+
+    /**
+     * Applies a new list value, refreshing only what changed.
+     *
+     * @param next
+     *            the new list value
+     */
+    void update(List<T> next) {
+        List<T> previous = items;
+        items = next;
+        DataView<T> view = dataView;
+        if (previous == next || view == null) {
+            return;
+        }
+
+        int refreshed = 0;
+        boolean structural = previous.size() != next.size();
+        if (!structural) {
+            for (int i = 0; i < next.size(); i++) {
+                T before = previous.get(i);
+                T after = next.get(i);
+                if (Objects.equals(before, after)) {
+                    continue;
+                }
+                if (!Objects.equals(identifierProvider.apply(before),
+                        identifierProvider.apply(after))) {
+                    // An element moved or was replaced at this position
+                    structural = true;
+                    break;
+                }
+                refreshed++;
+                if (refreshed > MAX_ITEM_REFRESHES) {
+                    structural = true;
+                    break;
+                }
+            }
+        }
+
+        lastChangeStructural = structural;
+        if (structural) {
+            lastRefreshedItems = 0;
+            fullRefreshCount++;
+            view.refreshAll();
+            return;
+        }
+        lastRefreshedItems = refreshed;
+        refreshedItemCount += refreshed;
+        if (refreshed > 0) {
+            for (int i = 0; i < next.size(); i++) {
+                if (!Objects.equals(previous.get(i), next.get(i))) {
+                    view.refreshItem(next.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a new list of element signals. Element signals that were not
+     * bound before get an effect that refreshes their row when their value
+     * changes, and effects of removed element signals are removed. The
+     * element values are then diffed like a list value.
+     *
+     * @param owner
+     *            the component that owns the element effects
+     * @param elements
+     *            the new list of element signals
+     */
+    void updateElements(Component owner, List<? extends Signal<T>> elements) {
+        Map<Signal<T>, Integer> nextPositions = new IdentityHashMap<>();
+        List<T> values = new ArrayList<>(elements.size());
+        for (Signal<T> element : elements) {
+            nextPositions.put(element, values.size());
+            values.add(element.peek());
+        }
+        elementEffects.entrySet().removeIf(entry -> {
+            if (nextPositions.containsKey(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().remove();
+            return true;
+        });
+        positions = nextPositions;
+        update(values);
+        for (Signal<T> element : elements) {
+            elementEffects.computeIfAbsent(element,
+                    e -> Signal.effect(owner, () -> updateElement(e)));
+        }
+    }
+
+    private void updateElement(Signal<T> element) {
+        T next = element.get();
+        Integer position = positions.get(element);
+        if (position == null) {
+            return;
+        }
+        T previous = items.get(position);
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        // Lists applied by updateElements are private copies
+        items.set(position, next);
+        DataView<T> view = dataView;
+        if (view == null) {
+            return;
+        }
+        if (!Objects.equals(identifierProvider.apply(previous),
+                identifierProvider.apply(next))) {
+            lastChangeStructural = true;
+            lastRefreshedItems = 0;
+            fullRefreshCount++;
+            view.refreshAll();
+            return;
+        }
+        lastChangeStructural = false;
+        lastRefreshedItems = 1;
+        refreshedItemCount++;
+        view.refreshItem(next);
+    }
+
+    /**
+     * Gets the total number of individually refreshed items.
+     */
+    public long getRefreshedItemCount() {
+        return refreshedItemCount;
+    }
+
+    /**
+     * Gets the total number of full refreshes caused by structural changes.
+     */
+    public long getFullRefreshCount() {
+        return fullRefreshCount;
+    }
+
+    /**
+     * Gets the number of items refreshed by the most recent change, or 0 if it
+     * was structural.
+     */
+    public int getLastRefreshedItems() {
+        return lastRefreshedItems;
+    }
+
+    /**
+     * Checks whether the most recent change was structural (insert, remove or
+     * move).
+     */
+    public boolean isLastChangeStructural() {
+        return lastChangeStructural;
+    }
+}
@@ -1,12 +1,20 @@
 package com.example;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import org.jspecify.annotations.Nullable;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.tabs.TabSheet;
 import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.provider.IdentifierProvider;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.signals.Signal;
 import com.vaadin.flow.signals.local.ListSignal;
 
@@ -22,6 +30,9 @@ public class MissingAPI {
      * Creates a reactive effect that updates the grid's items whenever the
      * signal value changes. If the signal value is {@code null}, the grid is
      * cleared.
+     * <p>
+     * Every change replaces the whole in-memory item set. For large lists use
+     * {@link #bindLazyItems(Grid, Signal, IdentifierProvider)} instead.
      *
      * @param <T>
      *            the type of items in the grid
@@ -48,6 +59,9 @@ public class MissingAPI {
      * Creates a reactive effect that updates the virtual list's items whenever
      * the signal value changes. If the signal value is {@code null}, the list
      * is cleared.
+     * <p>
+     * Every change replaces the whole in-memory item set. For large lists use
+     * {@link #bindLazyItems(VirtualList, Signal, IdentifierProvider)} instead.
      *
      * @param <T>
      *            the type of items in the virtual list
@@ -75,6 +89,9 @@ public class MissingAPI {
      * Creates a reactive effect that updates the combo box's items whenever
      * the signal value changes. If the signal value is {@code null}, the combo
      * box is cleared.
+     * <p>
+     * Every change replaces the whole in-memory item set. For large lists use
+     * {@link #bindLazyItems(ComboBox, Signal, IdentifierProvider)} instead.
      *
      * @param <T>
      *            the type of items in the combo box
@@ -84,8 +101,7 @@ public class MissingAPI {
      *            a signal containing the list of items. Must not be
      *            {@code null}.
      */
-    public static <T> void bindItems(
-            com.vaadin.flow.component.combobox.ComboBox<T> comboBox,
+    public static <T> void bindItems(ComboBox<T> comboBox,
             Signal<List<T>> signal) {
         Signal.effect(comboBox, () -> {
             List<T> items = signal.get();
@@ -97,6 +113,265 @@ public class MissingAPI {
         });
     }
 
+    /**
+     * Binds a Grid's items to a Signal containing a List through a lazy data
+     * provider.
+     * <p>
+     * The grid only fetches the offset/limit window it renders. When the
+     * signal value changes, elements whose value changed in place are
+     * refreshed individually; inserts, removals and moves trigger a refresh of
+     * the item count and the visible range. Elements are identified by
+     * {@code equals}.
+     *
+     * @param <T>
+     *            the type of items in the grid
+     * @param grid
+     *            the grid to bind. Must not be {@code null}.
+     * @param signal
+     *            a signal containing the list of items. Must not be
+     *            {@code null}.
+     * @return the binding, exposing refresh statistics
+     */
+    public static <T> LazyItemsBinding<T> bindLazyItems(Grid<T> grid,
+            Signal<List<T>> signal) {
+        return bindLazyItems(grid, signal, item -> item);
+    }
+
+    /**
+     * Binds a Grid's items to a Signal containing a List through a lazy data
+     * provider, identifying elements with the given identifier provider.
+     * <p>
+     * A stable identifier, such as a record's id, lets an updated element
+     * replace its previous version in place with a single item refresh.
+     *
+     * @param <T>
+     *            the type of items in the grid
+     * @param grid
+     *            the grid to bind. Must not be {@code null}.
+     * @param signal
+     *            a signal containing the list of items. Must not be
+     *            {@code null}.
+     * @param identifierProvider
+     *            provides a stable identifier for each element. Must not be
+     *            {@code null}.
+     * @return the binding, exposing refresh statistics
+     */
+    public static <T> LazyItemsBinding<T> bindLazyItems(Grid<T> grid,
+            Signal<List<T>> signal, IdentifierProvider<T> identifierProvider) {
+        var binding = new LazyItemsBinding<>(valueOrEmpty(signal.peek()),
+                identifierProvider);
+        binding.attach(grid.setItems(
+                query -> binding.fetch(query.getOffset(), query.getLimit()),
+                query -> binding.size()));
+        Signal.effect(grid, () -> binding.update(valueOrEmpty(signal.get())));
+        return binding;
+    }
+
+    /**
+     * Binds a Grid's items to a Signal containing a List of element signals
+     * through a lazy data provider, identifying elements with the given
+     * identifier provider.
+     * <p>
+     * Each element signal is followed by its own effect, so a change to one
+     * element refreshes one row without reading the other elements. Inserts,
+     * removals and moves in the list signal are diffed as in
+     * {@link #bindLazyItems(Grid, Signal, IdentifierProvider)}.
+     *
+     * @param <T>
+     *            the type of items in the grid
+     * @param grid
+     *            the grid to bind. Must not be {@code null}.
+     * @param signal
+     *            a signal containing the list of element signals, such as a
+     *            list signal. Must not be {@code null}.
+     * @param identifierProvider
+     *            provides a stable identifier for each element. Must not be
+     *            {@code null}.
+     * @return the binding, exposing refresh statistics
+     */
+    public static <T> LazyItemsBinding<T> bindLazyItemSignals(Grid<T> grid,
+            Signal<? extends List<? extends Signal<T>>> signal,
+            IdentifierProvider<T> identifierProvider) {
+        var binding = new LazyItemsBinding<T>(List.of(), identifierProvider);
+        binding.attach(grid.setItems(
+                query -> binding.fetch(query.getOffset(), query.getLimit()),
+                query -> binding.size()));
+        Signal.effect(grid, () -> {
+            List<? extends Signal<T>> elements = signal.get();
+            binding.updateElements(grid,
+                    elements != null ? elements : List.of());
+        });
+        return binding;
+    }
+
+    /**
+     * Binds a VirtualList's items to a Signal containing a List through a lazy
+     * data provider, identifying elements with the given identifier provider.
+     *
+     * @param <T>
+     *            the type of items in the virtual list
+     * @param virtualList
+     *            the virtual list to bind. Must not be {@code null}.
+     * @param signal
+     *            a signal containing the list of items. Must not be
+     *            {@code null}.
+     * @param identifierProvider
+     *            provides a stable identifier for each element. Must not be
+     *            {@code null}.
+     * @return the binding, exposing refresh statistics
+     * @see #bindLazyItems(Grid, Signal, IdentifierProvider)
+     */
+    public static <T> LazyItemsBinding<T> bindLazyItems(
+            VirtualList<T> virtualList, Signal<List<T>> signal,
+            IdentifierProvider<T> identifierProvider) {
+        var binding = new LazyItemsBinding<>(valueOrEmpty(signal.peek()),
+                identifierProvider);
+        binding.attach(virtualList.setItems(
+                query -> binding.fetch(query.getOffset(), query.getLimit()),
+                query -> binding.size()));
+        Signal.effect(virtualList,
+                () -> binding.update(valueOrEmpty(signal.get())));
+        return binding;
+    }
+
+    /**
+     * Binds a ComboBox's items to a Signal containing a List through a lazy
+     * data provider, identifying elements with the given identifier provider.
+     * <p>
+     * Without a filter, only the requested window is sent to the client. When
+     * the user types a filter, items are matched case-insensitively against
+     * their label and streamed through the requested window without
+     * collecting the filtered list.
+     *
+     * @param <T>
+     *            the type of items in the combo box
+     * @param comboBox
+     *            the combo box to bind. Must not be {@code null}.
+     * @param signal
+     *            a signal containing the list of items. Must not be
+     *            {@code null}.
+     * @param identifierProvider
+     *            provides a stable identifier for each element. Must not be
+     *            {@code null}.
+     * @return the binding, exposing refresh statistics
+     * @see #bindLazyItems(Grid, Signal, IdentifierProvider)
+     */
+    public static <T> LazyItemsBinding<T> bindLazyItems(ComboBox<T> comboBox,
+            Signal<List<T>> signal, IdentifierProvider<T> identifierProvider) {
+        var binding = new LazyItemsBinding<>(valueOrEmpty(signal.peek()),
+                identifierProvider);
+        binding.attach(comboBox.setItems(query -> {
+            String filter = query.getFilter().orElse("");
+            if (filter.isEmpty()) {
+                return binding.fetch(query.getOffset(), query.getLimit());
+            }
+            return binding.items().stream()
+                    .filter(labelFilter(comboBox, filter))
+                    .skip(query.getOffset()).limit(query.getLimit());
+        }, query -> {
+            String filter = query.getFilter().orElse("");
+            if (filter.isEmpty()) {
+                return binding.size();
+            }
+            return (int) binding.items().stream()
+                    .filter(labelFilter(comboBox, filter)).count();
+        }));
+        Signal.effect(comboBox,
+                () -> binding.update(valueOrEmpty(signal.get())));
+        return binding;
+    }
+
+    /**
+     * Binds the children of a container to a Signal containing a List,
+     * matching elements to existing child components by identity.
+     * <p>
+     * Unlike {@code bindChildren}, a recomputed list that contains the same
+     * element instances in a new order moves the existing components instead
+     * of recreating them, and the factory is only called for elements that
+     * were not in the previous list. The container must not have other
+     * children.
+     *
+     * @param <T>
+     *            the type of list elements, typically per-element signals
+     * @param container
+     *            the container whose children are managed. Must not be
+     *            {@code null}.
+     * @param signal
+     *            a signal containing the list of elements. Must not be
+     *            {@code null}.
+     * @param factory
+     *            creates the component for a new element. Must not be
+     *            {@code null}.
+     * @return the binding, exposing reconciliation statistics
+     * @see KeyedChildrenBinding
+     */
+    public static <T> KeyedChildrenBinding<T, T> bindKeyedChildren(
+            Component container, Signal<? extends List<T>> signal,
+            SerializableFunction<T, ? extends Component> factory) {
+        return bindKeyedChildren(container, signal, element -> element,
+                factory, true);
+    }
+
+    /**
+     * Binds the children of a container to a Signal containing a List,
+     * matching elements to existing child components by an extracted key.
+     * <p>
+     * Keys are compared with {@code equals} and must be unique within a list
+     * value. An element whose key was present in the previous list keeps its
+     * component even if the element instance changed, so components should
+     * not depend on the element beyond its key.
+     *
+     * @param <T>
+     *            the type of list elements
+     * @param <K>
+     *            the type of keys
+     * @param container
+     *            the container whose children are managed. Must not be
+     *            {@code null}.
+     * @param signal
+     *            a signal containing the list of elements. Must not be
+     *            {@code null}.
+     * @param keyExtractor
+     *            extracts the key of an element. Must not be {@code null}.
+     * @param factory
+     *            creates the component for an element with a new key. Must
+     *            not be {@code null}.
+     * @return the binding, exposing reconciliation statistics
+     * @see #bindKeyedChildren(Component, Signal, SerializableFunction)
+     */
+    public static <T, K> KeyedChildrenBinding<T, K> bindKeyedChildren(
+            Component container, Signal<? extends List<T>> signal,
+            SerializableFunction<T, K> keyExtractor,
+            SerializableFunction<T, ? extends Component> factory) {
+        return bindKeyedChildren(container, signal, keyExtractor, factory,
+                false);
+    }
+
+    private static <T, K> KeyedChildrenBinding<T, K> bindKeyedChildren(
+            Component container, Signal<? extends List<T>> signal,
+            SerializableFunction<T, K> keyExtractor,
+            SerializableFunction<T, ? extends Component> factory,
+            boolean identityKeys) {
+        var binding = new KeyedChildrenBinding<>(container, keyExtractor,
+                factory, identityKeys);
+        Signal.effect(container, () -> {
+            List<? extends T> elements = signal.get();
+            binding.update(elements != null ? elements : List.of());
+        });
+        return binding;
+    }
+
+    private static <T> Predicate<T> labelFilter(ComboBox<T> comboBox,
+            String filter) {
+        String lowerCaseFilter = filter.toLowerCase(Locale.ROOT);
+        return item -> comboBox.getItemLabelGenerator().apply(item)
+                .toLowerCase(Locale.ROOT).contains(lowerCaseFilter);
+    }
+
+    private static <T> List<T> valueOrEmpty(@Nullable List<T> items) {
+        return items != null ? items : List.of();
+    }
+
     /**
      * Synchronizes the selected index between a Tabs component and a writable
      * signal.
@@ -0,0 +1,170 @@
+package com.example.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.jspecify.annotations.Nullable;
+
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.server.streams.DownloadHandler;
+
+/**
+ * Exports rows to CSV or XLSX while they are streamed from their source.
+ * <p>
+ * Rows are read one at a time from a {@link Stream}, usually the data
+ * provider of a grid with its current filter and sort order, and written
+ * straight to the response through a fixed-size buffer that is flushed every
+ * {@value #CHUNK_ROWS} rows. Memory use is therefore the same for ten rows
+ * and for millions, and the download starts right away instead of after the
+ * whole file is built.
+ *
+ * @param <T>
+ *            the row type
+ */
+public final class TableExport<T> implements Serializable {
+
+    /** The number of rows written between flushes of the output. */
+    static final int CHUNK_ROWS = 10_000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * A column of the exported table.
+     *
+     * @param header
+     *            the text of the header row
+     * @param value
+     *            gets the value of a row, numbers are kept as numbers in
+     *            XLSX
+     */
+    public record Column<T>(String header,
+            SerializableFunction<T, ? extends @Nullable Object> value)
+            implements Serializable {
+    }
+
+    /**
+     * A file format to export to.
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        TableWriter open(OutputStream out) {
+            return switch (this) {
+            case CSV -> new CsvTableWriter(out);
+            case XLSX -> new XlsxTableWriter(out);
+            };
+        }
+    }
+
+    private final List<Column<T>> columns;
+
+    public TableExport(List<Column<T>> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * Writes a header row and then the given rows. The stream is consumed
+     * and closed, but the output is left open.
+     *
+     * @param format
+     *            the file format
+     * @param rows
+     *            the rows to write, in order
+     * @param out
+     *            where to write
+     * @return the number of rows written, not counting the header
+     * @throws IOException
+     *             if writing fails
+     */
+    public long write(Format format, Stream<T> rows, OutputStream out)
+            throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(out,
+                BUFFER_SIZE);
+        TableWriter writer = format.open(buffer);
+        writer.header(columns.stream().map(Column::header).toList());
+        @Nullable Object[] values = new Object[columns.size()];
+        long count = 0;
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = columns.get(i).value().apply(row);
+                }
+                writer.row(values);
+                if (++count % CHUNK_ROWS == 0) {
+                    buffer.flush();
+                }
+            }
+        }
+        writer.finish();
+        buffer.flush();
+        return count;
+    }
+
+    /**
+     * Creates a download handler that exports the rows supplied at the time
+     * of the download.
+     * <p>
+     * The supplier runs while holding the session lock, so that it can read
+     * the current state of the UI, but the returned stream is consumed after
+     * the lock is released. The stream must therefore not read components
+     * or signals lazily. This includes {@link #itemsOf(Grid)} for a lazy data
+     * provider, whose callbacks are called as the stream is consumed; read
+     * the filter and sort order in the supplier instead and stream from the
+     * backend directly.
+     *
+     * @param format
+     *            the file format
+     * @param baseName
+     *            the name of the downloaded file without extension
+     * @param rows
+     *            supplies the rows to export
+     * @return the download handler
+     */
+    public DownloadHandler download(Format format, String baseName,
+            SerializableSupplier<Stream<T>> rows) {
+        return event -> {
+            event.setFileName(baseName + "." + format.getExtension());
+            event.setContentType(format.getContentType());
+            AtomicReference<Stream<T>> stream = new AtomicReference<>();
+            event.getUI().accessSynchronously(() -> stream.set(rows.get()));
+            write(format, stream.get(), event.getOutputStream());
+        };
+    }
+
+    /**
+     * Gets the rows of a grid as it currently shows them, with its filter
+     * and sort order applied. Lazy data providers are queried as the
+     * returned stream is consumed, without loading all rows first.
+     */
+    public static <T> Stream<T> itemsOf(Grid<T> grid) {
+        return grid.getGenericDataView().getItems();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.export;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes a table row by row in a file format. Implementations only keep the
+ * current row and a fixed-size output buffer in memory.
+ */
+interface TableWriter {
+
+    /**
+     * Writes the header row. Called once, before any other row.
+     */
+    void header(List<String> headers) throws IOException;
+
+    /**
+     * Writes a row. Numbers are written as numbers where the format supports
+     * it, other values as their string representation.
+     */
+    void row(@Nullable Object[] values) throws IOException;
+
+    /**
+     * Writes what follows the last row and flushes the output.
+     */
+    void finish() throws IOException;
+}
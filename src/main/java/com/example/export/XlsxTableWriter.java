@@ -0,0 +1,179 @@
+package com.example.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes a table as an Office Open XML spreadsheet without holding it in
+ * memory.
+ * <p>
+ * An XLSX file is a zip archive of XML parts. The worksheets are written
+ * first, row by row, with strings inlined in the cells instead of collected
+ * in a shared string table. The workbook and the other parts that list the
+ * worksheets are written at the end, once their number is known. A worksheet
+ * holds at most {@value #MAX_SHEET_ROWS} rows, so longer tables continue on
+ * further worksheets, each starting with the header row.
+ */
+final class XlsxTableWriter implements TableWriter {
+
+    /** The number of rows of a worksheet in Excel. */
+    static final int MAX_SHEET_ROWS = 1_048_576;
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final int maxSheetRows;
+    private List<String> headers = List.of();
+    private int sheets;
+    private int sheetRow;
+
+    XlsxTableWriter(OutputStream out) {
+        this(out, MAX_SHEET_ROWS);
+    }
+
+    XlsxTableWriter(OutputStream out, int maxSheetRows) {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // Repetitive XML compresses well even at the fastest level, which
+        // keeps compression from being the bottleneck of large exports
+        zip.setLevel(Deflater.BEST_SPEED);
+        this.writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        this.maxSheetRows = maxSheetRows;
+    }
+
+    @Override
+    public void header(List<String> headers) throws IOException {
+        this.headers = List.copyOf(headers);
+        startSheet();
+    }
+
+    @Override
+    public void row(@Nullable Object[] values) throws IOException {
+        if (sheetRow == maxSheetRows) {
+            endSheet();
+            startSheet();
+        }
+        writeRow(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        endSheet();
+        writeWorkbook();
+        writer.flush();
+        zip.finish();
+        zip.flush();
+    }
+
+    private void startSheet() throws IOException {
+        sheets++;
+        sheetRow = 0;
+        zip.putNextEntry(
+                new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        writer.write(XML_HEADER);
+        writer.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        writeRow(headers.toArray());
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeRow(@Nullable Object[] values) throws IOException {
+        sheetRow++;
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(sheetRow));
+        writer.write("\">");
+        for (Object value : values) {
+            if (value == null) {
+                writer.write("<c/>");
+            } else if (value instanceof Number number
+                    && Double.isFinite(number.doubleValue())) {
+                writer.write("<c><v>");
+                writer.write(number.toString());
+                writer.write("</v></c>");
+            } else {
+                writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(value.toString());
+                writer.write("</t></is></c>");
+            }
+        }
+        writer.write("</row>");
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '<' -> writer.write("&lt;");
+            case '>' -> writer.write("&gt;");
+            case '&' -> writer.write("&amp;");
+            case '"' -> writer.write("&quot;");
+            default -> {
+                // Control characters other than tab and line breaks are not
+                // allowed in XML
+                if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                    writer.write(c);
+                }
+            }
+            }
+        }
+    }
+
+    private void writeWorkbook() throws IOException {
+        StringBuilder sheetList = new StringBuilder();
+        StringBuilder sheetRelations = new StringBuilder();
+        StringBuilder sheetTypes = new StringBuilder();
+        for (int i = 1; i <= sheets; i++) {
+            sheetList.append("<sheet name=\"Sheet").append(i)
+                    .append("\" sheetId=\"").append(i).append("\" r:id=\"rId")
+                    .append(i).append("\"/>");
+            sheetRelations.append("<Relationship Id=\"rId").append(i)
+                    .append("\" Type=\"").append(REL_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet")
+                    .append(i).append(".xml\"/>");
+            sheetTypes.append("<Override PartName=\"/xl/worksheets/sheet")
+                    .append(i).append(".xml\" ContentType=\"application/")
+                    .append("vnd.openxmlformats-officedocument.spreadsheetml")
+                    .append(".worksheet+xml\"/>");
+        }
+        writeEntry("xl/workbook.xml", "<workbook xmlns=\"" + MAIN_NS
+                + "\" xmlns:r=\"" + REL_NS + "\"><sheets>" + sheetList
+                + "</sheets></workbook>");
+        writeEntry("xl/_rels/workbook.xml.rels",
+                "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                        + sheetRelations + "</Relationships>");
+        writeEntry("_rels/.rels",
+                "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                        + "<Relationship Id=\"rId1\" Type=\"" + REL_NS
+                        + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                        + "</Relationships>");
+        writeEntry("[Content_Types].xml",
+                "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                        + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                        + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                        + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                        + sheetTypes + "</Types>");
+    }
+
+    private void writeEntry(String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(XML_HEADER);
+        writer.write(xml);
+        writer.flush();
+        zip.closeEntry();
+    }
+}
@@ -7,6 +7,7 @@ import com.example.signals.SessionIdHelper;
 import com.example.signals.UserSessionRegistry;
 import com.example.views.ActiveUsersDisplay;
 import com.example.views.MainLayout;
+import com.example.views.WindowedList;
 import org.jspecify.annotations.Nullable;
 
 import com.vaadin.flow.component.AttachEvent;
@@ -22,6 +23,8 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.shared.SharedValueSignal;
 
 /**
  * Multi-User Case 1: Shared Chat/Message List
@@ -41,6 +44,13 @@ import com.vaadin.flow.router.Route;
 @PermitAll
 public class MUC01View extends VerticalLayout {
 
+    // Rendered height of one message, used for windowing. Messages are
+    // clamped to this height so that the scroll position maps to the right
+    // messages.
+    private static final int MESSAGE_HEIGHT_PX = 80;
+    private static final int MESSAGE_GAP_PX = 8;
+    private static final int MESSAGES_PADDING_PX = 16;
+
     private final String currentUser;
     private final MUC01Signals muc01Signals;
     private final UserSessionRegistry userSessionRegistry;
@@ -74,17 +84,17 @@ public class MUC01View extends VerticalLayout {
         ActiveUsersDisplay activeUsersDisplay = new ActiveUsersDisplay(
                 userSessionRegistry, "muc-01");
 
-        // Message display area
-        Div messagesContainer = new Div();
+        // Message display area: only the visible window of messages is
+        // materialized, recycling message components while scrolling
+        WindowedList<SharedValueSignal<MUC01Signals.Message>> messagesContainer = new WindowedList<>(
+                muc01Signals.getMessagesSignal(), MESSAGE_HEIGHT_PX,
+                this::createMessageComponent);
+        messagesContainer.setItemGap(MESSAGE_GAP_PX);
+        messagesContainer.setContentPadding(MESSAGES_PADDING_PX);
         messagesContainer.setWidthFull();
         messagesContainer.getStyle().set("background-color", "#f5f5f5")
                 .set("border", "1px solid #e0e0e0").set("border-radius", "4px")
-                .set("padding", "1em").set("min-height", "200px")
-                .set("overflow-y", "auto").set("max-height", "400px");
-
-        // Bind message list to UI
-        messagesContainer.bindChildren(muc01Signals.getMessagesSignal(),
-                msgSignal -> createMessageComponent(msgSignal.get()));
+                .set("min-height", "200px").set("max-height", "400px");
 
         // Message input
         TextField messageInput = new TextField();
@@ -132,17 +142,27 @@ public class MUC01View extends VerticalLayout {
         this.sessionId = SessionIdHelper.getCurrentSessionId();
     }
 
-    private Div createMessageComponent(MUC01Signals.Message message) {
+    private Div createMessageComponent(
+            Signal<SharedValueSignal<MUC01Signals.Message>> slotSignal) {
+        // The component is recycled for other messages while scrolling, so
+        // all content is bound to the message currently in the slot
+        Signal<MUC01Signals.Message> message = Signal
+                .computed(() -> slotSignal.get().get());
+
         Div messageDiv = new Div();
         messageDiv.getStyle().set("background-color", "#ffffff")
                 .set("border-left", "3px solid var(--lumo-primary-color)")
-                .set("padding", "0.75em").set("margin-bottom", "0.5em")
+                .set("padding", "0.75em")
                 .set("border-radius", "4px").set("display", "flex")
-                .set("gap", "0.75em");
+                .set("gap", "0.75em").set("box-sizing", "border-box")
+                .set("height", MESSAGE_HEIGHT_PX + "px")
+                .set("overflow", "hidden");
 
         // Avatar
-        Image avatar = new Image(
-                MainLayout.getProfilePicturePath(message.username()), "");
+        Image avatar = new Image();
+        avatar.setAlt("");
+        avatar.getElement().bindAttribute("src", message
+                .map(m -> MainLayout.getProfilePicturePath(m.username())));
         avatar.setWidth("40px");
         avatar.setHeight("40px");
         avatar.getStyle().set("border-radius", "50%").set("object-fit", "cover")
@@ -150,7 +170,7 @@ public class MUC01View extends VerticalLayout {
 
         // Content area (header + text)
         Div contentArea = new Div();
-        contentArea.getStyle().set("flex", "1");
+        contentArea.getStyle().set("flex", "1").set("min-width", "0");
 
         Div header = new Div();
         header.getStyle().set("display", "flex")
@@ -158,20 +178,27 @@ public class MUC01View extends VerticalLayout {
                 .set("margin-bottom", "0.5em");
 
         Div author = new Div();
-        author.setText(message.author());
+        author.bindText(message.map(MUC01Signals.Message::author));
         author.getStyle().set("font-weight", "bold").set("color",
                 "var(--lumo-primary-color)");
 
         Div timestamp = new Div();
-        timestamp.setText(message.getFormattedTimestamp());
+        timestamp.bindText(
+                message.map(MUC01Signals.Message::getFormattedTimestamp));
         timestamp.getStyle().set("font-size", "0.85em").set("color",
                 "var(--lumo-secondary-text-color)");
 
         header.add(author, timestamp);
 
+        // Long messages are cut to one line to keep the fixed height, the
+        // full text is shown as a tooltip
         Div text = new Div();
-        text.setText(message.text());
-        text.getStyle().set("color", "var(--lumo-body-text-color)");
+        text.bindText(message.map(MUC01Signals.Message::text));
+        text.getElement().bindAttribute("title",
+                message.map(MUC01Signals.Message::text));
+        text.getStyle().set("color", "var(--lumo-body-text-color)")
+                .set("white-space", "nowrap").set("overflow", "hidden")
+                .set("text-overflow", "ellipsis");
 
         contentArea.add(header, text);
         messageDiv.add(avatar, contentArea);
@@ -2,15 +2,21 @@ package com.example.muc02;
 
 import jakarta.annotation.security.PermitAll;
 
+import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
+import com.example.signals.PushCoalescingService;
 import com.example.signals.SessionIdHelper;
+import com.example.signals.SignalMetrics;
+import com.example.signals.TabDormancy;
 import com.example.signals.UserSessionRegistry;
+import com.example.signals.ViewSignalMetrics;
 import com.example.views.ActiveUsersDisplay;
 import com.example.views.MainLayout;
 import org.jspecify.annotations.Nullable;
 
 import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
@@ -41,16 +47,30 @@ import com.vaadin.flow.signals.shared.SharedValueSignal;
 @PermitAll
 public class MUC02View extends VerticalLayout {
 
+    private static final String CURSORS_METRIC = "cursors";
+
+    /**
+     * The cursor of one session, keyed in the shared map by its session key.
+     */
+    private record Cursor(String sessionKey,
+            SharedValueSignal<MUC02Signals.CursorPosition> position) {
+    }
+
     private final String currentUser;
     private @Nullable SharedValueSignal<MUC02Signals.CursorPosition> myCursorSignal;
     private final MUC02Signals muc02Signals;
     private final UserSessionRegistry userSessionRegistry;
+    private final TabDormancy dormancy;
+    private final PushCoalescingService pushCoalescingService;
+    private final ViewSignalMetrics metrics;
     private @Nullable String sessionId;
-    private final java.util.IdentityHashMap<SharedValueSignal<MUC02Signals.CursorPosition>, String> cursorKeyMap = new java.util.IdentityHashMap<>();
+    private final Signal<java.util.List<Cursor>> cursorsSignal;
 
     public MUC02View(CurrentUserSignal currentUserSignal,
             MUC02Signals muc02Signals,
-            UserSessionRegistry userSessionRegistry) {
+            UserSessionRegistry userSessionRegistry,
+            PushCoalescingService pushCoalescingService,
+            SignalMetrics signalMetrics) {
         CurrentUserSignal.UserInfo userInfo = currentUserSignal.getUserSignal()
                 .peek();
         if (userInfo == null || !userInfo.isAuthenticated()) {
@@ -60,6 +80,14 @@ public class MUC02View extends VerticalLayout {
         this.currentUser = userInfo.getUsername();
         this.muc02Signals = muc02Signals;
         this.userSessionRegistry = userSessionRegistry;
+        this.dormancy = TabDormancy.forUI(UI.getCurrent());
+        this.pushCoalescingService = pushCoalescingService;
+        this.metrics = signalMetrics.forView(MUC02View.class);
+        metrics.observe(this, CURSORS_METRIC);
+        this.cursorsSignal = Signal.computed(() -> muc02Signals
+                .getSessionCursorsSignal().get().entrySet().stream()
+                .map(entry -> new Cursor(entry.getKey(), entry.getValue()))
+                .toList());
 
         setSpacing(true);
         setPadding(true);
@@ -100,6 +128,7 @@ public class MUC02View extends VerticalLayout {
                         .asDouble();
                 myCursorSignal.set(new MUC02Signals.CursorPosition(
                         (int) clientX, (int) clientY));
+                metrics.recordWrite(CURSORS_METRIC);
             }
         }).addEventData("event.offsetX").addEventData("event.offsetY");
 
@@ -114,13 +143,12 @@ public class MUC02View extends VerticalLayout {
                 .set("padding", "1em").set("border-radius", "4px");
 
         // Display cursor positions per session - reactive
-        usersList.bindChildren(
-                muc02Signals.getSessionCursorsSignal().map(cursors -> {
-                    cursorKeyMap.clear();
-                    cursors.forEach(
-                            (key, signal) -> cursorKeyMap.put(signal, key));
-                    return new java.util.ArrayList<>(cursors.values());
-                }), this::createCursorListItem);
+        MissingAPI.bindKeyedChildren(usersList, cursorsSignal,
+                Cursor::position, this::createCursorListItem);
+        // Merge bursts of cursor moves from other users into fewer pushes
+        pushCoalescingService.track(usersList, Signal.computed(
+                () -> cursorsSignal.get().stream()
+                        .map(cursor -> cursor.position().get()).toList()));
 
         // Info box
         Div infoBox = new Div();
@@ -143,11 +171,13 @@ public class MUC02View extends VerticalLayout {
         this.sessionId = SessionIdHelper.getCurrentSessionId();
         this.myCursorSignal = muc02Signals.getCursorSignalForUser(currentUser,
                 sessionId);
+        pushCoalescingService.enable(attachEvent.getUI());
     }
 
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
+        pushCoalescingService.disable(detachEvent.getUI());
         if (sessionId != null) {
             muc02Signals.unregisterCursor(currentUser, sessionId);
         }
@@ -155,39 +185,38 @@ public class MUC02View extends VerticalLayout {
 
     private void renderAllCursors(Div container) {
         // Reactive rendering of cursor indicators
-        container.bindChildren(Signal.computed(() -> {
-            var cursors = muc02Signals.getSessionCursorsSignal().get();
-            cursorKeyMap.clear();
-            cursors.forEach((key, signal) -> cursorKeyMap.put(signal, key));
-            String ownKey = currentUser + ":" + sessionId;
-            return cursors.entrySet().stream()
-                    .filter(entry -> sessionId == null
-                            || !entry.getKey().equals(ownKey))
-                    .map(java.util.Map.Entry::getValue).toList();
-        }), this::createCursorIndicator);
+        MissingAPI.bindKeyedChildren(container,
+                metrics.computed("other-cursors", () -> {
+                    String ownKey = currentUser + ":" + sessionId;
+                    return cursorsSignal.get().stream()
+                            .filter(cursor -> sessionId == null
+                                    || !cursor.sessionKey().equals(ownKey))
+                            .toList();
+                }), Cursor::position, this::createCursorIndicator);
     }
 
-    private String lookupSessionKey(
-            SharedValueSignal<MUC02Signals.CursorPosition> positionSignal) {
-        return cursorKeyMap.getOrDefault(positionSignal, "");
-    }
-
-    private java.util.Map<String, String> buildDisplayNameMap() {
-        var users = userSessionRegistry.getActiveUsersSignal().get();
-        var displayNames = userSessionRegistry.getDisplayNamesSignal().get();
-        java.util.Map<String, String> map = new java.util.HashMap<>();
-        for (int i = 0; i < users.size() && i < displayNames.size(); i++) {
-            map.put(users.get(i).get().getCompositeKey(), displayNames.get(i));
-        }
-        return map;
+    /**
+     * Gets the display name of a session, following nickname changes.
+     */
+    private Signal<String> displayNameSignal(String sessionKey) {
+        return Signal.computed(() -> {
+            var users = userSessionRegistry.getActiveUsersSignal().get();
+            var displayNames = userSessionRegistry.getDisplayNamesSignal()
+                    .get();
+            for (int i = 0; i < users.size() && i < displayNames.size(); i++) {
+                if (users.get(i).peek().getCompositeKey()
+                        .equals(sessionKey)) {
+                    return displayNames.get(i);
+                }
+            }
+            return "[" + sessionKey + "]";
+        });
     }
 
-    private HorizontalLayout createCursorListItem(
-            SharedValueSignal<MUC02Signals.CursorPosition> positionSignal) {
-        String sessionKey = lookupSessionKey(positionSignal);
-        String displayName = buildDisplayNameMap().getOrDefault(sessionKey,
-                "[" + sessionKey + "]");
-        String username = sessionKey.split(":")[0];
+    private HorizontalLayout createCursorListItem(Cursor cursor) {
+        SharedValueSignal<MUC02Signals.CursorPosition> positionSignal = cursor
+                .position();
+        String username = cursor.sessionKey().split(":")[0];
 
         HorizontalLayout userItem = new HorizontalLayout();
         userItem.setSpacing(true);
@@ -204,11 +233,11 @@ public class MUC02View extends VerticalLayout {
                 "cover");
 
         Div userLabel = new Div();
-        userLabel.setText(displayName);
+        userLabel.bindText(displayNameSignal(cursor.sessionKey()));
         userLabel.getStyle().set("font-weight", "500");
 
-        Div positionLabel = new Div(
-                positionSignal.map(MUC02Signals.CursorPosition::toString));
+        Div positionLabel = new Div(dormancy.gate(positionSignal)
+                .map(MUC02Signals.CursorPosition::toString));
         positionLabel.getStyle().set("font-family", "monospace")
                 .set("color", "var(--lumo-secondary-text-color)")
                 .set("margin-left", "auto");
@@ -217,11 +246,9 @@ public class MUC02View extends VerticalLayout {
         return userItem;
     }
 
-    private Div createCursorIndicator(
-            SharedValueSignal<MUC02Signals.CursorPosition> positionSignal) {
-        String sessionKey = lookupSessionKey(positionSignal);
-        String displayName = buildDisplayNameMap().getOrDefault(sessionKey,
-                "[" + sessionKey + "]");
+    private Div createCursorIndicator(Cursor cursor) {
+        SharedValueSignal<MUC02Signals.CursorPosition> positionSignal = cursor
+                .position();
 
         Div cursorIndicator = new Div();
         cursorIndicator.getStyle().set("position", "absolute")
@@ -232,13 +259,16 @@ public class MUC02View extends VerticalLayout {
                 .set("transform", "translate(-50%, -50%)")
                 .set("z-index", "1000");
 
-        cursorIndicator.getStyle().bind("left", positionSignal
+        // Other users' cursor moves are not applied while this tab is hidden
+        Signal<MUC02Signals.CursorPosition> visiblePositionSignal = dormancy
+                .gate(positionSignal);
+        cursorIndicator.getStyle().bind("left", visiblePositionSignal
                 .map(pos -> pos != null ? pos.x() + "px" : "0px"));
-        cursorIndicator.getStyle().bind("top", positionSignal
+        cursorIndicator.getStyle().bind("top", visiblePositionSignal
                 .map(pos -> pos != null ? pos.y() + "px" : "0px"));
 
         Div label = new Div();
-        label.setText(displayName);
+        label.bindText(displayNameSignal(cursor.sessionKey()));
         label.getStyle().set("position", "absolute").set("top", "25px")
                 .set("left", "0").set("white-space", "nowrap")
                 .set("background-color", "rgba(0, 0, 0, 0.7)")
@@ -4,6 +4,7 @@ import jakarta.annotation.security.PermitAll;
 
 import java.util.Random;
 
+import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
 import com.example.signals.SessionIdHelper;
 import com.example.signals.UserSessionRegistry;
@@ -142,9 +143,10 @@ public class MUC03View extends VerticalLayout {
         leaderboardDiv.getStyle().set("background-color", "#e3f2fd")
                 .set("padding", "1em").set("border-radius", "4px");
 
-        // Bind leaderboard display - sorted by score descending
-        leaderboardDiv
-                .bindChildren(com.vaadin.flow.signals.Signal.computed(() -> {
+        // Bind leaderboard display - sorted by score descending. Re-sorting
+        // moves the existing entries instead of rebuilding them.
+        MissingAPI.bindKeyedChildren(leaderboardDiv,
+                com.vaadin.flow.signals.Signal.computed(() -> {
                     var scores = muc03Signals.getLeaderboardSignal().get();
                     scoreKeyMap.clear();
                     scores.forEach(
@@ -2,6 +2,7 @@ package com.example.muc04;
 
 import jakarta.annotation.security.PermitAll;
 
+import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
 import com.example.signals.SessionIdHelper;
 import com.example.signals.UserSessionRegistry;
@@ -106,8 +107,8 @@ public class MUC04View extends VerticalLayout {
         Div locksContainer = new Div();
         editorsDiv.add(locksContainer);
 
-        locksContainer
-                .bindChildren(muc04Signals.getFieldLocksSignal().map(locks -> {
+        MissingAPI.bindKeyedChildren(locksContainer,
+                muc04Signals.getFieldLocksSignal().map(locks -> {
                     lockKeyMap.clear();
                     locks.forEach((key, signal) -> lockKeyMap.put(signal, key));
                     return new java.util.ArrayList<>(locks.values());
@@ -234,29 +235,32 @@ public class MUC04View extends VerticalLayout {
         String fieldName = lockKeyMap.getOrDefault(lockSignal, "");
         String fieldLabel = formatFieldName(fieldName);
 
-        MUC04Signals.FieldLock lock = lockSignal.peek();
-        boolean isCurrentSession = sessionId != null
-                && lock.username().equals(currentUser)
-                && lock.sessionId().equals(sessionId);
+        // Items are kept while the field stays locked, and re-locking a field
+        // updates the same signal, so bind to it instead of copying its value
+        Signal<Boolean> isCurrentSessionSignal = lockSignal
+                .map(lock -> sessionId != null
+                        && lock.username().equals(currentUser)
+                        && lock.sessionId().equals(sessionId));
 
         HorizontalLayout item = new HorizontalLayout();
         item.setSpacing(true);
         item.setAlignItems(
                 com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.CENTER);
-        item.getStyle().set("padding", "0.5em")
-                .set("background-color",
-                        isCurrentSession ? "#fff3e0" : "transparent")
-                .set("border-radius", "4px");
-
-        Image avatar = new Image(
-                MainLayout.getProfilePicturePath(lock.username()), "");
+        item.getStyle().set("padding", "0.5em").set("border-radius", "4px");
+        item.getStyle().bind("background-color", isCurrentSessionSignal.map(
+                isCurrentSession -> isCurrentSession ? "#fff3e0"
+                        : "transparent"));
+
+        Image avatar = new Image();
+        avatar.getElement().bindAttribute("src", lockSignal.map(
+                lock -> MainLayout.getProfilePicturePath(lock.username())));
         avatar.setWidth("32px");
         avatar.setHeight("32px");
         avatar.getStyle().set("border-radius", "50%").set("object-fit",
                 "cover");
 
-        Span label = new Span(
-                String.format("🔒 %s: %s", fieldLabel, lock.username()));
+        Span label = new Span(lockSignal.map(lock -> String
+                .format("🔒 %s: %s", fieldLabel, lock.username())));
 
         item.add(avatar, label);
         return item;
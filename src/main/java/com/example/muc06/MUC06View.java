@@ -4,11 +4,14 @@ import jakarta.annotation.security.PermitAll;
 
 import java.time.LocalDate;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 import com.example.security.CurrentUserSignal;
+import com.example.signals.SharedDerivations;
 import com.example.signals.UserSessionRegistry;
 import com.example.views.ActiveUsersDisplay;
 import com.example.views.MainLayout;
+import com.example.views.WindowedList;
 
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -49,13 +52,18 @@ import com.vaadin.flow.signals.shared.SharedValueSignal;
 @PermitAll
 public class MUC06View extends VerticalLayout {
 
+    // Estimated rendered height of one task row, used for windowing
+    private static final int TASK_ROW_HEIGHT_PX = 70;
+    private static final int TASK_ROW_GAP_PX = 8;
+
     private final String currentUser;
     private final MUC06Signals muc06Signals;
     private final UserSessionRegistry userSessionRegistry;
 
     public MUC06View(CurrentUserSignal currentUserSignal,
             MUC06Signals muc06Signals,
-            UserSessionRegistry userSessionRegistry) {
+            UserSessionRegistry userSessionRegistry,
+            SharedDerivations sharedDerivations) {
         CurrentUserSignal.UserInfo userInfo = currentUserSignal.getUserSignal()
                 .peek();
         if (userInfo == null || !userInfo.isAuthenticated()) {
@@ -84,10 +92,12 @@ public class MUC06View extends VerticalLayout {
         SharedListSignal<MUC06Signals.Task> tasksSignal = muc06Signals
                 .getTasksSignal();
 
-        // Computed signals for statistics
+        // Computed signals for statistics. Counting the completed tasks
+        // scans the shared list, so all views share a single count.
         Signal<Integer> totalSignal = tasksSignal.map(list -> list.size());
-        Signal<Integer> completedSignal = Signal
-                .computed(() -> (int) tasksSignal.get().stream()
+        Signal<Integer> completedSignal = sharedDerivations.get(this,
+                tasksSignal, "completed-count",
+                () -> (int) tasksSignal.get().stream()
                         .filter(t -> t.get().completed()).count());
         Signal<Integer> pendingSignal = Signal
                 .computed(() -> totalSignal.get() - completedSignal.get());
@@ -122,13 +132,14 @@ public class MUC06View extends VerticalLayout {
         // Tasks section
         H3 tasksTitle = new H3("Shared Tasks");
 
-        Div tasksContainer = new Div();
-        tasksContainer.getStyle().set("display", "flex")
-                .set("flex-direction", "column").set("gap", "0.5em")
-                .set("margin-bottom", "1em");
-
-        tasksContainer.bindChildren(tasksSignal,
-                taskSignal -> createTaskRow(taskSignal, tasksSignal));
+        // Only rows in the visible window are materialized; rows scrolled out
+        // of view are recycled for newly visible tasks
+        WindowedList<SharedValueSignal<MUC06Signals.Task>> tasksContainer = new WindowedList<>(
+                tasksSignal, TASK_ROW_HEIGHT_PX,
+                slotSignal -> createTaskRow(slotSignal, tasksSignal));
+        tasksContainer.setItemGap(TASK_ROW_GAP_PX);
+        tasksContainer.getStyle().set("margin-bottom", "1em")
+                .set("max-height", "600px");
 
         // Add task button
         Button addButton = new Button("Add Task", event -> {
@@ -159,55 +170,54 @@ public class MUC06View extends VerticalLayout {
     }
 
     private HorizontalLayout createTaskRow(
-            SharedValueSignal<MUC06Signals.Task> taskSignal,
+            Signal<SharedValueSignal<MUC06Signals.Task>> slotSignal,
             SharedListSignal<MUC06Signals.Task> tasksSignal) {
-        MUC06Signals.Task task = taskSignal.peek();
+        // The row is recycled for other tasks while scrolling, so every field
+        // is bound to the task currently in the slot
+        Signal<MUC06Signals.Task> taskSignal = Signal
+                .computed(() -> slotSignal.get().get());
 
         // Checkbox for completed status
         Checkbox checkbox = new Checkbox();
-        checkbox.setValue(task.completed());
         checkbox.setAriaLabel("Task completed");
-        checkbox.addValueChangeListener(e -> {
-            MUC06Signals.Task current = taskSignal.peek();
-            taskSignal.set(new MUC06Signals.Task(current.id(), current.title(),
-                    e.getValue(), current.dueDate()));
-        });
+        checkbox.bindValue(taskSignal.map(MUC06Signals.Task::completed),
+                completed -> updateTask(slotSignal,
+                        current -> new MUC06Signals.Task(current.id(),
+                                current.title(), completed,
+                                current.dueDate())));
 
         // TextField for title
         TextField titleField = new TextField();
-        titleField.setValue(task.title() != null ? task.title() : "");
         titleField.setPlaceholder("Task title...");
         titleField.setWidth("400px");
-        titleField.addValueChangeListener(e -> {
-            MUC06Signals.Task current = taskSignal.peek();
-            taskSignal.set(new MUC06Signals.Task(current.id(), e.getValue(),
-                    current.completed(), current.dueDate()));
-        });
+        titleField.bindValue(
+                taskSignal.map(
+                        task -> task.title() != null ? task.title() : ""),
+                title -> updateTask(slotSignal,
+                        current -> new MUC06Signals.Task(current.id(), title,
+                                current.completed(), current.dueDate())));
 
         // Add strikethrough styling for completed tasks
-        if (task.completed()) {
-            titleField.getStyle().set("text-decoration", "line-through");
-        } else {
-            titleField.getStyle().remove("text-decoration");
-        }
+        titleField.getStyle().bind("text-decoration",
+                () -> taskSignal.get().completed() ? "line-through" : null);
 
         // DatePicker for due date
         DatePicker datePicker = new DatePicker();
-        datePicker.setValue(task.dueDate());
         datePicker.setPlaceholder("Due date");
         datePicker.setWidth("180px");
-        datePicker.addValueChangeListener(e -> {
-            MUC06Signals.Task current = taskSignal.peek();
-            taskSignal.set(new MUC06Signals.Task(current.id(), current.title(),
-                    current.completed(), e.getValue()));
-        });
+        datePicker.bindValue(taskSignal.map(MUC06Signals.Task::dueDate),
+                dueDate -> updateTask(slotSignal,
+                        current -> new MUC06Signals.Task(current.id(),
+                                current.title(), current.completed(),
+                                dueDate)));
 
         // Delete button
         Button deleteButton = new Button(new Icon(VaadinIcon.TRASH));
         deleteButton.addThemeVariants(ButtonVariant.LUMO_ERROR,
                 ButtonVariant.LUMO_ICON, ButtonVariant.LUMO_SMALL);
         deleteButton.setAriaLabel("Delete task");
-        deleteButton.addClickListener(e -> tasksSignal.remove(taskSignal));
+        deleteButton
+                .addClickListener(e -> tasksSignal.remove(slotSignal.peek()));
 
         // Layout with styling
         HorizontalLayout row = new HorizontalLayout(checkbox, titleField,
@@ -221,4 +231,11 @@ public class MUC06View extends VerticalLayout {
 
         return row;
     }
+
+    private void updateTask(
+            Signal<SharedValueSignal<MUC06Signals.Task>> slotSignal,
+            UnaryOperator<MUC06Signals.Task> updater) {
+        SharedValueSignal<MUC06Signals.Task> taskSignal = slotSignal.peek();
+        taskSignal.set(updater.apply(taskSignal.peek()));
+    }
 }
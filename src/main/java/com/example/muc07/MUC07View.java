@@ -5,6 +5,8 @@ import jakarta.annotation.security.PermitAll;
 import java.util.UUID;
 
 import com.example.security.CurrentUserSignal;
+import com.example.signals.PushCoalescingService;
+import com.example.signals.SharedDerivations;
 import com.example.signals.UserSessionRegistry;
 import com.example.usecase18.AbstractTaskChatView;
 import com.example.usecase18.TaskLLMService;
@@ -23,7 +25,9 @@ public class MUC07View extends AbstractTaskChatView {
 
     public MUC07View(CurrentUserSignal currentUserSignal,
             MUC07Signals muc07Signals, UserSessionRegistry userSessionRegistry,
-            TaskLLMService taskLLMService) {
+            TaskLLMService taskLLMService,
+            PushCoalescingService pushCoalescingService,
+            SharedDerivations sharedDerivations) {
 
         // Call super with SHARED signals - must be first statement
         super(muc07Signals.getLlmTasksSignal(), // Shared task signal
@@ -32,7 +36,9 @@ public class MUC07View extends AbstractTaskChatView {
                                                                           // conversation
                                                                           // ID
                 currentUserSignal, // Current user for avatar/name
-                userSessionRegistry // For display name lookup
+                userSessionRegistry, // For display name lookup
+                pushCoalescingService, // Merges streamed token updates
+                sharedDerivations // Shares the task statistics
         );
 
         // Add active users display
@@ -0,0 +1,60 @@
+package com.example.search;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * All documents matching a query, with their scores, before ranking and
+ * filtering by category. This is what {@link QueryCache} keeps, so that a
+ * longer query can be answered from the matches of a shorter one.
+ *
+ * @param query
+ *            the normalized query
+ * @param docs
+ *            the ids of the matching documents, in ascending order
+ * @param scores
+ *            the score of each matching document
+ */
+record Matches(String query, int[] docs, double[] scores)
+        implements Serializable {
+
+    /**
+     * Gets the number of matching documents.
+     */
+    int size() {
+        return docs.length;
+    }
+
+    /**
+     * Collects matches in ascending document order, skipping documents with
+     * a score of zero.
+     */
+    static final class Builder {
+        private final String query;
+        private int[] docs = new int[16];
+        private double[] scores = new double[16];
+        private int size;
+
+        Builder(String query) {
+            this.query = query;
+        }
+
+        void add(int doc, double score) {
+            if (score == 0) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        Matches build() {
+            return new Matches(query, Arrays.copyOf(docs, size),
+                    Arrays.copyOf(scores, size));
+        }
+    }
+}
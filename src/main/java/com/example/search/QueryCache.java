@@ -0,0 +1,87 @@
+package com.example.search;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Least recently used cache of query matches.
+ * <p>
+ * The size is limited by the total number of matching documents rather than
+ * by the number of queries, since a broad query keeps many more ids than a
+ * narrow one. Matches larger than the whole cache are not kept.
+ */
+final class QueryCache implements Serializable {
+
+    private final int maxDocuments;
+    private final LinkedHashMap<String, Matches> entries = new LinkedHashMap<>(
+            16, 0.75f, true);
+    private long documents;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxDocuments
+     *            the largest total number of matching documents to keep
+     */
+    QueryCache(int maxDocuments) {
+        this.maxDocuments = maxDocuments;
+    }
+
+    /**
+     * Gets the matches of a normalized query.
+     */
+    synchronized @Nullable Matches get(String query) {
+        return entries.get(query);
+    }
+
+    /**
+     * Gets the cached matches of the longest prefix of a normalized query
+     * that can be refined to the query.
+     *
+     * @see SearchIndex#canRefine(String, String)
+     */
+    synchronized @Nullable Matches getLongestPrefix(String query) {
+        for (int length = query.length() - 1; length > 0; length--) {
+            String prefix = query.substring(0, length);
+            if (!SearchIndex.canRefine(prefix, query)) {
+                break;
+            }
+            Matches matches = entries.get(prefix);
+            if (matches != null) {
+                return matches;
+            }
+        }
+        return null;
+    }
+
+    synchronized void put(Matches matches) {
+        if (matches.size() > maxDocuments) {
+            return;
+        }
+        Matches previous = entries.put(matches.query(), matches);
+        documents += matches.size()
+                - (previous == null ? 0 : previous.size());
+        Iterator<Matches> eldest = entries.values().iterator();
+        while (documents > maxDocuments) {
+            documents -= eldest.next().size();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Gets the number of cached queries.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the total number of cached matching documents.
+     */
+    synchronized long getDocumentCount() {
+        return documents;
+    }
+}
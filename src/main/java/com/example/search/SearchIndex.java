@@ -0,0 +1,450 @@
+package com.example.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * In-memory full-text index over a fixed list of documents.
+ * <p>
+ * The index is built once and answers substring queries without scanning the
+ * documents:
+ * <ul>
+ * <li>Queries of three or more characters are looked up in an index of all
+ * character trigrams of the fields. The posting lists of the query's
+ * trigrams are intersected, and only the remaining candidates are checked
+ * against the lower-cased field texts, which are computed once.</li>
+ * <li>Shorter queries are looked up in a dictionary of the distinct words
+ * of the fields. A query made of letters and digits can only occur within
+ * a word, so the documents of the words containing it are the candidates.
+ * Any other short query is checked against all documents.</li>
+ * </ul>
+ * Each category is kept as a bit set of its documents, which is used both to
+ * filter by category and to count the matches per category. Matches are
+ * ranked by where the query occurs in the weighted fields, and only the top
+ * hits are kept, together with the positions to highlight.
+ * <p>
+ * An index is immutable and can be shared by all sessions.
+ *
+ * @param <T>
+ *            the document type
+ */
+public final class SearchIndex<T> {
+
+    /**
+     * A searchable text of a document.
+     *
+     * @param value
+     *            gets the text from a document
+     * @param weight
+     *            how much a match in this field counts in the ranking
+     */
+    public record Field<T>(Function<? super T, String> value, double weight) {
+    }
+
+    /**
+     * A part of a field that matches the query.
+     *
+     * @param field
+     *            the index of the field in the list given to the index
+     * @param start
+     *            the first matching character
+     * @param end
+     *            the character after the match
+     */
+    public record Highlight(int field, int start, int end) {
+    }
+
+    /**
+     * A matching document.
+     *
+     * @param document
+     *            the document
+     * @param score
+     *            the ranking score, higher is better
+     * @param highlights
+     *            the first match in each matching field
+     */
+    public record Hit<T>(T document, double score, List<Highlight> highlights) {
+
+        /**
+         * Gets the match in the given field.
+         *
+         * @param field
+         *            the index of the field
+         * @return the match, or {@code null} if the field does not match
+         */
+        public @Nullable Highlight highlight(int field) {
+            for (Highlight highlight : highlights) {
+                if (highlight.field() == field) {
+                    return highlight;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The answer to a query.
+     *
+     * @param hits
+     *            the best matches, best first
+     * @param total
+     *            the number of matches in the selected category
+     * @param facets
+     *            the number of matches in each category, ignoring the
+     *            selected category
+     */
+    public record Result<T>(List<Hit<T>> hits, int total,
+            Map<String, Integer> facets) {
+    }
+
+    /**
+     * The length of the character n-grams in the substring index.
+     */
+    static final int GRAM_LENGTH = 3;
+
+    private final List<T> documents;
+    private final List<Field<T>> fields;
+    private final String[][] texts;
+    private final Map<String, BitSet> categories = new LinkedHashMap<>();
+    private final Map<String, int[]> grams;
+    private final String[] words;
+    private final int[][] wordPostings;
+
+    /**
+     * Builds an index.
+     *
+     * @param documents
+     *            the documents to index
+     * @param category
+     *            gets the category of a document
+     * @param fields
+     *            the searchable fields
+     */
+    public SearchIndex(List<T> documents,
+            Function<? super T, String> category, List<Field<T>> fields) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "At least one field is required");
+        }
+        this.documents = List.copyOf(documents);
+        this.fields = List.copyOf(fields);
+        this.texts = new String[fields.size()][documents.size()];
+
+        Map<String, Postings> gramPostings = new HashMap<>();
+        Map<String, Postings> wordMap = new TreeMap<>();
+        for (int doc = 0; doc < this.documents.size(); doc++) {
+            T document = this.documents.get(doc);
+            categories.computeIfAbsent(category.apply(document),
+                    c -> new BitSet()).set(doc);
+            for (int f = 0; f < fields.size(); f++) {
+                String text = normalize(fields.get(f).value().apply(document));
+                texts[f][doc] = text;
+                for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                    gramPostings.computeIfAbsent(
+                            text.substring(i, i + GRAM_LENGTH),
+                            g -> new Postings()).add(doc);
+                }
+                int start = -1;
+                for (int i = 0; i <= text.length(); i++) {
+                    boolean wordChar = i < text.length()
+                            && Character.isLetterOrDigit(text.charAt(i));
+                    if (wordChar && start < 0) {
+                        start = i;
+                    } else if (!wordChar && start >= 0) {
+                        wordMap.computeIfAbsent(text.substring(start, i),
+                                w -> new Postings()).add(doc);
+                        start = -1;
+                    }
+                }
+            }
+        }
+
+        grams = new HashMap<>(gramPostings.size() * 2);
+        gramPostings.forEach((gram, postings) -> grams.put(gram,
+                postings.toArray()));
+        words = wordMap.keySet().toArray(String[]::new);
+        wordPostings = new int[words.length][];
+        int w = 0;
+        for (Postings postings : wordMap.values()) {
+            wordPostings[w++] = postings.toArray();
+        }
+    }
+
+    /**
+     * Gets the number of indexed documents.
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Gets the categories in the order they first occur in the documents.
+     */
+    public List<String> getCategories() {
+        return List.copyOf(categories.keySet());
+    }
+
+    /**
+     * Finds the documents whose fields contain the query, ignoring case.
+     *
+     * @param query
+     *            the text to find, an empty query matches all documents
+     * @param category
+     *            the category to search in, or {@code null} for all
+     * @param limit
+     *            the largest number of hits to return
+     * @return the best hits, the number of matches and the category facets
+     */
+    public Result<T> search(String query, @Nullable String category,
+            int limit) {
+        String normalized = normalize(query.strip());
+        if (normalized.isEmpty()) {
+            return all(category, limit);
+        }
+        return rank(match(normalized), category, limit);
+    }
+
+    /**
+     * Finds all documents matching a normalized, non-empty query.
+     */
+    Matches match(String query) {
+        Matches.Builder matches = new Matches.Builder(query);
+        for (int doc : candidates(query)) {
+            matches.add(doc, score(doc, query));
+        }
+        return matches.build();
+    }
+
+    /**
+     * Checks whether the matches of a query can be found among the matches
+     * of another query, which holds when the query contains the other one.
+     */
+    static boolean canRefine(String previous, String query) {
+        return query.contains(previous);
+    }
+
+    /**
+     * Finds the documents matching a normalized query among the matches of a
+     * query it refines, without looking at the other documents.
+     *
+     * @see #canRefine(String, String)
+     */
+    Matches refine(Matches previous, String query) {
+        if (!canRefine(previous.query(), query)) {
+            throw new IllegalArgumentException("'" + query
+                    + "' does not refine '" + previous.query() + "'");
+        }
+        Matches.Builder matches = new Matches.Builder(query);
+        for (int doc : previous.docs()) {
+            matches.add(doc, score(doc, query));
+        }
+        return matches.build();
+    }
+
+    /**
+     * Ranks the matches of a query and counts them per category.
+     */
+    Result<T> rank(Matches matches, @Nullable String category, int limit) {
+        @Nullable BitSet filter = filter(category);
+        BitSet matching = new BitSet(documents.size());
+        PriorityQueue<Scored> top = new PriorityQueue<>(
+                Comparator.comparingDouble(Scored::score)
+                        .thenComparing(Scored::doc, Comparator.reverseOrder()));
+        int[] docs = matches.docs();
+        double[] scores = matches.scores();
+        for (int i = 0; i < docs.length; i++) {
+            int doc = docs[i];
+            double score = scores[i];
+            matching.set(doc);
+            if ((filter == null || filter.get(doc)) && limit > 0
+                    && (top.size() < limit || score > top.element().score())) {
+                top.add(new Scored(doc, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        Map<String, Integer> facets = facets(matching);
+        if (filter != null) {
+            matching.and(filter);
+        }
+        List<Hit<T>> hits = new ArrayList<>();
+        while (!top.isEmpty()) {
+            Scored scored = top.poll();
+            hits.add(new Hit<>(documents.get(scored.doc()), scored.score(),
+                    highlights(scored.doc(), matches.query())));
+        }
+        return new Result<>(List.copyOf(hits.reversed()),
+                matching.cardinality(), facets);
+    }
+
+    private Result<T> all(@Nullable String category, int limit) {
+        @Nullable BitSet filter = filter(category);
+        BitSet matching = new BitSet(documents.size());
+        matching.set(0, documents.size());
+        Map<String, Integer> facets = facets(matching);
+        if (filter != null) {
+            matching.and(filter);
+        }
+        List<Hit<T>> hits = new ArrayList<>();
+        for (int doc = matching.nextSetBit(0); doc >= 0
+                && hits.size() < limit; doc = matching.nextSetBit(doc + 1)) {
+            hits.add(new Hit<>(documents.get(doc), 0, List.of()));
+        }
+        return new Result<>(List.copyOf(hits), matching.cardinality(),
+                facets);
+    }
+
+    private @Nullable BitSet filter(@Nullable String category) {
+        return category == null ? null
+                : categories.getOrDefault(category, new BitSet());
+    }
+
+    private Map<String, Integer> facets(BitSet matching) {
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        categories.forEach((name, members) -> {
+            BitSet inCategory = (BitSet) members.clone();
+            inCategory.and(matching);
+            facets.put(name, inCategory.cardinality());
+        });
+        return facets;
+    }
+
+    private int[] candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return wordsContaining(query);
+        }
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            int[] postings = grams.get(query.substring(i, i + GRAM_LENGTH));
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.getFirst();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private int[] wordsContaining(String query) {
+        if (!query.chars().allMatch(Character::isLetterOrDigit)) {
+            // May span words, documents without a match score zero
+            return IntStream.range(0, documents.size()).toArray();
+        }
+        BitSet union = new BitSet(documents.size());
+        for (int w = 0; w < words.length; w++) {
+            if (words[w].contains(query)) {
+                for (int doc : wordPostings[w]) {
+                    union.set(doc);
+                }
+            }
+        }
+        return union.stream().toArray();
+    }
+
+    private double score(int doc, String query) {
+        double score = 0;
+        for (int f = 0; f < fields.size(); f++) {
+            String text = texts[f][doc];
+            int index = text.indexOf(query);
+            if (index < 0) {
+                continue;
+            }
+            // Matches at the start of the field or of a word rank higher
+            double position = index == 0 ? 3
+                    : Character.isLetterOrDigit(text.charAt(index - 1)) ? 1
+                            : 2;
+            score += fields.get(f).weight() * position;
+        }
+        return score;
+    }
+
+    private List<Highlight> highlights(int doc, String query) {
+        List<Highlight> highlights = new ArrayList<>();
+        for (int f = 0; f < fields.size(); f++) {
+            int index = texts[f][doc].indexOf(query);
+            if (index >= 0) {
+                highlights.add(new Highlight(f, index, index + query.length()));
+            }
+        }
+        return List.copyOf(highlights);
+    }
+
+    /**
+     * Intersects a short sorted list with a longer one, looking up the
+     * elements of the short list with a binary search in the rest of the long
+     * list.
+     */
+    private static int[] intersect(int[] shorter, int[] longer) {
+        int[] result = new int[shorter.length];
+        int size = 0;
+        int from = 0;
+        for (int i = 0; i < shorter.length && from < longer.length; i++) {
+            int found = Arrays.binarySearch(longer, from, longer.length,
+                    shorter[i]);
+            if (found >= 0) {
+                result[size++] = shorter[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Lower-cases a text character by character, so that positions in the
+     * result are also positions in the original text.
+     */
+    static String normalize(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private record Scored(int doc, double score) {
+    }
+
+    /**
+     * A growable, sorted list of document ids without duplicates, relying on
+     * the documents being indexed in order.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && ids[size - 1] == doc) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = doc;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.search;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Runs searches against {@link SearchIndex} instances through a cache of
+ * query results, exported through Micrometer.
+ * <p>
+ * Each index has an application-wide cache shared by all users, and every
+ * session has its own smaller cache that follows what the user is typing.
+ * A query is answered from either cache if it was seen before. Otherwise, if
+ * a cached query is a prefix of it, as when typing "lapt" and then "lapto",
+ * only the matches of that prefix are checked instead of the whole index.
+ * Both caches evict the least recently used queries.
+ */
+@Service
+public class SearchService {
+
+    /** Timer of searches, tagged with index and result. */
+    public static final String LATENCY = "search.latency";
+
+    /** Counter of searches, tagged with index and result. */
+    public static final String REQUESTS = "search.requests";
+
+    /** Share of searches answered from a cache, tagged with index. */
+    public static final String HIT_RATIO = "search.cache.hit.ratio";
+
+    /**
+     * How a search was answered.
+     */
+    enum Outcome {
+        /** From the cached matches of the same query. */
+        HIT,
+        /** By checking the cached matches of a prefix of the query. */
+        REFINED,
+        /** By searching the whole index. */
+        MISS
+    }
+
+    private final MeterRegistry registry;
+    private final int applicationDocuments;
+    private final int sessionDocuments;
+    private final Map<String, IndexCache> caches = new ConcurrentHashMap<>();
+
+    public SearchService(MeterRegistry registry,
+            @Value("${app.search.cache.application-documents:2000000}")
+            int applicationDocuments,
+            @Value("${app.search.cache.session-documents:200000}")
+            int sessionDocuments) {
+        this.registry = registry;
+        this.applicationDocuments = applicationDocuments;
+        this.sessionDocuments = sessionDocuments;
+    }
+
+    /**
+     * Gets a searcher for an index that uses the cache of the current
+     * session. Must be called while holding the session lock, for example
+     * from a view constructor. The searcher can then be used from any thread.
+     *
+     * @param name
+     *            a name identifying the index in caches and metrics
+     * @param index
+     *            the index to search
+     * @return the searcher for the current session
+     */
+    public <T> Searcher<T> forSession(String name, SearchIndex<T> index) {
+        IndexCache shared = caches.computeIfAbsent(name,
+                key -> new IndexCache(key, index));
+        if (shared.index != index) {
+            throw new IllegalArgumentException(
+                    "Another index is already registered as " + name);
+        }
+        String attribute = SearchService.class.getName() + "." + name;
+        VaadinSession session = VaadinSession.getCurrent();
+        @Nullable QueryCache sessionCache = session == null ? null
+                : (QueryCache) session.getAttribute(attribute);
+        if (sessionCache == null) {
+            sessionCache = new QueryCache(sessionDocuments);
+            if (session != null) {
+                session.setAttribute(attribute, sessionCache);
+            }
+        }
+        return new Searcher<>(index, shared, sessionCache);
+    }
+
+    /**
+     * Searches one index through the application and session caches.
+     *
+     * @param <T>
+     *            the document type
+     */
+    public static final class Searcher<T> {
+        private final SearchIndex<T> index;
+        private final IndexCache shared;
+        private final QueryCache session;
+
+        private Searcher(SearchIndex<T> index, IndexCache shared,
+                QueryCache session) {
+            this.index = index;
+            this.shared = shared;
+            this.session = session;
+        }
+
+        /**
+         * Finds the documents whose fields contain the query, like
+         * {@link SearchIndex#search(String, String, int)}.
+         */
+        public SearchIndex.Result<T> search(String query,
+                @Nullable String category, int limit) {
+            String normalized = SearchIndex.normalize(query.strip());
+            if (normalized.isEmpty()) {
+                return index.search(normalized, category, limit);
+            }
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.HIT;
+            @Nullable Matches matches = session.get(normalized);
+            if (matches == null) {
+                matches = shared.cache.get(normalized);
+            }
+            if (matches == null) {
+                @Nullable Matches prefix = longer(
+                        session.getLongestPrefix(normalized),
+                        shared.cache.getLongestPrefix(normalized));
+                if (prefix != null) {
+                    outcome = Outcome.REFINED;
+                    matches = index.refine(prefix, normalized);
+                } else {
+                    outcome = Outcome.MISS;
+                    matches = index.match(normalized);
+                }
+                shared.cache.put(matches);
+            }
+            session.put(matches);
+            SearchIndex.Result<T> result = index.rank(matches, category,
+                    limit);
+            shared.record(outcome, System.nanoTime() - start);
+            return result;
+        }
+
+        private static @Nullable Matches longer(@Nullable Matches a,
+                @Nullable Matches b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            return a.query().length() >= b.query().length() ? a : b;
+        }
+    }
+
+    private final class IndexCache {
+        private final SearchIndex<?> index;
+        private final QueryCache cache = new QueryCache(applicationDocuments);
+        private final Timer[] timers = new Timer[Outcome.values().length];
+        private final AtomicLong[] counts = new AtomicLong[timers.length];
+
+        private IndexCache(String name, SearchIndex<?> index) {
+            this.index = index;
+            for (Outcome outcome : Outcome.values()) {
+                String result = outcome.name().toLowerCase();
+                AtomicLong count = new AtomicLong();
+                counts[outcome.ordinal()] = count;
+                timers[outcome.ordinal()] = Timer.builder(LATENCY)
+                        .tag("index", name).tag("result", result)
+                        .description("Time to answer a search")
+                        .register(registry);
+                FunctionCounter
+                        .builder(REQUESTS, count, AtomicLong::doubleValue)
+                        .tag("index", name).tag("result", result)
+                        .description("Searches by how they were answered")
+                        .register(registry);
+            }
+            Gauge.builder(HIT_RATIO, this, IndexCache::getHitRatio)
+                    .tag("index", name)
+                    .description("Share of searches answered from a cache")
+                    .register(registry);
+        }
+
+        void record(Outcome outcome, long nanos) {
+            counts[outcome.ordinal()].incrementAndGet();
+            timers[outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        long getCount(Outcome outcome) {
+            return counts[outcome.ordinal()].get();
+        }
+
+        double getHitRatio() {
+            long hits = getCount(Outcome.HIT);
+            long total = hits + getCount(Outcome.REFINED)
+                    + getCount(Outcome.MISS);
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.example.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Column-oriented, append-only store of the visit and order events that
+ * analytics reports are computed from.
+ * <p>
+ * Events are kept in segments of a fixed number of events. Each segment
+ * holds one column per attribute: the time in seconds since the first event
+ * of the segment, the order amount and the event type. The segments are
+ * byte buffers, either on the heap or memory-mapped to one file each, in
+ * which case the events survive a restart and the store may be larger than
+ * the heap.
+ * <p>
+ * Events must be appended in time order, so the events of a period are a
+ * contiguous range found by binary search. The range is aggregated by a
+ * fork-join task that splits it until the parts are small enough to scan
+ * sequentially, so a report uses all cores of the pool.
+ * <p>
+ * Events are appended by one thread at a time and may be aggregated
+ * concurrently by any number of threads.
+ */
+public final class AnalyticsEventStore {
+
+    /**
+     * The type of an event.
+     */
+    public enum EventType {
+        /** A visit to the shop. */
+        VISIT,
+        /** The first order of a visit, which converted it. */
+        FIRST_ORDER,
+        /** A further order of the same visit. */
+        ORDER
+    }
+
+    /**
+     * The aggregated events of a period.
+     *
+     * @param visits
+     *            the number of visits
+     * @param orders
+     *            the number of orders
+     * @param conversions
+     *            the number of visits with at least one order
+     * @param revenue
+     *            the sum of the order amounts
+     */
+    public record Totals(long visits, long orders, long conversions,
+            long revenue) {
+
+        /** No events. */
+        public static final Totals EMPTY = new Totals(0, 0, 0, 0);
+
+        /**
+         * Gets the share of visits that converted, in percent.
+         */
+        public double getConversionRate() {
+            return visits == 0 ? 0 : conversions * 100.0 / visits;
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(visits + other.visits, orders + other.orders,
+                    conversions + other.conversions,
+                    revenue + other.revenue);
+        }
+    }
+
+    /** The default number of events per segment. */
+    public static final int DEFAULT_SEGMENT_EVENTS = 1 << 22;
+
+    /** The number of events a fork-join task scans without splitting. */
+    static final int SCAN_EVENTS = 1 << 16;
+
+    private static final long MAGIC = 0x4556454e54533031L;
+    private static final int HEADER_BYTES = 32;
+    private static final String SUFFIX = ".events";
+    private static final byte VISIT = (byte) EventType.VISIT.ordinal();
+    private static final byte FIRST_ORDER = (byte) EventType.FIRST_ORDER
+            .ordinal();
+
+    private final @Nullable Path directory;
+    private final int segmentEvents;
+    private volatile List<Segment> segments;
+    private long lastSecond = Long.MIN_VALUE;
+
+    /**
+     * Creates a store, or opens the one in the given directory.
+     *
+     * @param directory
+     *            the directory for the memory-mapped segments, or
+     *            {@code null} to keep the events on the heap
+     * @param segmentEvents
+     *            the number of events per segment, which must match the
+     *            segments already in the directory
+     */
+    public AnalyticsEventStore(@Nullable Path directory, int segmentEvents) {
+        if (segmentEvents <= 0) {
+            throw new IllegalArgumentException(
+                    "The number of events per segment must be positive");
+        }
+        this.directory = directory;
+        this.segmentEvents = segmentEvents;
+        this.segments = directory == null ? List.of() : open(directory);
+        if (!segments.isEmpty()) {
+            Segment last = segments.get(segments.size() - 1);
+            lastSecond = last.getSecond(last.size - 1);
+        }
+    }
+
+    /**
+     * Gets the number of events.
+     */
+    public long size() {
+        return size(segments);
+    }
+
+    /**
+     * Gets the time of the last event.
+     *
+     * @return the time, or {@code null} if the store is empty
+     */
+    public synchronized @Nullable Instant getLastEventTime() {
+        return lastSecond == Long.MIN_VALUE ? null
+                : Instant.ofEpochSecond(lastSecond);
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @param time
+     *            the time of the event, not before the previous event
+     * @param type
+     *            the type of the event
+     * @param amount
+     *            the order amount, or 0 for a visit
+     */
+    public synchronized void append(Instant time, EventType type,
+            int amount) {
+        long second = time.getEpochSecond();
+        if (second < lastSecond) {
+            throw new IllegalArgumentException("Event at " + time
+                    + " is before the previous event");
+        }
+        List<Segment> current = segments;
+        @Nullable Segment segment = current.isEmpty() ? null
+                : current.get(current.size() - 1);
+        if (segment == null || segment.size == segmentEvents
+                || second - segment.baseSecond > Integer.MAX_VALUE) {
+            segment = createSegment(current.size(), second);
+            List<Segment> grown = new ArrayList<>(current);
+            grown.add(segment);
+            segments = List.copyOf(grown);
+        }
+        segment.append(second, type, amount);
+        lastSecond = second;
+    }
+
+    /**
+     * Appends synthetic traffic: visits spread evenly over a period, some
+     * of which convert into one or more orders.
+     *
+     * @param visits
+     *            the number of visits
+     * @param from
+     *            the start of the period, not before the last event
+     * @param to
+     *            the end of the period, exclusive
+     * @param seed
+     *            the seed of the random generator
+     */
+    public synchronized void appendSynthetic(long visits, Instant from,
+            Instant to, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long start = from.getEpochSecond();
+        double secondsPerVisit = (double) (to.getEpochSecond() - start)
+                / visits;
+        for (long visit = 0; visit < visits; visit++) {
+            Instant time = Instant
+                    .ofEpochSecond(start + (long) (visit * secondsPerVisit));
+            append(time, EventType.VISIT, 0);
+            if (random.nextDouble() < 0.034) {
+                append(time, EventType.FIRST_ORDER, 20 + random.nextInt(120));
+                while (random.nextDouble() < 0.42) {
+                    append(time, EventType.ORDER, 20 + random.nextInt(120));
+                }
+            }
+        }
+    }
+
+    /**
+     * Aggregates the events of a period in the common fork-join pool.
+     *
+     * @param from
+     *            the start of the period
+     * @param to
+     *            the end of the period, exclusive
+     * @return the totals of the events in the period
+     */
+    public Totals aggregate(Instant from, Instant to) {
+        return aggregate(from, to, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Aggregates the events of a period in the given fork-join pool.
+     *
+     * @param from
+     *            the start of the period
+     * @param to
+     *            the end of the period, exclusive
+     * @param pool
+     *            the pool to scan the events in
+     * @return the totals of the events in the period
+     */
+    public Totals aggregate(Instant from, Instant to, ForkJoinPool pool) {
+        List<Segment> current = segments;
+        long size = size(current);
+        long start = lowerBound(current, size, from.getEpochSecond());
+        long end = lowerBound(current, size, to.getEpochSecond());
+        if (start >= end) {
+            return Totals.EMPTY;
+        }
+        return pool.invoke(new Scan(current, start, end));
+    }
+
+    /**
+     * Writes the memory-mapped segments to disk. Does nothing for a store
+     * on the heap.
+     */
+    public synchronized void flush() {
+        for (Segment segment : segments) {
+            if (segment.buffer instanceof MappedByteBuffer mapped) {
+                mapped.force();
+            }
+        }
+    }
+
+    private long size(List<Segment> current) {
+        return current.isEmpty() ? 0
+                : (long) (current.size() - 1) * segmentEvents
+                        + current.get(current.size() - 1).size;
+    }
+
+    /**
+     * Finds the index of the first event at or after a time.
+     */
+    private long lowerBound(List<Segment> current, long size, long second) {
+        long low = 0;
+        long high = size;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            Segment segment = current.get((int) (middle / segmentEvents));
+            if (segment.getSecond((int) (middle % segmentEvents)) < second) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Aggregates a range of events, splitting it into halves that are
+     * aggregated in parallel while it is larger than {@link #SCAN_EVENTS}.
+     */
+    private final class Scan extends RecursiveTask<Totals> {
+        private final List<Segment> segments;
+        private final long start;
+        private final long end;
+
+        private Scan(List<Segment> segments, long start, long end) {
+            this.segments = segments;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (end - start <= SCAN_EVENTS) {
+                return scan();
+            }
+            long middle = (start + end) >>> 1;
+            Scan left = new Scan(segments, start, middle);
+            left.fork();
+            Totals right = new Scan(segments, middle, end).compute();
+            return left.join().plus(right);
+        }
+
+        private Totals scan() {
+            Totals totals = Totals.EMPTY;
+            long index = start;
+            while (index < end) {
+                int s = (int) (index / segmentEvents);
+                int from = (int) (index % segmentEvents);
+                int to = (int) Math.min(segmentEvents, from + (end - index));
+                totals = totals.plus(segments.get(s).scan(from, to));
+                index += to - from;
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * One segment of the store. The buffer holds a header followed by the
+     * columns: the seconds since the base second, the amounts and the types.
+     * Multi-byte values are little-endian, the byte order of the common
+     * processors, so that the columns are read without swapping bytes.
+     */
+    private static final class Segment {
+        private final ByteBuffer buffer;
+        private final long baseSecond;
+        private final IntBuffer seconds;
+        private final IntBuffer amounts;
+        private final ByteBuffer types;
+        private volatile int size;
+
+        private Segment(ByteBuffer buffer, int capacity) {
+            this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+            this.baseSecond = buffer.getLong(16);
+            this.size = buffer.getInt(12);
+            this.seconds = buffer.slice(HEADER_BYTES, capacity * 4)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            this.amounts = buffer
+                    .slice(HEADER_BYTES + capacity * 4, capacity * 4)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            this.types = buffer.slice(HEADER_BYTES + capacity * 8,
+                    capacity);
+        }
+
+        long getSecond(int index) {
+            return baseSecond + seconds.get(index);
+        }
+
+        void append(long second, EventType type, int amount) {
+            int index = size;
+            seconds.put(index, (int) (second - baseSecond));
+            amounts.put(index, amount);
+            types.put(index, (byte) type.ordinal());
+            buffer.putInt(12, index + 1);
+            // Publishes the event to aggregating threads
+            size = index + 1;
+        }
+
+        Totals scan(int from, int to) {
+            long visits = 0;
+            long orders = 0;
+            long conversions = 0;
+            long revenue = 0;
+            for (int i = from; i < to; i++) {
+                byte type = types.get(i);
+                if (type == VISIT) {
+                    visits++;
+                } else {
+                    orders++;
+                    revenue += amounts.get(i);
+                    if (type == FIRST_ORDER) {
+                        conversions++;
+                    }
+                }
+            }
+            return new Totals(visits, orders, conversions, revenue);
+        }
+    }
+
+    private static int segmentBytes(int capacity) {
+        return HEADER_BYTES + capacity * 9;
+    }
+
+    private Segment createSegment(int number, long baseSecond) {
+        int size = segmentBytes(segmentEvents);
+        ByteBuffer buffer = directory == null ? ByteBuffer.allocate(size)
+                : map(segmentFile(directory, number), size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(0, MAGIC);
+        buffer.putInt(8, segmentEvents);
+        buffer.putInt(12, 0);
+        buffer.putLong(16, baseSecond);
+        return new Segment(buffer, segmentEvents);
+    }
+
+    private List<Segment> open(Path directory) {
+        List<Path> files;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(file -> file.getFileName().toString()
+                        .endsWith(SUFFIX)).sorted().toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Could not list event segments in " + directory, e);
+        }
+        List<Segment> opened = new ArrayList<>();
+        for (int number = 0; number < files.size(); number++) {
+            Path file = files.get(number);
+            if (!file.equals(segmentFile(directory, number))) {
+                throw new IllegalStateException(
+                        "Unexpected event segment " + file);
+            }
+            ByteBuffer buffer = map(file, segmentBytes(segmentEvents))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getLong(0) != MAGIC
+                    || buffer.getInt(8) != segmentEvents) {
+                throw new IllegalStateException(file
+                        + " is not an event segment of " + segmentEvents
+                        + " events");
+            }
+            Segment segment = new Segment(buffer, segmentEvents);
+            boolean last = number == files.size() - 1;
+            if (segment.size == 0 || !last && segment.size != segmentEvents) {
+                throw new IllegalStateException(
+                        "Event segment " + file + " is incomplete");
+            }
+            opened.add(segment);
+        }
+        return List.copyOf(opened);
+    }
+
+    private static Path segmentFile(Path directory, int number) {
+        return directory.resolve(String.format("%05d", number) + SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path file, int size) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Could not map event segment " + file, e);
+        }
+    }
+}
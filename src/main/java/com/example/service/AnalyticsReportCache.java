@@ -0,0 +1,221 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.example.service.AnalyticsService.AnalyticsReport;
+import com.example.service.AnalyticsService.RawAnalyticsData;
+import com.example.service.AnalyticsService.ReportPeriod;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Caches the analytics reports of {@link AnalyticsService} by their
+ * parameters, exported through Micrometer.
+ * <p>
+ * A report is fresh for the time to live after it was generated and is then
+ * returned as is. During the following stale period it is still returned
+ * right away, but a new report is generated in the background to replace it.
+ * Older reports are generated again while the caller waits. Requests for a
+ * report that is being generated join that generation instead of starting
+ * another one, so any number of users asking for the same report at once
+ * cost one generation. Failed generations are not cached.
+ */
+@Service
+public class AnalyticsReportCache {
+
+    /** Counter of report requests, tagged with how they were answered. */
+    public static final String REQUESTS = "analytics.report.requests";
+
+    /** Timer of report generations, tagged with their outcome. */
+    public static final String GENERATION = "analytics.report.generation";
+
+    /** Number of cached reports. */
+    public static final String SIZE = "analytics.report.cache.size";
+
+    /**
+     * How a request was answered.
+     */
+    public enum Outcome {
+        /** From a fresh cached report. */
+        HIT,
+        /** From a stale cached report, while a new one is generated. */
+        STALE,
+        /** By joining a generation that was already running. */
+        JOINED,
+        /** By starting a new generation. */
+        MISS
+    }
+
+    /**
+     * The parameters of a report, which identify it in the cache.
+     *
+     * @param period
+     *            the period the report covers
+     * @param simulateError
+     *            whether generating the report fails on purpose
+     */
+    public record ReportKey(ReportPeriod period, boolean simulateError) {
+    }
+
+    /**
+     * The two steps of generating a report, which complete one after the
+     * other. Both are already completed for a cached report.
+     *
+     * @param data
+     *            completes when the data has been fetched
+     * @param report
+     *            completes with the generated report
+     * @param outcome
+     *            how the request was answered
+     */
+    public record ReportJob(CompletableFuture<RawAnalyticsData> data,
+            CompletableFuture<AnalyticsReport> report, Outcome outcome) {
+
+        private ReportJob as(Outcome outcome) {
+            return new ReportJob(data, report, outcome);
+        }
+    }
+
+    private record Entry(ReportJob job, long generatedNanos) {
+    }
+
+    private final AnalyticsService analyticsService;
+    private final long timeToLiveNanos;
+    private final long staleNanos;
+    private final LongSupplier clock;
+    private final Map<ReportKey, Entry> reports = new ConcurrentHashMap<>();
+    private final Map<ReportKey, ReportJob> generating = new ConcurrentHashMap<>();
+    private final AtomicLong[] counts = new AtomicLong[Outcome.values()
+            .length];
+    private final Timer succeeded;
+    private final Timer failed;
+
+    @Autowired
+    public AnalyticsReportCache(AnalyticsService analyticsService,
+            MeterRegistry registry,
+            @Value("${app.analytics.report-cache.ttl:60s}")
+            Duration timeToLive,
+            @Value("${app.analytics.report-cache.stale:5m}")
+            Duration stale) {
+        this(analyticsService, registry, timeToLive, stale, System::nanoTime);
+    }
+
+    AnalyticsReportCache(AnalyticsService analyticsService,
+            MeterRegistry registry, Duration timeToLive, Duration stale,
+            LongSupplier clock) {
+        this.analyticsService = analyticsService;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.staleNanos = stale.toNanos();
+        this.clock = clock;
+        for (Outcome outcome : Outcome.values()) {
+            AtomicLong count = new AtomicLong();
+            counts[outcome.ordinal()] = count;
+            FunctionCounter.builder(REQUESTS, count, AtomicLong::doubleValue)
+                    .tag("result", outcome.name().toLowerCase())
+                    .description("Report requests by how they were answered")
+                    .register(registry);
+        }
+        succeeded = Timer.builder(GENERATION).tag("result", "success")
+                .description("Time to fetch data and generate a report")
+                .register(registry);
+        failed = Timer.builder(GENERATION).tag("result", "failure")
+                .description("Time to fetch data and generate a report")
+                .register(registry);
+        Gauge.builder(SIZE, reports, Map::size)
+                .description("Number of cached analytics reports")
+                .register(registry);
+    }
+
+    /**
+     * Gets a report from the cache, generating it if needed.
+     *
+     * @param key
+     *            the parameters of the report
+     * @return the steps of the generation, completed for a cached report
+     */
+    public ReportJob getReport(ReportKey key) {
+        long now = clock.getAsLong();
+        Entry entry = reports.get(key);
+        if (entry != null) {
+            long age = now - entry.generatedNanos();
+            if (age < timeToLiveNanos) {
+                return record(entry.job().as(Outcome.HIT));
+            }
+            if (age < timeToLiveNanos + staleNanos) {
+                generate(key);
+                return record(entry.job().as(Outcome.STALE));
+            }
+            reports.remove(key, entry);
+        }
+        return record(generate(key));
+    }
+
+    private ReportJob record(ReportJob job) {
+        counts[job.outcome().ordinal()].incrementAndGet();
+        return job;
+    }
+
+    /**
+     * Starts generating a report unless it is already being generated.
+     */
+    private ReportJob generate(ReportKey key) {
+        ReportJob running = generating.get(key);
+        if (running != null) {
+            return running.as(Outcome.JOINED);
+        }
+        CompletableFuture<RawAnalyticsData> data = new CompletableFuture<>();
+        CompletableFuture<AnalyticsReport> report = new CompletableFuture<>();
+        ReportJob job = new ReportJob(data, report, Outcome.MISS);
+        running = generating.putIfAbsent(key, job);
+        if (running != null) {
+            return running.as(Outcome.JOINED);
+        }
+
+        // Only started once the job is registered, so that a generation that
+        // completes right away cannot leave it behind
+        long start = clock.getAsLong();
+        analyticsService.fetchReportData(key.period(), key.simulateError())
+                .whenComplete((raw, error) -> {
+                    if (error != null) {
+                        data.completeExceptionally(error);
+                    } else {
+                        data.complete(raw);
+                    }
+                })
+                .thenCompose(raw -> analyticsService
+                        .generateReportFromData(raw, key.simulateError()))
+                .whenComplete((generated, error) -> {
+                    long nanos = clock.getAsLong() - start;
+                    if (error != null) {
+                        failed.record(nanos, TimeUnit.NANOSECONDS);
+                    } else {
+                        succeeded.record(nanos, TimeUnit.NANOSECONDS);
+                        reports.put(key, new Entry(job, start + nanos));
+                    }
+                    generating.remove(key, job);
+                    if (error != null) {
+                        report.completeExceptionally(error);
+                    } else {
+                        report.complete(generated);
+                    }
+                    evictExpired(start + nanos);
+                });
+        return job;
+    }
+
+    private void evictExpired(long now) {
+        reports.values().removeIf(entry -> now
+                - entry.generatedNanos() >= timeToLiveNanos + staleNanos);
+    }
+}
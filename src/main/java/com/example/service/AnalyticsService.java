@@ -1,7 +1,16 @@
 package com.example.service;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.concurrent.CompletableFuture;
 
+import com.example.service.AnalyticsEventStore.Totals;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -9,43 +18,82 @@ import org.springframework.stereotype.Service;
  * Service for generating analytics reports asynchronously.
  *
  * Demonstrates proper Spring Boot async service pattern with @Async annotation.
- * In a real application, this would connect to databases, external APIs, or
- * perform complex calculations to generate reports.
+ * The reports are aggregated from the visit and order events of an
+ * {@link AnalyticsEventStore}, which is filled with synthetic traffic in the
+ * background at startup: a year of it when the store is empty, otherwise the
+ * traffic since the last stored event. Reports top it up to the current time
+ * before aggregating, and wait for the startup fill if it is still running.
+ * The events are kept on the heap, or memory-mapped in a directory when one
+ * is configured, in which case they are kept across restarts.
  */
 @Service
 public class AnalyticsService {
 
+    /**
+     * The period a report covers.
+     *
+     * @param label
+     *            the name of the period shown in the report
+     * @param from
+     *            the start of the period
+     * @param to
+     *            the end of the period, exclusive
+     */
+    public record ReportPeriod(String label, Instant from, Instant to) {
+
+        /**
+         * Gets the period of the last days up to the end of today, in UTC.
+         * Whole days are used so that the period stays the same during the
+         * day and reports of it can be cached.
+         *
+         * @param days
+         *            the number of days, including today
+         */
+        public static ReportPeriod lastDays(int days) {
+            Instant to = LocalDate.now(ZoneOffset.UTC).plusDays(1)
+                    .atStartOfDay(ZoneOffset.UTC).toInstant();
+            return new ReportPeriod("Last " + days + " days",
+                    to.minus(Duration.ofDays(days)), to);
+        }
+    }
+
     /**
      * Represents raw analytics data fetched from data sources. This simulates
      * the result of querying databases, APIs, or data warehouses.
      */
     public static class RawAnalyticsData {
-        private final int totalSales;
-        private final int orderCount;
-        private final int totalVisitors;
-        private final int conversions;
-
-        public RawAnalyticsData(int totalSales, int orderCount,
-                int totalVisitors, int conversions) {
+        private final String period;
+        private final long totalSales;
+        private final long orderCount;
+        private final long totalVisitors;
+        private final long conversions;
+
+        public RawAnalyticsData(String period, long totalSales,
+                long orderCount, long totalVisitors, long conversions) {
+            this.period = period;
             this.totalSales = totalSales;
             this.orderCount = orderCount;
             this.totalVisitors = totalVisitors;
             this.conversions = conversions;
         }
 
-        public int getTotalSales() {
+        public String getPeriod() {
+            return period;
+        }
+
+        public long getTotalSales() {
             return totalSales;
         }
 
-        public int getOrderCount() {
+        public long getOrderCount() {
             return orderCount;
         }
 
-        public int getTotalVisitors() {
+        public long getTotalVisitors() {
             return totalVisitors;
         }
 
-        public int getConversions() {
+        public long getConversions() {
             return conversions;
         }
     }
@@ -55,10 +103,10 @@ public class AnalyticsService {
      */
     public static class AnalyticsReport {
         private String period;
-        private int totalRevenue;
-        private int totalOrders;
+        private long totalRevenue;
+        private long totalOrders;
         private double conversionRate;
-        private int activeUsers;
+        private long activeUsers;
 
         // Sentinel value for empty report
         private static final AnalyticsReport EMPTY = new AnalyticsReport("", 0,
@@ -68,8 +116,8 @@ public class AnalyticsService {
             this.period = "";
         }
 
-        public AnalyticsReport(String period, int totalRevenue, int totalOrders,
-                double conversionRate, int activeUsers) {
+        public AnalyticsReport(String period, long totalRevenue,
+                long totalOrders, double conversionRate, long activeUsers) {
             this.period = period;
             this.totalRevenue = totalRevenue;
             this.totalOrders = totalOrders;
@@ -93,19 +141,19 @@ public class AnalyticsService {
             this.period = period;
         }
 
-        public int getTotalRevenue() {
+        public long getTotalRevenue() {
             return totalRevenue;
         }
 
-        public void setTotalRevenue(int totalRevenue) {
+        public void setTotalRevenue(long totalRevenue) {
             this.totalRevenue = totalRevenue;
         }
 
-        public int getTotalOrders() {
+        public long getTotalOrders() {
             return totalOrders;
         }
 
-        public void setTotalOrders(int totalOrders) {
+        public void setTotalOrders(long totalOrders) {
             this.totalOrders = totalOrders;
         }
 
@@ -117,53 +165,98 @@ public class AnalyticsService {
             this.conversionRate = conversionRate;
         }
 
-        public int getActiveUsers() {
+        public long getActiveUsers() {
             return activeUsers;
         }
 
-        public void setActiveUsers(int activeUsers) {
+        public void setActiveUsers(long activeUsers) {
             this.activeUsers = activeUsers;
         }
     }
 
+    private static final long SEED = 42;
+    private static final Duration YEAR = Duration.ofDays(365);
+
+    private final AnalyticsEventStore eventStore;
+    private final long visitsPerYear;
+
+    @Autowired
+    public AnalyticsService(
+            @Value("${app.analytics.visits:100000}") long visitsPerYear,
+            @Value("${app.analytics.directory:}") String directory) {
+        this(new AnalyticsEventStore(
+                directory.isBlank() ? null : Path.of(directory),
+                AnalyticsEventStore.DEFAULT_SEGMENT_EVENTS), visitsPerYear);
+        Thread.ofVirtual().name("analytics-events")
+                .start(() -> topUp(Instant.now()));
+    }
+
+    AnalyticsService(AnalyticsEventStore eventStore) {
+        this(eventStore, 0);
+    }
+
+    AnalyticsService(AnalyticsEventStore eventStore, long visitsPerYear) {
+        this.eventStore = eventStore;
+        this.visitsPerYear = visitsPerYear;
+    }
+
+    /**
+     * Appends synthetic traffic from the last stored event up to a time, or
+     * for the year before it when the store is empty.
+     *
+     * @param now
+     *            the time to generate traffic up to
+     */
+    synchronized void topUp(Instant now) {
+        @Nullable Instant last = eventStore.getLastEventTime();
+        Instant from = last == null ? now.minus(YEAR) : last.plusSeconds(1);
+        long visits = visitsPerYear
+                * Math.max(0, Duration.between(from, now).toSeconds())
+                / YEAR.toSeconds();
+        if (visits > 0) {
+            eventStore.appendSynthetic(visits, from, now,
+                    SEED + from.getEpochSecond());
+            eventStore.flush();
+        }
+    }
+
+    /**
+     * Gets the store the reports are aggregated from.
+     */
+    public AnalyticsEventStore getEventStore() {
+        return eventStore;
+    }
+
     /**
      * Fetches relevant data for analytics report generation (Step 1).
      *
      * The @Async annotation causes Spring to execute this method in a separate
-     * thread from a configured thread pool. This simulates fetching raw data
-     * from databases, APIs, or data warehouses before processing.
+     * thread from a configured thread pool. The events of the period are
+     * aggregated in parallel by the event store.
      *
+     * @param period
+     *            the period to report on
      * @param simulateError
      *            If true, simulates a service failure
      * @return CompletableFuture containing the raw analytics data
      */
     @Async
     public CompletableFuture<RawAnalyticsData> fetchReportData(
-            boolean simulateError) {
+            ReportPeriod period, boolean simulateError) {
         try {
-            // Simulate data fetching: database queries, API calls, data
-            // warehouse access
+            // Simulate the latency of a remote data warehouse, the local
+            // aggregation itself takes milliseconds
             Thread.sleep(2000);
 
             if (simulateError) {
                 throw new RuntimeException("Failed to fetch analytics data");
             }
 
-            // In a real application, this would fetch data from:
-            // - Database queries (SELECT statements)
-            // - External API calls
-            // - Data warehouse aggregations
-            // - Real-time data streams
-            RawAnalyticsData rawData = new RawAnalyticsData(1_234_567, // Total
-                                                                       // sales
-                                                                       // amount
-                                                                       // from
-                                                                       // orders
-                                                                       // table
-                    15_432, // Order count from orders table
-                    260_784, // Total visitors from analytics
-                    8_921 // Conversion events from tracking
-            );
+            topUp(Instant.now());
+            Totals totals = eventStore.aggregate(period.from(), period.to());
+            RawAnalyticsData rawData = new RawAnalyticsData(period.label(),
+                    totals.revenue(), totals.orders(), totals.visits(),
+                    totals.conversions());
 
             return CompletableFuture.completedFuture(rawData);
 
@@ -204,10 +297,11 @@ public class AnalyticsService {
             // - Calculate metrics and aggregations (conversion rate, etc.)
             // - Apply business logic and transformations
             // - Format results for presentation
-            double conversionRate = (rawData.getConversions() * 100.0)
-                    / rawData.getTotalVisitors();
+            double conversionRate = rawData.getTotalVisitors() == 0 ? 0
+                    : (rawData.getConversions() * 100.0)
+                            / rawData.getTotalVisitors();
 
-            AnalyticsReport report = new AnalyticsReport("Q4 2025",
+            AnalyticsReport report = new AnalyticsReport(rawData.getPeriod(),
                     rawData.getTotalSales(), rawData.getOrderCount(),
                     conversionRate, rawData.getConversions());
 
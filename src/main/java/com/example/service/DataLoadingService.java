@@ -3,16 +3,16 @@ package com.example.service;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Random;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleConsumer;
 
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 /**
- * Service for loading data asynchronously with simulated delays.
+ * Service for loading data with simulated delays.
  *
- * Demonstrates parallel async loading where each data item loads independently
- * with its own delay and error simulation.
+ * Each data item loads independently with its own delay and error
+ * simulation. Loads block the calling thread and are run in parallel by
+ * {@link ParallelLoadingService}.
  */
 @Service
 public class DataLoadingService {
@@ -20,12 +20,11 @@ public class DataLoadingService {
     private static final Random RANDOM = new Random();
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter
             .ofPattern("HH:mm:ss");
+    private static final int PROGRESS_STEP_MS = 100;
 
     /**
-     * Loads data asynchronously with a simulated delay.
-     *
-     * The @Async annotation causes Spring to execute this method in a separate
-     * thread from a configured thread pool, enabling true parallel execution.
+     * Loads data with a simulated delay, blocking the calling thread. Meant
+     * for virtual threads, see {@link ParallelLoadingService}.
      *
      * @param id
      *            Unique identifier for the data item
@@ -33,33 +32,34 @@ public class DataLoadingService {
      *            Simulated loading delay in milliseconds
      * @param shouldSimulateErrors
      *            If true, has ~30% chance to fail
-     * @return CompletableFuture containing the loaded data
+     * @param progress
+     *            Receives the completed fraction about every
+     *            {@value #PROGRESS_STEP_MS} ms
+     * @return the loaded data
+     * @throws InterruptedException
+     *             if the thread is interrupted while loading
      */
-    @Async
-    public CompletableFuture<String> loadDataAsync(String id, int delayMs,
-            boolean shouldSimulateErrors) {
-        try {
-            // Simulate data loading delay (e.g., database query, API call)
-            Thread.sleep(delayMs);
-
-            // Randomly fail if error simulation is enabled (30% chance)
-            if (shouldSimulateErrors && RANDOM.nextDouble() < 0.3) {
-                throw new RuntimeException("Failed to load data from server");
-            }
-
-            // Generate mock data with timestamp
-            String timestamp = LocalDateTime.now().format(TIME_FORMATTER);
-            String data = String.format(
-                    "Data loaded successfully!\n" + "Time: %s\n"
-                            + "Duration: %dms\n" + "Sample values: %d, %d, %d",
-                    timestamp, delayMs, RANDOM.nextInt(100),
-                    RANDOM.nextInt(100), RANDOM.nextInt(100));
-
-            return CompletableFuture.completedFuture(data);
+    public String loadData(String id, int delayMs,
+            boolean shouldSimulateErrors, DoubleConsumer progress)
+            throws InterruptedException {
+        // Simulate data loading delay (e.g., database query, API call)
+        for (int elapsed = 0; elapsed < delayMs; elapsed += PROGRESS_STEP_MS) {
+            Thread.sleep(Math.min(PROGRESS_STEP_MS, delayMs - elapsed));
+            progress.accept(Math.min(1,
+                    (elapsed + PROGRESS_STEP_MS) / (double) delayMs));
+        }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Data loading was interrupted");
+        // Randomly fail if error simulation is enabled (30% chance)
+        if (shouldSimulateErrors && RANDOM.nextDouble() < 0.3) {
+            throw new RuntimeException("Failed to load data from server");
         }
+
+        // Generate mock data with timestamp
+        String timestamp = LocalDateTime.now().format(TIME_FORMATTER);
+        return String.format(
+                "Data loaded successfully!\n" + "Time: %s\n"
+                        + "Duration: %dms\n" + "Sample values: %d, %d, %d",
+                timestamp, delayMs, RANDOM.nextInt(100), RANDOM.nextInt(100),
+                RANDOM.nextInt(100));
     }
 }
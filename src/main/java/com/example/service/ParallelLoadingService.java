@@ -0,0 +1,278 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.DoubleConsumer;
+
+import com.example.signals.SignalTimers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs blocking loads in parallel on virtual threads, grouped in scopes that
+ * a view cancels when it is detached.
+ * <p>
+ * Every load gets its own virtual thread, so a load that blocks, for example
+ * on a slow query, does not hold a platform thread and thousands of loads can
+ * wait at the same time. How many loads actually run at once is limited by a
+ * limit shared by all scopes, and loads beyond it wait for a permit without
+ * occupying anything but their virtual thread. A load that runs longer than
+ * its timeout is interrupted and fails with a {@link TimeoutException}.
+ * <p>
+ * A {@link Scope} owns the loads forked in it, in the spirit of structured
+ * concurrency: cancelling or closing the scope interrupts all loads that have
+ * not completed, and their listeners are not called anymore. Listeners run on
+ * the load's thread, so anything that touches a UI must go through
+ * {@code UI.access}.
+ */
+@Service
+public class ParallelLoadingService {
+
+    /**
+     * A blocking load.
+     *
+     * @param <T>
+     *            the type of the result
+     */
+    @FunctionalInterface
+    public interface Load<T> {
+        /**
+         * Runs the load. Should stop when the thread is interrupted.
+         *
+         * @param progress
+         *            receives the completed fraction, from 0 to 1
+         * @return the result
+         * @throws Exception
+         *             if the load fails
+         */
+        T run(DoubleConsumer progress) throws Exception;
+    }
+
+    /**
+     * Receives the progress and the outcome of a load.
+     *
+     * @param <T>
+     *            the type of the result
+     */
+    public interface Listener<T> {
+        /**
+         * Called with the completed fraction while the load runs.
+         */
+        default void onProgress(double fraction) {
+        }
+
+        /**
+         * Called with the result of a successful load.
+         */
+        void onSuccess(T result);
+
+        /**
+         * Called when the load failed or timed out.
+         */
+        void onFailure(Throwable error);
+    }
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration defaultTimeout;
+
+    public ParallelLoadingService(
+            @Value("${app.loader.max-concurrency:256}") int maxConcurrency,
+            @Value("${app.loader.timeout:30s}") Duration defaultTimeout) {
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /**
+     * Opens a scope for loads.
+     */
+    public Scope open() {
+        return new Scope();
+    }
+
+    /**
+     * Gets the largest number of loads that run at the same time.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Gets the number of loads running right now, in all scopes.
+     */
+    public int getRunningCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * A group of loads that is cancelled as a whole.
+     */
+    public final class Scope implements AutoCloseable {
+
+        private static final ThreadFactory THREADS = Thread.ofVirtual()
+                .name("loader-", 0).factory();
+
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        private Scope() {
+        }
+
+        /**
+         * Starts a load with the default timeout.
+         */
+        public <T> void fork(Load<T> load, Listener<? super T> listener) {
+            fork(load, defaultTimeout, listener);
+        }
+
+        /**
+         * Starts a load.
+         *
+         * @param load
+         *            the load to run
+         * @param timeout
+         *            how long the load may run once it has started, not
+         *            counting the time it waits for the concurrency limit
+         * @param listener
+         *            receives the progress and the outcome, unless the scope
+         *            is cancelled first
+         * @throws IllegalStateException
+         *             if the scope is cancelled
+         */
+        public <T> void fork(Load<T> load, Duration timeout,
+                Listener<? super T> listener) {
+            if (cancelled) {
+                throw new IllegalStateException("The scope is cancelled");
+            }
+            Thread thread = THREADS.newThread(() -> {
+                try {
+                    run(load, timeout, listener);
+                } finally {
+                    threads.remove(Thread.currentThread());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+            if (cancelled) {
+                // Cancelled while starting, make sure the thread sees it
+                thread.interrupt();
+            }
+        }
+
+        private <T> void run(Load<T> load, Duration timeout,
+                Listener<? super T> listener) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (cancelled) {
+                // Got a permit released by a cancelled load
+                permits.release();
+                return;
+            }
+            Thread thread = Thread.currentThread();
+            AtomicBoolean timedOut = new AtomicBoolean();
+            SignalTimers.Timeout timer = SignalTimers.schedule(timeout, () -> {
+                timedOut.set(true);
+                thread.interrupt();
+            });
+            DoubleConsumer progress = fraction -> {
+                if (!cancelled) {
+                    listener.onProgress(fraction);
+                }
+            };
+            T result;
+            try {
+                result = load.run(progress);
+            } catch (Exception e) {
+                end(timer);
+                if (!cancelled) {
+                    listener.onFailure(timedOut.get() ? new TimeoutException(
+                            "Timed out after " + timeout.toMillis() + " ms")
+                            : e);
+                }
+                return;
+            } catch (Throwable e) {
+                end(timer);
+                throw e;
+            }
+            end(timer);
+            if (!cancelled) {
+                listener.onSuccess(result);
+            }
+        }
+
+        private void end(SignalTimers.Timeout timer) {
+            timer.cancel();
+            permits.release();
+            // Clear an interrupt by a timeout that fired as the load ended
+            Thread.interrupted();
+        }
+
+        /**
+         * Interrupts all loads that have not completed. Their listeners are
+         * not called anymore, and no new loads can be started.
+         */
+        public void cancel() {
+            cancelled = true;
+            threads.forEach(Thread::interrupt);
+        }
+
+        /**
+         * Checks whether the scope is cancelled.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Gets the number of loads that have not completed, including those
+         * waiting for the concurrency limit.
+         */
+        public int getActiveCount() {
+            return threads.size();
+        }
+
+        /**
+         * Waits until all loads of this scope have completed.
+         *
+         * @param timeout
+         *            the longest time to wait
+         * @return whether all loads completed in time
+         * @throws InterruptedException
+         *             if interrupted while waiting
+         */
+        public boolean join(Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            for (Thread thread : threads) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !thread.join(Duration.ofNanos(
+                        remaining))) {
+                    return threads.isEmpty();
+                }
+            }
+            return threads.isEmpty();
+        }
+
+        /**
+         * Cancels the scope and waits briefly for the interrupted loads to
+         * end.
+         */
+        @Override
+        public void close() {
+            cancel();
+            try {
+                join(Duration.ofSeconds(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
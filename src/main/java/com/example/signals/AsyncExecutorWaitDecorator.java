@@ -0,0 +1,47 @@
+package com.example.signals;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how long {@code @Async} service calls wait for an executor thread.
+ * Spring Boot applies a single {@link TaskDecorator} bean to the executor that
+ * runs {@code @Async} methods, so no service needs to change.
+ * <p>
+ * The results of those calls are written to signals from the executor thread,
+ * which is what eventually queues the effect runs for the UI. The time those
+ * updates then wait for {@code UI.access} is not included; it is recorded by
+ * {@link SignalMetrics#accessWait(String)}. When instrumentation is disabled,
+ * tasks are passed through unchanged.
+ */
+@Component
+public class AsyncExecutorWaitDecorator implements TaskDecorator {
+
+    private final @Nullable Timer timer;
+
+    public AsyncExecutorWaitDecorator(SignalMetrics signalMetrics,
+            MeterRegistry registry) {
+        this.timer = signalMetrics.isEnabled()
+                ? Timer.builder(SignalMetrics.EXECUTOR_WAIT).register(registry)
+                : null;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Timer timer = this.timer;
+        if (timer == null) {
+            return runnable;
+        }
+        long queuedNanos = System.nanoTime();
+        return () -> {
+            timer.record(System.nanoTime() - queuedNanos,
+                    TimeUnit.NANOSECONDS);
+            runnable.run();
+        };
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.signals;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Push coalescing policy of a single UI.
+ * <p>
+ * While nothing changes, the UI keeps automatic push and no timer runs. The
+ * first change tracked with {@link PushCoalescingService#track} switches the
+ * UI to manual push and starts checking the window every flush interval.
+ * Pending changes are pushed when either:
+ * <ul>
+ * <li>no change has been made for a full flush interval, or</li>
+ * <li>the oldest pending change has waited for the max latency.</li>
+ * </ul>
+ * A burst of changes is therefore sent as one push message. The state tree
+ * only keeps the latest value of each property, so a value that changed
+ * several times within the window is sent once. Other changes in the UI made
+ * during a burst are pushed together with it. When a check finds nothing
+ * pending, the checks stop and automatic push is restored.
+ *
+ * @see PushCoalescingService
+ */
+public class CoalescingWindow {
+
+    /**
+     * The UI side of a window. All methods are called while holding the UI
+     * lock.
+     */
+    interface Host {
+
+        /**
+         * Checks whether push is currently controlled elsewhere, for example
+         * because the tab is hidden or the UI does not use automatic push.
+         */
+        boolean isSuspended();
+
+        /**
+         * Checks whether the UI has changes that have not been sent.
+         */
+        boolean hasUntrackedChanges();
+
+        /**
+         * Switches the UI to manual push and starts running the tick while
+         * holding the UI lock every flush interval.
+         */
+        void startTicking(Runnable tick);
+
+        /**
+         * Stops the ticks and restores automatic push.
+         */
+        void stopTicking();
+
+        /**
+         * Pushes pending changes to the client.
+         */
+        void push();
+    }
+
+    private final long flushIntervalNanos;
+    private final long maxLatencyNanos;
+    private final LongSupplier clock;
+    private final Host host;
+    private int holders;
+    private boolean ticking;
+
+    private long lastChangeNanos;
+    private long firstPendingNanos = -1;
+
+    private long trackedChanges;
+    private long pushCount;
+    private long ticks;
+    private long maxLatencyObservedNanos;
+
+    CoalescingWindow(Duration flushInterval, Duration maxLatency,
+            LongSupplier clock, Host host) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException(
+                    "Flush interval must be positive");
+        }
+        if (maxLatency.compareTo(flushInterval) < 0) {
+            throw new IllegalArgumentException(
+                    "Max latency must not be shorter than the flush interval");
+        }
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.clock = clock;
+        this.host = host;
+    }
+
+    void markChanged() {
+        if (host.isSuspended()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        lastChangeNanos = now;
+        if (firstPendingNanos < 0) {
+            firstPendingNanos = now;
+        }
+        trackedChanges++;
+        if (!ticking) {
+            ticking = true;
+            host.startTicking(this::tick);
+        }
+    }
+
+    /**
+     * Pushes pending changes if the window is due, and stops ticking once
+     * nothing is pending. Must be called while holding the UI lock.
+     */
+    void tick() {
+        if (!ticking) {
+            // A tick that was queued before the window stopped
+            return;
+        }
+        ticks++;
+        if (host.isSuspended()) {
+            // The resync after the tab is shown again sends everything
+            firstPendingNanos = -1;
+            stop();
+            return;
+        }
+        long now = clock.getAsLong();
+        if (firstPendingNanos < 0) {
+            if (!host.hasUntrackedChanges()) {
+                stop();
+                return;
+            }
+            // Changes made outside tracked signals during the burst
+            firstPendingNanos = now;
+            lastChangeNanos = now;
+        }
+        boolean quiet = now - lastChangeNanos >= flushIntervalNanos;
+        boolean overdue = now - firstPendingNanos >= maxLatencyNanos;
+        if (!quiet && !overdue) {
+            return;
+        }
+        maxLatencyObservedNanos = Math.max(maxLatencyObservedNanos,
+                now - firstPendingNanos);
+        firstPendingNanos = -1;
+        pushCount++;
+        host.push();
+    }
+
+    private void stop() {
+        ticking = false;
+        host.stopTicking();
+    }
+
+    void hold() {
+        holders++;
+    }
+
+    /**
+     * Releases one holder.
+     *
+     * @return {@code true} if no holders remain
+     */
+    boolean release() {
+        holders--;
+        return holders <= 0;
+    }
+
+    /**
+     * Stops ticking. Pending changes are sent by the automatic push that is
+     * restored. Must be called while holding the UI lock.
+     */
+    void close() {
+        firstPendingNanos = -1;
+        if (ticking) {
+            stop();
+        }
+    }
+
+    /**
+     * Checks whether the window is currently checked every flush interval.
+     */
+    boolean isTicking() {
+        return ticking;
+    }
+
+    /**
+     * Gets the flush interval.
+     */
+    public Duration getFlushInterval() {
+        return Duration.ofNanos(flushIntervalNanos);
+    }
+
+    /**
+     * Gets the max latency bound.
+     */
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(maxLatencyNanos);
+    }
+
+    /**
+     * Gets the number of changes recorded from tracked signals.
+     */
+    public long getTrackedChanges() {
+        return trackedChanges;
+    }
+
+    /**
+     * Gets the number of push messages sent by this window.
+     */
+    public long getPushCount() {
+        return pushCount;
+    }
+
+    /**
+     * Gets the number of times the window was checked.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the longest time a change waited before being pushed.
+     */
+    public Duration getMaxObservedLatency() {
+        return Duration.ofNanos(maxLatencyObservedNanos);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.signals;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Decides whether a recomputed signal value is equivalent to the previous
+ * one, so that dependents do not need to run again. Used with
+ * {@link MemoizedComputation}.
+ * <p>
+ * Computed signals already compare values with {@code equals}, so an
+ * equivalence is only useful when it is looser than that.
+ *
+ * @param <T>
+ *            the value type
+ */
+@FunctionalInterface
+public interface Equivalence<T> extends Serializable {
+
+    /**
+     * Checks whether two non-null values are equivalent.
+     *
+     * @param previous
+     *            the previous value
+     * @param next
+     *            the recomputed value
+     * @return {@code true} if dependents do not need to see the new value
+     */
+    boolean equivalent(T previous, T next);
+
+    /**
+     * Checks two values that may be {@code null}. Two {@code null} values are
+     * equivalent, and {@code null} is not equivalent to any other value.
+     *
+     * @param previous
+     *            the previous value
+     * @param next
+     *            the recomputed value
+     * @return {@code true} if the values are equivalent
+     */
+    default boolean test(@Nullable T previous, @Nullable T next) {
+        if (previous == null || next == null) {
+            return previous == next;
+        }
+        return equivalent(previous, next);
+    }
+
+    /**
+     * {@link BigDecimal} values are equivalent if they are numerically equal
+     * regardless of scale, so that {@code 10.0} and {@code 10.00} are the
+     * same amount.
+     */
+    static Equivalence<BigDecimal> numericValue() {
+        return (previous, next) -> previous.compareTo(next) == 0;
+    }
+
+    /**
+     * Numbers are equivalent if their double values differ by at most the
+     * given tolerance, to absorb floating point rounding in sums.
+     *
+     * @param epsilon
+     *            the largest difference that counts as unchanged
+     */
+    static <T extends Number> Equivalence<T> within(double epsilon) {
+        if (epsilon < 0) {
+            throw new IllegalArgumentException(
+                    "Epsilon must not be negative: " + epsilon);
+        }
+        return (previous, next) -> Math
+                .abs(previous.doubleValue() - next.doubleValue()) <= epsilon;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.signals;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cooperative cancellation for work that is superseded by newer input, such
+ * as a search started from a debounced query.
+ * <p>
+ * Each call to {@link #next()} hands out a token and cancels all earlier
+ * tokens. The work checks its token between steps and before publishing a
+ * result, so an outdated search stops without interrupting any thread.
+ */
+public final class LatestOnly implements Serializable {
+
+    /**
+     * A handle held by one piece of work.
+     */
+    public interface Token {
+
+        /**
+         * Checks whether newer work has started or everything was cancelled.
+         */
+        boolean isCancelled();
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Starts new work, cancelling the tokens of all earlier work.
+     *
+     * @return the token of the new work
+     */
+    public Token next() {
+        long current = generation.incrementAndGet();
+        return () -> generation.get() != current;
+    }
+
+    /**
+     * Cancels the tokens of all work started so far.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.signals;
+
+import java.io.Serializable;
+
+import org.jspecify.annotations.Nullable;
+
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.signals.Signal;
+
+/**
+ * A signal computation that returns its previous value when the recomputed
+ * value is equivalent to it.
+ * <p>
+ * A computed signal only notifies its dependents when its value changes.
+ * Values such as {@code BigDecimal} amounts with a different scale, or
+ * floating point sums that differ in the last bit, count as changes even
+ * though nothing visible changed, and every downstream signal and effect
+ * runs again. Returning the previous instance for an equivalent value stops
+ * that cascade at this signal.
+ * <p>
+ * Use {@link #computed(SerializableSupplier, Equivalence)} to create a
+ * signal directly, or pass an instance to any factory that takes a
+ * computation, such as {@link SignalProfiler#computed}. Each instance keeps
+ * its own previous value and must back a single signal.
+ *
+ * @param <T>
+ *            the value type
+ */
+public final class MemoizedComputation<T> implements SerializableSupplier<T> {
+
+    private record Value<T>(T value) implements Serializable {
+    }
+
+    private final SerializableSupplier<T> computation;
+    private final Equivalence<? super T> equivalence;
+    private @Nullable Value<T> previous;
+    private long suppressed;
+
+    private MemoizedComputation(SerializableSupplier<T> computation,
+            Equivalence<? super T> equivalence) {
+        this.computation = computation;
+        this.equivalence = equivalence;
+    }
+
+    /**
+     * Wraps a computation.
+     *
+     * @param equivalence
+     *            decides when a recomputed value is unchanged
+     * @param computation
+     *            the computation
+     * @return the memoized computation
+     */
+    public static <T> MemoizedComputation<T> of(
+            Equivalence<? super T> equivalence,
+            SerializableSupplier<T> computation) {
+        return new MemoizedComputation<>(computation, equivalence);
+    }
+
+    /**
+     * Creates a computed signal that does not notify dependents when the
+     * recomputed value is equivalent to the previous one.
+     *
+     * @param computation
+     *            the computation
+     * @param equivalence
+     *            decides when a recomputed value is unchanged
+     * @return the computed signal
+     */
+    public static <T> Signal<T> computed(SerializableSupplier<T> computation,
+            Equivalence<? super T> equivalence) {
+        return Signal.computed(of(equivalence, computation)::get);
+    }
+
+    @Override
+    public T get() {
+        T next = computation.get();
+        Value<T> last = previous;
+        if (last != null && equivalence.test(last.value(), next)) {
+            suppressed++;
+            return last.value();
+        }
+        previous = new Value<>(next);
+        return next;
+    }
+
+    /**
+     * Gets the number of recomputations whose value was discarded as
+     * equivalent to the previous one.
+     */
+    public long getSuppressedCount() {
+        return suppressed;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.signals;
+
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.communication.PushMode;
+import com.vaadin.flow.signals.Signal;
+
+/**
+ * Merges high-frequency server-side changes into fewer push messages.
+ * <p>
+ * Views that produce rapid updates, such as cursor moves, ticker prices or
+ * streamed LLM tokens, enable a {@link CoalescingWindow} for their UI while
+ * attached and track the signals behind those updates with it. Enabling is
+ * reference counted per UI so that navigating between two such views keeps
+ * the window open. An idle window costs nothing: the UI keeps automatic push
+ * and is only checked on a timer while a burst is pending. UIs that do not use
+ * automatic push are left unchanged.
+ */
+@Service
+public class PushCoalescingService {
+
+    /** Default time without changes after which pending changes are pushed. */
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration
+            .ofMillis(50);
+
+    /** Default longest time a change may wait before it is pushed. */
+    public static final Duration DEFAULT_MAX_LATENCY = Duration.ofMillis(200);
+
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor();
+    private final Map<UI, CoalescingWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Enables push coalescing with the default flush interval and max
+     * latency.
+     *
+     * @param ui
+     *            the UI to coalesce pushes for
+     * @return the window of the UI
+     * @see #enable(UI, Duration, Duration)
+     */
+    public CoalescingWindow enable(UI ui) {
+        return enable(ui, DEFAULT_FLUSH_INTERVAL, DEFAULT_MAX_LATENCY);
+    }
+
+    /**
+     * Enables push coalescing for a UI, or adds a holder to its existing
+     * window. Must be called while holding the UI lock, typically from an
+     * attach listener.
+     * <p>
+     * If the UI already has a window, its settings are kept.
+     *
+     * @param ui
+     *            the UI to coalesce pushes for
+     * @param flushInterval
+     *            the time without changes after which pending changes are
+     *            pushed; also how often the window is checked during a
+     *            burst
+     * @param maxLatency
+     *            the longest time a change may wait before it is pushed during
+     *            a continuous stream of changes
+     * @return the window of the UI
+     */
+    public CoalescingWindow enable(UI ui, Duration flushInterval,
+            Duration maxLatency) {
+        CoalescingWindow window = windows.computeIfAbsent(ui,
+                key -> open(key, flushInterval, maxLatency));
+        window.hold();
+        return window;
+    }
+
+    /**
+     * Removes a holder added with {@link #enable(UI)}. When the last holder is
+     * removed, pending changes are pushed and the previous push mode is
+     * restored. Must be called while holding the UI lock.
+     *
+     * @param ui
+     *            the UI
+     */
+    public void disable(UI ui) {
+        windows.computeIfPresent(ui, (key, window) -> {
+            if (!window.release()) {
+                return window;
+            }
+            window.close();
+            return null;
+        });
+    }
+
+    /**
+     * Records every change of a signal as a change to coalesce in the window
+     * of the owner's UI, for as long as the owner is attached. Call once, for
+     * example from the view constructor; changes made while the UI has no
+     * window are pushed as usual.
+     * <p>
+     * Pass the signal that the view's high-frequency bindings depend on, or a
+     * computed signal that reads all of them.
+     *
+     * @param owner
+     *            the component that owns the tracking
+     * @param changes
+     *            the signal whose changes start a burst
+     */
+    public void track(Component owner, Signal<?> changes) {
+        Signal.effect(owner, () -> {
+            changes.get();
+            owner.getUI().map(windows::get)
+                    .ifPresent(CoalescingWindow::markChanged);
+        });
+    }
+
+    /**
+     * Gets the number of UIs with an active window.
+     */
+    public int getActiveWindowCount() {
+        return windows.size();
+    }
+
+    private CoalescingWindow open(UI ui, Duration flushInterval,
+            Duration maxLatency) {
+        UiHost host = new UiHost(ui, flushInterval.toNanos());
+        CoalescingWindow window = new CoalescingWindow(flushInterval,
+                maxLatency, System::nanoTime, host);
+
+        // Drop the window with the UI even if the view never disables it
+        ui.addDetachListener(event -> {
+            CoalescingWindow removed = windows.remove(ui);
+            if (removed != null) {
+                removed.close();
+            }
+        });
+        return window;
+    }
+
+    /**
+     * Connects a window to its UI. Ticks are only scheduled while the window
+     * has pending changes.
+     */
+    private final class UiHost implements CoalescingWindow.Host {
+        private final UI ui;
+        private final long periodNanos;
+        private final TabDormancy dormancy;
+        // Manual or disabled push is already under the view's control. A
+        // hidden tab has switched automatic push to manual, so the mode is
+        // taken from before that.
+        private final boolean automaticPush;
+        private @Nullable ScheduledFuture<?> ticker;
+
+        private UiHost(UI ui, long periodNanos) {
+            this.ui = ui;
+            this.periodNanos = periodNanos;
+            this.dormancy = TabDormancy.forUI(ui);
+            this.automaticPush = dormancy
+                    .getConfiguredPushMode() == PushMode.AUTOMATIC;
+        }
+
+        @Override
+        public boolean isSuspended() {
+            return !automaticPush || dormancy.isDormant();
+        }
+
+        @Override
+        public boolean hasUntrackedChanges() {
+            return ui.getInternals().getStateTree().hasDirtyNodes();
+        }
+
+        @Override
+        public void startTicking(Runnable tick) {
+            ui.getPushConfiguration().setPushMode(PushMode.MANUAL);
+            ticker = scheduler.scheduleAtFixedRate(() -> {
+                if (ui.isAttached()) {
+                    ui.access(tick::run);
+                }
+            }, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void stopTicking() {
+            ScheduledFuture<?> current = ticker;
+            if (current != null) {
+                current.cancel(false);
+                ticker = null;
+            }
+            if (dormancy.isDormant()) {
+                dormancy.restoreAutomaticPushOnResync();
+            } else if (ui.isAttached()) {
+                ui.getPushConfiguration().setPushMode(PushMode.AUTOMATIC);
+            }
+        }
+
+        @Override
+        public void push() {
+            if (ui.getInternals().getPushConnection() != null) {
+                ui.push();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        windows.forEach((ui, window) -> {
+            if (ui.isAttached()) {
+                ui.access(window::close);
+            }
+        });
+        windows.clear();
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.signals;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+/**
+ * A sliding window of the latest points of several time series that share
+ * one axis of labels, such as the timestamps of a chart.
+ * <p>
+ * Values are stored in fixed-size primitive arrays used as ring buffers.
+ * Appending a point overwrites the oldest one once the window is full, which
+ * takes constant time and allocates nothing apart from the notification.
+ * <p>
+ * Readers depend on {@link #appendedSignal()}, the total number of points
+ * appended so far. By comparing it with the count they have already shown,
+ * they know how many points are new and can add just those, for example
+ * with {@code DataSeries.add(item, true, true)} on a chart, instead of
+ * replacing all data.
+ */
+public final class RingTimeSeries implements Serializable {
+
+    private final String[] seriesNames;
+    private final String[] labels;
+    private final double[][] values;
+    private long appended;
+    private final ValueSignal<Long> appendedSignal = new ValueSignal<>(0L);
+
+    /**
+     * Creates an empty time series window.
+     *
+     * @param capacity
+     *            the number of points to keep
+     * @param seriesNames
+     *            the names of the series
+     */
+    public RingTimeSeries(int capacity, String... seriesNames) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Capacity must be positive: " + capacity);
+        }
+        if (seriesNames.length == 0) {
+            throw new IllegalArgumentException(
+                    "At least one series is required");
+        }
+        this.seriesNames = seriesNames.clone();
+        this.labels = new String[capacity];
+        Arrays.fill(labels, "");
+        this.values = new double[seriesNames.length][capacity];
+    }
+
+    /**
+     * Appends a point to every series, evicting the oldest point if the
+     * window is full. The values are copied, so callers can reuse the array
+     * for the next point.
+     *
+     * @param label
+     *            the label of the point on the shared axis
+     * @param point
+     *            one value per series, in the order of the series names
+     */
+    public void append(String label, double[] point) {
+        if (point.length != values.length) {
+            throw new IllegalArgumentException("Expected " + values.length
+                    + " values but got " + point.length);
+        }
+        int slot = (int) (appended % labels.length);
+        labels[slot] = label;
+        for (int series = 0; series < values.length; series++) {
+            values[series][slot] = point[series];
+        }
+        appended++;
+        appendedSignal.set(appended);
+    }
+
+    /**
+     * Gets a signal with the total number of points appended so far. It
+     * changes on every append, also when the window is full.
+     */
+    public Signal<Long> appendedSignal() {
+        return appendedSignal;
+    }
+
+    /**
+     * Gets the total number of points appended so far, without creating a
+     * dependency.
+     */
+    public long getAppendedCount() {
+        return appended;
+    }
+
+    /**
+     * Gets the number of points in the window.
+     */
+    public int size() {
+        return (int) Math.min(appended, labels.length);
+    }
+
+    /**
+     * Gets the number of points the window can hold.
+     */
+    public int getCapacity() {
+        return labels.length;
+    }
+
+    /**
+     * Gets the names of the series.
+     */
+    public List<String> getSeriesNames() {
+        return List.of(seriesNames);
+    }
+
+    /**
+     * Gets the label of a point in the window.
+     *
+     * @param index
+     *            the index of the point, 0 being the oldest
+     * @return the label
+     */
+    public String getLabel(int index) {
+        return labels[slot(index)];
+    }
+
+    /**
+     * Gets the value of a point in the window.
+     *
+     * @param series
+     *            the index of the series
+     * @param index
+     *            the index of the point, 0 being the oldest
+     * @return the value
+     */
+    public double getValue(int series, int index) {
+        return values[series][slot(index)];
+    }
+
+    /**
+     * Gets the label of a point by its sequence number, the number of points
+     * that were appended before it.
+     *
+     * @param sequence
+     *            the sequence number of a point still in the window
+     * @return the label
+     */
+    public String getLabelAt(long sequence) {
+        return labels[sequenceSlot(sequence)];
+    }
+
+    /**
+     * Gets the value of a point by its sequence number, the number of points
+     * that were appended before it.
+     *
+     * @param series
+     *            the index of the series
+     * @param sequence
+     *            the sequence number of a point still in the window
+     * @return the value
+     */
+    public double getValueAt(int series, long sequence) {
+        return values[series][sequenceSlot(sequence)];
+    }
+
+    /**
+     * Removes all points.
+     */
+    public void clear() {
+        Arrays.fill(labels, "");
+        appended = 0;
+        appendedSignal.set(0L);
+    }
+
+    private int slot(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for size " + size);
+        }
+        return sequenceSlot(appended - size + index);
+    }
+
+    private int sequenceSlot(long sequence) {
+        if (sequence < appended - size() || sequence >= appended) {
+            throw new IndexOutOfBoundsException(
+                    "Point " + sequence + " is not in the window");
+        }
+        return (int) (sequence % labels.length);
+    }
+}
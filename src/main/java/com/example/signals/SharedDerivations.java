@@ -0,0 +1,141 @@
+package com.example.signals;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.signals.Signal;
+
+/**
+ * Application-scoped registry of computed signals derived from shared state.
+ * <p>
+ * When every open view computes the same value from an application-scoped
+ * signal, for example the number of completed tasks in a shared list, the
+ * same computation runs once per view for every change. Views that get the
+ * derivation from this registry share a single computed signal instead, so
+ * the value is computed once per change and all sessions read the result.
+ * <p>
+ * A derivation is identified by the object it is derived from and a name.
+ * Each component using it holds a reference while it is attached. When the
+ * last one is detached, the derivation is released and created again on the
+ * next use. A component that is never attached holds no reference, so it does
+ * not keep the derivation or its source alive.
+ */
+@Service
+public class SharedDerivations {
+
+    private record Key(Object source, String name) {
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof Key other && source == other.source
+                    && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(source) + name.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        private final Signal<?> signal;
+        private int references;
+
+        private Entry(Signal<?> signal) {
+            this.signal = signal;
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the shared computed signal for a derivation, creating it if no
+     * attached component is using it. The computation is only used when the
+     * signal is created, so all callers must pass the same computation for
+     * the same source and name.
+     * <p>
+     * The owner holds a reference from when it is attached until it is
+     * detached. A signal created for an owner that is not attached yet is
+     * registered when the owner is attached, unless another component has
+     * registered one for the derivation in the meantime.
+     *
+     * @param owner
+     *            the component using the derivation
+     * @param source
+     *            the shared object the value is derived from, compared by
+     *            identity
+     * @param name
+     *            the name of the derivation
+     * @param computation
+     *            computes the value from {@code source}
+     * @return the shared computed signal
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Signal<T> get(Component owner, Object source, String name,
+            SerializableSupplier<T> computation) {
+        Key key = new Key(source, name);
+        Entry existing = entries.get(key);
+        Signal<T> signal = existing != null ? (Signal<T>) existing.signal
+                : Signal.computed(computation::get);
+        boolean[] retained = { false };
+        // An owner attached after the derivation was released registers its
+        // own signal, so that later users share it
+        owner.addAttachListener(event -> {
+            if (!retained[0]) {
+                retained[0] = true;
+                retain(key, () -> signal);
+            }
+        });
+        owner.addDetachListener(event -> {
+            if (retained[0]) {
+                retained[0] = false;
+                release(key);
+            }
+        });
+        if (owner.isAttached()) {
+            retained[0] = true;
+            retain(key, () -> signal);
+        }
+        return signal;
+    }
+
+    /**
+     * Gets the number of components using a derivation.
+     *
+     * @param source
+     *            the object the value is derived from
+     * @param name
+     *            the name of the derivation
+     * @return the number of references, or 0 if the derivation is not in use
+     */
+    public int getReferenceCount(Object source, String name) {
+        Entry entry = entries.get(new Key(source, name));
+        return entry == null ? 0 : entry.references;
+    }
+
+    /**
+     * Gets the number of derivations currently in use.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void retain(Key key, Supplier<Signal<?>> factory) {
+        entries.compute(key, (k, existing) -> {
+            Entry result = existing != null ? existing
+                    : new Entry(factory.get());
+            result.references++;
+            return result;
+        });
+    }
+
+    private void release(Key key) {
+        entries.computeIfPresent(key,
+                (k, entry) -> --entry.references == 0 ? null : entry);
+    }
+}
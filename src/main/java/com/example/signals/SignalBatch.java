@@ -0,0 +1,145 @@
+package com.example.signals;
+
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import com.vaadin.flow.function.SerializableRunnable;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+/**
+ * Groups writes to many signals so that the effects and bindings depending
+ * on them run once, when the batch commits, instead of once per write.
+ * <p>
+ * Writes inside {@link #run(Runnable)} are applied immediately, so code in
+ * the batch reads its own writes. Only effects created with
+ * {@link #deferredEffect(SerializableRunnable)} and signals wrapped with
+ * {@link #deferred(Signal)} wait: when one of them is triggered while a batch
+ * is open on the current thread, it keeps its previous result and runs once
+ * after the outermost batch has finished. Computed signals are evaluated
+ * lazily, so they run once as well when the deferred effect or binding reads
+ * them after the commit.
+ * <p>
+ * A batch belongs to the thread that opened it, which works the same from a
+ * UI event listener and from a background task running in
+ * {@code ui.access}. Batches can be nested; only the outermost one commits.
+ * If the batch fails, the writes made so far are kept and the deferred
+ * effects still run so that the UI shows them.
+ */
+public final class SignalBatch {
+
+    private static final ThreadLocal<@Nullable Set<Deferred>> PENDING = new ThreadLocal<>();
+
+    private SignalBatch() {
+    }
+
+    /**
+     * Runs the given writes as a batch.
+     *
+     * @param writes
+     *            the code writing the signals
+     */
+    public static void run(Runnable writes) {
+        if (PENDING.get() != null) {
+            writes.run();
+            return;
+        }
+        Set<Deferred> pending = new LinkedHashSet<>();
+        PENDING.set(pending);
+        try {
+            writes.run();
+        } finally {
+            PENDING.remove();
+            pending.forEach(Deferred::release);
+        }
+    }
+
+    /**
+     * Checks whether a batch is open on the current thread.
+     */
+    public static boolean isActive() {
+        return PENDING.get() != null;
+    }
+
+    /**
+     * Wraps an effect so that it runs once after a batch instead of after
+     * every write in it. Pass the result to {@link Signal#effect} or
+     * {@link ViewSignalMetrics#effect}.
+     *
+     * @param action
+     *            the effect
+     * @return the effect to register
+     */
+    public static SerializableRunnable deferredEffect(
+            SerializableRunnable action) {
+        Deferred deferred = new Deferred();
+        return () -> {
+            if (deferred.hold()) {
+                return;
+            }
+            action.run();
+        };
+    }
+
+    /**
+     * Wraps a signal so that its dependents see a single change after a batch
+     * instead of one per write. Use it for bindings and computed signals that
+     * read several of the signals written in the batch.
+     *
+     * @param source
+     *            the signal to wrap
+     * @return a signal with the value of {@code source}
+     */
+    public static <T> Signal<T> deferred(Signal<T> source) {
+        Deferred deferred = new Deferred();
+        Latest<T> latest = new Latest<>();
+        return Signal.computed(() -> {
+            Value<T> previous = latest.value;
+            if (previous != null && deferred.hold()) {
+                return previous.value();
+            }
+            T value = source.get();
+            latest.value = new Value<>(value);
+            return value;
+        });
+    }
+
+    private record Value<T>(T value) implements Serializable {
+    }
+
+    private static final class Latest<T> implements Serializable {
+        private @Nullable Value<T> value;
+    }
+
+    /**
+     * The state of one deferred effect or signal. While a batch is open, the
+     * effect or signal only depends on {@link #trigger}, which the batch
+     * writes on commit to run it again with its real dependencies.
+     */
+    private static final class Deferred implements Serializable {
+        private final ValueSignal<Integer> trigger = new ValueSignal<>(0);
+
+        /**
+         * Subscribes to the trigger and, if a batch is open, registers for
+         * its commit.
+         *
+         * @return {@code true} if the caller should skip its work
+         */
+        boolean hold() {
+            trigger.get();
+            Set<Deferred> pending = PENDING.get();
+            if (pending == null) {
+                return false;
+            }
+            pending.add(this);
+            return true;
+        }
+
+        void release() {
+            trigger.set(trigger.peek() + 1);
+        }
+    }
+}
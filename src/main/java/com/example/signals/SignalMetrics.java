@@ -0,0 +1,193 @@
+package com.example.signals;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+
+/**
+ * Records where signals, effects and background UI updates spend their time,
+ * exported through Micrometer.
+ * <p>
+ * Views get a {@link ViewSignalMetrics} with {@link #forView(Class)} and use
+ * it to create named effects and computed signals and to report writes to
+ * shared signals. Background producers that deliver through a
+ * {@link UiBacklog} pass {@link #accessWait(String)} to it.
+ * <p>
+ * Only the views that are expected to be hot are instrumented: the effects of
+ * the UC 23 dashboard and the shared cursor signals of MUC 02, plus the
+ * scheduler deliveries to UC 23 and UC 25. Other views use the plain signal
+ * API and do not show up in the report.
+ * <p>
+ * Instrumentation is off unless {@code app.signal-metrics.enabled=true}. When
+ * off, effects, computations and tasks are passed through unwrapped and no
+ * meters are registered, so the only cost is a boolean check when the view is
+ * built.
+ */
+@Service
+public class SignalMetrics {
+
+    /** Timer of effect runs, tagged with view and signal. */
+    public static final String EFFECT = "signals.effect";
+
+    /** Timer of computed signal recomputations, tagged with view and signal. */
+    public static final String COMPUTED = "signals.computed";
+
+    /** Counter of writes to shared signals, tagged with view and signal. */
+    public static final String SHARED_WRITES = "signals.shared.writes";
+
+    /** Number of UIs observing a shared signal when it is written. */
+    public static final String FAN_OUT = "signals.shared.fanout";
+
+    /** Time a task waits in the queue before {@code UI.access} runs it. */
+    public static final String ACCESS_WAIT = "signals.ui.access.wait";
+
+    /**
+     * Time an {@code @Async} task waits for an executor thread. This is not
+     * part of the {@link #ACCESS_WAIT} of the UI that gets the result.
+     */
+    public static final String EXECUTOR_WAIT = "signals.async.executor.wait";
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final Map<Class<?>, ViewSignalMetrics> views = new ConcurrentHashMap<>();
+    private final Map<String, Map<UI, Integer>> observers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> accessTimers = new ConcurrentHashMap<>();
+
+    public SignalMetrics(MeterRegistry registry,
+            @Value("${app.signal-metrics.enabled:false}") boolean enabled) {
+        this.registry = registry;
+        this.enabled = enabled;
+        if (enabled) {
+            registerBacklogMeters();
+        }
+    }
+
+    private void registerBacklogMeters() {
+        Gauge.builder("signals.ui.backlog.queued",
+                () -> UiBacklog.all().stream()
+                        .mapToInt(UiBacklog::getQueuedTasks).sum())
+                .description("Updates waiting for UI.access across all UIs")
+                .register(registry);
+        Gauge.builder("signals.ui.backlog.degraded",
+                () -> UiBacklog.all().stream().filter(UiBacklog::isDegraded)
+                        .count())
+                .description("UIs currently in degraded delivery mode")
+                .register(registry);
+        Gauge.builder("signals.dormancy.dormant",
+                () -> TabDormancy.all().stream().filter(TabDormancy::isDormant)
+                        .count())
+                .description("UIs whose tab is currently hidden")
+                .register(registry);
+        Gauge.builder("signals.dormancy.deferred.signals",
+                () -> TabDormancy.all().stream()
+                        .mapToLong(TabDormancy::getDeferredSignalUpdates).sum())
+                .description("Gated signals updated on resync in live UIs")
+                .register(registry);
+        Gauge.builder("signals.dormancy.skipped.tasks",
+                () -> TabDormancy.all().stream()
+                        .mapToLong(TabDormancy::getSkippedTasks).sum())
+                .description("Background updates held back in live UIs")
+                .register(registry);
+        Gauge.builder("signals.dormancy.dropped.tasks",
+                () -> TabDormancy.all().stream()
+                        .mapToLong(TabDormancy::getDroppedTasks).sum())
+                .description("Held back updates superseded before resync, "
+                        + "never pushed")
+                .register(registry);
+    }
+
+    /**
+     * Checks whether instrumentation is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the metrics of a view class. Meters created through it are tagged
+     * with the simple name of the class.
+     *
+     * @param view
+     *            the view class
+     * @return the metrics of the view
+     */
+    public ViewSignalMetrics forView(Class<? extends Component> view) {
+        return views.computeIfAbsent(view,
+                key -> new ViewSignalMetrics(this, key.getSimpleName()));
+    }
+
+    /**
+     * Gets a recorder for the time updates wait before {@code UI.access} runs
+     * them, for use with
+     * {@link UiBacklog#submit(Object, Runnable, LongConsumer)}.
+     * The backlog measures from the first submit of an update that was
+     * replaced by newer data, so the wait of superseded updates is included.
+     * Returns a recorder that does nothing when instrumentation is disabled.
+     *
+     * @param source
+     *            the producer of the updates, used as tag
+     * @return the recorder of wait times in nanoseconds
+     */
+    public LongConsumer accessWait(String source) {
+        if (!enabled) {
+            return waitNanos -> {
+            };
+        }
+        Timer timer = accessTimers.computeIfAbsent(source,
+                key -> Timer.builder(ACCESS_WAIT).tag("source", key)
+                        .register(registry));
+        return waitNanos -> timer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    void addObserver(String signal, UI ui) {
+        observersOf(signal).merge(ui, 1, Integer::sum);
+    }
+
+    void removeObserver(String signal, UI ui) {
+        observersOf(signal).computeIfPresent(ui,
+                (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Gets the observing components per UI of a shared signal.
+     */
+    private Map<UI, Integer> observersOf(String signal) {
+        return observers.computeIfAbsent(signal, key -> {
+            Map<UI, Integer> uis = new ConcurrentHashMap<>();
+            Gauge.builder("signals.shared.observers", uis, Map::size)
+                    .tag("signal", key).register(registry);
+            return uis;
+        });
+    }
+
+    Counter writeCounter(String view, String signal) {
+        return Counter.builder(SHARED_WRITES).tag("view", view)
+                .tag("signal", signal).register(registry);
+    }
+
+    DistributionSummary fanOutSummary(String signal) {
+        return DistributionSummary.builder(FAN_OUT).tag("signal", signal)
+                .baseUnit("uis").register(registry);
+    }
+
+    int getObserverCount(String signal) {
+        Map<UI, Integer> uis = observers.get(signal);
+        return uis != null ? uis.size() : 0;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.signals;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint at {@code /actuator/signals} that lists every signal
+ * meter with its tags and current values, sorted by total time so that the
+ * most expensive effects and computations come first.
+ * <p>
+ * The same meters are available one at a time from
+ * {@code /actuator/metrics}; this endpoint exists to see all of them at once.
+ */
+@Component
+@Endpoint(id = "signals")
+public class SignalMetricsEndpoint {
+
+    /**
+     * One meter in the report.
+     *
+     * @param name
+     *            the meter name
+     * @param tags
+     *            the meter tags
+     * @param count
+     *            number of recorded events, or the current value for gauges
+     * @param totalMillis
+     *            total recorded time, or total amount for distribution
+     *            summaries
+     * @param maxMillis
+     *            longest recorded time, or largest amount
+     */
+    public record MeterReport(String name, Map<String, String> tags,
+            double count, double totalMillis, double maxMillis) {
+    }
+
+    /**
+     * The full report.
+     *
+     * @param enabled
+     *            whether instrumentation is enabled
+     * @param meters
+     *            the signal meters
+     */
+    public record Report(boolean enabled, List<MeterReport> meters) {
+    }
+
+    private final SignalMetrics signalMetrics;
+    private final MeterRegistry registry;
+
+    public SignalMetricsEndpoint(SignalMetrics signalMetrics,
+            MeterRegistry registry) {
+        this.signalMetrics = signalMetrics;
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Report signals() {
+        List<MeterReport> meters = registry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith("signals."))
+                .map(SignalMetricsEndpoint::toReport)
+                .sorted((a, b) -> Double.compare(b.totalMillis(),
+                        a.totalMillis()))
+                .toList();
+        return new Report(signalMetrics.isEnabled(), meters);
+    }
+
+    private static MeterReport toReport(Meter meter) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : meter.getId().getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        String name = meter.getId().getName();
+        return switch (meter) {
+        case Timer timer -> new MeterReport(name, tags, timer.count(),
+                timer.totalTime(TimeUnit.MILLISECONDS),
+                timer.max(TimeUnit.MILLISECONDS));
+        case DistributionSummary summary -> new MeterReport(name, tags,
+                summary.count(), summary.totalAmount(), summary.max());
+        case Counter counter -> new MeterReport(name, tags, counter.count(),
+                0, 0);
+        case FunctionCounter counter -> new MeterReport(name, tags,
+                counter.count(), 0, 0);
+        case Gauge gauge -> new MeterReport(name, tags, gauge.value(), 0, 0);
+        default -> new MeterReport(name, tags, 0, 0, 0);
+        };
+    }
+}
@@ -0,0 +1,508 @@
+package com.example.signals;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializableRunnable;
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.signals.Signal;
+
+/**
+ * Development-time profiler that captures the live dependency graph of a
+ * view's signals and records how often and how long each node recomputes
+ * after a change.
+ * <p>
+ * A view creates its computed signals and effects through the profiler and
+ * wraps the signals it writes with {@link #source(String, Signal)}. Reads
+ * through the returned signals are recorded as edges from the read node to
+ * the node being computed. Writes that start a change, such as a combo box
+ * selection, are wrapped with {@link #writer(String, SerializableConsumer)};
+ * every recomputation until the next change is attributed to it.
+ * <p>
+ * A recomputation is flagged as redundant when none of the profiled signals
+ * it read has changed value since the node last ran: an upstream node ran
+ * but produced an equal value, and the node still ran. For this to be
+ * accurate, every signal a profiled node reads should be profiled too.
+ * <p>
+ * The graph can be exported with {@link #toDot()} for Graphviz or
+ * {@link #toJson()}. When the profiler is disabled, signals and effects are
+ * created directly and nothing is recorded. The profiler is meant to be used
+ * by a single view instance and is not thread-safe; signals are only
+ * computed while holding the session lock.
+ */
+public final class SignalProfiler implements Serializable {
+
+    static final int MAX_CHANGES = 100;
+
+    /**
+     * The kind of a node in the dependency graph.
+     */
+    public enum Kind {
+        SOURCE, COMPUTED, EFFECT
+    }
+
+    /**
+     * One recomputation of a node.
+     *
+     * @param node
+     *            the node name
+     * @param nanos
+     *            time spent, including nodes recomputed while reading
+     * @param changed
+     *            whether a computed node produced a different value; always
+     *            {@code false} for effects
+     * @param redundant
+     *            whether none of the inputs had changed since the last run
+     */
+    public record Run(String node, long nanos, boolean changed,
+            boolean redundant) implements Serializable {
+    }
+
+    /**
+     * The recomputations caused by one change.
+     *
+     * @param label
+     *            the label of the write that started the change
+     * @param runs
+     *            the recomputations in execution order
+     */
+    public record Change(String label, List<Run> runs) implements Serializable {
+
+        /**
+         * Gets the number of redundant recomputations in this change.
+         */
+        public long getRedundantRuns() {
+            return runs.stream().filter(Run::redundant).count();
+        }
+    }
+
+    /**
+     * Accumulated statistics of one node.
+     *
+     * @param name
+     *            the node name
+     * @param kind
+     *            the node kind
+     * @param dependencies
+     *            names of the nodes it has read
+     * @param runs
+     *            number of recomputations
+     * @param totalNanos
+     *            total time spent
+     * @param unchangedRuns
+     *            recomputations of a computed node that produced an equal
+     *            value
+     * @param redundantRuns
+     *            recomputations where no input had changed
+     */
+    public record NodeStats(String name, Kind kind, List<String> dependencies,
+            long runs, long totalNanos, long unchangedRuns,
+            long redundantRuns) implements Serializable {
+    }
+
+    private static final class Node implements Serializable {
+        private final String name;
+        private final Kind kind;
+        private final Set<Node> dependencies = new LinkedHashSet<>();
+        private @Nullable Object lastValue;
+        private boolean hasValue;
+        private long changedAt;
+        private long lastRunAt = -1;
+        private long runs;
+        private long totalNanos;
+        private long unchangedRuns;
+        private long redundantRuns;
+
+        private Node(String name, Kind kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+    }
+
+    private record Frame(Node node, Set<Node> reads, long startNanos) {
+    }
+
+    private final boolean enabled;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final Deque<Frame> running = new ArrayDeque<>();
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private Change current = new Change("initial", new ArrayList<>());
+    private long clock;
+
+    /**
+     * Creates a profiler.
+     *
+     * @param enabled
+     *            {@code false} to create signals and effects without
+     *            profiling
+     */
+    public SignalProfiler(boolean enabled) {
+        this.enabled = enabled;
+        changes.add(current);
+    }
+
+    /**
+     * Checks whether the profiler records anything.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a signal that is written directly, such as a
+     * {@code ValueSignal} bound to a field. Reads must go through the returned
+     * signal to be recorded.
+     *
+     * @param name
+     *            the node name
+     * @param signal
+     *            the signal
+     * @return a signal with the same value that records reads
+     */
+    public <T> Signal<T> source(String name, Signal<T> signal) {
+        if (!enabled) {
+            return signal;
+        }
+        Node node = register(name, Kind.SOURCE);
+        return () -> {
+            T value = signal.get();
+            if (!node.hasValue || !Objects.equals(node.lastValue, value)) {
+                node.lastValue = value;
+                node.hasValue = true;
+                node.changedAt = ++clock;
+            }
+            recordRead(node);
+            return value;
+        };
+    }
+
+    /**
+     * Creates a profiled computed signal.
+     *
+     * @param name
+     *            the node name
+     * @param computation
+     *            the computation
+     * @return the computed signal
+     */
+    public <T> Signal<T> computed(String name,
+            SerializableSupplier<T> computation) {
+        if (!enabled) {
+            return Signal.computed(computation::get);
+        }
+        Node node = register(name, Kind.COMPUTED);
+        Signal<T> computed = Signal.computed(() -> {
+            Frame frame = begin(node);
+            T value = compute(computation);
+            end(frame, value, true);
+            return value;
+        });
+        return () -> {
+            T value = computed.get();
+            recordRead(node);
+            return value;
+        };
+    }
+
+    /**
+     * Creates a profiled computed signal that maps the value of another
+     * signal, like {@link Signal#map}.
+     *
+     * @param name
+     *            the node name
+     * @param source
+     *            the signal to map
+     * @param mapper
+     *            the mapping function
+     * @return the computed signal
+     */
+    public <T, R> Signal<R> map(String name, Signal<T> source,
+            SerializableFunction<T, R> mapper) {
+        return computed(name, () -> mapper.apply(source.get()));
+    }
+
+    /**
+     * Creates a profiled effect.
+     *
+     * @param owner
+     *            the component that owns the effect
+     * @param name
+     *            the node name
+     * @param action
+     *            the effect
+     */
+    public void effect(Component owner, String name,
+            SerializableRunnable action) {
+        if (!enabled) {
+            Signal.effect(owner, action::run);
+            return;
+        }
+        Node node = register(name, Kind.EFFECT);
+        Signal.effect(owner, () -> {
+            Frame frame = begin(node);
+            try {
+                action.run();
+            } finally {
+                running.pop();
+            }
+            end(frame, null, false);
+        });
+    }
+
+    /**
+     * Wraps a setter so that each call starts a new change.
+     *
+     * @param label
+     *            the label of the change
+     * @param setter
+     *            the setter
+     * @return the wrapped setter
+     */
+    public <T> SerializableConsumer<T> writer(String label,
+            SerializableConsumer<T> setter) {
+        if (!enabled) {
+            return setter;
+        }
+        return value -> {
+            beginChange(label);
+            setter.accept(value);
+        };
+    }
+
+    /**
+     * Starts a new change. Recomputations are attributed to it until the
+     * next change starts.
+     *
+     * @param label
+     *            the label of the change
+     */
+    public void beginChange(String label) {
+        if (!enabled) {
+            return;
+        }
+        current = new Change(label, new ArrayList<>());
+        changes.addLast(current);
+        while (changes.size() > MAX_CHANGES) {
+            changes.removeFirst();
+        }
+    }
+
+    private Node register(String name, Kind kind) {
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException(
+                    "Duplicate signal name: " + name);
+        }
+        Node node = new Node(name, kind);
+        nodes.put(name, node);
+        return node;
+    }
+
+    private void recordRead(Node node) {
+        Frame reader = running.peek();
+        if (reader != null) {
+            reader.reads().add(node);
+        }
+    }
+
+    private Frame begin(Node node) {
+        Frame frame = new Frame(node, new LinkedHashSet<>(),
+                System.nanoTime());
+        running.push(frame);
+        return frame;
+    }
+
+    private <T> T compute(Supplier<T> computation) {
+        try {
+            return computation.get();
+        } finally {
+            running.pop();
+        }
+    }
+
+    private void end(Frame frame, @Nullable Object value, boolean hasValue) {
+        long nanos = System.nanoTime() - frame.startNanos();
+        Node node = frame.node();
+        node.dependencies.addAll(frame.reads());
+
+        boolean first = node.lastRunAt < 0;
+        boolean inputsChanged = frame.reads().stream()
+                .anyMatch(dependency -> dependency.changedAt > node.lastRunAt);
+        boolean changed = hasValue
+                && (first || !Objects.equals(node.lastValue, value));
+        boolean redundant = !first && !inputsChanged;
+
+        if (hasValue) {
+            node.lastValue = value;
+            node.hasValue = true;
+        }
+        if (changed) {
+            node.changedAt = ++clock;
+        } else if (hasValue) {
+            node.unchangedRuns++;
+        }
+        if (redundant) {
+            node.redundantRuns++;
+        }
+        node.lastRunAt = ++clock;
+        node.runs++;
+        node.totalNanos += nanos;
+        current.runs().add(new Run(node.name, nanos, changed, redundant));
+    }
+
+    /**
+     * Gets the most recent changes, oldest first. At most
+     * {@value #MAX_CHANGES} changes are kept.
+     */
+    public List<Change> getChanges() {
+        return List.copyOf(changes);
+    }
+
+    /**
+     * Gets the change that is currently being recorded.
+     */
+    public Change getCurrentChange() {
+        return current;
+    }
+
+    /**
+     * Gets the statistics of all nodes in registration order.
+     */
+    public List<NodeStats> getNodeStats() {
+        return nodes.values().stream()
+                .map(node -> new NodeStats(node.name, node.kind,
+                        node.dependencies.stream().map(dep -> dep.name)
+                                .toList(),
+                        node.runs, node.totalNanos, node.unchangedRuns,
+                        node.redundantRuns))
+                .toList();
+    }
+
+    /**
+     * Clears the statistics and the change history. The dependency graph is
+     * kept.
+     */
+    public void reset() {
+        for (Node node : nodes.values()) {
+            node.runs = 0;
+            node.totalNanos = 0;
+            node.unchangedRuns = 0;
+            node.redundantRuns = 0;
+        }
+        changes.clear();
+        current = new Change("reset", new ArrayList<>());
+        changes.add(current);
+    }
+
+    /**
+     * Exports the dependency graph in Graphviz DOT format. Edges point from a
+     * signal to the nodes that read it. Nodes with redundant recomputations
+     * are drawn in red.
+     *
+     * @return the graph as DOT
+     */
+    public String toDot() {
+        StringBuilder dot = new StringBuilder("digraph signals {\n");
+        dot.append("  rankdir=LR;\n");
+        for (Node node : nodes.values()) {
+            String shape = switch (node.kind) {
+            case SOURCE -> "box";
+            case COMPUTED -> "ellipse";
+            case EFFECT -> "hexagon";
+            };
+            String label = node.kind == Kind.SOURCE ? node.name
+                    : String.format(Locale.ROOT, "%s\n%d runs, %.2f ms",
+                            node.name, node.runs, node.totalNanos / 1e6);
+            if (node.redundantRuns > 0) {
+                label += "\n" + node.redundantRuns + " redundant";
+            }
+            dot.append("  ").append(quote(node.name)).append(" [shape=")
+                    .append(shape).append(", label=").append(quote(label));
+            if (node.redundantRuns > 0) {
+                dot.append(", color=red");
+            }
+            dot.append("];\n");
+        }
+        for (Node node : nodes.values()) {
+            for (Node dependency : node.dependencies) {
+                dot.append("  ").append(quote(dependency.name))
+                        .append(" -> ").append(quote(node.name))
+                        .append(";\n");
+            }
+        }
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * Exports the dependency graph, node statistics and recorded changes as
+     * JSON.
+     *
+     * @return the profile as JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"nodes\":[");
+        boolean firstNode = true;
+        for (NodeStats stats : getNodeStats()) {
+            if (!firstNode) {
+                json.append(',');
+            }
+            firstNode = false;
+            json.append("{\"name\":").append(quote(stats.name()))
+                    .append(",\"kind\":\"")
+                    .append(stats.kind().name().toLowerCase(Locale.ROOT))
+                    .append("\",\"runs\":").append(stats.runs())
+                    .append(",\"totalMicros\":")
+                    .append(stats.totalNanos() / 1000)
+                    .append(",\"unchangedRuns\":").append(stats.unchangedRuns())
+                    .append(",\"redundantRuns\":").append(stats.redundantRuns())
+                    .append(",\"dependencies\":[");
+            json.append(String.join(",",
+                    stats.dependencies().stream().map(SignalProfiler::quote)
+                            .toList()));
+            json.append("]}");
+        }
+        json.append("],\"changes\":[");
+        boolean firstChange = true;
+        for (Change change : changes) {
+            if (!firstChange) {
+                json.append(',');
+            }
+            firstChange = false;
+            json.append("{\"label\":").append(quote(change.label()))
+                    .append(",\"runs\":[");
+            boolean firstRun = true;
+            for (Run run : change.runs()) {
+                if (!firstRun) {
+                    json.append(',');
+                }
+                firstRun = false;
+                json.append("{\"node\":").append(quote(run.node()))
+                        .append(",\"micros\":").append(run.nanos() / 1000)
+                        .append(",\"changed\":").append(run.changed())
+                        .append(",\"redundant\":").append(run.redundant())
+                        .append('}');
+            }
+            json.append("]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"")
+                .replace("\n", "\\n") + '"';
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.signals;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application-wide timer wheel for short delays such as debouncing user
+ * input.
+ * <p>
+ * All timeouts share a single daemon thread, so the number of views using
+ * timers does not affect the number of threads. The thread advances a wheel
+ * of buckets every {@value #TICK_MILLIS} ms and runs the timeouts that are
+ * due, so scheduling and cancelling take constant time and the precision is
+ * one tick. Tasks run on the timer thread and must be short; anything that
+ * touches a UI should go through {@code ui.access}.
+ */
+public final class SignalTimers {
+
+    /**
+     * A scheduled task that can be cancelled before it runs.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return {@code true} if the task will not run
+         */
+        boolean cancel();
+
+        /**
+         * Checks whether the task was cancelled.
+         */
+        boolean isCancelled();
+    }
+
+    static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 512;
+    private static final Logger logger = LoggerFactory
+            .getLogger(SignalTimers.class);
+
+    private static final Queue<Entry> added = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final Thread worker = Thread.ofPlatform().daemon()
+            .name("signal-timers").unstarted(SignalTimers::run);
+
+    private SignalTimers() {
+    }
+
+    /**
+     * Runs a task after a delay.
+     *
+     * @param delay
+     *            the delay, rounded up to the next tick
+     * @param task
+     *            the task to run on the timer thread
+     * @return a handle to cancel the task
+     */
+    public static Timeout schedule(Duration delay, Runnable task) {
+        ensureStarted();
+        Entry entry = new Entry(task,
+                System.nanoTime() + Math.max(0, delay.toNanos()));
+        pending.incrementAndGet();
+        added.add(entry);
+        return entry;
+    }
+
+    /**
+     * Gets the number of timeouts that have neither run nor been cancelled.
+     */
+    public static int getPendingCount() {
+        return pending.get();
+    }
+
+    private static synchronized void ensureStarted() {
+        if (worker.getState() == Thread.State.NEW) {
+            worker.start();
+        }
+    }
+
+    private static void run() {
+        @SuppressWarnings("unchecked")
+        ArrayDeque<Entry>[] wheel = new ArrayDeque[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+        long start = System.nanoTime();
+        long tick = 0;
+        while (true) {
+            long nextTick = start + (tick + 1) * tickNanos;
+            long sleep = nextTick - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            tick++;
+            for (Entry entry = added.poll(); entry != null; entry = added
+                    .poll()) {
+                long dueTick = Math.max(tick,
+                        (entry.deadline - start + tickNanos - 1) / tickNanos);
+                entry.rounds = (dueTick - tick) / WHEEL_SIZE;
+                wheel[(int) (dueTick % WHEEL_SIZE)].add(entry);
+            }
+            Iterator<Entry> bucket = wheel[(int) (tick % WHEEL_SIZE)]
+                    .iterator();
+            while (bucket.hasNext()) {
+                Entry entry = bucket.next();
+                if (entry.isCancelled()) {
+                    bucket.remove();
+                } else if (entry.rounds > 0) {
+                    entry.rounds--;
+                } else {
+                    bucket.remove();
+                    entry.expire();
+                }
+            }
+        }
+    }
+
+    private static final class Entry implements Timeout {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private long rounds;
+
+        private Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // Keep the shared timer thread alive for all other timeouts
+                logger.warn("Timer task failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.signals;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.communication.PushMode;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+/**
+ * Per-UI dormant mode for browser tabs that are not visible.
+ * <p>
+ * While a tab is hidden:
+ * <ul>
+ * <li>Signals wrapped with {@link #gate(Signal)} keep their last visible value,
+ * so effects that depend on them do not run.</li>
+ * <li>Periodic work passed to {@link #deferIfDormant(Object, Runnable)} is
+ * not executed. Only the latest task per key is kept.</li>
+ * <li>Automatic push is switched to manual, so any remaining server-side
+ * changes are held back instead of being pushed one by one.</li>
+ * </ul>
+ * When the tab becomes visible again, the deferred tasks run once, gated
+ * signals pick up the latest source values and push mode is restored, so the
+ * client receives a single resync instead of every intermediate change.
+ * <p>
+ * Visibility is reported by {@code MainLayout} through the Page Visibility
+ * API. Counters are kept per UI; {@link #all()} lists the live instances for
+ * metrics. Push bytes are not visible to application code, so the savings are
+ * counted in updates: a deferred task replaced by a later one with the same
+ * key is a push that is never sent.
+ */
+public final class TabDormancy implements Serializable {
+
+    private static final Set<TabDormancy> dormancies = ConcurrentHashMap
+            .newKeySet();
+
+    private final UI ui;
+    private final ValueSignal<Boolean> visibleSignal = new ValueSignal<>(true);
+    private volatile boolean dormant;
+    private PushMode pushModeBeforeDormant = PushMode.DISABLED;
+    private final Map<Object, Runnable> deferred = new LinkedHashMap<>();
+    private final Set<Gate<?>> gates = Collections
+            .newSetFromMap(new WeakHashMap<>());
+
+    private volatile long deferredSignalUpdates;
+    private final AtomicLong skippedTasks = new AtomicLong();
+    private final AtomicLong droppedTasks = new AtomicLong();
+    private volatile long resyncs;
+
+    private TabDormancy(UI ui) {
+        this.ui = ui;
+    }
+
+    /**
+     * Gets the dormancy state of a UI, creating it on first use. Must be
+     * called while holding the UI lock. Background tasks should look up the
+     * instance before they are scheduled and keep it.
+     *
+     * @param ui
+     *            the UI
+     * @return the dormancy state of the UI
+     */
+    public static TabDormancy forUI(UI ui) {
+        TabDormancy dormancy = ComponentUtil.getData(ui, TabDormancy.class);
+        if (dormancy == null) {
+            TabDormancy created = new TabDormancy(ui);
+            ComponentUtil.setData(ui, TabDormancy.class, created);
+            dormancies.add(created);
+            ui.addDetachListener(event -> dormancies.remove(created));
+            dormancy = created;
+        }
+        return dormancy;
+    }
+
+    /**
+     * Gets the dormancy state of all live UIs, for metrics.
+     */
+    public static List<TabDormancy> all() {
+        return List.copyOf(dormancies);
+    }
+
+    /**
+     * Updates the visibility of the tab. Must be called while holding the UI
+     * lock.
+     *
+     * @param visible
+     *            {@code true} if the tab is visible
+     */
+    public void setVisible(boolean visible) {
+        if (visible != dormant) {
+            return;
+        }
+        var pushConfiguration = ui.getPushConfiguration();
+        if (!visible) {
+            pushModeBeforeDormant = pushConfiguration.getPushMode();
+            if (pushModeBeforeDormant == PushMode.AUTOMATIC) {
+                pushConfiguration.setPushMode(PushMode.MANUAL);
+            }
+            gates.forEach(Gate::freeze);
+            dormant = true;
+            visibleSignal.set(false);
+            return;
+        }
+
+        List<Runnable> tasks;
+        synchronized (deferred) {
+            dormant = false;
+            tasks = new ArrayList<>(deferred.values());
+            deferred.clear();
+        }
+        tasks.forEach(Runnable::run);
+        deferredSignalUpdates += gates.stream().filter(Gate::isStale)
+                .count();
+        visibleSignal.set(true);
+        if (pushModeBeforeDormant == PushMode.AUTOMATIC) {
+            pushConfiguration.setPushMode(PushMode.AUTOMATIC);
+        }
+        resyncs++;
+    }
+
+    /**
+     * Makes the resync restore automatic push even though the UI was in
+     * manual push when the tab was hidden. Used by a {@link CoalescingWindow}
+     * that stops while the tab is hidden. Must be called while holding the UI
+     * lock.
+     */
+    void restoreAutomaticPushOnResync() {
+        if (dormant) {
+            pushModeBeforeDormant = PushMode.AUTOMATIC;
+        }
+    }
+
+    /**
+     * Gets the push mode configured for the UI. While the tab is hidden, this
+     * is the mode from before automatic push was switched to manual. Must be
+     * called while holding the UI lock.
+     */
+    public PushMode getConfiguredPushMode() {
+        return dormant ? pushModeBeforeDormant
+                : ui.getPushConfiguration().getPushMode();
+    }
+
+    /**
+     * Checks whether the tab is currently hidden. Safe to call from any
+     * thread.
+     */
+    public boolean isDormant() {
+        return dormant;
+    }
+
+    /**
+     * Gets a signal that is {@code true} while the tab is visible.
+     */
+    public Signal<Boolean> visibleSignal() {
+        return visibleSignal;
+    }
+
+    /**
+     * Creates a signal that follows the source while the tab is visible and
+     * keeps its last value while the tab is hidden.
+     * <p>
+     * Effects that read the gated signal do not run for source changes that
+     * happen while the tab is hidden. When the tab becomes visible, the gated
+     * signal takes the latest source value once. The value shown while hidden
+     * is captured by {@link #setVisible(boolean)}, so the computed signal
+     * itself has no side effects and does not depend on the source while the
+     * tab is hidden. Must be called while holding the UI lock.
+     *
+     * @param <T>
+     *            the value type
+     * @param source
+     *            the signal to gate
+     * @return the gated signal
+     */
+    public <T> Signal<T> gate(Signal<T> source) {
+        Gate<T> gate = new Gate<>(source);
+        gates.add(gate);
+        return Signal.computed(
+                () -> visibleSignal.get() ? source.get() : gate.frozen);
+    }
+
+    /**
+     * Defers a task until the tab is visible again if the tab is currently
+     * hidden. Safe to call from any thread.
+     * <p>
+     * Deferred tasks are keyed so that a later task replaces an earlier one
+     * with the same key. Only the latest task per key runs on resync.
+     *
+     * @param key
+     *            identifies the kind of work, for example a scheduler task id
+     * @param task
+     *            the task to run while holding the UI lock
+     * @return {@code true} if the task was deferred, {@code false} if the tab
+     *         is visible and the caller should deliver the task itself
+     */
+    public boolean deferIfDormant(Object key, Runnable task) {
+        Runnable replaced;
+        synchronized (deferred) {
+            if (!dormant) {
+                return false;
+            }
+            replaced = deferred.put(key, task);
+        }
+        skippedTasks.incrementAndGet();
+        if (replaced != null) {
+            droppedTasks.incrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of gated signals that changed while this tab was hidden.
+     * Each one updated its effects once on resync instead of on every change.
+     */
+    public long getDeferredSignalUpdates() {
+        return deferredSignalUpdates;
+    }
+
+    /**
+     * Gets the number of tasks that were not run immediately because the tab
+     * was hidden. Each one would otherwise have caused a push.
+     */
+    public long getSkippedTasks() {
+        return skippedTasks.get();
+    }
+
+    /**
+     * Gets the number of deferred tasks that were replaced by a later task
+     * with the same key before the tab became visible. Their changes are
+     * never sent to the client.
+     */
+    public long getDroppedTasks() {
+        return droppedTasks.get();
+    }
+
+    /**
+     * Gets the number of times this UI resynced after being hidden.
+     */
+    public long getResyncs() {
+        return resyncs;
+    }
+
+    private static final class Gate<T> implements Serializable {
+        private final Signal<T> source;
+        private T frozen;
+
+        private Gate(Signal<T> source) {
+            this.source = source;
+            this.frozen = source.peek();
+        }
+
+        private void freeze() {
+            frozen = source.peek();
+        }
+
+        private boolean isStale() {
+            return !Objects.equals(source.peek(), frozen);
+        }
+    }
+}
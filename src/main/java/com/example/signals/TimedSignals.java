@@ -0,0 +1,181 @@
+package com.example.signals;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+/**
+ * Signal operators that delay or thin out changes of a signal, backed by the
+ * shared {@link SignalTimers} wheel instead of a thread per view.
+ * <p>
+ * The operators follow the source with an effect owned by a component, so
+ * they only run while the component is attached. Delayed values are written
+ * through {@code ui.access}, and a pending value is dropped when the
+ * component is detached.
+ */
+public final class TimedSignals {
+
+    private TimedSignals() {
+    }
+
+    /**
+     * Creates a signal that takes the value of the source once it has not
+     * changed for the given delay. Every change restarts the delay.
+     *
+     * @param owner
+     *            the component that owns the operator
+     * @param source
+     *            the signal to follow
+     * @param delay
+     *            how long the source must be stable
+     * @return the debounced signal
+     */
+    public static <T> Signal<T> debounce(Component owner, Signal<T> source,
+            Duration delay) {
+        ValueSignal<T> result = new ValueSignal<>(source.peek());
+        Pending pending = new Pending();
+        owner.addDetachListener(event -> pending.cancel());
+        Signal.effect(owner, () -> {
+            T value = source.get();
+            pending.cancel();
+            if (Objects.equals(value, result.peek())) {
+                return;
+            }
+            owner.getUI().ifPresent(ui -> pending.timeout = SignalTimers
+                    .schedule(delay, () -> ui.access(() -> result.set(value))));
+        });
+        return result;
+    }
+
+    /**
+     * Creates a signal that takes the value of the source at most once per
+     * interval. The first change after a quiet period is taken immediately,
+     * later changes within the interval are combined into one update with
+     * the latest value at the end of the interval.
+     *
+     * @param owner
+     *            the component that owns the operator
+     * @param source
+     *            the signal to follow
+     * @param interval
+     *            the shortest time between two updates
+     * @return the throttled signal
+     */
+    public static <T> Signal<T> throttle(Component owner, Signal<T> source,
+            Duration interval) {
+        ValueSignal<T> result = new ValueSignal<>(source.peek());
+        Throttle<T> throttle = new Throttle<>(interval, result::set);
+        owner.addDetachListener(event -> throttle.cancel());
+        Signal.effect(owner, () -> {
+            T value = source.get();
+            if (!throttle.isPending() && Objects.equals(value, result.peek())) {
+                return;
+            }
+            owner.getUI().ifPresent(ui -> throttle.offer(value,
+                    update -> ui.access(update::run)));
+        });
+        return result;
+    }
+
+    /**
+     * Passes on the first value offered after a quiet period right away and
+     * the latest of the values offered within the interval after it at the
+     * end of the interval.
+     *
+     * @param <T>
+     *            the value type
+     */
+    static final class Throttle<T> implements Serializable {
+        private final long intervalNanos;
+        private final SerializableConsumer<T> target;
+        private final Pending trailing = new Pending();
+        private long lastUpdateNanos;
+        private boolean updated;
+        private @Nullable T latest;
+
+        Throttle(Duration interval, SerializableConsumer<T> target) {
+            this.intervalNanos = interval.toNanos();
+            this.target = target;
+        }
+
+        /**
+         * Offers a value. Must be called while holding the lock that the
+         * dispatcher takes.
+         *
+         * @param value
+         *            the new value
+         * @param dispatcher
+         *            runs a delayed update, for example through
+         *            {@code ui.access}
+         */
+        synchronized void offer(T value,
+                SerializableConsumer<Runnable> dispatcher) {
+            latest = value;
+            if (trailing.isScheduled()) {
+                // The trailing update takes the latest value when it runs
+                return;
+            }
+            long now = System.nanoTime();
+            long wait = updated ? intervalNanos - (now - lastUpdateNanos) : 0;
+            if (wait <= 0) {
+                update(now, value);
+                return;
+            }
+            trailing.timeout = SignalTimers.schedule(Duration.ofNanos(wait),
+                    () -> dispatcher.accept(this::flush));
+        }
+
+        /**
+         * Checks whether a trailing update is scheduled.
+         */
+        boolean isPending() {
+            return trailing.isScheduled();
+        }
+
+        /**
+         * Drops a scheduled trailing update.
+         */
+        synchronized void cancel() {
+            trailing.cancel();
+        }
+
+        private synchronized void flush() {
+            if (!trailing.isScheduled()) {
+                // Cancelled after the timer had fired
+                return;
+            }
+            trailing.timeout = null;
+            update(System.nanoTime(), latest);
+        }
+
+        private void update(long now, T value) {
+            updated = true;
+            lastUpdateNanos = now;
+            target.accept(value);
+        }
+    }
+
+    private static final class Pending implements Serializable {
+        private transient SignalTimers.@Nullable Timeout timeout;
+
+        boolean isScheduled() {
+            SignalTimers.Timeout current = timeout;
+            return current != null && !current.isCancelled();
+        }
+
+        void cancel() {
+            SignalTimers.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+                timeout = null;
+            }
+        }
+    }
+}
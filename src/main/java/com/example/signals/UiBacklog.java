@@ -0,0 +1,266 @@
+package com.example.signals;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Latest-wins delivery of background updates to a UI, with backlog tracking.
+ * <p>
+ * Updates are submitted with a key, such as a scheduler task id. At most one
+ * {@code UI.access} task is queued per key: submitting again before the queued
+ * task has run replaces its payload, so a client that falls behind receives
+ * only the latest state instead of every intermediate value.
+ * <p>
+ * The backlog of a UI is the number of updates waiting to run plus the
+ * session's pending access queue, together with the lag between submitting
+ * and running an update. When the lag or the queue grows past a threshold,
+ * the UI enters degraded mode, in which periodic producers only deliver every
+ * {@value #DEGRADED_TICK_DIVISOR}th tick (see {@link #shouldSkipTick()}). It
+ * leaves degraded mode once the lag has dropped well below the threshold.
+ * <p>
+ * Unacknowledged push bytes are not visible to application code, so the lag
+ * between queueing and running an update is used as the measure of how far a
+ * UI has fallen behind: a slow push write holds the session lock and delays
+ * every following task.
+ */
+public final class UiBacklog {
+
+    static final long DEGRADE_LAG_MILLIS = 1000;
+    static final long RECOVER_LAG_MILLIS = 250;
+    static final int DEGRADE_QUEUE_SIZE = 64;
+    static final int DEGRADED_TICK_DIVISOR = 4;
+
+    private static final Set<UiBacklog> backlogs = ConcurrentHashMap
+            .newKeySet();
+
+    private static final LongConsumer NO_WAIT_LISTENER = waitNanos -> {
+    };
+
+    private record Pending(Runnable task, long submittedNanos,
+            LongConsumer waitListener) {
+    }
+
+    private final Consumer<Command> dispatcher;
+    private final LongSupplier clock;
+    private final IntSupplier sessionQueueSize;
+    private final Map<Object, Pending> pending = new LinkedHashMap<>();
+
+    private volatile boolean degraded;
+    private volatile long lastLagNanos;
+    private long executed;
+    private long superseded;
+    private long skippedTicks;
+    private long degradedCount;
+    private long tickCounter;
+
+    UiBacklog(Consumer<Command> dispatcher, LongSupplier clock,
+            IntSupplier sessionQueueSize) {
+        this.dispatcher = dispatcher;
+        this.clock = clock;
+        this.sessionQueueSize = sessionQueueSize;
+    }
+
+    /**
+     * Gets the backlog of a UI, creating it on first use. Must be called
+     * while holding the UI lock the first time, typically from an attach
+     * listener.
+     *
+     * @param ui
+     *            the UI
+     * @return the backlog of the UI
+     */
+    public static UiBacklog forUI(UI ui) {
+        UiBacklog backlog = ComponentUtil.getData(ui, UiBacklog.class);
+        if (backlog == null) {
+            UiBacklog created = new UiBacklog(ui::access, System::nanoTime,
+                    () -> pendingAccessCount(ui));
+            ComponentUtil.setData(ui, UiBacklog.class, created);
+            backlogs.add(created);
+            ui.addDetachListener(event -> backlogs.remove(created));
+            backlog = created;
+        }
+        return backlog;
+    }
+
+    /**
+     * Gets the backlogs of all live UIs, for metrics.
+     */
+    public static List<UiBacklog> all() {
+        return List.copyOf(backlogs);
+    }
+
+    private static int pendingAccessCount(UI ui) {
+        VaadinSession session = ui.getSession();
+        return session != null ? session.getPendingAccessQueue().size() : 0;
+    }
+
+    /**
+     * Delivers an update to the UI, replacing any queued update with the same
+     * key that has not run yet. Safe to call from any thread.
+     *
+     * @param key
+     *            identifies the stream of updates
+     * @param task
+     *            the update to run while holding the UI lock
+     */
+    public void submit(Object key, Runnable task) {
+        submit(key, task, NO_WAIT_LISTENER);
+    }
+
+    /**
+     * Delivers an update like {@link #submit(Object, Runnable)} and reports
+     * how long it waited before running. When the update replaced queued ones,
+     * the wait is measured from the first of them, since that is how long the
+     * UI went without an update. Safe to call from any thread.
+     *
+     * @param key
+     *            identifies the stream of updates
+     * @param task
+     *            the update to run while holding the UI lock
+     * @param waitListener
+     *            receives the wait in nanoseconds just before the task runs
+     */
+    public void submit(Object key, Runnable task, LongConsumer waitListener) {
+        synchronized (pending) {
+            Pending previous = pending.get(key);
+            if (previous != null) {
+                // Keep the original submit time so the lag stays visible
+                pending.put(key, new Pending(task, previous.submittedNanos(),
+                        waitListener));
+                superseded++;
+                return;
+            }
+            pending.put(key,
+                    new Pending(task, clock.getAsLong(), waitListener));
+        }
+        evaluate();
+        dispatcher.accept(() -> run(key));
+    }
+
+    private void run(Object key) {
+        Pending next;
+        synchronized (pending) {
+            next = pending.remove(key);
+            if (next == null) {
+                return;
+            }
+            executed++;
+        }
+        long lagNanos = clock.getAsLong() - next.submittedNanos();
+        lastLagNanos = lagNanos;
+        evaluate();
+        next.waitListener().accept(lagNanos);
+        next.task().run();
+    }
+
+    private void evaluate() {
+        long lagMillis = TimeUnit.NANOSECONDS.toMillis(lastLagNanos);
+        int queueSize = getQueuedTasks();
+        if (!degraded) {
+            if (lagMillis > DEGRADE_LAG_MILLIS
+                    || queueSize > DEGRADE_QUEUE_SIZE) {
+                degraded = true;
+                synchronized (pending) {
+                    degradedCount++;
+                }
+            }
+        } else if (lagMillis < RECOVER_LAG_MILLIS
+                && queueSize <= DEGRADE_QUEUE_SIZE / 2) {
+            degraded = false;
+        }
+    }
+
+    /**
+     * Checks whether a periodic producer should skip the current tick. Outside
+     * degraded mode this always returns {@code false}. Safe to call from any
+     * thread.
+     *
+     * @return {@code true} if the tick should not be delivered
+     */
+    public boolean shouldSkipTick() {
+        if (!degraded) {
+            return false;
+        }
+        synchronized (pending) {
+            if (tickCounter++ % DEGRADED_TICK_DIVISOR == 0) {
+                return false;
+            }
+            skippedTicks++;
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether the UI is in degraded mode.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Gets the number of updates queued by this backlog plus the session's
+     * pending access tasks.
+     */
+    public int getQueuedTasks() {
+        synchronized (pending) {
+            return pending.size() + sessionQueueSize.getAsInt();
+        }
+    }
+
+    /**
+     * Gets the time between submitting and running the most recent update.
+     */
+    public long getLastLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastLagNanos);
+    }
+
+    /**
+     * Gets the number of updates that ran.
+     */
+    public long getExecutedTasks() {
+        synchronized (pending) {
+            return executed;
+        }
+    }
+
+    /**
+     * Gets the number of updates dropped because a newer one replaced them
+     * before they ran.
+     */
+    public long getSupersededTasks() {
+        synchronized (pending) {
+            return superseded;
+        }
+    }
+
+    /**
+     * Gets the number of ticks skipped in degraded mode.
+     */
+    public long getSkippedTicks() {
+        synchronized (pending) {
+            return skippedTicks;
+        }
+    }
+
+    /**
+     * Gets the number of times the UI entered degraded mode.
+     */
+    public long getDegradedCount() {
+        synchronized (pending) {
+            return degradedCount;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import com.vaadin.flow.signals.Signal;
 import com.vaadin.flow.signals.shared.SharedListSignal;
+import com.vaadin.flow.signals.shared.SharedValueSignal;
 
 /**
  * Application-scoped registry of currently logged-in users. Provides a reactive
@@ -18,6 +19,8 @@ import com.vaadin.flow.signals.shared.SharedListSignal;
 @Component
 public class UserSessionRegistry {
 
+    private final SharedDerivations sharedDerivations;
+
     private final SharedListSignal<UserInfo> activeUsersSignal = new SharedListSignal<>(
             UserInfo.class);
 
@@ -63,6 +66,10 @@ public class UserSessionRegistry {
                 return displayNames;
             });
 
+    public UserSessionRegistry(SharedDerivations sharedDerivations) {
+        this.sharedDerivations = sharedDerivations;
+    }
+
     /**
      * Get the signal containing the list of active users.
      */
@@ -209,23 +216,38 @@ public class UserSessionRegistry {
     }
 
     /**
-     * Get a reactive signal of display names for users on a specific view.
+     * Get a reactive signal of display names for users on a specific view. The
+     * signal is shared by all components showing the same view.
      */
     public Signal<List<String>> getActiveUsersOnView(
-            String viewRoute) {
-        return Signal.computed(() -> {
-            var allUsers = activeUsersSignal.get();
-            var allDisplayNames = displayNamesSignal.get();
-
-            List<String> result = new ArrayList<>();
-            for (int i = 0; i < allUsers.size(); i++) {
-                UserInfo user = allUsers.get(i).get();
-                if (viewRoute.equals(user.currentView())) {
-                    result.add(allDisplayNames.get(i));
-                }
-            }
-            return result;
-        });
+            com.vaadin.flow.component.Component owner, String viewRoute) {
+        return sharedDerivations.get(owner, this, "names-on:" + viewRoute,
+                () -> {
+                    var allUsers = activeUsersSignal.get();
+                    var allDisplayNames = displayNamesSignal.get();
+
+                    List<String> result = new ArrayList<>();
+                    for (int i = 0; i < allUsers.size(); i++) {
+                        UserInfo user = allUsers.get(i).get();
+                        if (viewRoute.equals(user.currentView())) {
+                            result.add(allDisplayNames.get(i));
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Get a reactive signal of the users on a specific view. The signal is
+     * shared by all components showing the same view.
+     */
+    public Signal<List<SharedValueSignal<UserInfo>>> getUserSignalsOnView(
+            com.vaadin.flow.component.Component owner, String viewRoute) {
+        return sharedDerivations.get(owner, this, "users-on:" + viewRoute,
+                () -> activeUsersSignal.get().stream()
+                        .filter(userSignal -> viewRoute
+                                .equals(userSignal.get().currentView()))
+                        .toList());
     }
 
     /**
@@ -0,0 +1,139 @@
+package com.example.signals;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.function.SerializableRunnable;
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.signals.Signal;
+
+/**
+ * Signal instrumentation for one view class, obtained from
+ * {@link SignalMetrics#forView(Class)}.
+ * <p>
+ * Meters are looked up once per signal name and shared by all instances of
+ * the view. When instrumentation is disabled, every method behaves like the
+ * plain signal API it stands in for.
+ */
+public final class ViewSignalMetrics {
+
+    private final SignalMetrics metrics;
+    private final String view;
+    private final Map<String, Timer> effectTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> computedTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> writeCounters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> fanOutSummaries = new ConcurrentHashMap<>();
+
+    ViewSignalMetrics(SignalMetrics metrics, String view) {
+        this.metrics = metrics;
+        this.view = view;
+    }
+
+    /**
+     * Creates an effect like {@link Signal#effect}, recording how often and
+     * how long it runs.
+     *
+     * @param owner
+     *            the component that owns the effect
+     * @param name
+     *            the name of the effect, used as tag
+     * @param action
+     *            the effect
+     */
+    public void effect(Component owner, String name,
+            SerializableRunnable action) {
+        if (!metrics.isEnabled()) {
+            Signal.effect(owner, action::run);
+            return;
+        }
+        Timer timer = effectTimers.computeIfAbsent(name,
+                key -> timer(SignalMetrics.EFFECT, key));
+        Signal.effect(owner, () -> {
+            long start = System.nanoTime();
+            try {
+                action.run();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * Creates a computed signal like {@link Signal#computed}, recording how
+     * often and how long it recomputes.
+     *
+     * @param name
+     *            the name of the signal, used as tag
+     * @param computation
+     *            the computation
+     * @return the computed signal
+     */
+    public <T> Signal<T> computed(String name,
+            SerializableSupplier<T> computation) {
+        if (!metrics.isEnabled()) {
+            return Signal.computed(computation::get);
+        }
+        Timer timer = computedTimers.computeIfAbsent(name,
+                key -> timer(SignalMetrics.COMPUTED, key));
+        return Signal.computed(() -> {
+            long start = System.nanoTime();
+            try {
+                return computation.get();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * Counts the UI of a component as observer of a shared signal while the
+     * component is attached. Several components observing the signal in the
+     * same UI count as one. The count is used as fan-out of
+     * {@link #recordWrite(String)}.
+     *
+     * @param owner
+     *            the component that reads the signal
+     * @param signal
+     *            the name of the shared signal
+     */
+    public void observe(Component owner, String signal) {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+        owner.getUI().ifPresent(ui -> metrics.addObserver(signal, ui));
+        owner.addAttachListener(
+                event -> metrics.addObserver(signal, event.getUI()));
+        owner.addDetachListener(
+                event -> metrics.removeObserver(signal, event.getUI()));
+    }
+
+    /**
+     * Records a write to a shared signal together with the number of UIs
+     * currently observing it.
+     *
+     * @param signal
+     *            the name of the shared signal
+     */
+    public void recordWrite(String signal) {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+        writeCounters
+                .computeIfAbsent(signal,
+                        key -> metrics.writeCounter(view, key))
+                .increment();
+        fanOutSummaries.computeIfAbsent(signal, metrics::fanOutSummary)
+                .record(metrics.getObserverCount(signal));
+    }
+
+    private Timer timer(String name, String signal) {
+        return Timer.builder(name).tag("view", view).tag("signal", signal)
+                .register(metrics.getRegistry());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.usecase03;
 import jakarta.annotation.security.PermitAll;
 
 import com.example.MissingAPI;
+import com.example.signals.SignalBatch;
 import com.example.views.MainLayout;
 
 import com.vaadin.flow.component.button.Button;
@@ -216,18 +217,20 @@ public class UseCase03View extends VerticalLayout {
 
         rect.bindAttribute("opacity", rectOpacitySignal.map(String::valueOf));
 
-        // Computed transform attribute (rotate around center)
-        rect.bindAttribute("transform", Signal.computed(() -> {
-            int x = rectXSignal.get();
-            int y = rectYSignal.get();
-            int w = rectWidthSignal.get();
-            int h = rectHeightSignal.get();
-            int centerX = x + w / 2;
-            int centerY = y + h / 2;
-            int rotation = rectRotationSignal.get();
-            return String.format("rotate(%d %d %d)", rotation, centerX,
-                    centerY);
-        }));
+        // Computed transform attribute (rotate around center). Deferred so
+        // that a reset of all five inputs updates it only once.
+        rect.bindAttribute("transform",
+                SignalBatch.deferred(Signal.computed(() -> {
+                    int x = rectXSignal.get();
+                    int y = rectYSignal.get();
+                    int w = rectWidthSignal.get();
+                    int h = rectHeightSignal.get();
+                    int centerX = x + w / 2;
+                    int centerY = y + h / 2;
+                    int rotation = rectRotationSignal.get();
+                    return String.format("rotate(%d %d %d)", rotation, centerX,
+                            centerY);
+                })));
 
         rect.setAttribute("filter", "drop-shadow(2px 2px 4px rgba(0,0,0,0.2))");
 
@@ -238,11 +241,13 @@ public class UseCase03View extends VerticalLayout {
         Element polygon = new Element("polygon");
 
         // Computed points attribute (complex calculation) - centered at origin
-        polygon.bindAttribute("points", Signal.computed(() -> {
-            int n = starPointsSignal.get();
-            int size = starSizeSignal.get();
-            return generateStarPoints(n, size, 0, 0); // Generate at origin
-        }));
+        polygon.bindAttribute("points",
+                SignalBatch.deferred(Signal.computed(() -> {
+                    int n = starPointsSignal.get();
+                    int size = starSizeSignal.get();
+                    // Generate at origin
+                    return generateStarPoints(n, size, 0, 0);
+                })));
 
         // Bind styling attributes
         polygon.bindAttribute("fill", starFillSignal);
@@ -259,15 +264,16 @@ public class UseCase03View extends VerticalLayout {
                 starOpacitySignal.map(String::valueOf));
 
         // Computed transform: translate to position, then rotate
-        polygon.bindAttribute("transform", Signal.computed(() -> {
-            int rotation = starRotationSignal.get();
-            int cx = starCxSignal.get();
-            int cy = starCySignal.get();
-            // Since points are centered at (0,0), translate to position then
-            // rotate
-            return String.format("translate(%d %d) rotate(%d)", cx, cy,
-                    rotation);
-        }));
+        polygon.bindAttribute("transform",
+                SignalBatch.deferred(Signal.computed(() -> {
+                    int rotation = starRotationSignal.get();
+                    int cx = starCxSignal.get();
+                    int cy = starCySignal.get();
+                    // Since points are centered at (0,0), translate to
+                    // position then rotate
+                    return String.format("translate(%d %d) rotate(%d)", cx,
+                            cy, rotation);
+                })));
 
         polygon.setAttribute("filter",
                 "drop-shadow(2px 2px 4px rgba(0,0,0,0.2))");
@@ -502,6 +508,11 @@ public class UseCase03View extends VerticalLayout {
     }
 
     private void resetAll() {
+        // Apply all defaults before the shapes are redrawn
+        SignalBatch.run(this::applyDefaults);
+    }
+
+    private void applyDefaults() {
         // Reset rectangle
         rectXSignal.set(100);
         rectYSignal.set(50);
@@ -0,0 +1,524 @@
+package com.example.usecase04;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Column-oriented, read-only table of products.
+ * <p>
+ * Instead of one object per product, each attribute is kept in its own
+ * array: prices and stock in primitive arrays, and names and categories as
+ * codes into dictionaries of their distinct values. Filters are answered
+ * with bit sets of row ids:
+ * <ul>
+ * <li>one bit set per category and one of the rows in stock,</li>
+ * <li>a trigram index over the distinct lower-cased names, whose matches are
+ * expanded to their rows.</li>
+ * </ul>
+ * Ids are unique, so instead of an index they are kept lower-cased in one
+ * text, which a substring search scans in a single pass. The scan looks for
+ * the part of the query starting at its rarest character, since ids usually
+ * share their first characters.
+ * <p>
+ * Sort orders of the columns are computed once, when first requested,
+ * and shared by all users of the table. {@link Product} objects are only
+ * created for the rows that are fetched.
+ */
+public final class ProductTable {
+
+    /**
+     * A column of the table that rows can be sorted by.
+     */
+    public enum Column {
+        ID("id"), NAME("name"), CATEGORY("category"), PRICE("price"),
+        STOCK("stock");
+
+        private final String property;
+
+        Column(String property) {
+            this.property = property;
+        }
+
+        /**
+         * Gets the name of the matching {@link Product} property.
+         */
+        public String getProperty() {
+            return property;
+        }
+
+        /**
+         * Finds the column of a {@link Product} property.
+         *
+         * @return the column, or {@code null} if the property has none
+         */
+        public static @Nullable Column forProperty(String property) {
+            for (Column column : values()) {
+                if (column.property.equals(property)) {
+                    return column;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int SCAN_RATIO = 64;
+    private static final char ID_SEPARATOR = '\0';
+
+    private final int size;
+    private final String[] ids;
+    private final String idText;
+    private final int[] idStart;
+    private final int[] idCharCounts = new int[128];
+    private final int[] nameCodes;
+    private final String[] names;
+    private final String[] lowerNames;
+    private final int[] nameRowStart;
+    private final int[] nameRows;
+    private final Map<String, int[]> nameGrams = new HashMap<>();
+    private final byte[] categoryCodes;
+    private final String[] categories;
+    private final BitSet[] categoryRows;
+    private final double[] prices;
+    private final int[] stocks;
+    private final BitSet inStock = new BitSet();
+    private final int[][] orders = new int[Column.values().length][];
+
+    private ProductTable(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        nameCodes = Arrays.copyOf(builder.nameCodes, size);
+        names = builder.names.keySet().toArray(String[]::new);
+        categoryCodes = Arrays.copyOf(builder.categoryCodes, size);
+        categories = builder.categories.keySet().toArray(String[]::new);
+        prices = Arrays.copyOf(builder.prices, size);
+        stocks = Arrays.copyOf(builder.stocks, size);
+
+        categoryRows = new BitSet[categories.length];
+        for (int c = 0; c < categories.length; c++) {
+            categoryRows[c] = new BitSet(size);
+        }
+        for (int row = 0; row < size; row++) {
+            categoryRows[categoryCodes[row]].set(row);
+            if (stocks[row] > 0) {
+                inStock.set(row);
+            }
+        }
+
+        // Rows grouped by name, so a matching name expands to its rows
+        nameRowStart = new int[names.length + 1];
+        for (int row = 0; row < size; row++) {
+            nameRowStart[nameCodes[row] + 1]++;
+        }
+        for (int n = 0; n < names.length; n++) {
+            nameRowStart[n + 1] += nameRowStart[n];
+        }
+        nameRows = new int[size];
+        int[] next = Arrays.copyOf(nameRowStart, names.length);
+        for (int row = 0; row < size; row++) {
+            nameRows[next[nameCodes[row]]++] = row;
+        }
+
+        lowerNames = new String[names.length];
+        Map<String, IntList> grams = new HashMap<>();
+        for (int n = 0; n < names.length; n++) {
+            String lower = names[n].toLowerCase();
+            lowerNames[n] = lower;
+            for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+                grams.computeIfAbsent(lower.substring(i, i + GRAM_LENGTH),
+                        g -> new IntList()).addOnce(n);
+            }
+        }
+        grams.forEach((gram, codes) -> nameGrams.put(gram, codes.toArray()));
+
+        StringBuilder text = new StringBuilder();
+        idStart = new int[size + 1];
+        for (int row = 0; row < size; row++) {
+            idStart[row] = text.length();
+            text.append(ids[row].toLowerCase()).append(ID_SEPARATOR);
+        }
+        text.chars().filter(c -> c < idCharCounts.length)
+                .forEach(c -> idCharCounts[c]++);
+        idStart[size] = text.length();
+        idText = text.toString();
+    }
+
+    /**
+     * Creates a builder that adds rows one at a time, so that the products
+     * never have to be held as objects.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a table of the given products.
+     */
+    public static ProductTable of(List<Product> products) {
+        Builder builder = builder();
+        products.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the categories in the order they first occur.
+     */
+    public List<String> getCategories() {
+        return List.of(categories);
+    }
+
+    /**
+     * Gets the product in a row.
+     */
+    public Product get(int row) {
+        return new Product(ids[row], names[nameCodes[row]],
+                categories[categoryCodes[row]], prices[row], stocks[row]);
+    }
+
+    /**
+     * Finds the rows matching a filter.
+     *
+     * @param category
+     *            the category of the rows, or {@code null} for all
+     * @param search
+     *            text that the name or the id must contain, ignoring case,
+     *            or an empty string for all rows
+     * @param inStockOnly
+     *            whether only rows with stock should match
+     * @return the ids of the matching rows
+     */
+    public BitSet filter(@Nullable String category, String search,
+            boolean inStockOnly) {
+        BitSet rows;
+        if (category == null) {
+            rows = new BitSet(size);
+            rows.set(0, size);
+        } else {
+            int code = Arrays.asList(categories).indexOf(category);
+            rows = code < 0 ? new BitSet()
+                    : (BitSet) categoryRows[code].clone();
+        }
+        if (inStockOnly) {
+            rows.and(inStock);
+        }
+        String term = search.strip().toLowerCase();
+        if (!term.isEmpty() && !rows.isEmpty()) {
+            BitSet matching = nameRowsContaining(term);
+            idRowsContaining(term, rows, matching);
+            rows.and(matching);
+        }
+        return rows;
+    }
+
+    /**
+     * Gets a window of the given rows, optionally sorted by a column. Rows
+     * with equal values are in table order, or in reverse table order when
+     * sorting in descending order.
+     *
+     * @param rows
+     *            the rows, as returned by
+     *            {@link #filter(String, String, boolean)}
+     * @param sort
+     *            the column to sort by, or {@code null} for table order
+     * @param descending
+     *            whether to sort in descending order
+     * @param offset
+     *            the number of rows to skip
+     * @param limit
+     *            the largest number of rows to return
+     * @return the products in the window
+     */
+    public Stream<Product> fetch(BitSet rows, @Nullable Column sort,
+            boolean descending, int offset, int limit) {
+        return rowIds(rows, sort, descending).skip(offset).limit(limit)
+                .mapToObj(this::get);
+    }
+
+    /**
+     * Gets the ids of the given rows in the order of a column, lazily, so
+     * that rows can be skipped or streamed without collecting them.
+     */
+    IntStream rowIds(BitSet rows, @Nullable Column sort, boolean descending) {
+        if (sort == null) {
+            return descending
+                    ? IntStream.iterate(rows.previousSetBit(size - 1),
+                            row -> row >= 0,
+                            row -> rows.previousSetBit(row - 1))
+                    : rows.stream();
+        }
+        if ((long) rows.cardinality() * SCAN_RATIO < size) {
+            // Sorting a few rows beats scanning the order of all rows
+            int[] sorted = rows.stream().boxed().sorted(comparator(sort))
+                    .mapToInt(Integer::intValue).toArray();
+            return descending
+                    ? IntStream.range(0, sorted.length)
+                            .map(i -> sorted[sorted.length - 1 - i])
+                    : IntStream.of(sorted);
+        }
+        int[] order = order(sort);
+        IntStream positions = descending
+                ? IntStream.iterate(size - 1, i -> i >= 0, i -> i - 1)
+                : IntStream.range(0, size);
+        return positions.map(i -> order[i]).filter(rows::get);
+    }
+
+    private BitSet nameRowsContaining(String term) {
+        BitSet matching = new BitSet(size);
+        for (int n : nameCandidates(term)) {
+            if (lowerNames[n].contains(term)) {
+                for (int i = nameRowStart[n]; i < nameRowStart[n + 1]; i++) {
+                    matching.set(nameRows[i]);
+                }
+            }
+        }
+        return matching;
+    }
+
+    private int[] nameCandidates(String term) {
+        if (term.length() < GRAM_LENGTH) {
+            return IntStream.range(0, names.length).toArray();
+        }
+        // The names with the rarest trigram are verified by the caller
+        int[] rarest = new int[0];
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            int[] codes = nameGrams.get(term.substring(i, i + GRAM_LENGTH));
+            if (codes == null) {
+                return new int[0];
+            }
+            if (i == 0 || codes.length < rarest.length) {
+                rarest = codes;
+            }
+        }
+        return rarest;
+    }
+
+    private void idRowsContaining(String term, BitSet rows,
+            BitSet matching) {
+        if (term.indexOf(ID_SEPARATOR) >= 0) {
+            return;
+        }
+        int anchor = 0;
+        for (int i = 0; i < term.length(); i++) {
+            int count = idCharCount(term.charAt(i));
+            if (count == 0) {
+                return;
+            }
+            if (count < idCharCount(term.charAt(anchor))) {
+                anchor = i;
+            }
+        }
+        String head = term.substring(0, anchor);
+        String tail = term.substring(anchor);
+        int index = idText.indexOf(tail, anchor);
+        while (index >= 0) {
+            int start = index - anchor;
+            if (!idText.startsWith(head, start)) {
+                index = idText.indexOf(tail, index + 1);
+                continue;
+            }
+            int row = Arrays.binarySearch(idStart, start);
+            if (row < 0) {
+                row = -row - 2;
+            }
+            if (rows.get(row)) {
+                matching.set(row);
+            }
+            index = idText.indexOf(tail, idStart[row + 1] + anchor);
+        }
+    }
+
+    private int idCharCount(char c) {
+        return c < idCharCounts.length ? idCharCounts[c] : Integer.MAX_VALUE;
+    }
+
+    private synchronized int[] order(Column column) {
+        int[] order = orders[column.ordinal()];
+        if (order == null) {
+            order = switch (column) {
+            case ID -> sortedIds();
+            case NAME -> orderByRank(
+                    ranks(names, String.CASE_INSENSITIVE_ORDER), nameCodes);
+            case CATEGORY -> orderByRank(
+                    ranks(categories, String.CASE_INSENSITIVE_ORDER),
+                    IntStream.range(0, size).map(row -> categoryCodes[row])
+                            .toArray());
+            case PRICE -> orderByValue(prices);
+            case STOCK -> orderByValue(
+                    Arrays.stream(stocks).asDoubleStream().toArray());
+            };
+            orders[column.ordinal()] = order;
+        }
+        return order;
+    }
+
+    private Comparator<Integer> comparator(Column column) {
+        return switch (column) {
+        case ID -> Comparator.comparing(row -> ids[row],
+                String.CASE_INSENSITIVE_ORDER);
+        case NAME -> Comparator.comparing(row -> names[nameCodes[row]],
+                String.CASE_INSENSITIVE_ORDER);
+        case CATEGORY -> Comparator.comparing(
+                row -> categories[categoryCodes[row]],
+                String.CASE_INSENSITIVE_ORDER);
+        case PRICE -> Comparator.comparingDouble(row -> prices[row]);
+        case STOCK -> Comparator.comparingInt(row -> stocks[row]);
+        };
+    }
+
+    private int[] sortedIds() {
+        boolean sorted = true;
+        for (int row = 1; row < size && sorted; row++) {
+            sorted = ids[row - 1].compareToIgnoreCase(ids[row]) <= 0;
+        }
+        if (sorted) {
+            return IntStream.range(0, size).toArray();
+        }
+        return IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparing(row -> ids[row],
+                        String.CASE_INSENSITIVE_ORDER))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets the rank of each dictionary entry in sorted order.
+     */
+    private static int[] ranks(String[] dictionary,
+            Comparator<String> comparator) {
+        Integer[] sorted = IntStream.range(0, dictionary.length).boxed()
+                .toArray(Integer[]::new);
+        Arrays.sort(sorted, Comparator.comparing(code -> dictionary[code],
+                comparator));
+        int[] ranks = new int[dictionary.length];
+        for (int rank = 0; rank < sorted.length; rank++) {
+            ranks[sorted[rank]] = rank;
+        }
+        return ranks;
+    }
+
+    private int[] orderByValue(double[] values) {
+        double[] distinct = Arrays.stream(values).sorted().distinct()
+                .toArray();
+        int[] ranks = new int[size];
+        for (int row = 0; row < size; row++) {
+            ranks[row] = Arrays.binarySearch(distinct, values[row]);
+        }
+        return orderByRank(ranks, IntStream.range(0, size).toArray());
+    }
+
+    /**
+     * Sorts the rows by the rank of their code, packing rank and row into a
+     * single long so that a primitive sort can be used.
+     */
+    private int[] orderByRank(int[] ranks, int[] codes) {
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = (long) ranks[codes[row]] << 32 | row;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Collects the rows of a {@link ProductTable}.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> names = new LinkedHashMap<>();
+        private final Map<String, Integer> categories = new LinkedHashMap<>();
+        private String[] ids = new String[16];
+        private int[] nameCodes = new int[16];
+        private byte[] categoryCodes = new byte[16];
+        private double[] prices = new double[16];
+        private int[] stocks = new int[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a row.
+         */
+        public Builder add(String id, String name, String category,
+                double price, int stock) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                nameCodes = Arrays.copyOf(nameCodes, capacity);
+                categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                stocks = Arrays.copyOf(stocks, capacity);
+            }
+            Integer categoryCode = categories.get(category);
+            if (categoryCode == null) {
+                if (categories.size() > Byte.MAX_VALUE) {
+                    throw new IllegalStateException(
+                            "Too many categories, at most "
+                                    + (Byte.MAX_VALUE + 1) + " are supported");
+                }
+                categoryCode = categories.size();
+                categories.put(category, categoryCode);
+            }
+            ids[size] = id;
+            nameCodes[size] = names.computeIfAbsent(name,
+                    key -> names.size());
+            categoryCodes[size] = categoryCode.byteValue();
+            prices[size] = price;
+            stocks[size] = stock;
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds a row with the values of a product.
+         */
+        public Builder add(Product product) {
+            return add(product.id(), product.name(), product.category(),
+                    product.price(), product.stock());
+        }
+
+        /**
+         * Builds the table and its indexes.
+         */
+        public ProductTable build() {
+            return new ProductTable(this);
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -2,18 +2,29 @@ package com.example.usecase04;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.util.BitSet;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.jspecify.annotations.Nullable;
+
+import com.example.export.TableExport;
+import com.example.export.TableExport.Column;
+import com.example.export.TableExport.Format;
 import com.example.views.MainLayout;
 
 import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.grid.Grid;
-import com.vaadin.flow.component.grid.dataview.GridListDataView;
+import com.vaadin.flow.component.grid.dataview.GridLazyDataView;
+import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
@@ -26,6 +37,20 @@ import com.vaadin.flow.signals.local.ValueSignal;
 @PermitAll
 public class UseCase04View extends VerticalLayout {
 
+    // Shared by all views, the table is read-only
+    private static final ProductTable PRODUCTS = ProductTable
+            .of(loadProducts());
+
+    private static final TableExport<Product> EXPORT = new TableExport<>(
+            List.of(new Column<>("ID", Product::id),
+                    new Column<>("Name", Product::name),
+                    new Column<>("Category", Product::category),
+                    new Column<>("Price", Product::price),
+                    new Column<>("Stock", Product::stock)));
+
+    private final Signal<BitSet> filteredRowsSignal;
+    private final Grid<Product> grid;
+
     public UseCase04View() {
         setSpacing(true);
         setPadding(true);
@@ -33,29 +58,38 @@ public class UseCase04View extends VerticalLayout {
         H2 title = new H2("Use Case 4: Filtered and Sorted Data Grid");
 
         Paragraph description = new Paragraph(
-                "This use case demonstrates a Grid with DataView-based filtering. "
+                "This use case demonstrates a Grid with lazy, server-side filtering and sorting. "
                         + "Filter by category, search by name/ID, and toggle in-stock only. "
-                        + "Signals are used to bind filter controls, while DataView handles the actual filtering. "
-                        + "This shows proper integration of signals with Vaadin's DataView API.");
+                        + "Signals are used to bind filter controls and compute the matching rows of a columnar product table, "
+                        + "and the Grid only fetches the rows it shows. "
+                        + "The export links stream the matching rows in the current sort order as CSV or XLSX.");
 
         // Create signals for filter inputs
         ValueSignal<String> categoryFilterSignal = new ValueSignal<>("All");
         ValueSignal<String> searchTermSignal = new ValueSignal<>("");
         ValueSignal<Boolean> inStockOnlySignal = new ValueSignal<>(false);
 
-        // Load all products and set up Grid with DataView
-        List<Product> allProducts = loadProducts();
+        // The rows matching the filters, resolved from the table's indexes
+        filteredRowsSignal = Signal.computed(() -> {
+            String category = categoryFilterSignal.get();
+            return PRODUCTS.filter("All".equals(category) ? null : category,
+                    searchTermSignal.get(), inStockOnlySignal.get());
+        });
 
-        // Data grid with ListDataView for filtering
-        Grid<Product> grid = new Grid<>(Product.class);
+        // Data grid with a lazy data provider that sorts on the server
+        grid = new Grid<>(Product.class);
         grid.setColumns("id", "name", "category", "price", "stock");
 
-        // Use setItems to get a GridListDataView for filtering
-        GridListDataView<Product> dataView = grid.setItems(allProducts);
+        GridLazyDataView<Product> dataView = grid.setItems(
+                query -> fetch(filteredRowsSignal.peek(),
+                        query.getSortOrders(), query.getOffset(),
+                        query.getLimit()),
+                query -> filteredRowsSignal.peek().cardinality());
 
         // Filter UI components with signal bindings
-        ComboBox<String> categoryFilter = new ComboBox<>("Category", List.of(
-                "All", "Electronics", "Clothing", "Books", "Home & Garden"));
+        ComboBox<String> categoryFilter = new ComboBox<>("Category",
+                Stream.concat(Stream.of("All"),
+                        PRODUCTS.getCategories().stream()).toList());
         categoryFilter.bindValue(categoryFilterSignal,
                 categoryFilterSignal::set);
 
@@ -66,30 +100,47 @@ public class UseCase04View extends VerticalLayout {
         Checkbox inStockCheckbox = new Checkbox("Show in-stock items only");
         inStockCheckbox.bindValue(inStockOnlySignal, inStockOnlySignal::set);
 
-        // Use Signal.effect to configure DataView when any filter signal changes
+        // Refresh the item count and visible rows when the matching rows change
         Signal.effect(grid, () -> {
-            // Read values outside the filter callback to register dependencies
-            String category = categoryFilterSignal.get();
-            String searchTerm = searchTermSignal.get().toLowerCase();
-            boolean inStockOnly = inStockOnlySignal.get();
-
-            dataView.setFilter(product -> {
-                boolean categoryMatch = category.equals("All")
-                        || product.category().equals(category);
-                boolean searchMatch = searchTerm.isEmpty()
-                        || product.name().toLowerCase().contains(searchTerm)
-                        || product.id().toLowerCase().contains(searchTerm);
-                boolean stockMatch = !inStockOnly || product.stock() > 0;
-
-                return categoryMatch && searchMatch && stockMatch;
-            });
+            filteredRowsSignal.get();
+            dataView.refreshAll();
         });
 
+        // Downloads stream the filtered and sorted rows from the table
+        HorizontalLayout export = new HorizontalLayout(
+                new Anchor(EXPORT.download(Format.CSV, "products",
+                        this::exportRows), "Export CSV"),
+                new Anchor(EXPORT.download(Format.XLSX, "products",
+                        this::exportRows), "Export XLSX"));
+
         add(title, description, categoryFilter, searchField, inStockCheckbox,
-                grid);
+                export, grid);
+    }
+
+    /**
+     * Gets all rows the grid shows, in its current sort order. Must be
+     * called while holding the session lock. The matching rows and the sort
+     * order are read right away, so the returned stream can be consumed
+     * after the lock is released.
+     */
+    Stream<Product> exportRows() {
+        return fetch(filteredRowsSignal.peek(),
+                grid.getDataCommunicator().getBackEndSorting(), 0,
+                Integer.MAX_VALUE);
+    }
+
+    private static Stream<Product> fetch(BitSet rows,
+            List<QuerySortOrder> sortOrders, int offset, int limit) {
+        @Nullable QuerySortOrder order = sortOrders.isEmpty() ? null
+                : sortOrders.getFirst();
+        ProductTable.@Nullable Column column = order == null ? null
+                : ProductTable.Column.forProperty(order.getSorted());
+        boolean descending = order != null
+                && order.getDirection() == SortDirection.DESCENDING;
+        return PRODUCTS.fetch(rows, column, descending, offset, limit);
     }
 
-    private List<Product> loadProducts() {
+    private static List<Product> loadProducts() {
         // Stub implementation - returns mock data
         return List.of(new Product("P001", "Laptop", "Electronics", 999.99, 15),
                 new Product("P002", "T-Shirt", "Clothing", 19.99, 50),
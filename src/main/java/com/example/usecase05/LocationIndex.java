@@ -0,0 +1,372 @@
+package com.example.usecase05;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Read-only index of countries, their states and the states' cities, stored
+ * in a memory-mapped file.
+ * <p>
+ * Every location is a node with a name, a parent and a range of children.
+ * Nodes are stored level by level, countries first, then the states of each
+ * country in turn, then the cities of each state, so the children of a node
+ * are consecutive and sorted by name. Names are UTF-8 in a string table in
+ * the same order. Finding a child or the children starting with a prefix is
+ * a binary search over that range, and only the names on the path and in the
+ * returned page are decoded. The file is paged in by the operating system on
+ * demand, so the heap used does not depend on the number of locations.
+ * <p>
+ * Names are sorted ignoring case, and prefixes are matched ignoring case.
+ * Nodes are identified by their position, with {@link #ROOT} as the parent of
+ * the countries and {@link #NONE} for a location that does not exist, which
+ * has no children.
+ */
+public final class LocationIndex {
+
+    /** The parent of the countries. */
+    public static final int ROOT = -1;
+
+    /** A location that was not found. */
+    public static final int NONE = -2;
+
+    /** The order of names among their siblings. */
+    static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER
+            .thenComparing(Comparator.naturalOrder());
+
+    private static final long MAGIC = 0x4c4f434154494f4eL;
+    private static final int HEADER_BYTES = 32;
+    private static final int NODE_BYTES = 20;
+
+    private final MappedByteBuffer buffer;
+    private final int countries;
+    private final int nodes;
+    private final int stringsOffset;
+
+    private LocationIndex(MappedByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getLong(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a location index");
+        }
+        this.buffer = buffer;
+        this.countries = buffer.getInt(8);
+        this.nodes = buffer.getInt(12);
+        this.stringsOffset = HEADER_BYTES + nodes * NODE_BYTES;
+    }
+
+    /**
+     * Maps an index file written by {@link Builder#write(Path)}.
+     *
+     * @param file
+     *            the index file
+     * @return the index
+     */
+    public static LocationIndex open(Path file) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            return new LocationIndex(channel
+                    .map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Could not map location index " + file, e);
+        }
+    }
+
+    /**
+     * Creates a builder for a new index file.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the total number of locations.
+     */
+    public int size() {
+        return nodes;
+    }
+
+    /**
+     * Gets the name of a location.
+     */
+    public String getName(int node) {
+        int offset = nodeOffset(node);
+        byte[] bytes = new byte[buffer.getInt(offset + 4)];
+        buffer.get(stringsOffset + buffer.getInt(offset), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the parent of a location, {@link #ROOT} for a country.
+     */
+    public int getParent(int node) {
+        return buffer.getInt(nodeOffset(node) + 8);
+    }
+
+    /**
+     * Gets the number of children of a location.
+     */
+    public int getChildCount(int parent) {
+        if (parent == ROOT) {
+            return countries;
+        }
+        return parent == NONE ? 0 : buffer.getInt(nodeOffset(parent) + 16);
+    }
+
+    /**
+     * Finds a child by its exact name.
+     *
+     * @param parent
+     *            the parent location, or {@link #ROOT} for countries
+     * @param name
+     *            the name of the child
+     * @return the child, or {@link #NONE} if there is none
+     */
+    public int find(int parent, @Nullable String name) {
+        if (name == null) {
+            return NONE;
+        }
+        int low = getFirstChild(parent);
+        int high = low + getChildCount(parent) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = ORDER.compare(getName(mid), name);
+            if (comparison == 0) {
+                return mid;
+            } else if (comparison < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Counts the children whose name starts with a prefix, ignoring case.
+     */
+    public int countChildren(int parent, String prefix) {
+        int first = getFirstChild(parent);
+        int end = first + getChildCount(parent);
+        return upperBound(first, end, prefix) - lowerBound(first, end, prefix);
+    }
+
+    /**
+     * Gets the names of a page of the children whose name starts with a
+     * prefix, ignoring case, in order.
+     *
+     * @param parent
+     *            the parent location, or {@link #ROOT} for countries
+     * @param prefix
+     *            the prefix, empty for all children
+     * @param offset
+     *            the number of matching children to skip
+     * @param limit
+     *            the largest number of names to return
+     * @return the names, decoded as the stream is consumed
+     */
+    public Stream<String> getChildren(int parent, String prefix, int offset,
+            int limit) {
+        int first = getFirstChild(parent);
+        int end = first + getChildCount(parent);
+        int from = lowerBound(first, end, prefix) + offset;
+        int to = (int) Math.min(upperBound(first, end, prefix),
+                (long) from + limit);
+        return IntStream.range(from, Math.max(from, to))
+                .mapToObj(this::getName);
+    }
+
+    /**
+     * Loads the records and names of all descendants of a location into
+     * memory, so that the pages are read from disk before they are needed.
+     * Since descendants are stored level by level, each level is one
+     * consecutive range of the file.
+     *
+     * @param node
+     *            the location whose descendants to load
+     * @return the number of descendants
+     */
+    public int prefetch(int node) {
+        int first = getFirstChild(node);
+        int end = first + getChildCount(node);
+        int descendants = 0;
+        while (first < end) {
+            descendants += end - first;
+            int last = end - 1;
+            load(nodeOffset(first), (end - first) * NODE_BYTES);
+            int namesStart = buffer.getInt(nodeOffset(first));
+            int namesEnd = buffer.getInt(nodeOffset(last))
+                    + buffer.getInt(nodeOffset(last) + 4);
+            load(stringsOffset + namesStart, namesEnd - namesStart);
+            first = getFirstChild(first);
+            end = getFirstChild(last) + getChildCount(last);
+        }
+        return descendants;
+    }
+
+    private void load(int offset, int length) {
+        if (length > 0) {
+            buffer.slice(offset, length).load();
+        }
+    }
+
+    private int getFirstChild(int parent) {
+        if (parent == ROOT || parent == NONE) {
+            return 0;
+        }
+        return buffer.getInt(nodeOffset(parent) + 12);
+    }
+
+    private int lowerBound(int from, int to, String prefix) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(getName(mid),
+                    prefix) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private int upperBound(int from, int to, String prefix) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            String name = getName(mid);
+            String start = name.length() > prefix.length()
+                    ? name.substring(0, prefix.length())
+                    : name;
+            if (String.CASE_INSENSITIVE_ORDER.compare(start, prefix) <= 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private int nodeOffset(int node) {
+        if (node < 0 || node >= nodes) {
+            throw new IndexOutOfBoundsException("No location " + node);
+        }
+        return HEADER_BYTES + node * NODE_BYTES;
+    }
+
+    /**
+     * Collects locations and writes them to an index file. The locations are
+     * kept on the heap until written, which is only needed when the file is
+     * created.
+     */
+    public static final class Builder {
+        private final Map<String, Map<String, TreeSet<String>>> locations = new TreeMap<>(
+                ORDER);
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a country.
+         */
+        public Builder add(String country) {
+            locations.computeIfAbsent(country, key -> new TreeMap<>(ORDER));
+            return this;
+        }
+
+        /**
+         * Adds a state and its country.
+         */
+        public Builder add(String country, String state) {
+            locations.computeIfAbsent(country, key -> new TreeMap<>(ORDER))
+                    .computeIfAbsent(state, key -> new TreeSet<>(ORDER));
+            return this;
+        }
+
+        /**
+         * Adds a city, its state and its country.
+         */
+        public Builder add(String country, String state, String city) {
+            locations.computeIfAbsent(country, key -> new TreeMap<>(ORDER))
+                    .computeIfAbsent(state, key -> new TreeSet<>(ORDER))
+                    .add(city);
+            return this;
+        }
+
+        /**
+         * Writes the index file, replacing any existing file.
+         *
+         * @param file
+         *            the file to write
+         */
+        public void write(Path file) {
+            // Flatten level by level, so that children follow each other
+            List<Node> nodes = new ArrayList<>();
+            locations.forEach((country, states) -> nodes
+                    .add(new Node(country, ROOT, states.size())));
+            int parent = 0;
+            for (Map<String, TreeSet<String>> states : locations.values()) {
+                for (var state : states.entrySet()) {
+                    nodes.add(new Node(state.getKey(), parent,
+                            state.getValue().size()));
+                }
+                parent++;
+            }
+            for (Map<String, TreeSet<String>> states : locations.values()) {
+                for (TreeSet<String> cities : states.values()) {
+                    for (String city : cities) {
+                        nodes.add(new Node(city, parent, 0));
+                    }
+                    parent++;
+                }
+            }
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file)))) {
+                out.writeLong(MAGIC);
+                out.writeInt(locations.size());
+                out.writeInt(nodes.size());
+                out.write(new byte[HEADER_BYTES - 16]);
+                int nameOffset = 0;
+                int firstChild = locations.size();
+                for (Node node : nodes) {
+                    out.writeInt(nameOffset);
+                    out.writeInt(node.name().length);
+                    out.writeInt(node.parent());
+                    out.writeInt(firstChild);
+                    out.writeInt(node.childCount());
+                    nameOffset += node.name().length;
+                    firstChild += node.childCount();
+                }
+                for (Node node : nodes) {
+                    out.write(node.name());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(
+                        "Could not write location index " + file, e);
+            }
+        }
+
+        private record Node(byte[] name, int parent, int childCount) {
+            Node(String name, int parent, int childCount) {
+                this(name.getBytes(StandardCharsets.UTF_8), parent,
+                        childCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.usecase05;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Provides the {@link LocationIndex} of the cascading location selector.
+ * <p>
+ * The locations are read at startup from a tab-separated file with a
+ * country, a state and a city on each line, for example one derived from
+ * the GeoNames dump of all cities, or from a small bundled sample when no
+ * file is configured. They are written to an index file in the temporary
+ * directory and memory-mapped from there.
+ */
+@Service
+public class LocationService {
+
+    private static final String SAMPLE = "/usecase05/locations.tsv";
+
+    private final LocationIndex index;
+
+    public LocationService(@Value("${app.locations.file:}") String file) {
+        LocationIndex.Builder builder = LocationIndex.builder();
+        try (InputStream in = file.isBlank()
+                ? LocationService.class.getResourceAsStream(SAMPLE)
+                : Files.newInputStream(Path.of(file))) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + SAMPLE);
+            }
+            read(new BufferedReader(
+                    new InputStreamReader(in, StandardCharsets.UTF_8)),
+                    builder);
+            Path indexFile = Files.createTempFile("locations", ".idx");
+            indexFile.toFile().deleteOnExit();
+            builder.write(indexFile);
+            this.index = LocationIndex.open(indexFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read locations", e);
+        }
+    }
+
+    /**
+     * Gets the index of all locations.
+     */
+    public LocationIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Loads the descendants of a location in the background, so that
+     * listing them does not wait for the disk.
+     *
+     * @param node
+     *            the location, for example a country that was just selected
+     */
+    @Async
+    public void prefetch(int node) {
+        index.prefetch(node);
+    }
+
+    static void read(BufferedReader reader, LocationIndex.Builder builder)
+            throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t");
+            switch (columns.length) {
+            case 1 -> builder.add(columns[0].strip());
+            case 2 -> builder.add(columns[0].strip(), columns[1].strip());
+            default -> builder.add(columns[0].strip(), columns[1].strip(),
+                    columns[2].strip());
+            }
+        }
+    }
+}
@@ -2,21 +2,20 @@ package com.example.usecase05;
 
 import jakarta.annotation.security.PermitAll;
 
-import java.util.List;
-import java.util.Map;
-
 import org.jspecify.annotations.Nullable;
 
-import com.example.MissingAPI;
 import com.example.views.MainLayout;
 
 import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.combobox.dataview.ComboBoxLazyDataView;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Paragraph;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.signals.Signal;
 import com.vaadin.flow.signals.local.ValueSignal;
 
 @Route(value = "use-case-05", layout = MainLayout.class)
@@ -25,7 +24,9 @@ import com.vaadin.flow.signals.local.ValueSignal;
 @PermitAll
 public class UseCase05View extends VerticalLayout {
 
-    public UseCase05View() {
+    private static final String DEFAULT_COUNTRY = "United States";
+
+    public UseCase05View(LocationService locationService) {
         setSpacing(true);
         setPadding(true);
 
@@ -34,84 +35,78 @@ public class UseCase05View extends VerticalLayout {
         Paragraph description = new Paragraph(
                 "This use case demonstrates cascading dropdowns where each selection filters the next dropdown. "
                         + "Select a country to see states, then select a state to see cities. "
-                        + "All filtering is reactive through computed signals.");
-
-        // Create signals for selections - use first country as default
-        List<String> countries = loadCountries();
-        ValueSignal<String> countrySignal = new ValueSignal<>(countries.get(0));
+                        + "All filtering is reactive through computed signals, and each dropdown lazily fetches "
+                        + "the matching page of a memory-mapped location index.");
+
+        LocationIndex locations = locationService.getIndex();
+
+        // Create signals for selections - use the default country if present
+        int defaultCountry = locations.find(LocationIndex.ROOT,
+                DEFAULT_COUNTRY);
+        ValueSignal<String> countrySignal = new ValueSignal<>(
+                locations.getName(defaultCountry != LocationIndex.NONE
+                        ? defaultCountry
+                        : 0));
         ValueSignal<@Nullable String> stateSignal = new ValueSignal<@Nullable String>(null);
         ValueSignal<@Nullable String> citySignal = new ValueSignal<@Nullable String>(null);
 
-        var states = countrySignal.map(country -> loadStates(country));
-        var cities = stateSignal.map(state -> loadCities(countrySignal.get(), state));
+        // The selected locations in the index, NONE when nothing is selected
+        Signal<Integer> countryNode = Signal.computed(() -> locations
+                .find(LocationIndex.ROOT, countrySignal.get()));
+        Signal<Integer> stateNode = Signal.computed(
+                () -> locations.find(countryNode.get(), stateSignal.get()));
 
         // Country selector
         ComboBox<String> countrySelect = new ComboBox<>("Country");
-        countrySelect.setItems(countries);
-        countrySelect.bindValue(countrySignal, countrySignal::set);
+        setChildItems(countrySelect, locations, () -> LocationIndex.ROOT);
+        countrySelect.bindValue(countrySignal, country -> {
+            countrySignal.set(country);
+            stateSignal.set(null);
+        });
 
-        // State selector - computed items based on country
+        // State selector - lazy items of the selected country
         ComboBox<String> stateSelect = new ComboBox<>("State/Province");
-        MissingAPI.bindItems(stateSelect, states);
-        stateSelect.bindValue(stateSignal, stateSignal::set);
-
-        // City selector - computed items based on state
+        ComboBoxLazyDataView<String> states = setChildItems(stateSelect,
+                locations, countryNode::peek);
+        stateSelect.bindValue(stateSignal, state -> {
+            stateSignal.set(state);
+            citySignal.set(null);
+        });
+
+        // City selector - lazy items of the selected state, filtered by the
+        // typed prefix
         ComboBox<String> citySelect = new ComboBox<>("City");
-        MissingAPI.bindItems(citySelect, cities);
+        ComboBoxLazyDataView<String> cities = setChildItems(citySelect,
+                locations, stateNode::peek);
         citySelect.bindValue(citySignal, citySignal::set);
-        citySelect.bindEnabled(() -> !cities.get().isEmpty());
+        citySelect.bindEnabled(
+                () -> locations.getChildCount(stateNode.get()) > 0);
+
+        // Refetch the children when the parent changes, and load the states
+        // and cities of a selected country before they are opened
+        Signal.effect(stateSelect, () -> {
+            int country = countryNode.get();
+            states.refreshAll();
+            if (country != LocationIndex.NONE) {
+                locationService.prefetch(country);
+            }
+        });
+        Signal.effect(citySelect, () -> {
+            stateNode.get();
+            cities.refreshAll();
+        });
 
         add(title, description, countrySelect, stateSelect, citySelect);
     }
 
-    private List<String> loadCountries() {
-        // Stub implementation - returns mock data
-        return List.of("United States", "Canada", "United Kingdom", "Germany");
-    }
-
-    private List<String> loadStates(@Nullable String country) {
-        if (country == null) {
-            return List.of();
-        }
-
-        // Stub implementation - returns mock data
-        Map<String, List<String>> statesByCountry = Map.of("United States",
-                List.of("California", "Texas", "New York", "Florida"), "Canada",
-                List.of("Ontario", "Quebec", "British Columbia", "Alberta"),
-                "United Kingdom",
-                List.of("England", "Scotland", "Wales", "Northern Ireland"),
-                "Germany", List.of("Bavaria", "Berlin", "Hamburg", "Hesse"));
-        return statesByCountry.getOrDefault(country, List.of());
-    }
-
-    private List<String> loadCities(@Nullable String country, @Nullable String state) {
-        if (country == null || state == null) {
-            return List.of();
-        }
-
-        // Stub implementation - returns mock data
-        Map<String, Map<String, List<String>>> citiesByState = Map.of(
-                "United States",
-                Map.of("California",
-                        List.of("Los Angeles", "San Francisco", "San Diego",
-                                "Sacramento"),
-                        "Texas",
-                        List.of("Houston", "Austin", "Dallas", "San Antonio"),
-                        "New York",
-                        List.of("New York City", "Buffalo", "Rochester",
-                                "Albany"),
-                        "Florida",
-                        List.of("Miami", "Orlando", "Tampa", "Jacksonville")),
-                "Canada",
-                Map.of("Ontario",
-                        List.of("Toronto", "Ottawa", "Mississauga", "Hamilton"),
-                        "Quebec",
-                        List.of("Montreal", "Quebec City", "Laval", "Gatineau"),
-                        "British Columbia",
-                        List.of("Vancouver", "Victoria", "Kelowna", "Burnaby"),
-                        "Alberta", List.of("Calgary", "Edmonton", "Red Deer",
-                                "Lethbridge")));
-        return citiesByState.getOrDefault(country, Map.of()).getOrDefault(state,
-                List.of());
+    private static ComboBoxLazyDataView<String> setChildItems(
+            ComboBox<String> comboBox, LocationIndex locations,
+            SerializableSupplier<Integer> parent) {
+        return comboBox.setItems(
+                query -> locations.getChildren(parent.get(),
+                        query.getFilter().orElse(""), query.getOffset(),
+                        query.getLimit()),
+                query -> locations.countChildren(parent.get(),
+                        query.getFilter().orElse("")));
     }
 }
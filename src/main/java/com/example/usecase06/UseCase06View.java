@@ -7,6 +7,8 @@ import java.math.RoundingMode;
 import java.util.List;
 
 import com.example.MissingAPI;
+import com.example.signals.Equivalence;
+import com.example.signals.MemoizedComputation;
 import com.example.views.MainLayout;
 import org.jspecify.annotations.Nullable;
 
@@ -51,14 +53,16 @@ public class UseCase06View extends VerticalLayout {
         var discountCodeSignal = new ValueSignal<>("");
         var shippingOptionSignal = new ValueSignal<>(ShippingOption.STANDARD);
 
-        // Computed signal for subtotal
-        var subtotalSignal = Signal.computed(
+        // Computed signal for subtotal. Amounts are compared by value so a
+        // change of scale alone does not recompute discount, tax and total.
+        var subtotalSignal = MemoizedComputation.computed(
                 () -> MissingAPI.getValues(cartItemsSignal)
                         .map(CartItem::totalPrice)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add));
+                        .reduce(BigDecimal.ZERO, BigDecimal::add),
+                Equivalence.numericValue());
 
         // Computed signal for discount
-        var discountSignal = Signal.computed(() -> {
+        var discountSignal = MemoizedComputation.computed(() -> {
             String code = discountCodeSignal.get();
             DiscountCode discount = validateDiscountCode(code);
             if (discount != null) {
@@ -66,20 +70,22 @@ public class UseCase06View extends VerticalLayout {
                         .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
             }
             return BigDecimal.ZERO;
-        });
+        }, Equivalence.numericValue());
 
         // Computed signal for shipping cost
         var shippingSignal = shippingOptionSignal.map(this::getShippingCost);
 
         // Computed signal for tax (8%)
-        var taxSignal = Signal.computed(() -> subtotalSignal.get()
-                .subtract(discountSignal.get()).multiply(new BigDecimal("0.08"))
-                .setScale(2, RoundingMode.HALF_UP));
+        var taxSignal = MemoizedComputation.computed(() -> subtotalSignal
+                .get().subtract(discountSignal.get())
+                .multiply(new BigDecimal("0.08"))
+                .setScale(2, RoundingMode.HALF_UP), Equivalence.numericValue());
 
         // Computed signal for grand total
-        var totalSignal = Signal.computed(() -> subtotalSignal.get()
-                .subtract(discountSignal.get()).add(shippingSignal.get())
-                .add(taxSignal.get()).setScale(2, RoundingMode.HALF_UP));
+        var totalSignal = MemoizedComputation.computed(() -> subtotalSignal
+                .get().subtract(discountSignal.get()).add(shippingSignal.get())
+                .add(taxSignal.get()).setScale(2, RoundingMode.HALF_UP),
+                Equivalence.numericValue());
 
         var products = List.of(
                 new Product("1", "Laptop", new BigDecimal("999.99")),
@@ -0,0 +1,265 @@
+package com.example.usecase10;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import org.jspecify.annotations.Nullable;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.server.streams.UploadEvent;
+import com.vaadin.flow.server.streams.UploadHandler;
+
+/**
+ * Upload handler that streams the upload to a temporary file and computes
+ * its SHA-256 checksum on the way.
+ * <p>
+ * The data is copied through one fixed-size direct buffer into a
+ * {@link FileChannel}, so memory use does not depend on the file size and a
+ * multi-gigabyte upload is written at disk speed. Progress is reported at
+ * most once per interval: the transfer thread only records the number of
+ * bytes written, and a {@code UI.access} task is queued only when the
+ * interval has passed and the previous progress task has run, which then
+ * reports the latest count. The transfer thread never waits for the UI.
+ * <p>
+ * All listeners run while holding the UI lock. On success the file belongs
+ * to the listener, which should move or delete it. On failure the file is
+ * deleted before the failure listener runs.
+ */
+public final class DiskUploadHandler implements UploadHandler {
+
+    /** The size of the transfer buffer. */
+    static final int BUFFER_SIZE = 256 * 1024;
+
+    /** The default time between progress reports. */
+    public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration
+            .ofMillis(250);
+
+    /**
+     * The progress of an upload.
+     *
+     * @param fileName
+     *            the name of the uploaded file
+     * @param transferred
+     *            the number of bytes written so far
+     * @param total
+     *            the size of the upload, or -1 if unknown
+     */
+    public record Progress(String fileName, long transferred, long total) {
+    }
+
+    /**
+     * A completed upload.
+     *
+     * @param fileName
+     *            the name of the uploaded file
+     * @param file
+     *            the temporary file holding the data
+     * @param size
+     *            the number of bytes written
+     * @param sha256
+     *            the SHA-256 checksum of the data as lowercase hex
+     */
+    public record Result(String fileName, Path file, long size, String sha256) {
+    }
+
+    private final @Nullable Path directory;
+    private Duration progressInterval = DEFAULT_PROGRESS_INTERVAL;
+    private SerializableConsumer<Progress> startListener = progress -> {
+    };
+    private SerializableConsumer<Progress> progressListener = progress -> {
+    };
+    private SerializableConsumer<Result> completeListener = result -> {
+    };
+    private SerializableBiConsumer<String, Exception> failureListener = (
+            fileName, error) -> {
+    };
+
+    /**
+     * Creates a handler writing to files in a directory.
+     *
+     * @param directory
+     *            the directory of the temporary files, or {@code null} for
+     *            the default temporary directory
+     */
+    public DiskUploadHandler(@Nullable Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Sets the listener called when an upload starts.
+     */
+    public DiskUploadHandler whenStart(
+            SerializableConsumer<Progress> listener) {
+        this.startListener = listener;
+        return this;
+    }
+
+    /**
+     * Sets the listener called with the progress of an upload, at most once
+     * per interval.
+     */
+    public DiskUploadHandler onProgress(
+            SerializableConsumer<Progress> listener, Duration interval) {
+        this.progressListener = listener;
+        this.progressInterval = interval;
+        return this;
+    }
+
+    /**
+     * Sets the listener called when an upload has been written completely.
+     */
+    public DiskUploadHandler whenComplete(
+            SerializableConsumer<Result> listener) {
+        this.completeListener = listener;
+        return this;
+    }
+
+    /**
+     * Sets the listener called with the file name and the error when an
+     * upload fails.
+     */
+    public DiskUploadHandler whenFailed(
+            SerializableBiConsumer<String, Exception> listener) {
+        this.failureListener = listener;
+        return this;
+    }
+
+    @Override
+    public void handleUploadRequest(UploadEvent event) throws IOException {
+        UI ui = event.getUI();
+        String fileName = event.getFileName();
+        long total = event.getFileSize();
+        ui.access(() -> startListener
+                .accept(new Progress(fileName, 0, total)));
+
+        AtomicLong transferred = new AtomicLong();
+        AtomicBoolean reportQueued = new AtomicBoolean();
+        Throttle throttle = new Throttle(progressInterval, System::nanoTime);
+        Path file = directory == null
+                ? Files.createTempFile("upload-", ".tmp")
+                : Files.createTempFile(directory, "upload-", ".tmp");
+        try {
+            Result result = transfer(fileName, event.getInputStream(), file,
+                    bytes -> {
+                        transferred.set(bytes);
+                        if (throttle.tryAcquire()
+                                && reportQueued.compareAndSet(false, true)) {
+                            ui.access(() -> {
+                                reportQueued.set(false);
+                                progressListener.accept(new Progress(
+                                        fileName, transferred.get(), total));
+                            });
+                        }
+                    });
+            ui.access(() -> completeListener.accept(result));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            ui.access(() -> failureListener.accept(fileName, e));
+            throw e;
+        }
+    }
+
+    /**
+     * Copies a stream to a file, computing its checksum.
+     *
+     * @param fileName
+     *            the name of the uploaded file
+     * @param in
+     *            the data, closed when done
+     * @param file
+     *            the file to write, replaced if it exists
+     * @param progress
+     *            called with the number of bytes written after each write
+     * @return the completed upload
+     * @throws IOException
+     *             if reading or writing fails
+     */
+    static Result transfer(String fileName, InputStream in, Path file,
+            LongConsumer progress) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long size = 0;
+        try (ReadableByteChannel source = Channels.newChannel(in);
+                FileChannel target = FileChannel.open(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (source.read(buffer) != -1) {
+                // Fill the buffer before writing, unless the stream ended
+                if (buffer.hasRemaining()) {
+                    continue;
+                }
+                size += drain(buffer, digest, target);
+                progress.accept(size);
+            }
+            if (buffer.position() > 0) {
+                size += drain(buffer, digest, target);
+                progress.accept(size);
+            }
+        }
+        return new Result(fileName, file, size,
+                HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static int drain(ByteBuffer buffer, MessageDigest digest,
+            FileChannel target) throws IOException {
+        buffer.flip();
+        int length = buffer.remaining();
+        digest.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        buffer.clear();
+        return length;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Lets an action through at most once per interval. Only used from the
+     * transfer thread.
+     */
+    static final class Throttle {
+        private final long intervalNanos;
+        private final LongSupplier clock;
+        private long next;
+
+        Throttle(Duration interval, LongSupplier clock) {
+            this.intervalNanos = interval.toNanos();
+            this.clock = clock;
+            this.next = clock.getAsLong();
+        }
+
+        boolean tryAcquire() {
+            long now = clock.getAsLong();
+            if (now - next < 0) {
+                return false;
+            }
+            next = now + intervalNanos;
+            return true;
+        }
+    }
+}
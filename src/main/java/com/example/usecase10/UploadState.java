@@ -20,7 +20,8 @@ public sealed interface UploadState {
         }
     }
 
-    record Succeeded(String fileName, long totalBytes) implements UploadState {
+    record Succeeded(String fileName, long totalBytes,
+            String sha256) implements UploadState {
     }
 
     record Failed(String fileName, String reason) implements UploadState {
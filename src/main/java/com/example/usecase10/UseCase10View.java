@@ -2,6 +2,9 @@ package com.example.usecase10;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.UUID;
 
 import com.example.views.MainLayout;
@@ -22,8 +25,6 @@ import com.vaadin.flow.component.upload.Upload;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.server.streams.TransferContext;
-import com.vaadin.flow.server.streams.UploadHandler;
 import com.vaadin.flow.signals.Signal;
 import com.vaadin.flow.signals.local.ValueSignal;
 
@@ -72,7 +73,7 @@ public class UseCase10View extends VerticalLayout {
 
         // --- Card 1: Upload State Signal ---
         Div uploadCard = createCard("Upload State Signal",
-                "UploadHandler: whenStart / onProgress / whenComplete");
+                "DiskUploadHandler: whenStart / onProgress / whenComplete");
         buildUploadCard(uploadCard);
 
         // --- Card 2: Keyboard Shortcut Signal ---
@@ -101,36 +102,28 @@ public class UseCase10View extends VerticalLayout {
     // ---------------------------------------------------------------
 
     private void buildUploadCard(Div card) {
-        // Bridge: UploadHandler callbacks → uploadStateSignal
-        Upload upload = new Upload(UploadHandler
-                .inMemory((metadata, data) -> uploadStateSignal
-                        .set(new UploadState.Succeeded(metadata.fileName(),
-                                metadata.contentLength())))
-                .whenStart((TransferContext ctx) -> uploadStateSignal
-                        .set(new UploadState.InProgress(ctx.fileName(), 0,
-                                ctx.contentLength())))
-                .onProgress(
-                        (TransferContext ctx, Long transferred, Long total) -> {
-                            uploadStateSignal.set(new UploadState.InProgress(
-                                    ctx.fileName(), transferred, total));
-                            try {
-                                // Slow down transfer so progress states are
-                                // visible
-                                Thread.sleep(500);
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                            }
-                        })
-                .whenComplete((TransferContext ctx, Boolean success) -> {
-                    if (!success) {
-                        String reason = ctx.exception() != null
-                                && ctx.exception().getMessage() != null
-                                        ? ctx.exception().getMessage()
-                                        : "Unknown error";
-                        uploadStateSignal.set(
-                                new UploadState.Failed(ctx.fileName(), reason));
-                    }
-                }));
+        // Bridge: upload handler callbacks → uploadStateSignal. The file is
+        // streamed to disk and progress is reported at most every 250 ms.
+        Upload upload = new Upload(new DiskUploadHandler(null)
+                .whenStart(progress -> uploadStateSignal
+                        .set(new UploadState.InProgress(progress.fileName(),
+                                0, progress.total())))
+                .onProgress(progress -> uploadStateSignal
+                        .set(new UploadState.InProgress(progress.fileName(),
+                                progress.transferred(), progress.total())),
+                        DiskUploadHandler.DEFAULT_PROGRESS_INTERVAL)
+                .whenComplete(result -> {
+                    uploadStateSignal.set(new UploadState.Succeeded(
+                            result.fileName(), result.size(),
+                            result.sha256()));
+                    // Nothing keeps the uploaded file in this demo
+                    deleteQuietly(result.file());
+                })
+                .whenFailed((fileName, error) -> uploadStateSignal
+                        .set(new UploadState.Failed(fileName,
+                                error.getMessage() != null
+                                        ? error.getMessage()
+                                        : "Unknown error"))));
         upload.setWidth("100%");
 
         // Status label bound to signal
@@ -147,7 +140,25 @@ public class UseCase10View extends VerticalLayout {
         });
         progressBar.bindVisible(() -> uploadStateSignal.get() instanceof UploadState.InProgress);
 
-        card.add(upload, statusLabel, progressBar);
+        // Checksum of the last completed upload
+        Span checksumLabel = new Span(() -> uploadStateSignal
+                .get() instanceof UploadState.Succeeded s
+                        ? "SHA-256: " + s.sha256()
+                        : "");
+        checksumLabel.getStyle().set("font-family", "monospace")
+                .set("font-size", "0.8em").set("word-break", "break-all");
+        checksumLabel.bindVisible(() -> uploadStateSignal
+                .get() instanceof UploadState.Succeeded);
+
+        card.add(upload, statusLabel, progressBar, checksumLabel);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left for the operating system to clean up
+        }
     }
 
     // ---------------------------------------------------------------
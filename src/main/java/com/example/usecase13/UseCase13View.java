@@ -11,6 +11,7 @@ import com.example.signals.SessionIdHelper;
 import com.example.signals.UserInfo;
 import com.example.signals.UserSessionRegistry;
 import com.example.views.MainLayout;
+import com.example.views.WindowedList;
 import com.vaadin.flow.component.avatar.Avatar;
 import com.vaadin.flow.component.card.Card;
 import com.vaadin.flow.component.html.Div;
@@ -45,6 +46,10 @@ import com.vaadin.flow.signals.shared.SharedValueSignal;
 @PermitAll
 public class UseCase13View extends VerticalLayout {
 
+    // Estimated rendered height of one user card, used for windowing
+    private static final int USER_CARD_HEIGHT_PX = 160;
+    private static final int USER_CARD_GAP_PX = 16;
+
     private final UserSessionRegistry userSessionRegistry;
     private final Map<String, String> routeToTitleMap;
 
@@ -82,17 +87,17 @@ public class UseCase13View extends VerticalLayout {
         userListTitle.getStyle().set("margin-top", "1.5em").set("margin-bottom",
                 "0.5em");
 
-        Div userListContainer = new Div();
-        userListContainer.getStyle().set("display", "flex")
-                .set("flex-direction", "column").set("gap", "1em");
-
         // Get current session ID for highlighting
         String currentSessionId = SessionIdHelper.getCurrentSessionId();
 
-        // Reactively bind children to active users list
-        userListContainer.bindChildren(
+        // Reactively bind the visible window of the active users list; cards
+        // scrolled out of view are recycled for newly visible users
+        WindowedList<SharedValueSignal<UserInfo>> userListContainer = new WindowedList<>(
                 userSessionRegistry.getActiveUsersSignal(),
-                userSignal -> createUserCard(userSignal, currentSessionId));
+                USER_CARD_HEIGHT_PX,
+                slotSignal -> createUserCard(slotSignal, currentSessionId));
+        userListContainer.setItemGap(USER_CARD_GAP_PX);
+        userListContainer.getStyle().set("max-height", "800px");
 
         // Educational info box
         Div infoBox = new Div();
@@ -127,18 +132,28 @@ public class UseCase13View extends VerticalLayout {
                 infoBox);
     }
 
-    private Card createUserCard(SharedValueSignal<UserInfo> userSignal, String currentSessionId) {
+    private Card createUserCard(
+            Signal<SharedValueSignal<UserInfo>> slotSignal,
+            String currentSessionId) {
         Card card = new Card();
 
-        // These never change, so no need for signal bindings
-        boolean isCurrentSession = userSignal.peek().sessionId().equals(currentSessionId);        
-        String username = userSignal.peek().username();
+        // The card is recycled for other users while scrolling, so even the
+        // session and username are bound to the user currently in the slot
+        Signal<UserInfo> userSignal = Signal
+                .computed(() -> slotSignal.get().get());
+        Signal<Boolean> isCurrentSession = userSignal
+                .map(info -> info.sessionId().equals(currentSessionId));
+        Signal<String> username = userSignal.map(UserInfo::username);
 
         // Highlight current user's session
-        if (isCurrentSession) {
-            card.getStyle().set("border", "2px solid var(--lumo-primary-color)")
-                    .set("background", "var(--lumo-primary-color-10pct)");
-        }
+        card.getStyle().bind("border",
+                () -> isCurrentSession.get()
+                        ? "2px solid var(--lumo-primary-color)"
+                        : null);
+        card.getStyle().bind("background",
+                () -> isCurrentSession.get()
+                        ? "var(--lumo-primary-color-10pct)"
+                        : null);
 
         // Dim inactive tabs
         var isTabActive = userSignal.map(info -> info.isTabActive());
@@ -157,14 +172,15 @@ public class UseCase13View extends VerticalLayout {
         tabIndicator.getStyle().set("flex-shrink", "0");
 
         // Avatar (using first letter of username)
-        Span avatar = new Span(username.substring(0, 1).toUpperCase());
+        Span avatar = new Span(
+                () -> username.get().substring(0, 1).toUpperCase());
+        avatar.getStyle().bind("background",
+                () -> getColorForUser(username.get()));
         avatar.getStyle().set("display", "inline-flex")
                 .set("align-items", "center").set("justify-content", "center")
                 .set("width", "40px").set("height", "40px")
-                .set("border-radius", "50%")
-                .set("background", getColorForUser(username))
-                .set("color", "white").set("font-weight", "bold")
-                .set("flex-shrink", "0");
+                .set("border-radius", "50%").set("color", "white")
+                .set("font-weight", "bold").set("flex-shrink", "0");
 
         Span nameSpan = new Span(() -> {
             var info = userSignal.get();
@@ -198,7 +214,7 @@ public class UseCase13View extends VerticalLayout {
                 }
             }
 
-            if (isCurrentSession) {
+            if (isCurrentSession.get()) {
                 displayName += " (YOU)";
             }
             return displayName;
@@ -280,32 +296,39 @@ public class UseCase13View extends VerticalLayout {
         return colors[Math.abs(hash) % colors.length];
     }
 
-    private Span createRoleBadge(String username) {
+    private Span createRoleBadge(Signal<String> username) {
         // Get role based on username (matches SecurityConfiguration)
-        String role = getRoleForUser(username);
-        String badgeColor = switch (role) {
+        Signal<String> role = username.map(this::getRoleForUser);
+
+        Span badge = new Span(() -> "[" + getBadgeLabel(role.get()) + "]");
+        badge.getStyle().bind("background",
+                () -> getBadgeColor(role.get()));
+        badge.getStyle().set("padding", "2px 6px").set("border-radius", "4px")
+                .set("color", "white")
+                .set("font-size", "var(--lumo-font-size-xs)")
+                .set("font-weight", "bold").set("flex-shrink", "0");
+
+        return badge;
+    }
+
+    private String getBadgeColor(String role) {
+        return switch (role) {
         case "SUPER_ADMIN" -> "#9C27B0";
         case "ADMIN" -> "#F44336";
         case "EDITOR" -> "#FF9800";
         case "VIEWER" -> "#2196F3";
         default -> "#757575";
         };
+    }
 
-        String badgeLabel = switch (role) {
+    private String getBadgeLabel(String role) {
+        return switch (role) {
         case "SUPER_ADMIN" -> "S";
         case "ADMIN" -> "A";
         case "EDITOR" -> "E";
         case "VIEWER" -> "V";
         default -> "?";
         };
-
-        Span badge = new Span("[" + badgeLabel + "]");
-        badge.getStyle().set("padding", "2px 6px").set("border-radius", "4px")
-                .set("background", badgeColor).set("color", "white")
-                .set("font-size", "var(--lumo-font-size-xs)")
-                .set("font-weight", "bold").set("flex-shrink", "0");
-
-        return badge;
     }
 
     private String getRoleForUser(String username) {
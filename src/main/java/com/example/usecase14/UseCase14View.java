@@ -2,8 +2,11 @@ package com.example.usecase14;
 
 import jakarta.annotation.security.PermitAll;
 
-import com.example.service.AnalyticsService;
+import com.example.service.AnalyticsReportCache;
+import com.example.service.AnalyticsReportCache.ReportJob;
+import com.example.service.AnalyticsReportCache.ReportKey;
 import com.example.service.AnalyticsService.AnalyticsReport;
+import com.example.service.AnalyticsService.ReportPeriod;
 import com.example.views.MainLayout;
 
 import com.vaadin.flow.component.AttachEvent;
@@ -21,6 +24,7 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
@@ -51,7 +55,26 @@ public class UseCase14View extends VerticalLayout {
         IDLE, LOADING, GENERATING, SUCCESS, ERROR
     }
 
-    private final AnalyticsService analyticsService;
+    private enum ReportRange {
+        LAST_7_DAYS(7), LAST_30_DAYS(30), LAST_90_DAYS(90),
+        LAST_365_DAYS(365);
+
+        private final int days;
+
+        ReportRange(int days) {
+            this.days = days;
+        }
+
+        String getLabel() {
+            return "Last " + days + " days";
+        }
+
+        ReportPeriod toPeriod() {
+            return ReportPeriod.lastDays(days);
+        }
+    }
+
+    private final AnalyticsReportCache reportCache;
 
     private final ValueSignal<LoadingState> stateSignal = new ValueSignal<>(LoadingState.IDLE);
 
@@ -61,8 +84,11 @@ public class UseCase14View extends VerticalLayout {
     private final ValueSignal<Boolean> shouldFailSignal = new ValueSignal<>(
             false);
 
-    public UseCase14View(AnalyticsService analyticsService) {
-        this.analyticsService = analyticsService;
+    private final ValueSignal<ReportRange> rangeSignal = new ValueSignal<>(
+            ReportRange.LAST_90_DAYS);
+
+    public UseCase14View(AnalyticsReportCache reportCache) {
+        this.reportCache = reportCache;
         setSpacing(true);
         setPadding(true);
 
@@ -71,6 +97,7 @@ public class UseCase14View extends VerticalLayout {
         Paragraph description = new Paragraph(
                 "This use case demonstrates multi-step async operations with proper loading/success/error states. "
                         + "Click 'Generate Analytics Report' to start a two-step process: first fetching relevant data, then generating the report. "
+                        + "The report covers the selected period and is aggregated in parallel from millions of visit and order events. "
                         + "Toggle 'Simulate Error' to see error handling. "
                         + "The UI reactively shows progress through each step, displays data on success, or shows error messages with retry.");
 
@@ -93,6 +120,11 @@ public class UseCase14View extends VerticalLayout {
             }
         });
 
+        Select<ReportRange> rangeSelect = new Select<>();
+        rangeSelect.setItems(ReportRange.values());
+        rangeSelect.setItemLabelGenerator(ReportRange::getLabel);
+        rangeSelect.bindValue(rangeSignal, rangeSignal::set);
+
         Div errorToggle = new Div();
         errorToggle.getStyle().set("display", "flex")
                 .set("align-items", "center").set("gap", "0.5em");
@@ -101,7 +133,7 @@ public class UseCase14View extends VerticalLayout {
         checkbox.bindValue(shouldFailSignal, shouldFailSignal::set);
         errorToggle.add(checkbox);
 
-        controls.add(loadButton, errorToggle);
+        controls.add(loadButton, rangeSelect, errorToggle);
 
         // State display box
         Div stateBox = new Div();
@@ -231,19 +263,20 @@ public class UseCase14View extends VerticalLayout {
 
         // Capture on UI thread — .peek() reads without creating a subscription
         boolean shouldFail = shouldFailSignal.peek();
-
-        analyticsService.fetchReportData(shouldFail)
-                .thenCompose(rawData -> {
-                    stateSignal.set(LoadingState.GENERATING);
-                    return analyticsService.generateReportFromData(rawData,
-                            shouldFail);
-                }).thenAccept(report -> {
-                    reportDataSignal.set(report);
-                    stateSignal.set(LoadingState.SUCCESS);
-                }).exceptionally(error -> {
-                    stateSignal.set(LoadingState.ERROR);
-                    return null;
-                });
+        ReportPeriod period = rangeSignal.peek().toPeriod();
+
+        // Concurrent requests for the same report share one generation, and a
+        // recent report is returned right away
+        ReportJob job = reportCache
+                .getReport(new ReportKey(period, shouldFail));
+        job.data().thenRun(() -> stateSignal.set(LoadingState.GENERATING));
+        job.report().thenAccept(report -> {
+            reportDataSignal.set(report);
+            stateSignal.set(LoadingState.SUCCESS);
+        }).exceptionally(error -> {
+            stateSignal.set(LoadingState.ERROR);
+            return null;
+        });
     }
 
     private Card createMetricCardWithSignal(String label,
@@ -2,20 +2,24 @@ package com.example.usecase15;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.jsoup.Jsoup;
 import org.jsoup.safety.Safelist;
 import org.jspecify.annotations.Nullable;
 
+import com.example.search.SearchIndex;
+import com.example.search.SearchIndex.Highlight;
+import com.example.search.SearchIndex.Hit;
+import com.example.search.SearchService;
+import com.example.signals.LatestOnly;
+import com.example.signals.SignalTimers;
+import com.example.signals.TimedSignals;
 import com.example.views.MainLayout;
 
 import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
@@ -41,9 +45,10 @@ import com.vaadin.flow.signals.local.ValueSignal;
  * only fires after user stops typing - Cancel in-flight requests on new input -
  * Loading indicator during search - Highlight matching text in results
  *
- * Key Patterns: - Manual debouncing with ScheduledExecutorService - Async
- * search with cancellation - Loading states for search - Real-time search
- * results - Keystroke vs search count comparison
+ * Key Patterns: - Debounce operator on the shared signal timer wheel - Async
+ * search with cooperative cancellation - Loading states for search -
+ * Real-time search results from a shared inverted index - Keystroke vs
+ * search count comparison
  */
 @Route(value = "use-case-15", layout = MainLayout.class)
 @PageTitle("Use Case 15: Debounced Search")
@@ -53,11 +58,6 @@ public class UseCase15View extends VerticalLayout {
 
     public record Product(String id, String name, String category,
             double price) {
-        public boolean matches(String query) {
-            String lowerQuery = query.toLowerCase();
-            return name.toLowerCase().contains(lowerQuery)
-                    || category.toLowerCase().contains(lowerQuery);
-        }
     }
 
     // Sample product database
@@ -78,27 +78,36 @@ public class UseCase15View extends VerticalLayout {
             new Product("14", "Webcam HD", "Electronics", 79.99),
             new Product("15", "Bookshelf", "Furniture", 129.99));
 
+    // Names rank above categories, highlights refer to the name field
+    private static final SearchIndex<Product> PRODUCT_INDEX = new SearchIndex<>(
+            ALL_PRODUCTS, Product::category,
+            List.of(new SearchIndex.Field<>(Product::name, 2),
+                    new SearchIndex.Field<>(Product::category, 1)));
+    private static final int NAME_FIELD = 0;
+    private static final int MAX_RESULTS = 50;
+
     private static final long DEBOUNCE_DELAY_MS = 1000;
+    private static final long SEARCH_DELAY_MS = 500;
 
     private final ValueSignal<String> instantQuerySignal = new ValueSignal<>(
             "");
-    private final ValueSignal<String> searchQuerySignal = new ValueSignal<>("");
-    private final ListSignal<Product> searchResultsSignal = new ListSignal<>();
+    private final Signal<String> searchQuerySignal = TimedSignals.debounce(
+            this, instantQuerySignal, Duration.ofMillis(DEBOUNCE_DELAY_MS));
+    private final ListSignal<Hit<Product>> searchResultsSignal = new ListSignal<>();
     private final ValueSignal<Integer> searchCountSignal = new ValueSignal<>(0);
     private final ValueSignal<Integer> keystrokeCountSignal = new ValueSignal<>(
             0);
-    private final ValueSignal<@Nullable CompletableFuture<Void>> currentSearchSignal = new ValueSignal<@Nullable CompletableFuture<Void>>(null);
-
-    private final ScheduledExecutorService debounceExecutor = Executors
-            .newSingleThreadScheduledExecutor();
-    private volatile @Nullable ScheduledFuture<?> pendingDebounce = null;
-
-    public UseCase15View() {
+    private final ValueSignal<Boolean> isSearchingSignal = new ValueSignal<>(
+            false);
+    private final LatestOnly searches = new LatestOnly();
+    private final SearchService.Searcher<Product> productSearch;
+
+    public UseCase15View(SearchService searchService) {
+        this.productSearch = searchService.forSession("products",
+                PRODUCT_INDEX);
         setSpacing(true);
         setPadding(true);
 
-        var isSearchingSignal = currentSearchSignal.map(future -> future != null);
-
         H2 title = new H2("Use Case 15: Debounced Search");
 
         Paragraph description = new Paragraph(
@@ -118,8 +127,8 @@ public class UseCase15View extends VerticalLayout {
         searchField.bindValue(instantQuerySignal, value -> {
             instantQuerySignal.set(value);
             keystrokeCountSignal.set(keystrokeCountSignal.peek() + 1);
-            scheduleDebouncedSearch(value);
         });
+        Signal.effect(this, () -> performSearch(searchQuerySignal.get()));
 
         // Search stats
         Div statsBox = new Div();
@@ -207,9 +216,9 @@ public class UseCase15View extends VerticalLayout {
                 .set("flex-direction", "column").set("gap", "0.5em")
                 .set("margin-top", "1em");
 
-        // Peek rather than binding since products are immutable
+        // Peek rather than binding since hits are immutable
         resultsContainer.bindChildren(searchResultsSignal,
-                productSignal -> createProductCard(productSignal.peek()));
+                hitSignal -> createProductCard(hitSignal.peek()));
 
         // Info box
         Div infoBox = new Div();
@@ -234,72 +243,62 @@ public class UseCase15View extends VerticalLayout {
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
-        // Cancel pending debounce
-        ScheduledFuture<?> pending = pendingDebounce;
-        if (pending != null) {
-            pending.cancel(false);
-        }
-        debounceExecutor.shutdownNow();
-        // Cancel any in-flight search
-        CompletableFuture<Void> search = currentSearchSignal.peek();
-        if (search != null) {
-            search.cancel(true);
-        }
-    }
-
-    private void scheduleDebouncedSearch(String query) {
-        // Cancel any pending debounce timer
-        ScheduledFuture<?> pending = pendingDebounce;
-        if (pending != null) {
-            pending.cancel(false);
-        }
-
-        // Schedule a new debounced search
-        pendingDebounce = debounceExecutor.schedule(() -> {
-            searchQuerySignal.set(query);
-            performSearch(query);
-        }, DEBOUNCE_DELAY_MS, TimeUnit.MILLISECONDS);
+        // Drop the result of any in-flight search
+        searches.cancel();
+        isSearchingSignal.set(false);
     }
 
     private void performSearch(String query) {
-        // Cancel previous search if still running
-        CompletableFuture<Void> previousSearch = currentSearchSignal.peek();;
-        if (previousSearch != null && !previousSearch.isDone()) {
-            previousSearch.cancel(true);
-        }
+        // Starting a search cancels the previous one
+        LatestOnly.Token token = searches.next();
+        UI ui = UI.getCurrent();
 
-        if (query.isEmpty()) {
+        if (query.isBlank() || ui == null) {
             searchResultsSignal.clear();
+            isSearchingSignal.set(false);
             return;
         }
 
         // Set searching state
         searchCountSignal.set(searchCountSignal.peek() + 1);
+        isSearchingSignal.set(true);
+
+        // Simulate network delay without holding a thread. The shared timer
+        // thread only wakes the search up, the search itself runs on a
+        // virtual thread.
+        SignalTimers.schedule(Duration.ofMillis(SEARCH_DELAY_MS), () -> {
+            if (token.isCancelled()) {
+                return;
+            }
+            Thread.ofVirtual().name("product-search")
+                    .start(() -> search(query, token, ui));
+        });
+    }
+
+    private void search(String query, LatestOnly.Token token, UI ui) {
+        if (token.isCancelled()) {
+            return;
+        }
+
+        // Look up the best matches, refining earlier queries if cached
+        List<Hit<Product>> results = productSearch
+                .search(query, null, MAX_RESULTS).hits();
+        if (token.isCancelled()) {
+            return;
+        }
 
-        // Simulate async search with delay
-        CompletableFuture<Void> searchFuture = CompletableFuture
-                .runAsync(() -> {
-                    try {
-                        Thread.sleep(500); // Simulate network delay
-                    } catch (InterruptedException e) {
-                        // Search cancelled
-                        return;
-                    }
-
-                    // Filter products
-                    List<Product> results = ALL_PRODUCTS.stream()
-                            .filter(p -> p.matches(query))
-                            .toList();
-
-                    searchResultsSignal.clear();
-                    results.forEach(searchResultsSignal::insertLast);
-                    currentSearchSignal.set(null);
-                });
-
-        currentSearchSignal.set(searchFuture);
+        ui.access(() -> {
+            if (token.isCancelled()) {
+                return;
+            }
+            searchResultsSignal.clear();
+            results.forEach(searchResultsSignal::insertLast);
+            isSearchingSignal.set(false);
+        });
     }
 
-    private Div createProductCard(Product product) {
+    private Div createProductCard(Hit<Product> hit) {
+        Product product = hit.document();
         Div card = new Div();
         card.getStyle().set("background-color", "#ffffff")
                 .set("border", "1px solid var(--lumo-contrast-20pct)")
@@ -311,10 +310,9 @@ public class UseCase15View extends VerticalLayout {
         Div nameDiv = new Div();
         nameDiv.getStyle().set("font-weight", "bold");
 
-        // Highlight matching text
-        String query = searchQuerySignal.peek();
+        // Highlight matching text at the offsets found by the index
         nameDiv.getElement().setProperty("innerHTML",
-                highlightMatch(product.name(), query));
+                highlightMatch(product.name(), hit.highlight(NAME_FIELD)));
 
         Div categoryDiv = new Div(product.category());
         categoryDiv.getStyle().set("font-size", "0.9em").set("color",
@@ -330,22 +328,15 @@ public class UseCase15View extends VerticalLayout {
         return card;
     }
 
-    private String highlightMatch(String text, String query) {
-        if (query.isEmpty()) {
-            return escapeHtml(text);
-        }
-
-        String lowerText = text.toLowerCase();
-        String lowerQuery = query.toLowerCase();
-        int index = lowerText.indexOf(lowerQuery);
-
-        if (index == -1) {
+    private String highlightMatch(String text,
+            @Nullable Highlight highlight) {
+        if (highlight == null) {
             return escapeHtml(text);
         }
 
-        String before = text.substring(0, index);
-        String match = text.substring(index, index + query.length());
-        String after = text.substring(index + query.length());
+        String before = text.substring(0, highlight.start());
+        String match = text.substring(highlight.start(), highlight.end());
+        String after = text.substring(highlight.end());
 
         return escapeHtml(before)
                 + "<mark style='background-color: #ffeb3b; padding: 2px 4px; border-radius: 2px;'>"
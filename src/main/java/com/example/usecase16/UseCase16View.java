@@ -5,6 +5,8 @@ import jakarta.annotation.security.PermitAll;
 import java.util.List;
 import java.util.Map;
 
+import com.example.search.SearchIndex;
+import com.example.search.SearchService;
 import com.example.views.MainLayout;
 
 import com.vaadin.flow.component.UI;
@@ -48,17 +50,6 @@ public class UseCase16View extends VerticalLayout
         implements BeforeEnterObserver {
 
     record Article(String id, String title, String category, String content) {
-
-        boolean matches(String query, String category) {
-            boolean categoryMatch = category.equals("All")
-                    || this.category.equals(category);
-            if (query.isEmpty()) {
-                return categoryMatch;
-            }
-            String lowerQuery = query.toLowerCase();
-            return categoryMatch && (title.toLowerCase().contains(lowerQuery)
-                    || content.toLowerCase().contains(lowerQuery));
-        }
     }
 
     private static final List<Article> ALL_ARTICLES = List.of(
@@ -83,13 +74,22 @@ public class UseCase16View extends VerticalLayout
             new Article("10", "Migration Guide", "Documentation",
                     "Migrating from traditional state to signals..."));
 
+    private static final SearchIndex<Article> ARTICLE_INDEX = new SearchIndex<>(
+            ALL_ARTICLES, Article::category,
+            List.of(new SearchIndex.Field<>(Article::title, 2),
+                    new SearchIndex.Field<>(Article::content, 1)));
+
     private final ValueSignal<String> searchQuerySignal = new ValueSignal<>("");
     private final ValueSignal<String> categorySignal = new ValueSignal<>("All");
     private final ListSignal<Article> filteredArticlesSignal = new ListSignal<>();
 
+    private final SearchService.Searcher<Article> articleSearch;
+
     private boolean isInitializing = true;
 
-    public UseCase16View() {
+    public UseCase16View(SearchService searchService) {
+        this.articleSearch = searchService.forSession("articles",
+                ARTICLE_INDEX);
         setSpacing(true);
         setPadding(true);
 
@@ -240,8 +240,10 @@ public class UseCase16View extends VerticalLayout
             }
 
             filteredArticlesSignal.clear();
-            ALL_ARTICLES.stream()
-                    .filter(article -> article.matches(query, category))
+            articleSearch
+                    .search(query, category.equals("All") ? null : category,
+                            ARTICLE_INDEX.size())
+                    .hits().stream().map(SearchIndex.Hit::document)
                     .forEach(filteredArticlesSignal::insertLast);
         });
     }
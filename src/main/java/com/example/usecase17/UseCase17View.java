@@ -5,15 +5,21 @@ import jakarta.annotation.security.PermitAll;
 import java.util.Arrays;
 import java.util.List;
 
+import com.example.signals.Equivalence;
+import com.example.signals.MemoizedComputation;
+import com.example.signals.SignalProfiler;
 import com.example.views.MainLayout;
+import org.springframework.beans.factory.annotation.Value;
 
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.details.Details;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.html.Pre;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
@@ -441,6 +447,19 @@ public class UseCase17View extends VerticalLayout {
     private final ValueSignal<Cooler> coolerSignal = new ValueSignal<>(
             ALL_COOLERS.get(ALL_COOLERS.size() - 1)); // None
 
+    // Selections as read by computed signals, recorded by the profiler
+    private final SignalProfiler profiler;
+    private final Signal<CPU> cpuSelection;
+    private final Signal<Motherboard> motherboardSelection;
+    private final Signal<RAM> ramSelection;
+    private final Signal<GPU> gpuSelection;
+    private final Signal<Storage> storage1Selection;
+    private final Signal<Storage> storage2Selection;
+    private final Signal<Storage> storage3Selection;
+    private final Signal<PSU> psuSelection;
+    private final Signal<Case> caseSelection;
+    private final Signal<Cooler> coolerSelection;
+
     // 2. Computed Price Signals (10)
     private Signal<Double> cpuPriceSignal;
     private Signal<Double> motherboardPriceSignal;
@@ -502,11 +521,25 @@ public class UseCase17View extends VerticalLayout {
     private final ValueSignal<Boolean> showPerformanceDetailsSignal = new ValueSignal<>(
             true);
 
-    public UseCase17View() {
+    public UseCase17View(
+            @Value("${app.signal-profiler.enabled:false}") boolean profileSignals) {
         setSpacing(true);
         setPadding(true);
         setWidthFull();
 
+        profiler = new SignalProfiler(profileSignals);
+        cpuSelection = profiler.source("cpu", cpuSignal);
+        motherboardSelection = profiler.source("motherboard",
+                motherboardSignal);
+        ramSelection = profiler.source("ram", ramSignal);
+        gpuSelection = profiler.source("gpu", gpuSignal);
+        storage1Selection = profiler.source("storage1", storage1Signal);
+        storage2Selection = profiler.source("storage2", storage2Signal);
+        storage3Selection = profiler.source("storage3", storage3Signal);
+        psuSelection = profiler.source("psu", psuSignal);
+        caseSelection = profiler.source("case", caseSignal);
+        coolerSelection = profiler.source("cooler", coolerSignal);
+
         // Initialize all computed signals
         initializePriceSignals();
         initializePowerSignals();
@@ -521,60 +554,61 @@ public class UseCase17View extends VerticalLayout {
     // ==================== Signal Initialization ====================
 
     private void initializePriceSignals() {
-        cpuPriceSignal = cpuSignal
-                .map(cpu -> cpu != null ? cpu.getPrice() : 0.0);
-        motherboardPriceSignal = motherboardSignal
-                .map(mb -> mb != null ? mb.getPrice() : 0.0);
-        ramPriceSignal = ramSignal
-                .map(ram -> ram != null ? ram.getPrice() : 0.0);
-        gpuPriceSignal = gpuSignal
-                .map(gpu -> gpu != null ? gpu.getPrice() : 0.0);
-        storage1PriceSignal = storage1Signal
-                .map(s -> s != null ? s.getPrice() : 0.0);
-        storage2PriceSignal = storage2Signal
-                .map(s -> s != null ? s.getPrice() : 0.0);
-        storage3PriceSignal = storage3Signal
-                .map(s -> s != null ? s.getPrice() : 0.0);
-        psuPriceSignal = psuSignal
-                .map(psu -> psu != null ? psu.getPrice() : 0.0);
-        casePriceSignal = caseSignal.map(c -> c != null ? c.getPrice() : 0.0);
-        coolerPriceSignal = coolerSignal
-                .map(cooler -> cooler != null ? cooler.getPrice() : 0.0);
-
-        totalPriceSignal = Signal.computed(
-                () -> cpuPriceSignal.get() + motherboardPriceSignal.get()
-                        + ramPriceSignal.get() + gpuPriceSignal.get()
-                        + storage1PriceSignal.get() + storage2PriceSignal.get()
-                        + storage3PriceSignal.get() + psuPriceSignal.get()
-                        + casePriceSignal.get() + coolerPriceSignal.get());
+        cpuPriceSignal = profiler.map("cpuPrice", cpuSelection,
+                cpu -> cpu != null ? cpu.getPrice() : 0.0);
+        motherboardPriceSignal = profiler.map("motherboardPrice",
+                motherboardSelection, mb -> mb != null ? mb.getPrice() : 0.0);
+        ramPriceSignal = profiler.map("ramPrice", ramSelection,
+                ram -> ram != null ? ram.getPrice() : 0.0);
+        gpuPriceSignal = profiler.map("gpuPrice", gpuSelection,
+                gpu -> gpu != null ? gpu.getPrice() : 0.0);
+        storage1PriceSignal = profiler.map("storage1Price", storage1Selection,
+                s -> s != null ? s.getPrice() : 0.0);
+        storage2PriceSignal = profiler.map("storage2Price", storage2Selection,
+                s -> s != null ? s.getPrice() : 0.0);
+        storage3PriceSignal = profiler.map("storage3Price", storage3Selection,
+                s -> s != null ? s.getPrice() : 0.0);
+        psuPriceSignal = profiler.map("psuPrice", psuSelection,
+                psu -> psu != null ? psu.getPrice() : 0.0);
+        casePriceSignal = profiler.map("casePrice", caseSelection,
+                c -> c != null ? c.getPrice() : 0.0);
+        coolerPriceSignal = profiler.map("coolerPrice", coolerSelection,
+                cooler -> cooler != null ? cooler.getPrice() : 0.0);
+
+        // Sums of doubles may differ in the last bits for the same build;
+        // treat sub-cent differences as unchanged
+        totalPriceSignal = profiler.computed("totalPrice", MemoizedComputation
+                .of(Equivalence.within(0.005), () -> cpuPriceSignal.get()
+                        + motherboardPriceSignal.get() + ramPriceSignal.get()
+                        + gpuPriceSignal.get() + storage1PriceSignal.get()
+                        + storage2PriceSignal.get() + storage3PriceSignal.get()
+                        + psuPriceSignal.get() + casePriceSignal.get()
+                        + coolerPriceSignal.get()));
     }
 
     private void initializePowerSignals() {
-        cpuPowerSignal = cpuSignal.map(cpu -> cpu != null ? cpu.getTdp() : 0);
-        gpuPowerSignal = gpuSignal
-                .map(gpu -> gpu != null ? gpu.getPowerConsumption() : 0);
-
-        totalPowerSignal = Signal
-                .computed(() -> cpuPowerSignal.get() + gpuPowerSignal.get() + 50 // Motherboard,
-                                                                                 // RAM,
-                                                                                 // storage,
-                                                                                 // fans
-                                                                                 // (estimated)
-                );
-
-        recommendedPsuWattageSignal = totalPowerSignal
-                .map(power -> (int) (power * 1.3) // 30% headroom
-                );
-
-        psuSufficiencySignal = Signal.computed(() -> {
-            PSU psu = psuSignal.get();
+        cpuPowerSignal = profiler.map("cpuPower", cpuSelection,
+                cpu -> cpu != null ? cpu.getTdp() : 0);
+        gpuPowerSignal = profiler.map("gpuPower", gpuSelection,
+                gpu -> gpu != null ? gpu.getPowerConsumption() : 0);
+
+        // Motherboard, RAM, storage, fans (estimated)
+        totalPowerSignal = profiler.computed("totalPower",
+                () -> cpuPowerSignal.get() + gpuPowerSignal.get() + 50);
+
+        // 30% headroom
+        recommendedPsuWattageSignal = profiler.map("recommendedPsuWattage",
+                totalPowerSignal, power -> (int) (power * 1.3));
+
+        psuSufficiencySignal = profiler.computed("psuSufficiency", () -> {
+            PSU psu = psuSelection.get();
             if (psu == null)
                 return false;
             return psu.getWattage() >= totalPowerSignal.get();
         });
 
-        powerMarginSignal = Signal.computed(() -> {
-            PSU psu = psuSignal.get();
+        powerMarginSignal = profiler.computed("powerMargin", () -> {
+            PSU psu = psuSelection.get();
             if (psu == null)
                 return 0;
             return psu.getWattage() - totalPowerSignal.get();
@@ -582,67 +616,70 @@ public class UseCase17View extends VerticalLayout {
     }
 
     private void initializeCompatibilitySignals() {
-        cpuSocketMatchSignal = Signal.computed(() -> {
-            CPU cpu = cpuSignal.get();
-            Motherboard mobo = motherboardSignal.get();
+        cpuSocketMatchSignal = profiler.computed("cpuSocketMatch", () -> {
+            CPU cpu = cpuSelection.get();
+            Motherboard mobo = motherboardSelection.get();
             if (cpu == null || mobo == null || "None".equals(cpu.getName())
                     || "None".equals(mobo.getName()))
                 return true;
             return cpu.getSocket().equals(mobo.getSocket());
         });
 
-        ramTypeMatchSignal = Signal.computed(() -> {
-            RAM ram = ramSignal.get();
-            Motherboard mobo = motherboardSignal.get();
+        ramTypeMatchSignal = profiler.computed("ramTypeMatch", () -> {
+            RAM ram = ramSelection.get();
+            Motherboard mobo = motherboardSelection.get();
             if (ram == null || mobo == null)
                 return true;
             return ram.getType().equals(mobo.getRamType());
         });
 
-        ramSpeedSupportedSignal = Signal.computed(() -> {
-            RAM ram = ramSignal.get();
-            Motherboard mobo = motherboardSignal.get();
+        ramSpeedSupportedSignal = profiler.computed("ramSpeedSupported", () -> {
+            RAM ram = ramSelection.get();
+            Motherboard mobo = motherboardSelection.get();
             if (ram == null || mobo == null)
                 return true;
             return ram.getSpeed() <= mobo.getMaxRamSpeed();
         });
 
-        ramCapacitySupportedSignal = Signal.computed(() -> {
-            RAM ram = ramSignal.get();
-            Motherboard mobo = motherboardSignal.get();
-            if (ram == null || mobo == null)
-                return true;
-            return ram.getCapacity() <= mobo.getMaxRamCapacity();
-        });
-
-        gpuFitsCaseSignal = Signal.computed(() -> {
-            GPU gpu = gpuSignal.get();
-            Case pc = caseSignal.get();
+        ramCapacitySupportedSignal = profiler.computed("ramCapacitySupported",
+                () -> {
+                    RAM ram = ramSelection.get();
+                    Motherboard mobo = motherboardSelection.get();
+                    if (ram == null || mobo == null)
+                        return true;
+                    return ram.getCapacity() <= mobo.getMaxRamCapacity();
+                });
+
+        gpuFitsCaseSignal = profiler.computed("gpuFitsCase", () -> {
+            GPU gpu = gpuSelection.get();
+            Case pc = caseSelection.get();
             if (gpu == null || pc == null)
                 return true;
             return gpu.getLengthMm() <= pc.getGpuClearanceMm();
         });
 
-        coolerFitsCaseSignal = Signal.computed(() -> {
-            Cooler cooler = coolerSignal.get();
-            Case pc = caseSignal.get();
+        coolerFitsCaseSignal = profiler.computed("coolerFitsCase", () -> {
+            Cooler cooler = coolerSelection.get();
+            Case pc = caseSelection.get();
             if (cooler == null || pc == null)
                 return true;
             return cooler.getHeightMm() <= pc.getCpuCoolerClearanceMm();
         });
 
-        motherboardFitsCaseSignal = Signal.computed(() -> {
-            Motherboard mobo = motherboardSignal.get();
-            Case pc = caseSignal.get();
-            if (mobo == null || pc == null)
-                return true;
-            return mobo.getFormFactor().equals(pc.getFormFactor())
-                    || pc.getFormFactor().equals("ATX"); // ATX cases fit all
-        });
-
-        m2SlotsAvailableSignal = Signal.computed(() -> {
-            Motherboard mobo = motherboardSignal.get();
-            Storage stor1 = storage1Signal.get();
+        motherboardFitsCaseSignal = profiler.computed("motherboardFitsCase",
+                () -> {
+                    Motherboard mobo = motherboardSelection.get();
+                    Case pc = caseSelection.get();
+                    if (mobo == null || pc == null)
+                        return true;
+                    // ATX cases fit all
+                    return mobo.getFormFactor().equals(pc.getFormFactor())
+                            || pc.getFormFactor().equals("ATX");
+                });
+
+        m2SlotsAvailableSignal = profiler.computed("m2SlotsAvailable", () -> {
+            Motherboard mobo = motherboardSelection.get();
+            Storage stor1 = storage1Selection.get();
             if (mobo == null)
                 return true;
             int m2Count = 0;
@@ -651,111 +688,120 @@ public class UseCase17View extends VerticalLayout {
             return m2Count <= mobo.getM2Slots();
         });
 
-        sataSlotsAvailableSignal = Signal.computed(() -> {
-            Motherboard mobo = motherboardSignal.get();
-            if (mobo == null)
-                return true;
-            Storage stor2 = storage2Signal.get();
-            Storage stor3 = storage3Signal.get();
-            int sataCount = 0;
-            if (stor2 != null && stor2.getType().contains("SATA"))
-                sataCount++;
-            if (stor3 != null && stor3.getType().contains("SATA"))
-                sataCount++;
-            return sataCount <= mobo.getSataSlots();
-        });
-
-        psuFitsCaseSignal = Signal.computed(() -> {
-            PSU psu = psuSignal.get();
-            Case pc = caseSignal.get();
+        sataSlotsAvailableSignal = profiler.computed("sataSlotsAvailable",
+                () -> {
+                    Motherboard mobo = motherboardSelection.get();
+                    if (mobo == null)
+                        return true;
+                    Storage stor2 = storage2Selection.get();
+                    Storage stor3 = storage3Selection.get();
+                    int sataCount = 0;
+                    if (stor2 != null && stor2.getType().contains("SATA"))
+                        sataCount++;
+                    if (stor3 != null && stor3.getType().contains("SATA"))
+                        sataCount++;
+                    return sataCount <= mobo.getSataSlots();
+                });
+
+        psuFitsCaseSignal = profiler.computed("psuFitsCase", () -> {
+            PSU psu = psuSelection.get();
+            Case pc = caseSelection.get();
             if (psu == null || pc == null)
                 return true;
             return psu.getFormFactor().equals(pc.getPsuFormFactor());
         });
 
-        cpuCoolerCompatibleSignal = Signal.computed(() -> {
-            CPU cpu = cpuSignal.get();
-            Cooler cooler = coolerSignal.get();
-            if (cpu == null || cooler == null)
-                return true;
-            return Arrays.asList(cooler.getCompatibleSockets())
-                    .contains(cpu.getSocket());
-        });
-
-        coolerTdpSufficientSignal = Signal.computed(() -> {
-            CPU cpu = cpuSignal.get();
-            Cooler cooler = coolerSignal.get();
-            if (cpu == null || cooler == null)
-                return true;
-            return cooler.getMaxTdp() >= cpu.getTdp();
-        });
-
-        allCompatibleSignal = Signal.computed(() -> cpuSocketMatchSignal.get()
-                && ramTypeMatchSignal.get() && ramSpeedSupportedSignal.get()
-                && ramCapacitySupportedSignal.get() && gpuFitsCaseSignal.get()
-                && coolerFitsCaseSignal.get() && motherboardFitsCaseSignal.get()
-                && m2SlotsAvailableSignal.get()
-                && sataSlotsAvailableSignal.get() && psuFitsCaseSignal.get()
-                && cpuCoolerCompatibleSignal.get()
-                && coolerTdpSufficientSignal.get()
-                && psuSufficiencySignal.get());
-
-        hasCriticalIssuesSignal = allCompatibleSignal
-                .map(compatible -> !compatible);
-
-        compatibilityCheckCountSignal = Signal.computed(() -> {
-            int passed = 0;
-            if (cpuSocketMatchSignal.get())
-                passed++;
-            if (ramTypeMatchSignal.get())
-                passed++;
-            if (ramSpeedSupportedSignal.get())
-                passed++;
-            if (gpuFitsCaseSignal.get())
-                passed++;
-            if (coolerFitsCaseSignal.get())
-                passed++;
-            if (motherboardFitsCaseSignal.get())
-                passed++;
-            if (m2SlotsAvailableSignal.get())
-                passed++;
-            if (sataSlotsAvailableSignal.get())
-                passed++;
-            if (psuFitsCaseSignal.get())
-                passed++;
-            if (cpuCoolerCompatibleSignal.get())
-                passed++;
-            if (coolerTdpSufficientSignal.get())
-                passed++;
-            if (ramCapacitySupportedSignal.get())
-                passed++;
-            if (psuSufficiencySignal.get())
-                passed++;
-            return passed;
-        });
+        cpuCoolerCompatibleSignal = profiler.computed("cpuCoolerCompatible",
+                () -> {
+                    CPU cpu = cpuSelection.get();
+                    Cooler cooler = coolerSelection.get();
+                    if (cpu == null || cooler == null)
+                        return true;
+                    return Arrays.asList(cooler.getCompatibleSockets())
+                            .contains(cpu.getSocket());
+                });
+
+        coolerTdpSufficientSignal = profiler.computed("coolerTdpSufficient",
+                () -> {
+                    CPU cpu = cpuSelection.get();
+                    Cooler cooler = coolerSelection.get();
+                    if (cpu == null || cooler == null)
+                        return true;
+                    return cooler.getMaxTdp() >= cpu.getTdp();
+                });
+
+        allCompatibleSignal = profiler.computed("allCompatible",
+                () -> cpuSocketMatchSignal.get() && ramTypeMatchSignal.get()
+                        && ramSpeedSupportedSignal.get()
+                        && ramCapacitySupportedSignal.get()
+                        && gpuFitsCaseSignal.get() && coolerFitsCaseSignal.get()
+                        && motherboardFitsCaseSignal.get()
+                        && m2SlotsAvailableSignal.get()
+                        && sataSlotsAvailableSignal.get()
+                        && psuFitsCaseSignal.get()
+                        && cpuCoolerCompatibleSignal.get()
+                        && coolerTdpSufficientSignal.get()
+                        && psuSufficiencySignal.get());
+
+        hasCriticalIssuesSignal = profiler.map("hasCriticalIssues",
+                allCompatibleSignal, compatible -> !compatible);
+
+        compatibilityCheckCountSignal = profiler
+                .computed("compatibilityCheckCount", () -> {
+                    int passed = 0;
+                    if (cpuSocketMatchSignal.get())
+                        passed++;
+                    if (ramTypeMatchSignal.get())
+                        passed++;
+                    if (ramSpeedSupportedSignal.get())
+                        passed++;
+                    if (gpuFitsCaseSignal.get())
+                        passed++;
+                    if (coolerFitsCaseSignal.get())
+                        passed++;
+                    if (motherboardFitsCaseSignal.get())
+                        passed++;
+                    if (m2SlotsAvailableSignal.get())
+                        passed++;
+                    if (sataSlotsAvailableSignal.get())
+                        passed++;
+                    if (psuFitsCaseSignal.get())
+                        passed++;
+                    if (cpuCoolerCompatibleSignal.get())
+                        passed++;
+                    if (coolerTdpSufficientSignal.get())
+                        passed++;
+                    if (ramCapacitySupportedSignal.get())
+                        passed++;
+                    if (psuSufficiencySignal.get())
+                        passed++;
+                    return passed;
+                });
     }
 
     private void initializePerformanceSignals() {
-        cpuScoreSignal = cpuSignal.map(cpu -> cpu != null ? cpu.getScore() : 0);
-        gpuScoreSignal = gpuSignal.map(gpu -> gpu != null ? gpu.getScore() : 0);
-        storageSpeedSignal = storage1Signal
-                .map(s -> s != null ? s.getSpeedMBps() : 0);
-
-        overallScoreSignal = Signal
-                .computed(() -> (int) (cpuScoreSignal.get() * 0.3
+        cpuScoreSignal = profiler.map("cpuScore", cpuSelection,
+                cpu -> cpu != null ? cpu.getScore() : 0);
+        gpuScoreSignal = profiler.map("gpuScore", gpuSelection,
+                gpu -> gpu != null ? gpu.getScore() : 0);
+        storageSpeedSignal = profiler.map("storageSpeed", storage1Selection,
+                s -> s != null ? s.getSpeedMBps() : 0);
+
+        overallScoreSignal = profiler.computed("overallScore",
+                () -> (int) (cpuScoreSignal.get() * 0.3
                         + gpuScoreSignal.get() * 0.6
                         + storageSpeedSignal.get() / 100.0 * 0.1));
 
-        gamingScoreSignal = Signal
-                .computed(() -> (int) (cpuScoreSignal.get() * 0.2
+        gamingScoreSignal = profiler.computed("gamingScore",
+                () -> (int) (cpuScoreSignal.get() * 0.2
                         + gpuScoreSignal.get() * 0.8));
 
-        productivityScoreSignal = Signal
-                .computed(() -> (int) (cpuScoreSignal.get() * 0.6
+        productivityScoreSignal = profiler.computed("productivityScore",
+                () -> (int) (cpuScoreSignal.get() * 0.6
                         + gpuScoreSignal.get() * 0.3
                         + storageSpeedSignal.get() / 100.0 * 0.1));
 
-        bottleneckSignal = Signal.computed(() -> {
+        bottleneckSignal = profiler.computed("bottleneck", () -> {
             int cpuScore = cpuScoreSignal.get();
             int gpuScore = gpuScoreSignal.get();
             if (cpuScore == 0 || gpuScore == 0)
@@ -767,42 +813,43 @@ public class UseCase17View extends VerticalLayout {
             return "Balanced";
         });
 
-        performanceRatingSignal = overallScoreSignal.map(score -> {
-            if (score >= 85)
-                return "Enthusiast";
-            if (score >= 70)
-                return "High-End";
-            if (score >= 50)
-                return "Mid-Range";
-            if (score >= 30)
-                return "Entry-Level";
-            return "Budget";
-        });
+        performanceRatingSignal = profiler.map("performanceRating",
+                overallScoreSignal, score -> {
+                    if (score >= 85)
+                        return "Enthusiast";
+                    if (score >= 70)
+                        return "High-End";
+                    if (score >= 50)
+                        return "Mid-Range";
+                    if (score >= 30)
+                        return "Entry-Level";
+                    return "Budget";
+                });
     }
 
     private void initializeValidationSignals() {
-        missingComponentsSignal = Signal.computed(() -> {
+        missingComponentsSignal = profiler.computed("missingComponents", () -> {
             List<String> missing = new java.util.ArrayList<>();
-            if (cpuSignal.get() == null)
+            if (cpuSelection.get() == null)
                 missing.add("CPU");
-            if (motherboardSignal.get() == null)
+            if (motherboardSelection.get() == null)
                 missing.add("Motherboard");
-            if (ramSignal.get() == null)
+            if (ramSelection.get() == null)
                 missing.add("RAM");
-            if (gpuSignal.get() == null)
+            if (gpuSelection.get() == null)
                 missing.add("GPU");
-            if (storage1Signal.get() == null)
+            if (storage1Selection.get() == null)
                 missing.add("Primary Storage");
-            if (psuSignal.get() == null)
+            if (psuSelection.get() == null)
                 missing.add("Power Supply");
-            if (caseSignal.get() == null)
+            if (caseSelection.get() == null)
                 missing.add("Case");
-            if (coolerSignal.get() == null)
+            if (coolerSelection.get() == null)
                 missing.add("CPU Cooler");
             return missing;
         });
 
-        warningMessagesSignal = Signal.computed(() -> {
+        warningMessagesSignal = profiler.computed("warningMessages", () -> {
             List<String> warnings = new java.util.ArrayList<>();
             if (!cpuSocketMatchSignal.get())
                 warnings.add("⚠ CPU socket doesn't match motherboard");
@@ -814,7 +861,7 @@ public class UseCase17View extends VerticalLayout {
                 warnings.add("⚠ GPU too long for case");
             if (!coolerFitsCaseSignal.get())
                 warnings.add("⚠ CPU cooler too tall for case");
-            if (!psuSufficiencySignal.get() && psuSignal.get() != null)
+            if (!psuSufficiencySignal.get() && psuSelection.get() != null)
                 warnings.add("⚠ PSU wattage insufficient");
             if (!cpuCoolerCompatibleSignal.get())
                 warnings.add("⚠ Cooler not compatible with CPU socket");
@@ -823,10 +870,11 @@ public class UseCase17View extends VerticalLayout {
             return warnings;
         });
 
-        warningCountSignal = warningMessagesSignal.map(List::size);
+        warningCountSignal = profiler.map("warningCount",
+                warningMessagesSignal, List::size);
 
-        canBuildSignal = Signal
-                .computed(() -> missingComponentsSignal.get().isEmpty()
+        canBuildSignal = profiler.computed("canBuild",
+                () -> missingComponentsSignal.get().isEmpty()
                         && allCompatibleSignal.get());
 
         isValidConfigurationSignal = canBuildSignal;
@@ -883,19 +931,66 @@ public class UseCase17View extends VerticalLayout {
         addToCartButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
         addToCartButton.bindEnabled(canBuildSignal);
 
-        Signal<String> cartButtonText = Signal.computed(() -> {
-            if (canBuildSignal.get()) {
-                return "Add to Cart ($"
-                        + String.format("%.0f", totalPriceSignal.get()) + ")";
-            }
-            return "Complete Build First";
-        });
+        Signal<String> cartButtonText = profiler.computed("cartButtonText",
+                () -> {
+                    if (canBuildSignal.get()) {
+                        return "Add to Cart ($" + String.format("%.0f",
+                                totalPriceSignal.get()) + ")";
+                    }
+                    return "Complete Build First";
+                });
         addToCartButton.bindText(cartButtonText);
 
         actions.add(resetButton, addToCartButton);
 
         add(title, description, signalCountBox, mainLayout,
                 compatibilitySection, actions);
+
+        if (profiler.isEnabled()) {
+            add(buildProfilerSection());
+        }
+    }
+
+    private Details buildProfilerSection() {
+        Pre output = new Pre();
+        output.getStyle().set("max-height", "400px").set("overflow", "auto")
+                .set("font-size", "0.8em");
+
+        Button lastChange = new Button("Last change",
+                event -> output.setText(describeLastChange()));
+        Button dot = new Button("Export DOT",
+                event -> output.setText(profiler.toDot()));
+        Button json = new Button("Export JSON",
+                event -> output.setText(profiler.toJson()));
+        Button reset = new Button("Reset", event -> {
+            profiler.reset();
+            output.setText("");
+        });
+
+        Details details = new Details("Signal Profiler",
+                new VerticalLayout(new HorizontalLayout(lastChange, dot, json,
+                        reset), output));
+        details.setWidthFull();
+        return details;
+    }
+
+    private String describeLastChange() {
+        List<SignalProfiler.Change> changes = profiler.getChanges();
+        // The current change is still open; describe the last completed one
+        // unless nothing has happened since
+        SignalProfiler.Change change = changes.size() > 1
+                && profiler.getCurrentChange().runs().isEmpty()
+                        ? changes.get(changes.size() - 2)
+                        : profiler.getCurrentChange();
+        StringBuilder text = new StringBuilder(change.label() + ": "
+                + change.runs().size() + " recomputations, "
+                + change.getRedundantRuns() + " redundant\n");
+        for (SignalProfiler.Run run : change.runs()) {
+            text.append(String.format("  %-24s %8.3f ms%s%s%n", run.node(),
+                    run.nanos() / 1e6, run.changed() ? "" : "  unchanged",
+                    run.redundant() ? "  REDUNDANT" : ""));
+        }
+        return text.toString();
     }
 
     private VerticalLayout buildSelectionColumn() {
@@ -930,7 +1025,7 @@ public class UseCase17View extends VerticalLayout {
         combo.setItems(items);
         combo.setItemLabelGenerator(Component::getName);
         combo.setWidthFull();
-        combo.bindValue(signal, signal::set);
+        combo.bindValue(signal, profiler.writer(label, signal::set));
         return combo;
     }
 
@@ -949,27 +1044,27 @@ public class UseCase17View extends VerticalLayout {
 
         ListSignal<Component> selectedComponentsSignal = new ListSignal<>();
 
-        Signal.effect(summary, () -> {
+        profiler.effect(summary, "selectedComponents", () -> {
             selectedComponentsSignal.clear();
-            if (cpuSignal.get() != null)
-                selectedComponentsSignal.insertLast(cpuSignal.get());
-            if (motherboardSignal.get() != null)
-                selectedComponentsSignal.insertLast(motherboardSignal.get());
-            if (ramSignal.get() != null)
-                selectedComponentsSignal.insertLast(ramSignal.get());
-            if (gpuSignal.get() != null)
-                selectedComponentsSignal.insertLast(gpuSignal.get());
-            if (storage1Signal.get() != null)
-                selectedComponentsSignal.insertLast(storage1Signal.get());
-            if (storage2Signal.get() != null
-                    && storage2Signal.get().getPrice() > 0)
-                selectedComponentsSignal.insertLast(storage2Signal.get());
-            if (psuSignal.get() != null)
-                selectedComponentsSignal.insertLast(psuSignal.get());
-            if (caseSignal.get() != null)
-                selectedComponentsSignal.insertLast(caseSignal.get());
-            if (coolerSignal.get() != null)
-                selectedComponentsSignal.insertLast(coolerSignal.get());
+            if (cpuSelection.get() != null)
+                selectedComponentsSignal.insertLast(cpuSelection.get());
+            if (motherboardSelection.get() != null)
+                selectedComponentsSignal.insertLast(motherboardSelection.get());
+            if (ramSelection.get() != null)
+                selectedComponentsSignal.insertLast(ramSelection.get());
+            if (gpuSelection.get() != null)
+                selectedComponentsSignal.insertLast(gpuSelection.get());
+            if (storage1Selection.get() != null)
+                selectedComponentsSignal.insertLast(storage1Selection.get());
+            if (storage2Selection.get() != null
+                    && storage2Selection.get().getPrice() > 0)
+                selectedComponentsSignal.insertLast(storage2Selection.get());
+            if (psuSelection.get() != null)
+                selectedComponentsSignal.insertLast(psuSelection.get());
+            if (caseSelection.get() != null)
+                selectedComponentsSignal.insertLast(caseSelection.get());
+            if (coolerSelection.get() != null)
+                selectedComponentsSignal.insertLast(coolerSelection.get());
         });
 
         summary.bindChildren(selectedComponentsSignal,
@@ -1005,16 +1100,17 @@ public class UseCase17View extends VerticalLayout {
         Span powerValue = new Span(totalPowerSignal.map(p -> p + "W total"));
         powerValue.getStyle().set("display", "block");
 
-        Signal<String> psuStatusText = Signal.computed(() -> {
-            PSU psu = psuSignal.get();
-            if (psu == null)
-                return "No PSU selected";
-            boolean sufficient = psuSufficiencySignal.get();
-            int margin = powerMarginSignal.get();
-            return psu.getWattage() + "W PSU: "
-                    + (sufficient ? "✓ OK (+" + margin + "W)"
-                            : "⚠ Insufficient");
-        });
+        Signal<String> psuStatusText = profiler.computed("psuStatusText",
+                () -> {
+                    PSU psu = psuSelection.get();
+                    if (psu == null)
+                        return "No PSU selected";
+                    boolean sufficient = psuSufficiencySignal.get();
+                    int margin = powerMarginSignal.get();
+                    return psu.getWattage() + "W PSU: "
+                            + (sufficient ? "✓ OK (+" + margin + "W)"
+                                    : "⚠ Insufficient");
+                });
         Span psuStatus = new Span(psuStatusText);
         psuStatus.getStyle().set("display", "block");
 
@@ -1102,7 +1198,7 @@ public class UseCase17View extends VerticalLayout {
 
         ListSignal<String> compatibilityStatusSignal = new ListSignal<>();
 
-        Signal.effect(checksContainer, () -> {
+        profiler.effect(checksContainer, "compatibilityStatus", () -> {
             compatibilityStatusSignal.clear();
             compatibilityStatusSignal
                     .insertLast(formatCheck("CPU socket matches motherboard",
@@ -1178,6 +1274,7 @@ public class UseCase17View extends VerticalLayout {
     }
 
     private void resetBuild() {
+        profiler.beginChange("Reset Build");
         cpuSignal.set(ALL_CPUS.get(ALL_CPUS.size() - 1)); // None
         motherboardSignal
                 .set(ALL_MOTHERBOARDS.get(ALL_MOTHERBOARDS.size() - 1)); // None
@@ -2,14 +2,20 @@ package com.example.usecase18;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
+import com.example.LazyItemsBinding;
+import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
+import com.example.signals.PushCoalescingService;
 import com.example.signals.SessionIdHelper;
+import com.example.signals.SharedDerivations;
 import com.example.signals.UserSessionRegistry;
 import com.example.views.MainLayout;
 import org.jspecify.annotations.Nullable;
 
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -30,6 +36,7 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.signals.Signal;
 import com.vaadin.flow.signals.local.ValueSignal;
 import com.vaadin.flow.signals.shared.SharedListSignal;
@@ -54,8 +61,10 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
 
     // Services
     protected final TaskLLMService taskLLMService;
+    private final PushCoalescingService pushCoalescingService;
 
     // UI Components
+    private LazyItemsBinding<Task> taskItems;
     private MessageList messageList = new MessageList();
     private MessageInput messageInput = new MessageInput();
 
@@ -63,12 +72,16 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
     private final ValueSignal<Boolean> messageInputEnabledSignal = new ValueSignal<>(
             true);
 
-    // Constructor with signal injection
+    // Constructor with signal injection. Views whose task list is shared by
+    // several sessions pass the shared derivations registry; views with a
+    // view-local list pass null.
     protected AbstractTaskChatView(SharedListSignal<Task> tasksSignal,
             SharedListSignal<ChatMessageData> chatMessagesSignal,
             TaskLLMService taskLLMService, String conversationId,
             CurrentUserSignal currentUserSignal,
-            UserSessionRegistry userSessionRegistry) {
+            UserSessionRegistry userSessionRegistry,
+            PushCoalescingService pushCoalescingService,
+            @Nullable SharedDerivations sharedDerivations) {
 
         this.tasksSignal = tasksSignal;
         this.chatMessagesSignal = chatMessagesSignal;
@@ -76,15 +89,21 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
         this.conversationId = conversationId;
         this.currentUserSignal = currentUserSignal;
         this.userSessionRegistry = userSessionRegistry;
+        this.pushCoalescingService = pushCoalescingService;
 
         setSizeFull();
         setPadding(true);
         setSpacing(true);
 
-        // Set up computed signals
+        // Set up computed signals. The completed count scans the task list;
+        // for a list shared by all sessions, it is computed only once.
         totalTasksSignal = tasksSignal.map(list -> list.size());
-        completedTasksSignal = Signal.computed(() -> (int) tasksSignal.get()
-                .stream().filter(t -> t.get().isCompleted()).count());
+        SerializableSupplier<Integer> completedCount = () -> (int) tasksSignal
+                .get().stream().filter(t -> t.get().isCompleted()).count();
+        completedTasksSignal = sharedDerivations == null
+                ? Signal.computed(completedCount::get)
+                : sharedDerivations.get(this, tasksSignal, "completed-count",
+                        completedCount);
         pendingTasksSignal = Signal.computed(
                 () -> totalTasksSignal.get() - completedTasksSignal.get());
 
@@ -103,6 +122,17 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
     protected void onAttach(AttachEvent attachEvent) {
         super.onAttach(attachEvent);
         this.sessionId = SessionIdHelper.getCurrentSessionId();
+        pushCoalescingService.enable(attachEvent.getUI());
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        super.onDetach(detachEvent);
+        pushCoalescingService.disable(detachEvent.getUI());
+    }
+
+    LazyItemsBinding<Task> getTaskItems() {
+        return taskItems;
     }
 
     private String getCurrentDisplayName() {
@@ -317,9 +347,11 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
         grid.addThemeVariants(GridVariant.LUMO_ROW_STRIPES,
                 GridVariant.LUMO_COMPACT);
 
-        // Bind directly to ListSignal - it will register dependencies on all
-        // individual ValueSignals
-        grid.bindItems(tasksSignal);
+        // Bind through a lazy, diffing data provider: a change to one task
+        // refreshes only that row, while inserts and removals refresh the
+        // item count and the visible range instead of the whole grid
+        taskItems = MissingAPI.bindLazyItemSignals(grid, tasksSignal,
+                Task::id);
 
         gridContainer.add(grid);
         gridContainer.setFlexGrow(1, grid);
@@ -429,6 +461,13 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
                 messageList.setItems(items);
             }
         });
+        // Streamed tokens arrive faster than they need to be shown; merge
+        // them into fewer pushes
+        pushCoalescingService.track(messageList, Signal.computed(() -> {
+            var msgSignals = chatMessagesSignal.get();
+            return msgSignals == null ? List.of()
+                    : msgSignals.stream().map(Signal::get).toList();
+        }));
 
         // Message input
         messageInput = new MessageInput();
@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 import com.example.security.CurrentUserSignal;
+import com.example.signals.PushCoalescingService;
 import com.example.signals.UserSessionRegistry;
 import com.example.views.MainLayout;
 
@@ -22,14 +23,17 @@ public class UseCase18View extends AbstractTaskChatView {
 
     public UseCase18View(TaskLLMService taskLLMService,
             CurrentUserSignal currentUserSignal,
-            UserSessionRegistry userSessionRegistry) {
+            UserSessionRegistry userSessionRegistry,
+            PushCoalescingService pushCoalescingService) {
         super(new SharedListSignal<>(Task.class), // View-local task signal
                 new SharedListSignal<>(ChatMessageData.class), // View-local
                                                                // chat signal
                 taskLLMService, UUID.randomUUID().toString(), // Per-instance
                                                               // conversation ID
                 currentUserSignal, // Current user for avatar/name
-                userSessionRegistry // For display name lookup
+                userSessionRegistry, // For display name lookup
+                pushCoalescingService, // Merges streamed token updates
+                null // The view-local task list is not shared
         );
 
         // Initialize sample tasks for single-user view
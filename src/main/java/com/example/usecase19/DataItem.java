@@ -2,6 +2,33 @@ package com.example.usecase19;
 
 import org.jspecify.annotations.Nullable;
 
+/**
+ * A data item with its loading state.
+ *
+ * @param progress
+ *            the completed fraction of the current load, from 0 to 1
+ * @param attempt
+ *            the number of the current load, 0 if the item was never loaded
+ */
 public record DataItem(String id, String name, LoadingState state,
-        @Nullable String data, @Nullable String error, int simulatedDelayMs) {
+        @Nullable String data, @Nullable String error, int simulatedDelayMs,
+        double progress, int attempt) {
+
+    /**
+     * Creates a copy of this item in another state of the same load.
+     */
+    public DataItem with(LoadingState state, @Nullable String data,
+            @Nullable String error, double progress) {
+        return new DataItem(id, name, state, data, error, simulatedDelayMs,
+                progress, attempt);
+    }
+
+    /**
+     * Creates a copy of this item that is loading again, with a new attempt
+     * number that the states of earlier loads do not have.
+     */
+    public DataItem startLoad() {
+        return new DataItem(id, name, LoadingState.LOADING, null, null,
+                simulatedDelayMs, 0, attempt + 1);
+    }
 }
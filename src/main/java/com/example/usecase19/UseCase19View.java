@@ -2,8 +2,14 @@ package com.example.usecase19;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.time.Duration;
+
 import com.example.service.DataLoadingService;
+import com.example.service.ParallelLoadingService;
+import com.example.signals.UiBacklog;
 import com.example.views.MainLayout;
+import com.example.views.WindowedList;
+import org.jspecify.annotations.Nullable;
 
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -33,8 +39,9 @@ import com.vaadin.flow.signals.local.ValueSignal;
  * Signals.
  *
  * Key Patterns: - ListSignal<ValueSignal<DataItem>> for per-item state
- * management - Spring @Async for true parallel execution - Individual loading
- * spinners (ProgressBar indeterminate) - Per-item error handling with retry -
+ * management - Virtual threads for true parallel execution, cancelled on
+ * detach - Individual progress bars, indeterminate until the first progress
+ * report - Per-item error handling with retry -
  * CSS Grid for responsive layout - Vaadin Card components with conditional
  * rendering
  */
@@ -48,12 +55,23 @@ public class UseCase19View extends VerticalLayout {
      * Represents a data item with loading state
      */
 
+    // Estimated rendered height of one card, used for windowing
+    private static final int CARD_HEIGHT_PX = 220;
+    private static final int CARD_GAP_PX = 16;
+
+    // Longest time one item may load before it fails
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(10);
+
     private final DataLoadingService dataLoadingService;
     private final ListSignal<DataItem> itemsSignal = new ListSignal<>();
     private final ValueSignal<Boolean> simulateErrorsSignal = new ValueSignal<>(
             false);
 
-    public UseCase19View(DataLoadingService dataLoadingService) {
+    // The loads of the current attach, cancelled on detach
+    private ParallelLoadingService.@Nullable Scope loads;
+
+    public UseCase19View(DataLoadingService dataLoadingService,
+            ParallelLoadingService loadingService) {
         this.dataLoadingService = dataLoadingService;
         setSpacing(true);
         setPadding(true);
@@ -84,16 +102,23 @@ public class UseCase19View extends VerticalLayout {
 
         controls.add(loadButton, errorCheckbox);
 
-        // Items container with flexbox
-        Div itemsContainer = new Div();
-        itemsContainer.getStyle().set("display", "flex")
-                .set("flex-wrap", "wrap").set("gap", "1em")
-                .set("margin", "1em 0");
-
-        // Bind cards to items signal
-        itemsContainer.bindChildren(itemsSignal, this::createDataItemCard);
+        // Items container with one card per row; only cards in the visible
+        // window are materialized and recycled while scrolling
+        WindowedList<ValueSignal<DataItem>> itemsContainer = new WindowedList<>(
+                itemsSignal, CARD_HEIGHT_PX, this::createDataItemCard);
+        itemsContainer.setItemGap(CARD_GAP_PX);
+        itemsContainer.getStyle().set("margin", "1em 0")
+                .set("max-height", "800px");
 
         add(title, description, controls, itemsContainer);
+
+        addAttachListener(event -> loads = loadingService.open());
+        addDetachListener(event -> {
+            if (loads != null) {
+                loads.cancel();
+                loads = null;
+            }
+        });
     }
 
     /**
@@ -101,88 +126,94 @@ public class UseCase19View extends VerticalLayout {
      */
     private void initializeDataItems() {
         itemsSignal.insertLast(new DataItem("1", "Dashboard Metrics",
-                LoadingState.IDLE, null, null, 1500));
+                LoadingState.IDLE, null, null, 1500, 0, 0));
         itemsSignal.insertLast(new DataItem("2", "User Statistics",
-                LoadingState.IDLE, null, null, 3000));
+                LoadingState.IDLE, null, null, 3000, 0, 0));
         itemsSignal.insertLast(new DataItem("3", "Sales Report",
-                LoadingState.IDLE, null, null, 2000));
+                LoadingState.IDLE, null, null, 2000, 0, 0));
         itemsSignal.insertLast(new DataItem("4", "Inventory Status",
-                LoadingState.IDLE, null, null, 2500));
+                LoadingState.IDLE, null, null, 2500, 0, 0));
         itemsSignal.insertLast(new DataItem("5", "Performance Data",
-                LoadingState.IDLE, null, null, 1000));
+                LoadingState.IDLE, null, null, 1000, 0, 0));
         itemsSignal.insertLast(new DataItem("6", "Analytics Summary",
-                LoadingState.IDLE, null, null, 3500));
+                LoadingState.IDLE, null, null, 3500, 0, 0));
     }
 
     /**
      * Load all items in parallel
      */
     private void loadAllItems() {
-        itemsSignal.peek().forEach(itemSignal -> {
-            DataItem item = itemSignal.peek();
-            // Update to LOADING state
-            itemSignal.set(new DataItem(item.id(), item.name(),
-                    LoadingState.LOADING, null, null,
-                    item.simulatedDelayMs()));
-
-            // Launch async operation (truly parallel via Spring @Async)
-            dataLoadingService.loadDataAsync(item.id(), item.simulatedDelayMs(),
-                    simulateErrorsSignal.peek()).thenAccept(data -> {
-                        // Update to SUCCESS state
-                        // Signals are thread-safe - update directly from
-                        // background thread
-                        itemSignal.set(new DataItem(item.id(), item.name(),
-                                LoadingState.SUCCESS, data, null,
-                                item.simulatedDelayMs()));
-                    }).exceptionally(error -> {
-                        // Update to ERROR state
-                        // Signals are thread-safe - update directly from
-                        // background thread
-                        itemSignal.set(new DataItem(item.id(), item.name(),
-                                LoadingState.ERROR, null,
-                                extractErrorMessage(error),
-                                item.simulatedDelayMs()));
-                        return null;
-                    });
-        });
+        itemsSignal.peek().forEach(this::load);
     }
 
     /**
      * Retry loading a single item
      */
     private void retryItem(ValueSignal<DataItem> itemSignal) {
-        DataItem item = itemSignal.peek();
+        load(itemSignal);
+    }
+
+    /**
+     * Starts loading an item on a virtual thread. Progress and the outcome
+     * are delivered through the UI's backlog, so a UI that falls behind only
+     * receives the latest state of each load. States of a load that was
+     * replaced by a retry are dropped.
+     */
+    private void load(ValueSignal<DataItem> itemSignal) {
+        ParallelLoadingService.Scope scope = loads;
+        if (scope == null) {
+            return;
+        }
+        UiBacklog backlog = UiBacklog.forUI(getUI().orElseThrow());
+        boolean simulateErrors = simulateErrorsSignal.peek();
 
         // Update to LOADING state
-        itemSignal.set(
-                new DataItem(item.id(), item.name(), LoadingState.LOADING,
-                        null, null, item.simulatedDelayMs()));
-
-        // Launch async operation
-        dataLoadingService.loadDataAsync(item.id(), item.simulatedDelayMs(),
-                simulateErrorsSignal.peek()).thenAccept(data -> {
-                    // Update to SUCCESS state
-                    itemSignal.set(new DataItem(item.id(), item.name(),
-                            LoadingState.SUCCESS, data, null,
-                            item.simulatedDelayMs()));
-                }).exceptionally(error -> {
-                    // Update to ERROR state
-                    itemSignal.set(new DataItem(item.id(), item.name(),
-                            LoadingState.ERROR, null,
-                            extractErrorMessage(error),
-                            item.simulatedDelayMs()));
-                    return null;
+        DataItem item = itemSignal.peek().startLoad();
+        itemSignal.set(item);
+
+        scope.fork(
+                progress -> dataLoadingService.loadData(item.id(),
+                        item.simulatedDelayMs(), simulateErrors, progress),
+                LOAD_TIMEOUT, new ParallelLoadingService.Listener<String>() {
+                    @Override
+                    public void onProgress(double fraction) {
+                        deliver(backlog, itemSignal, item, item.with(
+                                LoadingState.LOADING, null, null, fraction));
+                    }
+
+                    @Override
+                    public void onSuccess(String data) {
+                        deliver(backlog, itemSignal, item, item.with(
+                                LoadingState.SUCCESS, data, null, 1));
+                    }
+
+                    @Override
+                    public void onFailure(Throwable error) {
+                        deliver(backlog, itemSignal, item, item.with(
+                                LoadingState.ERROR, null,
+                                extractErrorMessage(error), 0));
+                    }
                 });
     }
 
     /**
-     * Extract clean error message from exception cause
+     * Sets a state of a load, unless the item has been loaded again since.
+     * Updates are keyed by the load, so that the updates of an older load do
+     * not replace pending updates of a newer one.
      */
-    private String extractErrorMessage(Throwable error) {
-        Throwable cause = error.getCause();
-        if (cause != null && cause.getMessage() != null) {
-            return cause.getMessage();
-        }
+    private static void deliver(UiBacklog backlog,
+            ValueSignal<DataItem> itemSignal, DataItem load, DataItem state) {
+        backlog.submit(load, () -> {
+            if (itemSignal.peek().attempt() == state.attempt()) {
+                itemSignal.set(state);
+            }
+        });
+    }
+
+    /**
+     * Extract clean error message from exception
+     */
+    private static String extractErrorMessage(Throwable error) {
         return error.getMessage() != null ? error.getMessage()
                 : "An error occurred";
     }
@@ -191,11 +222,14 @@ public class UseCase19View extends VerticalLayout {
      * Create a Card component for a data item with conditional rendering based
      * on state
      */
-    private Card createDataItemCard(ValueSignal<DataItem> itemSignal) {
+    private Card createDataItemCard(
+            Signal<ValueSignal<DataItem>> slotSignal) {
         Card card = new Card();
 
-        // Set card size for flex layout
-        card.getStyle().set("flex", "1 1 300px").set("min-width", "300px");
+        // The card is recycled for other items while scrolling, so all content
+        // is bound to the item currently in the slot
+        Signal<DataItem> itemSignal = Signal
+                .computed(() -> slotSignal.get().get());
 
         // Header with item name
         Signal<String> nameSignal = itemSignal.map(DataItem::name);
@@ -229,8 +263,13 @@ public class UseCase19View extends VerticalLayout {
                 .set("gap", "1em").set("padding", "2em");
 
         ProgressBar progressBar = new ProgressBar();
-        progressBar.setIndeterminate(true);
         progressBar.setWidth("80%");
+        Signal.effect(progressBar, () -> {
+            double progress = itemSignal.get().progress();
+            // Indeterminate until the load reports its first progress
+            progressBar.setIndeterminate(progress == 0);
+            progressBar.setValue(progress);
+        });
 
         Span loadingText = new Span("Loading...");
         loadingText.getStyle().set("color", "var(--lumo-primary-color)");
@@ -305,7 +344,7 @@ public class UseCase19View extends VerticalLayout {
         errorMessage.add(errorText);
 
         Button retryButton = new Button("Retry",
-                event -> retryItem(itemSignal));
+                event -> retryItem(slotSignal.peek()));
         retryButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
         errorContent.add(errorHeader, errorMessage, retryButton);
@@ -0,0 +1,302 @@
+package com.example.usecase23;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Round-robin archive of metric samples, in the style of RRDtool.
+ * <p>
+ * Each {@link Tier} divides time into steps of a fixed length and keeps the
+ * last {@code rows} steps in a fixed-size ring. A row holds the minimum,
+ * maximum, sum and count of the samples recorded during its step for every
+ * series, so the memory used does not depend on how long the application
+ * runs. A fine tier keeps the raw samples of the last minutes, coarser tiers
+ * keep rollups for hours and days.
+ * <p>
+ * The rows are stored in byte buffers, either on the heap or memory-mapped
+ * to one file per tier, in which case the history survives a restart. A file
+ * whose layout does not match its tier is reset.
+ */
+public final class MetricsArchive {
+
+    /**
+     * A resolution of the archive.
+     *
+     * @param name
+     *            the name, also used as file name
+     * @param step
+     *            the time covered by one row
+     * @param rows
+     *            the number of rows kept
+     */
+    public record Tier(String name, Duration step, int rows) {
+
+        public Tier {
+            if (step.toMillis() <= 0 || rows <= 0) {
+                throw new IllegalArgumentException(
+                        "Step and rows must be positive");
+            }
+        }
+
+        /**
+         * Gets the time range covered by this tier.
+         */
+        public Duration range() {
+            return step.multipliedBy(rows);
+        }
+    }
+
+    /**
+     * The consolidated samples of one step.
+     *
+     * @param time
+     *            the start of the step in epoch milliseconds
+     * @param min
+     *            the smallest sample per series
+     * @param avg
+     *            the average sample per series
+     * @param max
+     *            the largest sample per series
+     */
+    public record Row(long time, double[] min, double[] avg, double[] max) {
+    }
+
+    /**
+     * The default tiers: raw two-second samples for 15 minutes, one-minute
+     * rollups for a day and 30-minute rollups for two weeks.
+     */
+    public static final List<Tier> DEFAULT_TIERS = List.of(
+            new Tier("raw", Duration.ofSeconds(2), 450),
+            new Tier("minutes", Duration.ofMinutes(1), 1440),
+            new Tier("hours", Duration.ofMinutes(30), 672));
+
+    private static final long MAGIC = 0x4d45545249435331L;
+    private static final int HEADER_BYTES = 32;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final List<String> seriesNames;
+    private final List<Tier> tiers;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private final int rowBytes;
+
+    /**
+     * Creates an archive.
+     *
+     * @param seriesNames
+     *            the names of the recorded series
+     * @param tiers
+     *            the tiers, from finest to coarsest
+     * @param directory
+     *            the directory for the memory-mapped files, or {@code null}
+     *            to keep the archive on the heap
+     */
+    public MetricsArchive(List<String> seriesNames, List<Tier> tiers,
+            @Nullable Path directory) {
+        if (seriesNames.isEmpty() || tiers.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "At least one series and one tier are required");
+        }
+        this.seriesNames = List.copyOf(seriesNames);
+        this.tiers = List.copyOf(tiers);
+        this.rowBytes = Long.BYTES + seriesNames.size() * 4 * Double.BYTES;
+        if (directory != null) {
+            createDirectory(directory);
+        }
+        for (Tier tier : tiers) {
+            int size = HEADER_BYTES + tier.rows() * rowBytes;
+            ByteBuffer buffer = directory == null ? ByteBuffer.allocate(size)
+                    : map(directory.resolve(tier.name() + ".rrd"), size);
+            if (!hasLayout(buffer, tier)) {
+                initialize(buffer, tier);
+            }
+            buffers.add(buffer);
+        }
+    }
+
+    /**
+     * Gets the names of the recorded series.
+     */
+    public List<String> getSeriesNames() {
+        return seriesNames;
+    }
+
+    /**
+     * Gets the tiers, from finest to coarsest.
+     */
+    public List<Tier> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * Records a sample of every series in all tiers.
+     *
+     * @param time
+     *            the time of the sample in epoch milliseconds
+     * @param values
+     *            one value per series
+     */
+    public synchronized void record(long time, double[] values) {
+        if (values.length != seriesNames.size()) {
+            throw new IllegalArgumentException("Expected "
+                    + seriesNames.size() + " values but got " + values.length);
+        }
+        for (int t = 0; t < tiers.size(); t++) {
+            Tier tier = tiers.get(t);
+            ByteBuffer buffer = buffers.get(t);
+            long step = time / tier.step().toMillis();
+            int offset = rowOffset(tier, step);
+            if (buffer.getLong(offset) != step) {
+                clearRow(buffer, offset);
+                buffer.putLong(offset, step);
+            }
+            for (int s = 0; s < values.length; s++) {
+                int cell = cellOffset(offset, s);
+                double value = values[s];
+                buffer.putDouble(cell,
+                        Math.min(buffer.getDouble(cell), value));
+                buffer.putDouble(cell + 8,
+                        Math.max(buffer.getDouble(cell + 8), value));
+                buffer.putDouble(cell + 16,
+                        buffer.getDouble(cell + 16) + value);
+                buffer.putDouble(cell + 24, buffer.getDouble(cell + 24) + 1);
+            }
+        }
+    }
+
+    /**
+     * Gets the rows covering the given time range up to now, from the finest
+     * tier that covers the whole range. Steps without samples are left out.
+     *
+     * @param range
+     *            the time range
+     * @param now
+     *            the end of the range in epoch milliseconds
+     * @return the rows, oldest first
+     */
+    public synchronized List<Row> fetch(Duration range, long now) {
+        int t = tierFor(range);
+        Tier tier = tiers.get(t);
+        ByteBuffer buffer = buffers.get(t);
+        long stepMillis = tier.step().toMillis();
+        long last = now / stepMillis;
+        long first = Math.max(last - tier.rows() + 1,
+                (now - range.toMillis()) / stepMillis);
+        List<Row> rows = new ArrayList<>();
+        for (long step = first; step <= last; step++) {
+            int offset = rowOffset(tier, step);
+            if (buffer.getLong(offset) == step) {
+                rows.add(readRow(buffer, offset, step * stepMillis));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Writes the memory-mapped tiers to disk. Does nothing for an archive on
+     * the heap.
+     */
+    public synchronized void flush() {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer instanceof MappedByteBuffer mapped) {
+                mapped.force();
+            }
+        }
+    }
+
+    private int tierFor(Duration range) {
+        for (int t = 0; t < tiers.size(); t++) {
+            if (tiers.get(t).range().compareTo(range) >= 0) {
+                return t;
+            }
+        }
+        return tiers.size() - 1;
+    }
+
+    private Row readRow(ByteBuffer buffer, int offset, long time) {
+        int series = seriesNames.size();
+        double[] min = new double[series];
+        double[] avg = new double[series];
+        double[] max = new double[series];
+        for (int s = 0; s < series; s++) {
+            int cell = cellOffset(offset, s);
+            double count = buffer.getDouble(cell + 24);
+            min[s] = buffer.getDouble(cell);
+            max[s] = buffer.getDouble(cell + 8);
+            avg[s] = count == 0 ? Double.NaN
+                    : buffer.getDouble(cell + 16) / count;
+        }
+        return new Row(time, min, avg, max);
+    }
+
+    private int rowOffset(Tier tier, long step) {
+        return HEADER_BYTES + (int) Math.floorMod(step, tier.rows())
+                * rowBytes;
+    }
+
+    private static int cellOffset(int rowOffset, int series) {
+        return rowOffset + Long.BYTES + series * 4 * Double.BYTES;
+    }
+
+    private void clearRow(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, EMPTY);
+        for (int s = 0; s < seriesNames.size(); s++) {
+            int cell = cellOffset(offset, s);
+            buffer.putDouble(cell, Double.POSITIVE_INFINITY);
+            buffer.putDouble(cell + 8, Double.NEGATIVE_INFINITY);
+            buffer.putDouble(cell + 16, 0);
+            buffer.putDouble(cell + 24, 0);
+        }
+    }
+
+    private boolean hasLayout(ByteBuffer buffer, Tier tier) {
+        return buffer.getLong(0) == MAGIC
+                && buffer.getLong(8) == tier.step().toMillis()
+                && buffer.getInt(16) == tier.rows()
+                && buffer.getInt(20) == seriesNames.size();
+    }
+
+    private void initialize(ByteBuffer buffer, Tier tier) {
+        buffer.putLong(0, MAGIC);
+        buffer.putLong(8, tier.step().toMillis());
+        buffer.putInt(16, tier.rows());
+        buffer.putInt(20, seriesNames.size());
+        for (int row = 0; row < tier.rows(); row++) {
+            clearRow(buffer, HEADER_BYTES + row * rowBytes);
+        }
+    }
+
+    private static void createDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Could not create metrics archive directory " + directory,
+                    e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, int size) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (channel.size() != size) {
+                channel.truncate(0);
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Could not map metrics archive " + file, e);
+        }
+    }
+}
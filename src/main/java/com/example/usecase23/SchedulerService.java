@@ -2,6 +2,7 @@ package com.example.usecase23;
 
 import jakarta.annotation.PreDestroy;
 
+import java.nio.file.Path;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -14,6 +15,11 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import com.example.signals.SignalMetrics;
+import com.example.signals.TabDormancy;
+import com.example.signals.UiBacklog;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.vaadin.flow.component.UI;
@@ -23,14 +29,48 @@ public class SchedulerService {
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter
             .ofPattern("HH:mm:ss");
+    private static final long DASHBOARD_PERIOD_SECONDS = 2;
     private final ScheduledExecutorService scheduler = Executors
             .newScheduledThreadPool(4);
     private final Map<String, ScheduledFuture<?>> tasks = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<DashboardData>> dashboards = new ConcurrentHashMap<>();
+    private @Nullable ScheduledFuture<?> dashboardFeed;
+    private volatile @Nullable DashboardData latestDashboardData;
     private final Random random = new Random();
+    private final SignalMetrics signalMetrics;
+    private final MetricsArchive dashboardHistory;
+    private final double[] timelineSample = new double[4];
+
+    public SchedulerService(SignalMetrics signalMetrics,
+            @Value("${app.dashboard-history.directory:}") String historyDirectory) {
+        this.signalMetrics = signalMetrics;
+        this.dashboardHistory = new MetricsArchive(
+                List.of("Berlin", "London", "New York", "Tokyo"),
+                MetricsArchive.DEFAULT_TIERS,
+                historyDirectory.isBlank() ? null : Path.of(historyDirectory));
+    }
+
+    /**
+     * Gets the archive of the view event timelines sent to dashboards. One
+     * sample is generated per update and shared by all open dashboards, so
+     * the archive holds a single series however many dashboards are open. It
+     * grows while at least one dashboard is open.
+     */
+    public MetricsArchive getDashboardHistory() {
+        return dashboardHistory;
+    }
 
     /**
-     * Schedules a dashboard data update task to run periodically. Generates
-     * mock data and delivers it to the callback via UI.access.
+     * Subscribes a dashboard to the data updates. Mock data is generated
+     * every two seconds while at least one dashboard is subscribed, and the
+     * same data is delivered to the callback of every dashboard via
+     * UI.access. A new dashboard gets the latest data right away.
+     * <p>
+     * While the UI's tab is hidden, updates are not delivered. Only the latest
+     * data is kept and delivered once the tab becomes visible again. If the UI
+     * falls behind, a queued update is replaced by newer data instead of
+     * queueing another one, and ticks are thinned out until it catches up
+     * (see {@link UiBacklog}).
      *
      * @param taskId
      *            Unique identifier for this task
@@ -39,26 +79,65 @@ public class SchedulerService {
      * @param dataCallback
      *            The callback to receive generated data (called within
      *            UI.access)
-     * @param initialDelay
-     *            Initial delay before first execution
-     * @param period
-     *            Period between executions
-     * @param unit
-     *            Time unit for delays and period
      */
     public void scheduleDashboardDataUpdate(String taskId, UI ui,
-            Consumer<DashboardData> dataCallback, long initialDelay,
-            long period, TimeUnit unit) {
+            Consumer<DashboardData> dataCallback) {
 
         // Cancel existing task if present
         cancelTask(taskId);
 
-        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
-            DashboardData data = generateDashboardData();
-            ui.access(() -> dataCallback.accept(data));
-        }, initialDelay, period, unit);
+        TabDormancy dormancy = TabDormancy.forUI(ui);
+        UiBacklog backlog = UiBacklog.forUI(ui);
+        Consumer<DashboardData> dashboard = data -> deliver(taskId, dormancy,
+                backlog, () -> dataCallback.accept(data));
+        dashboards.put(taskId, data -> {
+            if (!backlog.shouldSkipTick()) {
+                dashboard.accept(data);
+            }
+        });
+        // A feed that is already running has data to show right away, a new
+        // one generates its first sample immediately
+        DashboardData latest = latestDashboardData;
+        if (!startDashboardFeed() && latest != null) {
+            dashboard.accept(latest);
+        }
+    }
 
-        tasks.put(taskId, future);
+    /**
+     * Starts generating dashboard data unless it is already running.
+     *
+     * @return {@code true} if the feed was started
+     */
+    private synchronized boolean startDashboardFeed() {
+        if (dashboardFeed != null) {
+            return false;
+        }
+        dashboardFeed = scheduler.scheduleAtFixedRate(
+                this::publishDashboardData, 0, DASHBOARD_PERIOD_SECONDS,
+                TimeUnit.SECONDS);
+        return true;
+    }
+
+    private synchronized void stopDashboardFeedIfIdle() {
+        ScheduledFuture<?> feed = dashboardFeed;
+        if (feed != null && dashboards.isEmpty()) {
+            feed.cancel(false);
+            dashboardFeed = null;
+        }
+    }
+
+    /**
+     * Generates one sample, records it in the history and fans it out to all
+     * subscribed dashboards.
+     */
+    private void publishDashboardData() {
+        if (dashboards.isEmpty()) {
+            return;
+        }
+        DashboardData data = generateDashboardData();
+        recordHistory(data.timelineData());
+        latestDashboardData = data;
+        dashboards.values().forEach(dashboard -> dashboard.accept(data));
     }
 
     /**
@@ -92,6 +171,17 @@ public class SchedulerService {
                 customMetric, timelineData, serviceHealthList, responseTimes);
     }
 
+    private void recordHistory(DashboardData.TimelineData timelineData) {
+        synchronized (timelineSample) {
+            timelineSample[0] = timelineData.berlinValue();
+            timelineSample[1] = timelineData.londonValue();
+            timelineSample[2] = timelineData.newYorkValue();
+            timelineSample[3] = timelineData.tokyoValue();
+            dashboardHistory.record(System.currentTimeMillis(),
+                    timelineSample);
+        }
+    }
+
     private ServiceHealth.Status randomStatus() {
         int pick = random.nextInt(3);
         if (pick == 0) {
@@ -109,6 +199,10 @@ public class SchedulerService {
     /**
      * Schedules a generic task to run periodically, executing the callback
      * within UI.access for thread-safe updates.
+     * <p>
+     * While the UI's tab is hidden, the callback is skipped and runs once when
+     * the tab becomes visible again. A UI that falls behind gets at most one
+     * queued run and fewer ticks until it catches up.
      *
      * @param taskId
      *            Unique identifier for this task
@@ -128,12 +222,25 @@ public class SchedulerService {
 
         cancelTask(taskId);
 
-        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(
-                () -> ui.access(callback::run), initialDelay, period, unit);
+        TabDormancy dormancy = TabDormancy.forUI(ui);
+        UiBacklog backlog = UiBacklog.forUI(ui);
+        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
+            if (!backlog.shouldSkipTick()) {
+                deliver(taskId, dormancy, backlog, callback);
+            }
+        }, initialDelay, period, unit);
 
         tasks.put(taskId, future);
     }
 
+    private void deliver(String taskId, TabDormancy dormancy,
+            UiBacklog backlog, Runnable task) {
+        if (!dormancy.deferIfDormant(taskId, task)) {
+            backlog.submit(taskId, task,
+                    signalMetrics.accessWait("scheduler"));
+        }
+    }
+
     /**
      * Schedules a generic task to run periodically.
      *
@@ -170,6 +277,9 @@ public class SchedulerService {
         if (future != null && !future.isCancelled()) {
             future.cancel(false);
         }
+        if (dashboards.remove(taskId) != null) {
+            stopDashboardFeedIfIdle();
+        }
     }
 
     /**
@@ -180,6 +290,9 @@ public class SchedulerService {
      * @return true if task exists and is not cancelled
      */
     public boolean isTaskScheduled(String taskId) {
+        if (dashboards.containsKey(taskId)) {
+            return true;
+        }
         ScheduledFuture<?> future = tasks.get(taskId);
         return future != null && !future.isCancelled() && !future.isDone();
     }
@@ -188,6 +301,8 @@ public class SchedulerService {
     public void shutdown() {
         tasks.values().forEach(future -> future.cancel(false));
         tasks.clear();
+        dashboards.clear();
+        stopDashboardFeedIfIdle();
         scheduler.shutdown();
         try {
             if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -197,5 +312,6 @@ public class SchedulerService {
             scheduler.shutdownNow();
             Thread.currentThread().interrupt();
         }
+        dashboardHistory.flush();
     }
 }
@@ -2,11 +2,23 @@ package com.example.usecase23;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-
+import java.util.stream.Stream;
+
+import com.example.export.TableExport;
+import com.example.export.TableExport.Column;
+import com.example.export.TableExport.Format;
+import com.example.signals.RingTimeSeries;
+import com.example.signals.SignalBatch;
+import com.example.signals.SignalMetrics;
+import com.example.signals.ViewSignalMetrics;
 import com.example.usecase23.ServiceHealth.Status;
 import com.example.views.MainLayout;
 import org.jspecify.annotations.Nullable;
@@ -14,19 +26,22 @@ import org.jspecify.annotations.Nullable;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.board.Board;
+import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.charts.Chart;
+import com.vaadin.flow.component.charts.model.AxisType;
 import com.vaadin.flow.component.charts.model.ChartType;
 import com.vaadin.flow.component.charts.model.Configuration;
 import com.vaadin.flow.component.charts.model.DataSeries;
 import com.vaadin.flow.component.charts.model.DataSeriesItem;
-import com.vaadin.flow.component.charts.model.ListSeries;
 import com.vaadin.flow.component.charts.model.Marker;
 import com.vaadin.flow.component.charts.model.PlotOptionsAreaspline;
+import com.vaadin.flow.component.charts.model.PlotOptionsLine;
 import com.vaadin.flow.component.charts.model.PointPlacement;
 import com.vaadin.flow.component.charts.model.XAxis;
 import com.vaadin.flow.component.grid.ColumnTextAlign;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Main;
 import com.vaadin.flow.component.html.Span;
@@ -35,7 +50,9 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
@@ -55,6 +72,46 @@ public class UseCase23View extends Main {
 
     private static final int TIMELINE_POINTS = 12;
 
+    private static final TableExport<ServiceHealth> SERVICE_HEALTH_EXPORT = new TableExport<>(
+            List.of(new Column<>("Status", ServiceHealth::getStatus),
+                    new Column<>("City", ServiceHealth::getCity),
+                    new Column<>("Input", ServiceHealth::getInput),
+                    new Column<>("Output", ServiceHealth::getOutput)));
+
+    /**
+     * Time ranges of the history chart, each with the label format matching
+     * the resolution the archive returns for it.
+     */
+    enum HistoryRange {
+        LAST_15_MINUTES("Last 15 minutes", Duration.ofMinutes(15),
+                "HH:mm:ss"),
+        LAST_HOUR("Last hour", Duration.ofHours(1), "HH:mm"),
+        LAST_DAY("Last 24 hours", Duration.ofDays(1), "HH:mm"),
+        LAST_WEEK("Last 7 days", Duration.ofDays(7), "MMM d HH:mm");
+
+        private final String label;
+        private final Duration duration;
+        private final String pattern;
+
+        HistoryRange(String label, Duration duration, String pattern) {
+            this.label = label;
+            this.duration = duration;
+            this.pattern = pattern;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        Duration getDuration() {
+            return duration;
+        }
+
+        String getPattern() {
+            return pattern;
+        }
+    }
+
     // state
     private final ValueSignal<Number> currentUsersSignal = new ValueSignal<>(0);
     private final ValueSignal<Number> viewEventsSignal = new ValueSignal<>(0);
@@ -62,17 +119,21 @@ public class UseCase23View extends Main {
             0);
     private final ValueSignal<Number> customMetricSignal = new ValueSignal<>(0);
 
-    private final ListSignal<String> timelineCategoriesSignal = new ListSignal<>();
-    private final ListSignal<Number> berlinTimelineSignal = new ListSignal<>();
-    private final ListSignal<Number> londonTimelineSignal = new ListSignal<>();
-    private final ListSignal<Number> newYorkTimelineSignal = new ListSignal<>();
-    private final ListSignal<Number> tokyoTimelineSignal = new ListSignal<>();
+    private final RingTimeSeries timeline = new RingTimeSeries(
+            TIMELINE_POINTS, "Berlin", "London", "New York", "Tokyo");
+    private final double[] timelinePoint = new double[4];
     private final ListSignal<ServiceHealth> serviceHealthSignal = new ListSignal<>();
     private final ListSignal<Number> responseSignal = new ListSignal<>();
 
+    private final ValueSignal<HistoryRange> historyRangeSignal = new ValueSignal<>(
+            HistoryRange.LAST_15_MINUTES);
+
+    private final ViewSignalMetrics metrics;
     private @Nullable String taskId;
 
-    public UseCase23View(SchedulerService schedulerService) {
+    public UseCase23View(SchedulerService schedulerService,
+            SignalMetrics signalMetrics) {
+        this.metrics = signalMetrics.forView(UseCase23View.class);
         addClassName("dashboard-view");
 
         Board board = new Board();
@@ -87,6 +148,7 @@ public class UseCase23View extends Main {
                 createHighlightCard("Custom metric", customMetricSignal,
                         this::formatNumber));
         board.addRow(createViewEvents());
+        board.addRow(createHistory(schedulerService.getDashboardHistory()));
         board.addRow(createServiceHealth(), createResponseTimes());
         add(board);
 
@@ -94,7 +156,7 @@ public class UseCase23View extends Main {
             UI ui = event.getUI();
             taskId = "dashboard-" + ui.getUIId();
             schedulerService.scheduleDashboardDataUpdate(taskId, ui,
-                    this::onDataUpdate, 0, 2, TimeUnit.SECONDS);
+                    this::onDataUpdate);
         });
 
         addDetachListener(event -> {
@@ -119,7 +181,10 @@ public class UseCase23View extends Main {
         Configuration conf = chart.getConfiguration();
         conf.getChart().setStyledMode(true);
 
+        // Points are named by their timestamp, which the category axis
+        // shows as labels, so shifted points keep their labels
         XAxis xAxis = new XAxis();
+        xAxis.setType(AxisType.CATEGORY);
         conf.addxAxis(xAxis);
 
         conf.getyAxis().setTitle("Values");
@@ -129,32 +194,26 @@ public class UseCase23View extends Main {
         plotOptions.setMarker(new Marker(false));
         conf.addPlotOptions(plotOptions);
 
-        ListSeries berlinSeries = new ListSeries("Berlin", new Number[0]);
-        ListSeries londonSeries = new ListSeries("London", new Number[0]);
-        ListSeries newYorkSeries = new ListSeries("New York", new Number[0]);
-        ListSeries tokyoSeries = new ListSeries("Tokyo", new Number[0]);
-
-        bindData(chart, berlinSeries, berlinTimelineSignal);
-        bindData(chart, londonSeries, londonTimelineSignal);
-        bindData(chart, newYorkSeries, newYorkTimelineSignal);
-        bindData(chart, tokyoSeries, tokyoTimelineSignal);
-
-        Signal.effect(chart, () -> xAxis.setCategories(timelineCategoriesSignal
-                .get().stream().map(Signal::get).toArray(String[]::new)));
-
-        conf.addSeries(berlinSeries);
-        conf.addSeries(londonSeries);
-        conf.addSeries(newYorkSeries);
-        conf.addSeries(tokyoSeries);
-
-        // Trigger chart redraw when any timeline signal changes
-        Signal.effect(chart, () -> {
-            berlinTimelineSignal.get();
-            londonTimelineSignal.get();
-            newYorkTimelineSignal.get();
-            tokyoTimelineSignal.get();
-            chart.drawChart();
-        });
+        List<DataSeries> citySeries = timeline.getSeriesNames().stream()
+                .map(DataSeries::new).toList();
+        citySeries.forEach(conf::addSeries);
+
+        // Add the new points of all series once per data update. The chart
+        // is only redrawn as a whole if points were missed.
+        long[] shown = { 0 };
+        metrics.effect(chart, "view-events-chart",
+                SignalBatch.deferredEffect(() -> {
+                    long appended = timeline.appendedSignal().get();
+                    if (appended < shown[0]
+                            || appended - shown[0] > timeline.size()) {
+                        reloadTimeline(chart, citySeries);
+                    } else {
+                        for (long point = shown[0]; point < appended; point++) {
+                            addTimelinePoint(citySeries, point);
+                        }
+                    }
+                    shown[0] = appended;
+                }));
 
         // Add it all together
         VerticalLayout viewEvents = new VerticalLayout(header, chart);
@@ -163,14 +222,92 @@ public class UseCase23View extends Main {
         return viewEvents;
     }
 
-    private static void bindData(Chart chart, ListSeries series,
-            ListSignal<Number> signal) {
-        Signal.effect(chart, () -> {
-            series.setData(signal.get().stream().map(Signal::get)
-                    .toArray(Number[]::new));
-            // TODO issue of getting the values from ListSignal instead of
-            // Signal<Number>
-        });
+    private void addTimelinePoint(List<DataSeries> citySeries, long point) {
+        String label = timeline.getLabelAt(point);
+        for (int i = 0; i < citySeries.size(); i++) {
+            DataSeries series = citySeries.get(i);
+            boolean shift = series.getData().size() >= TIMELINE_POINTS;
+            series.add(new DataSeriesItem(label,
+                    timeline.getValueAt(i, point)), true, shift);
+        }
+    }
+
+    private void reloadTimeline(Chart chart, List<DataSeries> citySeries) {
+        for (int i = 0; i < citySeries.size(); i++) {
+            List<DataSeriesItem> items = new ArrayList<>();
+            for (int index = 0; index < timeline.size(); index++) {
+                items.add(new DataSeriesItem(timeline.getLabel(index),
+                        timeline.getValue(i, index)));
+            }
+            citySeries.get(i).setData(items);
+        }
+        chart.drawChart();
+    }
+
+    private Component createHistory(MetricsArchive archive) {
+        // Header with the time range to show
+        HorizontalLayout header = createHeader("View events history",
+                "City / average per step");
+
+        Select<HistoryRange> rangeSelect = new Select<>();
+        rangeSelect.setItems(HistoryRange.values());
+        rangeSelect.setItemLabelGenerator(HistoryRange::getLabel);
+        rangeSelect.bindValue(historyRangeSignal, historyRangeSignal::set);
+
+        // Chart
+        Chart chart = new Chart(ChartType.LINE);
+        Configuration conf = chart.getConfiguration();
+        conf.getChart().setStyledMode(true);
+
+        XAxis xAxis = new XAxis();
+        xAxis.setType(AxisType.CATEGORY);
+        conf.addxAxis(xAxis);
+        conf.getyAxis().setTitle("Values");
+
+        PlotOptionsLine plotOptions = new PlotOptionsLine();
+        plotOptions.setMarker(new Marker(false));
+        conf.addPlotOptions(plotOptions);
+
+        List<DataSeries> citySeries = archive.getSeriesNames().stream()
+                .map(DataSeries::new).toList();
+        citySeries.forEach(conf::addSeries);
+
+        // The archive has a fixed size, so loading any range takes bounded
+        // time and memory
+        Signal.effect(chart, () -> loadHistory(archive, chart, citySeries,
+                historyRangeSignal.get()));
+        Button refresh = new Button(VaadinIcon.REFRESH.create(),
+                event -> loadHistory(archive, chart, citySeries,
+                        historyRangeSignal.peek()));
+        refresh.setAriaLabel("Refresh history");
+
+        HorizontalLayout controls = new HorizontalLayout(rangeSelect, refresh);
+        controls.setAlignItems(FlexComponent.Alignment.BASELINE);
+        header.add(controls);
+
+        VerticalLayout history = new VerticalLayout(header, chart);
+        history.setSpacing(false);
+        history.getElement().getThemeList().add("spacing-l");
+        return history;
+    }
+
+    private static void loadHistory(MetricsArchive archive, Chart chart,
+            List<DataSeries> citySeries, HistoryRange range) {
+        DateTimeFormatter formatter = DateTimeFormatter
+                .ofPattern(range.getPattern())
+                .withZone(ZoneId.systemDefault());
+        List<MetricsArchive.Row> rows = archive.fetch(range.getDuration(),
+                System.currentTimeMillis());
+        for (int i = 0; i < citySeries.size(); i++) {
+            List<DataSeriesItem> items = new ArrayList<>();
+            for (MetricsArchive.Row row : rows) {
+                items.add(new DataSeriesItem(
+                        formatter.format(Instant.ofEpochMilli(row.time())),
+                        Math.round(row.avg()[i])));
+            }
+            citySeries.get(i).setData(items);
+        }
+        chart.drawChart();
     }
 
     private Component createServiceHealth() {
@@ -213,10 +350,21 @@ public class UseCase23View extends Main {
                 .setHeader("Output").setAutoWidth(true)
                 .setTextAlign(ColumnTextAlign.END);
 
+        // Export links. The few rows are in memory anyway, so their values
+        // are read while the session is locked rather than while streaming.
+        SerializableSupplier<Stream<ServiceHealth>> rows = () -> TableExport
+                .itemsOf(grid).map(ValueSignal::peek).toList().stream();
+        HorizontalLayout export = new HorizontalLayout(
+                new Anchor(SERVICE_HEALTH_EXPORT.download(Format.CSV,
+                        "service-health", rows), "CSV"),
+                new Anchor(SERVICE_HEALTH_EXPORT.download(Format.XLSX,
+                        "service-health", rows), "XLSX"));
+        header.add(export);
+
         // Add it all together
         VerticalLayout serviceHealth = new VerticalLayout(header, grid);
 
-        Signal.effect(grid, () -> {
+        metrics.effect(grid, "service-health", () -> {
             grid.setItems(serviceHealthSignal.get());
             // TODO not this, update each signal individually
         });
@@ -250,16 +398,17 @@ public class UseCase23View extends Main {
         responseSeries.add(new DataSeriesItem("System 6", 12.5));
         conf.addSeries(responseSeries);
 
-        Signal.effect(chart, () -> {
-            var responseValues = responseSignal.get();
-            responseSeries.get(0).setY(responseValues.get(0).get());
-            responseSeries.get(1).setY(responseValues.get(1).get());
-            responseSeries.get(2).setY(responseValues.get(2).get());
-            responseSeries.get(3).setY(responseValues.get(3).get());
-            responseSeries.get(4).setY(responseValues.get(4).get());
-            responseSeries.get(5).setY(responseValues.get(5).get());
-            chart.drawChart();
-        });
+        metrics.effect(chart, "response-times",
+                SignalBatch.deferredEffect(() -> {
+                    var responseValues = responseSignal.get();
+                    responseSeries.get(0).setY(responseValues.get(0).get());
+                    responseSeries.get(1).setY(responseValues.get(1).get());
+                    responseSeries.get(2).setY(responseValues.get(2).get());
+                    responseSeries.get(3).setY(responseValues.get(3).get());
+                    responseSeries.get(4).setY(responseValues.get(4).get());
+                    responseSeries.get(5).setY(responseValues.get(5).get());
+                    chart.drawChart();
+                }));
 
         responseSignal.insertLast(12.5);
         responseSignal.insertLast(12.5);
@@ -307,44 +456,28 @@ public class UseCase23View extends Main {
 
     /**
      * Callback invoked by the scheduler service with new dashboard data. This
-     * method only updates signals - no UI access or chart drawing.
+     * method only updates signals - no UI access or chart drawing. The charts
+     * are redrawn once after all signals have been updated.
      */
     private void onDataUpdate(DashboardData data) {
+        SignalBatch.run(() -> applyDataUpdate(data));
+    }
+
+    private void applyDataUpdate(DashboardData data) {
         // Update highlight card signals
         currentUsersSignal.set(data.currentUsers());
         viewEventsSignal.set(data.viewEvents());
         conversionRateSignal.set(data.conversionRate());
         customMetricSignal.set(data.customMetric());
 
-        // Update timeline signals
-        DashboardData.TimelineData timeline = data.timelineData();
-
-        if (berlinTimelineSignal.peek().size() >= TIMELINE_POINTS) {
-            berlinTimelineSignal.remove(berlinTimelineSignal.peek().getFirst());
-        }
-        berlinTimelineSignal.insertLast(timeline.berlinValue());
-
-        if (londonTimelineSignal.peek().size() >= TIMELINE_POINTS) {
-            londonTimelineSignal.remove(londonTimelineSignal.peek().getFirst());
-        }
-        londonTimelineSignal.insertLast(timeline.londonValue());
-
-        if (newYorkTimelineSignal.peek().size() >= TIMELINE_POINTS) {
-            newYorkTimelineSignal
-                    .remove(newYorkTimelineSignal.peek().getFirst());
-        }
-        newYorkTimelineSignal.insertLast(timeline.newYorkValue());
+        // Update timeline
+        DashboardData.TimelineData timelineData = data.timelineData();
 
-        if (tokyoTimelineSignal.peek().size() >= TIMELINE_POINTS) {
-            tokyoTimelineSignal.remove(tokyoTimelineSignal.peek().getFirst());
-        }
-        tokyoTimelineSignal.insertLast(timeline.tokyoValue());
-
-        if (timelineCategoriesSignal.peek().size() >= TIMELINE_POINTS) {
-            timelineCategoriesSignal
-                    .remove(timelineCategoriesSignal.peek().getFirst());
-        }
-        timelineCategoriesSignal.insertLast(timeline.timestamp());
+        timelinePoint[0] = timelineData.berlinValue();
+        timelinePoint[1] = timelineData.londonValue();
+        timelinePoint[2] = timelineData.newYorkValue();
+        timelinePoint[3] = timelineData.tokyoValue();
+        timeline.append(timelineData.timestamp(), timelinePoint);
 
         // Update response times
         List<Double> responseTimes = data.responseTimes();
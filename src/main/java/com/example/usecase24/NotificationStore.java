@@ -0,0 +1,284 @@
+package com.example.usecase24;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Indexed in-memory notification store.
+ * <p>
+ * Notifications are kept in an insertion-order array. Alongside it, the store
+ * maintains one bitset of live slots, one bitset of read slots and one bitset
+ * per {@link NotificationType}. Filtering by type and read status is a word-wise
+ * intersection of these bitsets instead of a scan over notification objects,
+ * and the unread count is maintained incrementally.
+ * <p>
+ * Slots are never reused: dismissing a notification only clears its live bit,
+ * so a {@link Selection} taken before a mutation keeps resolving to the same
+ * notifications. Display order is newest first, which assumes notifications
+ * are added in chronological order.
+ * <p>
+ * Not thread-safe; intended to be accessed while holding the UI lock.
+ */
+public class NotificationStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Notification[] items;
+    private long[] live;
+    private long[] read;
+    private long[][] byType;
+    private int size;
+    private int liveCount;
+    private int unreadCount;
+    private final Map<String, Integer> slotById = new HashMap<>();
+
+    public NotificationStore() {
+        reset(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Appends a notification.
+     *
+     * @param notification
+     *            the notification to add
+     */
+    public void add(Notification notification) {
+        if (slotById.containsKey(notification.id())) {
+            throw new IllegalArgumentException(
+                    "Duplicate notification id: " + notification.id());
+        }
+        ensureCapacity(size + 1);
+        int slot = size++;
+        items[slot] = notification;
+        slotById.put(notification.id(), slot);
+        set(live, slot);
+        set(byType[notification.type().ordinal()], slot);
+        liveCount++;
+        if (notification.read()) {
+            set(read, slot);
+        } else {
+            unreadCount++;
+        }
+    }
+
+    /**
+     * Sets the read flag of a notification.
+     *
+     * @param id
+     *            the notification id
+     * @param newRead
+     *            the new read state
+     * @return {@code true} if the notification exists and its state changed
+     */
+    public boolean setRead(String id, boolean newRead) {
+        Integer slot = slotById.get(id);
+        if (slot == null || items[slot].read() == newRead) {
+            return false;
+        }
+        items[slot] = items[slot].withRead(newRead);
+        if (newRead) {
+            set(read, slot);
+            unreadCount--;
+        } else {
+            clear(read, slot);
+            unreadCount++;
+        }
+        return true;
+    }
+
+    /**
+     * Marks every live notification as read.
+     *
+     * @return {@code true} if any notification changed
+     */
+    public boolean markAllRead() {
+        if (unreadCount == 0) {
+            return false;
+        }
+        for (int w = 0; w < words(size); w++) {
+            long unread = live[w] & ~read[w];
+            while (unread != 0) {
+                int slot = (w << 6) + Long.numberOfTrailingZeros(unread);
+                items[slot] = items[slot].withRead(true);
+                unread &= unread - 1;
+            }
+            read[w] |= live[w];
+        }
+        unreadCount = 0;
+        return true;
+    }
+
+    /**
+     * Removes a notification.
+     *
+     * @param id
+     *            the notification id
+     * @return {@code true} if the notification existed
+     */
+    public boolean remove(String id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        clear(live, slot);
+        liveCount--;
+        if (!items[slot].read()) {
+            unreadCount--;
+        }
+        return true;
+    }
+
+    /**
+     * Removes all notifications.
+     */
+    public void clear() {
+        slotById.clear();
+        reset(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Gets the number of notifications in the store.
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Gets the number of unread notifications in the store.
+     */
+    public int unreadCount() {
+        return unreadCount;
+    }
+
+    /**
+     * Intersects the index bitsets for the given filters.
+     *
+     * @param type
+     *            the type to include, or {@code null} for all types
+     * @param readFilter
+     *            {@code true} for read only, {@code false} for unread only, or
+     *            {@code null} for both
+     * @return an immutable selection of matching notifications
+     */
+    public Selection select(@Nullable NotificationType type,
+            @Nullable Boolean readFilter) {
+        int words = words(size);
+        long[] bits = new long[words];
+        long[] typeBits = type != null ? byType[type.ordinal()] : null;
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            long word = live[w];
+            if (typeBits != null) {
+                word &= typeBits[w];
+            }
+            if (readFilter != null) {
+                word &= readFilter ? read[w] : ~read[w];
+            }
+            bits[w] = word;
+            count += Long.bitCount(word);
+        }
+        return new Selection(items, bits, count);
+    }
+
+    /**
+     * Result of a filter intersection. Supports range fetches in newest-first
+     * order without materializing the full result list.
+     */
+    public static final class Selection {
+
+        private final Notification[] items;
+        private final long[] bits;
+        private final int count;
+
+        private Selection(Notification[] items, long[] bits, int count) {
+            this.items = items;
+            this.bits = bits;
+            this.count = count;
+        }
+
+        /**
+         * Gets the number of matching notifications.
+         */
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Fetches a window of matching notifications, newest first.
+         *
+         * @param offset
+         *            the index of the first notification to return
+         * @param limit
+         *            the maximum number of notifications to return
+         * @return the notifications in the requested window
+         */
+        public List<Notification> fetch(int offset, int limit) {
+            int end = Math.min(count, offset + limit);
+            if (offset >= end) {
+                return List.of();
+            }
+            Notification[] result = new Notification[end - offset];
+            int skip = offset;
+            int n = 0;
+            for (int w = bits.length - 1; w >= 0 && n < result.length; w--) {
+                long word = bits[w];
+                int bitCount = Long.bitCount(word);
+                if (skip >= bitCount) {
+                    // Skip whole words using the population count
+                    skip -= bitCount;
+                    continue;
+                }
+                while (word != 0 && n < result.length) {
+                    int bit = 63 - Long.numberOfLeadingZeros(word);
+                    word &= ~(1L << bit);
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        result[n++] = items[(w << 6) + bit];
+                    }
+                }
+            }
+            return Arrays.asList(result);
+        }
+    }
+
+    private void reset(int capacity) {
+        items = new Notification[capacity];
+        live = new long[words(capacity)];
+        read = new long[words(capacity)];
+        byType = new long[NotificationType.values().length][words(capacity)];
+        size = 0;
+        liveCount = 0;
+        unreadCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= items.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, items.length * 2);
+        // Copy rather than grow in place so earlier selections stay valid
+        items = Arrays.copyOf(items, newCapacity);
+        live = Arrays.copyOf(live, words(newCapacity));
+        read = Arrays.copyOf(read, words(newCapacity));
+        for (int t = 0; t < byType.length; t++) {
+            byType[t] = Arrays.copyOf(byType[t], words(newCapacity));
+        }
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
@@ -4,10 +4,8 @@ import jakarta.annotation.security.PermitAll;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.UUID;
 
-import com.example.MissingAPI;
 import com.example.views.MainLayout;
 
 import com.vaadin.flow.component.button.Button;
@@ -26,7 +24,6 @@ import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.signals.Signal;
-import com.vaadin.flow.signals.local.ListSignal;
 import com.vaadin.flow.signals.local.ValueSignal;
 
 @Route(value = "use-case-24", layout = MainLayout.class)
@@ -47,46 +44,48 @@ public class UseCase24View extends VerticalLayout {
         var description = new Paragraph(
                 "This use case demonstrates a VirtualList bound to a signal-based data source. "
                         + "A notification inbox lets you view, filter, and manage notifications with rich card rendering. "
-                        + "The VirtualList receives a computed Signal<List<Notification>> that applies type and read-status filters. "
-                        + "Actions (mark read/unread, dismiss) mutate items within the ListSignal.");
+                        + "A computed signal intersects per-type and read-status bitsets of an indexed store, "
+                        + "and the VirtualList fetches only the visible range through a lazy data provider. "
+                        + "Actions (mark read/unread, dismiss) update the store and refresh dependent signals.");
 
-        // Source of truth
-        var notificationsSignal = new ListSignal<Notification>();
+        // Source of truth: indexed store plus a revision signal that is
+        // bumped on every mutation so dependent signals recompute
+        var store = new NotificationStore();
+        var revisionSignal = new ValueSignal<>(0);
 
         // Seed data
-        seedNotifications(notificationsSignal);
+        seedNotifications(store);
 
         // Filter signals
         var typeFilterSignal = new ValueSignal<String>("All");
         var readFilterSignal = new ValueSignal<String>("All");
 
-        // Computed filtered signal
-        Signal<List<Notification>> filteredSignal = Signal.computed(() -> {
-            String typeFilter = typeFilterSignal.get();
-            String readFilter = readFilterSignal.get();
-
-            return notificationsSignal.get().stream().map(ValueSignal::get)
-                    .filter(n -> typeFilter.equals("All")
-                            || n.type().name().equals(typeFilter))
-                    .filter(n -> {
-                        if (readFilter.equals("Unread")) {
-                            return !n.read();
-                        } else if (readFilter.equals("Read")) {
-                            return n.read();
-                        }
-                        return true;
-                    }).sorted((a, b) -> b.timestamp().compareTo(a.timestamp()))
-                    .toList();
-        });
+        // Computed selection: bitmap intersection of the type and read indexes
+        Signal<NotificationStore.Selection> selectionSignal = Signal
+                .computed(() -> {
+                    revisionSignal.get();
+                    String typeFilter = typeFilterSignal.get();
+                    String readFilter = readFilterSignal.get();
+
+                    NotificationType type = typeFilter.equals("All") ? null
+                            : NotificationType.valueOf(typeFilter);
+                    Boolean read = switch (readFilter) {
+                    case "Unread" -> false;
+                    case "Read" -> true;
+                    default -> null;
+                    };
+                    return store.select(type, read);
+                });
 
         // Aggregate signals
-        Signal<Long> unreadCountSignal = Signal
-                .computed(() -> notificationsSignal.get().stream()
-                        .map(ValueSignal::get).filter(n -> !n.read()).count());
+        Signal<Integer> unreadCountSignal = Signal.computed(() -> {
+            revisionSignal.get();
+            return store.unreadCount();
+        });
 
         Signal<String> countLabelSignal = Signal.computed(() -> {
-            int filtered = filteredSignal.get().size();
-            long unread = unreadCountSignal.get();
+            int filtered = selectionSignal.get().size();
+            int unread = unreadCountSignal.get();
             return "Showing " + filtered + " notification"
                     + (filtered != 1 ? "s" : "") + " (" + unread + " unread)";
         });
@@ -103,24 +102,24 @@ public class UseCase24View extends VerticalLayout {
         readFilter.bindValue(readFilterSignal, readFilterSignal::set);
 
         var addInfoButton = new Button("Add Info",
-                e -> addNotification(notificationsSignal,
+                e -> addNotification(store, revisionSignal,
                         NotificationType.INFO));
         addInfoButton.addThemeName("small");
 
         var addWarningButton = new Button("Add Warning",
-                e -> addNotification(notificationsSignal,
+                e -> addNotification(store, revisionSignal,
                         NotificationType.WARNING));
         addWarningButton.addThemeName("small");
         addWarningButton.addThemeName("contrast");
 
         var addErrorButton = new Button("Add Error",
-                e -> addNotification(notificationsSignal,
+                e -> addNotification(store, revisionSignal,
                         NotificationType.ERROR));
         addErrorButton.addThemeName("small");
         addErrorButton.addThemeName("error");
 
         var addSuccessButton = new Button("Add Success",
-                e -> addNotification(notificationsSignal,
+                e -> addNotification(store, revisionSignal,
                         NotificationType.SUCCESS));
         addSuccessButton.addThemeName("small");
         addSuccessButton.addThemeName("success");
@@ -133,18 +132,17 @@ public class UseCase24View extends VerticalLayout {
 
         // Action row
         var markAllReadButton = new Button("Mark All Read", e -> {
-            notificationsSignal.get().forEach(signal -> {
-                Notification n = signal.get();
-                if (!n.read()) {
-                    signal.set(n.withRead(true));
-                }
-            });
+            if (store.markAllRead()) {
+                bumpRevision(revisionSignal);
+            }
         });
         markAllReadButton.addThemeName("small");
         markAllReadButton.addThemeName("primary");
 
-        var clearAllButton = new Button("Clear All",
-                e -> notificationsSignal.clear());
+        var clearAllButton = new Button("Clear All", e -> {
+            store.clear();
+            bumpRevision(revisionSignal);
+        });
         clearAllButton.addThemeName("small");
         clearAllButton.addThemeName("error");
 
@@ -175,10 +173,19 @@ public class UseCase24View extends VerticalLayout {
         virtualList.setHeight("500px");
         virtualList.setWidthFull();
         virtualList.setRenderer(new ComponentRenderer<>(
-                notification -> createNotificationCard(notification,
-                        notificationsSignal)));
-
-        MissingAPI.bindItems(virtualList, filteredSignal);
+                notification -> createNotificationCard(notification, store,
+                        revisionSignal)));
+
+        // Lazy, range-based data provider: the client only requests the
+        // visible window, which is resolved against the current selection
+        virtualList.setItems(
+                query -> selectionSignal.peek()
+                        .fetch(query.getOffset(), query.getLimit()).stream(),
+                query -> selectionSignal.peek().size());
+        Signal.effect(virtualList, () -> {
+            selectionSignal.get();
+            virtualList.getDataProvider().refreshAll();
+        });
 
         // Empty state
         var emptyState = new Paragraph(
@@ -186,7 +193,7 @@ public class UseCase24View extends VerticalLayout {
         emptyState.getStyle().set("text-align", "center").set("padding", "2em")
                 .set("color", "var(--lumo-secondary-text-color)")
                 .set("font-style", "italic");
-        emptyState.bindVisible(filteredSignal.map(List::isEmpty));
+        emptyState.bindVisible(selectionSignal.map(s -> s.size() == 0));
 
         // Info box
         var infoBox = new Div();
@@ -195,17 +202,18 @@ public class UseCase24View extends VerticalLayout {
                 .set("margin-top", "1em").set("font-style", "italic");
         infoBox.add(new Paragraph(
                 "This use case demonstrates VirtualList bound to a signal-based data source. "
-                        + "A ListSignal<Notification> is the source of truth. A computed signal filters by type and read status, "
-                        + "then MissingAPI.bindItems() binds the filtered list to the VirtualList. "
+                        + "An indexed NotificationStore is the source of truth, keeping per-type and read bitsets. "
+                        + "A computed signal intersects the bitsets for the selected type and read status, "
+                        + "and a lazy data provider fetches only the visible range for the VirtualList. "
                         + "Each card uses a ComponentRenderer for rich per-item rendering. "
-                        + "Actions find the matching ValueSignal in the ListSignal by ID and call set() or remove()."));
+                        + "Actions update the store by ID and bump a revision signal to refresh dependents."));
 
         add(title, description, filterRow, actionRow, headerRow, virtualList,
                 emptyState, infoBox);
     }
 
     private Div createNotificationCard(Notification notification,
-            ListSignal<Notification> notificationsSignal) {
+            NotificationStore store, ValueSignal<Integer> revisionSignal) {
         var card = new Div();
         card.getStyle().set("display", "flex").set("align-items", "flex-start")
                 .set("gap", "1em").set("padding", "1em")
@@ -269,19 +277,18 @@ public class UseCase24View extends VerticalLayout {
 
         var toggleReadButton = new Button(
                 notification.read() ? "Mark Unread" : "Mark Read", e -> {
-                    notificationsSignal.get().stream()
-                            .filter(signal -> signal.get().id()
-                                    .equals(notification.id()))
-                            .findFirst().ifPresent(signal -> signal.set(signal
-                                    .get().withRead(!notification.read())));
+                    if (store.setRead(notification.id(),
+                            !notification.read())) {
+                        bumpRevision(revisionSignal);
+                    }
                 });
         toggleReadButton.addThemeName("small");
         toggleReadButton.addThemeName("tertiary");
 
         var dismissButton = new Button("Dismiss", e -> {
-            notificationsSignal.get().stream().filter(
-                    signal -> signal.get().id().equals(notification.id()))
-                    .findFirst().ifPresent(notificationsSignal::remove);
+            if (store.remove(notification.id())) {
+                bumpRevision(revisionSignal);
+            }
         });
         dismissButton.addThemeName("small");
         dismissButton.addThemeName("tertiary");
@@ -311,8 +318,12 @@ public class UseCase24View extends VerticalLayout {
         };
     }
 
-    private void addNotification(ListSignal<Notification> notificationsSignal,
-            NotificationType type) {
+    private void bumpRevision(ValueSignal<Integer> revisionSignal) {
+        revisionSignal.set(revisionSignal.peek() + 1);
+    }
+
+    private void addNotification(NotificationStore store,
+            ValueSignal<Integer> revisionSignal, NotificationType type) {
         var notification = new Notification(UUID.randomUUID().toString(),
                 type.name().charAt(0) + type.name().substring(1).toLowerCase()
                         + " Notification",
@@ -320,43 +331,44 @@ public class UseCase24View extends VerticalLayout {
                         + " notification added at "
                         + LocalDateTime.now().format(TIME_FORMAT) + ".",
                 type, false, LocalDateTime.now());
-        notificationsSignal.insertLast(notification);
+        store.add(notification);
+        bumpRevision(revisionSignal);
     }
 
-    private void seedNotifications(
-            ListSignal<Notification> notificationsSignal) {
+    // Seeded oldest first: the store displays in reverse insertion order
+    private void seedNotifications(NotificationStore store) {
         var now = LocalDateTime.now();
-        notificationsSignal.insertLast(new Notification(
-                UUID.randomUUID().toString(), "Welcome",
-                "Welcome to the notification inbox! This demo shows VirtualList with signals.",
-                NotificationType.INFO, false, now.minusMinutes(5)));
-        notificationsSignal.insertLast(new Notification(
-                UUID.randomUUID().toString(), "System Update Available",
-                "A new system update is available. Please review and apply when convenient.",
-                NotificationType.WARNING, false, now.minusMinutes(15)));
-        notificationsSignal.insertLast(new Notification(
-                UUID.randomUUID().toString(), "Deployment Successful",
-                "Version 2.4.1 has been deployed to production successfully.",
-                NotificationType.SUCCESS, true, now.minusHours(1)));
-        notificationsSignal.insertLast(new Notification(
-                UUID.randomUUID().toString(), "Database Connection Error",
-                "Failed to connect to the replica database. Primary is still operational.",
-                NotificationType.ERROR, false, now.minusHours(2)));
-        notificationsSignal.insertLast(new Notification(
-                UUID.randomUUID().toString(), "New Team Member",
-                "Alex Johnson has joined the engineering team. Say hello!",
-                NotificationType.INFO, true, now.minusHours(3)));
-        notificationsSignal.insertLast(new Notification(
-                UUID.randomUUID().toString(), "Disk Space Warning",
-                "Server disk usage is at 85%. Consider cleaning up old logs.",
-                NotificationType.WARNING, false, now.minusHours(5)));
-        notificationsSignal.insertLast(new Notification(
-                UUID.randomUUID().toString(), "Build Completed",
-                "CI pipeline build #1234 completed with all tests passing.",
-                NotificationType.SUCCESS, true, now.minusHours(8)));
-        notificationsSignal.insertLast(new Notification(
+        store.add(new Notification(
                 UUID.randomUUID().toString(), "API Rate Limit Exceeded",
                 "External API rate limit reached. Requests are being throttled.",
                 NotificationType.ERROR, false, now.minusDays(1)));
+        store.add(new Notification(
+                UUID.randomUUID().toString(), "Build Completed",
+                "CI pipeline build #1234 completed with all tests passing.",
+                NotificationType.SUCCESS, true, now.minusHours(8)));
+        store.add(new Notification(
+                UUID.randomUUID().toString(), "Disk Space Warning",
+                "Server disk usage is at 85%. Consider cleaning up old logs.",
+                NotificationType.WARNING, false, now.minusHours(5)));
+        store.add(new Notification(
+                UUID.randomUUID().toString(), "New Team Member",
+                "Alex Johnson has joined the engineering team. Say hello!",
+                NotificationType.INFO, true, now.minusHours(3)));
+        store.add(new Notification(
+                UUID.randomUUID().toString(), "Database Connection Error",
+                "Failed to connect to the replica database. Primary is still operational.",
+                NotificationType.ERROR, false, now.minusHours(2)));
+        store.add(new Notification(
+                UUID.randomUUID().toString(), "Deployment Successful",
+                "Version 2.4.1 has been deployed to production successfully.",
+                NotificationType.SUCCESS, true, now.minusHours(1)));
+        store.add(new Notification(
+                UUID.randomUUID().toString(), "System Update Available",
+                "A new system update is available. Please review and apply when convenient.",
+                NotificationType.WARNING, false, now.minusMinutes(15)));
+        store.add(new Notification(
+                UUID.randomUUID().toString(), "Welcome",
+                "Welcome to the notification inbox! This demo shows VirtualList with signals.",
+                NotificationType.INFO, false, now.minusMinutes(5)));
     }
 }
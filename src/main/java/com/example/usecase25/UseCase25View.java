@@ -5,6 +5,7 @@ import jakarta.annotation.security.PermitAll;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import com.example.signals.PushCoalescingService;
 import com.example.usecase23.SchedulerService;
 import com.example.views.MainLayout;
 import org.jspecify.annotations.Nullable;
@@ -31,7 +32,8 @@ public class UseCase25View extends Main {
     final ListSignal<StockQuote> stockSignals = new ListSignal<>();
     private @Nullable String taskId;
 
-    public UseCase25View(SchedulerService schedulerService) {
+    public UseCase25View(SchedulerService schedulerService,
+            PushCoalescingService pushCoalescingService) {
         addClassName("stock-ticker-view");
         getStyle().set("display", "block").set("padding",
                 "var(--lumo-space-l)");
@@ -56,15 +58,19 @@ public class UseCase25View extends Main {
         }
 
         add(title, description, header, stockList);
+        pushCoalescingService.track(stockList, Signal.computed(
+                () -> stockSignals.get().stream().map(Signal::get).toList()));
 
         addAttachListener(event -> {
             taskId = "stock-ticker-" + event.getUI().getUIId();
-            schedulerService.scheduleTask(taskId,
+            pushCoalescingService.enable(event.getUI());
+            schedulerService.scheduleTask(taskId, event.getUI(),
                     () -> StockPriceSimulator.updatePrices(stockSignals), 1500,
                     1500, TimeUnit.MILLISECONDS);
         });
 
         addDetachListener(event -> {
+            pushCoalescingService.disable(event.getUI());
             if (taskId != null) {
                 schedulerService.cancelTask(taskId);
             }
@@ -1,5 +1,7 @@
 package com.example.views;
 
+import com.example.MissingAPI;
+import com.example.signals.UserInfo;
 import com.example.signals.UserSessionRegistry;
 import org.jspecify.annotations.Nullable;
 
@@ -8,6 +10,7 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.shared.SharedValueSignal;
 
 /**
  * Reusable component for displaying active users/sessions. Shows a count and
@@ -88,9 +91,10 @@ public class ActiveUsersDisplay extends Div {
         usersContainer.getStyle().set("display", "flex")
                 .set("flex-wrap", "wrap").set("gap", "0.5em");
 
-        // Determine which signal to use based on viewRoute
+        // Determine which signal to use based on viewRoute. Filtered lists
+        // are shared by all displays of the same view.
         Signal<java.util.List<String>> displayNamesSignal = viewRoute != null
-                ? userSessionRegistry.getActiveUsersOnView(viewRoute)
+                ? userSessionRegistry.getActiveUsersOnView(this, viewRoute)
                 : userSessionRegistry.getDisplayNamesSignal();
 
         // Title with count
@@ -98,27 +102,23 @@ public class ActiveUsersDisplay extends Div {
                 + labelText + ": " + displayNames.size()));
         title.getStyle().set("font-weight", "500");
 
-        // Bind user avatars and names
-        usersContainer.bindChildren(Signal.computed(() -> {
-            var users = userSessionRegistry.getActiveUsersSignal().get();
-            if (viewRoute != null) {
-                return users.stream()
-                        .filter(userSignal -> viewRoute
-                                .equals(userSignal.get().currentView()))
-                        .toList();
-            }
-            return users;
-        }), this::createUserItem);
+        // Bind user avatars and names, keeping each user's item across
+        // recomputations of the filtered list
+        Signal<java.util.List<SharedValueSignal<UserInfo>>> usersSignal = viewRoute != null
+                ? userSessionRegistry.getUserSignalsOnView(this, viewRoute)
+                : userSessionRegistry.getActiveUsersSignal();
+        MissingAPI.bindKeyedChildren(usersContainer, usersSignal,
+                this::createUserItem);
 
         add(title, usersContainer);
     }
 
     private HorizontalLayout createUserItem(
             com.vaadin.flow.signals.Signal<com.example.signals.UserInfo> userSignal) {
-        var user = userSignal.get();
-        String displayName = user.nickname() != null
-                && !user.nickname().isEmpty() ? user.nickname()
-                        : user.username();
+        Signal<String> displayNameSignal = userSignal
+                .map(user -> user.nickname() != null
+                        && !user.nickname().isEmpty() ? user.nickname()
+                                : user.username());
 
         HorizontalLayout userItem = new HorizontalLayout();
         userItem.setSpacing(true);
@@ -128,10 +128,15 @@ public class ActiveUsersDisplay extends Div {
                 .set("background-color", "rgba(255, 255, 255, 0.7)")
                 .set("border-radius", "16px");
 
-        Avatar avatar = new Avatar(displayName);
-        avatar.setImage(MainLayout.getProfilePicturePath(user.username()));
+        // Items are reused while the user stays in the list, so bind to the
+        // user signal instead of copying its current value
+        Avatar avatar = new Avatar();
+        avatar.getElement().bindProperty("name", displayNameSignal, null);
+        avatar.getElement().bindProperty("img", userSignal.map(
+                user -> MainLayout.getProfilePicturePath(user.username())),
+                null);
 
-        Span nameLabel = new Span(displayName);
+        Span nameLabel = new Span(displayNameSignal);
         nameLabel.getStyle().set("font-size", "var(--lumo-font-size-s)");
 
         userItem.add(avatar, nameLabel);
@@ -8,6 +8,7 @@ import java.util.Map;
 import com.example.preferences.UserPreferences;
 import com.example.security.CurrentUserSignal;
 import com.example.signals.SessionIdHelper;
+import com.example.signals.TabDormancy;
 import com.example.signals.UserSessionRegistry;
 import org.jspecify.annotations.Nullable;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
@@ -278,13 +279,16 @@ public class MainLayout extends AppLayout implements BeforeEnterObserver {
     }
 
     /**
-     * Called from JavaScript when the tab visibility changes.
+     * Called from JavaScript when the tab visibility changes. Hidden tabs are
+     * put in dormant mode and resync once when they become visible again.
      *
      * @param isVisible
      *            true if the tab is visible, false if hidden
      */
     @ClientCallable
     public void onVisibilityChange(boolean isVisible) {
+        getUI().ifPresent(
+                ui -> TabDormancy.forUI(ui).setVisible(isVisible));
         if (currentUser != null && sessionId != null) {
             userSessionRegistry.updateTabActivity(currentUser, sessionId,
                     isVisible);
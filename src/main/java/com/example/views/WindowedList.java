@@ -0,0 +1,328 @@
+package com.example.views;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ClientCallable;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+/**
+ * Scrollable container that works like {@code bindChildren} but only
+ * materializes components for the visible window of a list signal plus a
+ * buffer on each side.
+ * <p>
+ * Each materialized child is bound to a <em>slot</em>: a signal holding the
+ * list element at one index of the list. Children are matched to indexes, so
+ * the same element may appear more than once. When the window moves,
+ * children whose index scrolled out of view are detached and kept in a pool;
+ * a newly visible index is assigned to a pooled child by updating its slot
+ * instead of building a new component. Detached children have no active
+ * effects, so per-element signals are only observed while their element is
+ * on screen.
+ * <p>
+ * The items are laid out in a single column with a fixed gap between them,
+ * see {@link #setItemGap(int)}. Spacing around the items is set with
+ * {@link #setContentPadding(int)}, as padding on this scrolling element would
+ * offset the scroll position. The scroll height is kept correct with
+ * padding above and below the materialized items, sized from an estimated
+ * item height. The component factory must build its content from the slot
+ * signal with bindings, and must not read signal values directly while
+ * constructing the component.
+ * <p>
+ * The window is laid out right before the response to the browser is
+ * written, after all signal changes of the request, so that updating the
+ * slots does not write signals from inside an effect.
+ *
+ * @param <E>
+ *            the list element type, typically a per-element value signal
+ */
+public class WindowedList<E> extends Div {
+
+    private static final int DEFAULT_BUFFER = 10;
+    private static final int DEFAULT_VISIBLE_ITEMS = 20;
+    private static final int SCROLL_THROTTLE_MS = 100;
+
+    record Viewport(int firstVisible, int visibleCount) {
+    }
+
+    private static final class Slot<E> {
+        private final ValueSignal<E> element;
+        private final Component component;
+
+        private Slot(ValueSignal<E> element, Component component) {
+            this.element = element;
+            this.component = component;
+        }
+    }
+
+    private final SerializableFunction<Signal<E>, Component> factory;
+    private final int itemHeightPx;
+    private final int buffer;
+
+    private final ValueSignal<Viewport> viewportSignal;
+    private final Div content = new Div();
+    private int gapPx;
+    private int paddingPx;
+    private int activeFirst;
+    private List<Slot<E>> activeSlots = new ArrayList<>();
+    private final Deque<Slot<E>> pool = new ArrayDeque<>();
+    private int createdCount;
+    private List<E> pendingElements = List.of();
+    private Viewport pendingViewport;
+    private boolean layoutScheduled;
+
+    /**
+     * Creates a windowed list with default buffer and initial window size.
+     *
+     * @param listSignal
+     *            the signal providing the list elements
+     * @param itemHeightPx
+     *            the estimated height of one item in pixels, used to map the
+     *            scroll position to list indexes
+     * @param factory
+     *            creates a component for a slot signal
+     */
+    public WindowedList(Signal<? extends List<E>> listSignal, int itemHeightPx,
+            SerializableFunction<Signal<E>, Component> factory) {
+        this(listSignal, itemHeightPx, DEFAULT_VISIBLE_ITEMS, DEFAULT_BUFFER,
+                factory);
+    }
+
+    /**
+     * Creates a windowed list.
+     *
+     * @param listSignal
+     *            the signal providing the list elements
+     * @param itemHeightPx
+     *            the estimated height of one item in pixels, used to map the
+     *            scroll position to list indexes
+     * @param initialVisibleItems
+     *            the number of items rendered before the client reports its
+     *            viewport size
+     * @param buffer
+     *            the number of extra items materialized above and below the
+     *            visible window
+     * @param factory
+     *            creates a component for a slot signal
+     */
+    public WindowedList(Signal<? extends List<E>> listSignal, int itemHeightPx,
+            int initialVisibleItems, int buffer,
+            SerializableFunction<Signal<E>, Component> factory) {
+        if (itemHeightPx <= 0) {
+            throw new IllegalArgumentException(
+                    "Item height must be positive");
+        }
+        this.factory = factory;
+        this.itemHeightPx = itemHeightPx;
+        this.buffer = buffer;
+        this.pendingViewport = new Viewport(0, initialVisibleItems);
+        this.viewportSignal = new ValueSignal<>(pendingViewport);
+
+        getStyle().set("overflow-y", "auto");
+        content.getStyle().set("display", "flex")
+                .set("flex-direction", "column");
+        add(content);
+
+        Signal.effect(this, () -> scheduleLayout(listSignal.get(),
+                viewportSignal.get()));
+    }
+
+    /**
+     * Sets the gap between items. Item margins are not taken into account
+     * when mapping the scroll position to list indexes, so items should be
+     * spaced with this gap instead.
+     *
+     * @param gapPx
+     *            the gap in pixels
+     */
+    public void setItemGap(int gapPx) {
+        if (gapPx < 0) {
+            throw new IllegalArgumentException("Gap must not be negative");
+        }
+        this.gapPx = gapPx;
+        content.getStyle().set("gap", gapPx + "px");
+        scheduleLayout(pendingElements, pendingViewport);
+    }
+
+    /**
+     * Sets the padding around the items, inside the scrolling area. The
+     * padding is taken into account when mapping the scroll position to list
+     * indexes, so it should be used instead of padding on this component.
+     *
+     * @param paddingPx
+     *            the padding in pixels
+     */
+    public void setContentPadding(int paddingPx) {
+        if (paddingPx < 0) {
+            throw new IllegalArgumentException(
+                    "Padding must not be negative");
+        }
+        this.paddingPx = paddingPx;
+        content.getStyle().set("padding-left", paddingPx + "px")
+                .set("padding-right", paddingPx + "px");
+        scheduleLayout(pendingElements, pendingViewport);
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+
+        // Report the viewport on scroll, throttled to limit round trips
+        getElement().executeJs("""
+            if (!this.__windowedListListener) {
+              let pending = false;
+              this.__windowedListListener = () => {
+                if (!pending) {
+                  pending = true;
+                  setTimeout(() => {
+                    pending = false;
+                    this.$server.onViewportChange(this.scrollTop,
+                        this.clientHeight);
+                  }, $0);
+                }
+              };
+              this.addEventListener('scroll', this.__windowedListListener);
+            }
+            this.$server.onViewportChange(this.scrollTop, this.clientHeight);
+        """, SCROLL_THROTTLE_MS);
+    }
+
+    /**
+     * Called from JavaScript when the scroll position or size changes.
+     *
+     * @param scrollTop
+     *            the scroll offset in pixels
+     * @param clientHeight
+     *            the visible height in pixels
+     */
+    @ClientCallable
+    public void onViewportChange(double scrollTop, double clientHeight) {
+        int pitch = itemHeightPx + gapPx;
+        int firstVisible = (int) (Math.max(0, scrollTop - paddingPx)
+                / pitch);
+        int visibleCount = (int) Math.ceil(clientHeight / pitch) + 1;
+        Viewport viewport = new Viewport(firstVisible, visibleCount);
+        if (!viewport.equals(viewportSignal.peek())) {
+            viewportSignal.set(viewport);
+        }
+    }
+
+    /**
+     * Gets the number of child components currently in the DOM.
+     */
+    public int getMaterializedCount() {
+        return activeSlots.size();
+    }
+
+    /**
+     * Gets the number of detached child components kept for reuse.
+     */
+    public int getPooledCount() {
+        return pool.size();
+    }
+
+    /**
+     * Gets the total number of child components created by the factory.
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Gets the element holding the materialized items.
+     */
+    Div getItemContainer() {
+        return content;
+    }
+
+    private void scheduleLayout(List<E> elements, Viewport viewport) {
+        pendingElements = elements;
+        pendingViewport = viewport;
+        if (layoutScheduled) {
+            return;
+        }
+        getUI().ifPresent(ui -> {
+            layoutScheduled = true;
+            ui.beforeClientResponse(this, context -> {
+                layoutScheduled = false;
+                layout(pendingElements, pendingViewport);
+            });
+        });
+    }
+
+    /**
+     * Materializes the window of the list around a viewport, reusing the
+     * children of indexes that stay in the window.
+     */
+    void layout(List<E> elements, Viewport viewport) {
+        int size = elements.size();
+        int first = Math.clamp((long) viewport.firstVisible() - buffer, 0,
+                size);
+        int last = Math.clamp(
+                (long) viewport.firstVisible() + viewport.visibleCount()
+                        + buffer,
+                first, size);
+
+        // Children whose index left the window are detached and become
+        // reusable
+        for (int i = 0; i < activeSlots.size(); i++) {
+            int index = activeFirst + i;
+            if (index < first || index >= last) {
+                Slot<E> slot = activeSlots.get(i);
+                content.remove(slot.component);
+                pool.push(slot);
+            }
+        }
+
+        // Keep the children of indexes still in the window, fill the gaps by
+        // recycling pooled children before creating any
+        List<Slot<E>> nextSlots = new ArrayList<>(last - first);
+        for (int index = first; index < last; index++) {
+            E element = elements.get(index);
+            int active = index - activeFirst;
+            Slot<E> slot = active >= 0 && active < activeSlots.size()
+                    ? activeSlots.get(active)
+                    : pool.poll();
+            if (slot == null) {
+                ValueSignal<E> elementSignal = new ValueSignal<>(element);
+                slot = new Slot<>(elementSignal, factory.apply(elementSignal));
+                createdCount++;
+            } else if (slot.element.peek() != element) {
+                slot.element.set(element);
+            }
+            nextSlots.add(slot);
+        }
+
+        // Place children in index order, moving only misplaced ones
+        for (int i = 0; i < nextSlots.size(); i++) {
+            Component component = nextSlots.get(i).component;
+            if (i >= content.getComponentCount()
+                    || content.getComponentAt(i) != component) {
+                content.addComponentAtIndex(i, component);
+            }
+        }
+        activeFirst = first;
+        activeSlots = nextSlots;
+
+        // Bound the pool to one window worth of children
+        int maxPooled = viewport.visibleCount() + 2 * buffer;
+        while (pool.size() > maxPooled) {
+            pool.removeLast();
+        }
+
+        // The padding stands in for the items outside the window, each of
+        // which takes its height and one gap
+        int pitch = itemHeightPx + gapPx;
+        content.getStyle()
+                .set("padding-top", (long) first * pitch + paddingPx + "px")
+                .set("padding-bottom",
+                        (long) (size - last) * pitch + paddingPx + "px");
+    }
+}
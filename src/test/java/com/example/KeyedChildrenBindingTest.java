@@ -0,0 +1,122 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeyedChildrenBindingTest {
+
+    private record Entry(String key, int score) {
+    }
+
+    private Div container;
+    private KeyedChildrenBinding<Entry, String> binding;
+
+    @BeforeEach
+    void setUp() {
+        container = new Div();
+        binding = new KeyedChildrenBinding<>(container, Entry::key,
+                entry -> new Span(entry.key()), false);
+        binding.update(entries("a", "b", "c", "d", "e"));
+    }
+
+    private static List<Entry> entries(String... keys) {
+        List<Entry> entries = new ArrayList<>();
+        for (String key : keys) {
+            entries.add(new Entry(key, 0));
+        }
+        return entries;
+    }
+
+    private String[] childTexts() {
+        return container.getChildren().map(child -> ((Span) child).getText())
+                .toArray(String[]::new);
+    }
+
+    @Test
+    void initialListCreatesEveryComponent() {
+        assertEquals(new KeyedChildrenBinding.Reconciliation(5, 0, 0),
+                binding.getLastReconciliation());
+        assertArrayEquals(new String[] { "a", "b", "c", "d", "e" },
+                childTexts());
+    }
+
+    @Test
+    void sameKeysWithNewValuesReuseComponents() {
+        Component first = container.getChildren().findFirst().orElseThrow();
+        List<Entry> updated = entries("a", "b", "c", "d", "e").stream()
+                .map(entry -> new Entry(entry.key(), 10)).toList();
+
+        binding.update(updated);
+
+        assertEquals(new KeyedChildrenBinding.Reconciliation(0, 0, 0),
+                binding.getLastReconciliation());
+        assertSame(first, container.getChildren().findFirst().orElseThrow());
+    }
+
+    @Test
+    void movingFirstToLastMovesOneComponent() {
+        binding.update(entries("b", "c", "d", "e", "a"));
+
+        assertEquals(new KeyedChildrenBinding.Reconciliation(0, 1, 0),
+                binding.getLastReconciliation());
+        assertArrayEquals(new String[] { "b", "c", "d", "e", "a" },
+                childTexts());
+    }
+
+    @Test
+    void reversingMovesAllButOneComponent() {
+        binding.update(entries("e", "d", "c", "b", "a"));
+
+        assertEquals(4, binding.getLastReconciliation().moved());
+        assertArrayEquals(new String[] { "e", "d", "c", "b", "a" },
+                childTexts());
+    }
+
+    @Test
+    void insertAndRemoveOnlyTouchChangedKeys() {
+        binding.update(entries("a", "x", "c", "e", "y"));
+
+        assertEquals(new KeyedChildrenBinding.Reconciliation(2, 0, 2),
+                binding.getLastReconciliation());
+        assertArrayEquals(new String[] { "a", "x", "c", "e", "y" },
+                childTexts());
+        assertEquals(7, binding.getTotalCreated());
+        assertEquals(2, binding.getTotalRemoved());
+    }
+
+    @Test
+    void identityKeysRecreateComponentsForNewInstances() {
+        Div identityContainer = new Div();
+        KeyedChildrenBinding<Entry, Entry> identityBinding = new KeyedChildrenBinding<>(
+                identityContainer, entry -> entry,
+                entry -> new Span(entry.key()), true);
+        List<Entry> initial = entries("a", "b");
+        identityBinding.update(initial);
+
+        identityBinding.update(List.of(initial.get(1), initial.get(0)));
+        assertEquals(new KeyedChildrenBinding.Reconciliation(0, 1, 0),
+                identityBinding.getLastReconciliation());
+
+        identityBinding.update(entries("a", "b"));
+        assertEquals(new KeyedChildrenBinding.Reconciliation(2, 0, 2),
+                identityBinding.getLastReconciliation());
+    }
+
+    @Test
+    void duplicateKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> binding.update(entries("a", "a")));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.data.provider.IdentifierProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyItemsBindingTest {
+
+    private record Item(int id, String label) {
+
+        Item withLabel(String label) {
+            return new Item(id, label);
+        }
+    }
+
+    private List<Item> items;
+    private LazyItemsBinding<Item> binding;
+
+    @BeforeEach
+    void setUp() {
+        items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(new Item(i, "Item " + i));
+        }
+        binding = bind(Item::id);
+    }
+
+    private LazyItemsBinding<Item> bind(
+            IdentifierProvider<Item> identifierProvider) {
+        LazyItemsBinding<Item> bound = new LazyItemsBinding<>(
+                List.copyOf(items), identifierProvider);
+        Grid<Item> grid = new Grid<>();
+        bound.attach(grid.setItems(
+                query -> bound.fetch(query.getOffset(), query.getLimit()),
+                query -> bound.size()));
+        return bound;
+    }
+
+    private void apply() {
+        binding.update(List.copyOf(items));
+    }
+
+    @Test
+    void elementChangeRefreshesSingleRow() {
+        items.set(42, items.get(42).withLabel("Changed"));
+        apply();
+
+        assertFalse(binding.isLastChangeStructural());
+        assertEquals(1, binding.getLastRefreshedItems());
+        assertEquals(0, binding.getFullRefreshCount());
+    }
+
+    @Test
+    void severalChangesRefreshOnlyChangedRows() {
+        items.set(3, items.get(3).withLabel("Renamed"));
+        items.set(77, items.get(77).withLabel("Renamed"));
+        apply();
+
+        assertEquals(2, binding.getLastRefreshedItems());
+        assertEquals(2, binding.getRefreshedItemCount());
+    }
+
+    @Test
+    void unchangedListRefreshesNothing() {
+        apply();
+
+        assertFalse(binding.isLastChangeStructural());
+        assertEquals(0, binding.getLastRefreshedItems());
+        assertEquals(0, binding.getFullRefreshCount());
+    }
+
+    @Test
+    void manyChangesFallBackToFullRefresh() {
+        for (int i = 0; i <= LazyItemsBinding.MAX_ITEM_REFRESHES; i++) {
+            items.set(i, items.get(i).withLabel("Changed"));
+        }
+        apply();
+
+        assertTrue(binding.isLastChangeStructural());
+        assertEquals(0, binding.getRefreshedItemCount());
+        assertEquals(1, binding.getFullRefreshCount());
+    }
+
+    @Test
+    void insertIsStructural() {
+        items.add(10, new Item(1000, "Inserted"));
+        apply();
+
+        assertTrue(binding.isLastChangeStructural());
+        assertEquals(0, binding.getLastRefreshedItems());
+        assertEquals(1, binding.getFullRefreshCount());
+    }
+
+    @Test
+    void removeIsStructural() {
+        items.remove(50);
+        apply();
+
+        assertTrue(binding.isLastChangeStructural());
+        assertEquals(1, binding.getFullRefreshCount());
+    }
+
+    @Test
+    void moveIsStructural() {
+        Item moved = items.remove(0);
+        items.add(moved);
+        apply();
+
+        assertTrue(binding.isLastChangeStructural());
+        assertEquals(1, binding.getFullRefreshCount());
+    }
+
+    @Test
+    void changedElementIsStructuralWhenIdentifiedByEquals() {
+        binding = bind(item -> item);
+        items.set(42, items.get(42).withLabel("Changed"));
+        apply();
+
+        assertTrue(binding.isLastChangeStructural());
+        assertEquals(1, binding.getFullRefreshCount());
+    }
+
+    @Test
+    void fetchReturnsRequestedWindowOnly() {
+        assertEquals(100, binding.size());
+        assertEquals(List.of(items.get(20), items.get(21)),
+                binding.fetch(20, 2).toList());
+        assertEquals(0, binding.fetch(150, 50).count());
+        assertEquals(5, binding.fetch(95, 50).count());
+    }
+}
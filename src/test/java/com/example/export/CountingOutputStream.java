@@ -0,0 +1,25 @@
+package com.example.export;
+
+import java.io.OutputStream;
+
+/**
+ * Discards what is written to it, only counting the bytes.
+ */
+class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
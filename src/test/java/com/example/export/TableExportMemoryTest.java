@@ -0,0 +1,94 @@
+package com.example.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.export.TableExport.Column;
+import com.example.export.TableExport.Format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports five million generated rows in a separate JVM with a heap far too
+ * small to hold them, which only succeeds if rows are streamed rather than
+ * collected.
+ * <p>
+ * Set the system property {@code export.benchmark.rows} to export another
+ * number of rows.
+ */
+class TableExportMemoryTest {
+
+    private static final int ROWS = Integer.getInteger("export.benchmark.rows",
+            5_000_000);
+    private static final String MAX_HEAP = "-Xmx32m";
+    private static final long TIMEOUT_MINUTES = 5;
+
+    private record Row(String id, String name, String category, double price,
+            int stock) {
+    }
+
+    @Test
+    void exportsMillionsOfRowsInSmallHeap(@TempDir Path dir)
+            throws Exception {
+        String classPath = System.getProperty("surefire.test.class.path",
+                System.getProperty("java.class.path"));
+        String java = System.getProperty("java.home") + File.separator + "bin"
+                + File.separator + "java";
+        Path log = dir.resolve("export.log");
+        Path results = dir.resolve("results.txt");
+        Process process = new ProcessBuilder(java, MAX_HEAP, "-cp", classPath,
+                TableExportMemoryTest.class.getName(), String.valueOf(ROWS),
+                results.toString()).redirectErrorStream(true)
+                .redirectOutput(log.toFile()).start();
+        boolean exited = process.waitFor(TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        if (!exited) {
+            process.destroyForcibly().waitFor();
+        }
+        String output = Files.readString(log);
+
+        assertTrue(exited, "Export did not finish in " + TIMEOUT_MINUTES
+                + " minutes: " + output);
+        assertEquals(0, process.exitValue(), output);
+        assertEquals(Arrays.stream(Format.values())
+                .map(format -> format + ": " + ROWS + " rows").toList(),
+                Files.readAllLines(results));
+    }
+
+    /**
+     * Runs the export in the child JVM and writes the number of rows
+     * exported in each format to the given file.
+     */
+    public static void main(String[] args) throws IOException {
+        int rows = Integer.parseInt(args[0]);
+        List<String> results = new ArrayList<>();
+        String[] categories = { "Electronics", "Clothing", "Books",
+                "Home & Garden" };
+        TableExport<Row> export = new TableExport<>(
+                List.of(new Column<>("ID", Row::id),
+                        new Column<>("Name", Row::name),
+                        new Column<>("Category", Row::category),
+                        new Column<>("Price", Row::price),
+                        new Column<>("Stock", Row::stock)));
+        for (Format format : Format.values()) {
+            CountingOutputStream out = new CountingOutputStream();
+            long count = export.write(format, IntStream.range(0, rows)
+                    .mapToObj(i -> new Row("P" + i, "Product " + i,
+                            categories[i % categories.length], i % 1000 + 0.99,
+                            i % 50)),
+                    out);
+            results.add(format + ": " + count + " rows");
+        }
+        Files.write(Path.of(args[1]), results);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.export.TableExport.Column;
+import com.example.export.TableExport.Format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TableExportTest {
+
+    private record Row(String name, double price, int stock) {
+    }
+
+    private static final TableExport<Row> EXPORT = new TableExport<>(
+            List.of(new Column<>("Name", Row::name),
+                    new Column<>("Price", Row::price),
+                    new Column<>("Stock", Row::stock)));
+
+    @Test
+    void csvQuotesFieldsThatNeedIt() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = EXPORT.write(Format.CSV,
+                Stream.of(new Row("Laptop", 999.99, 15),
+                        new Row("Pot, \"large\"", 12.5, 0),
+                        new Row("Two\nlines", 1, 2)),
+                out);
+
+        assertEquals(3, count);
+        assertEquals("\uFEFFName,Price,Stock\r\n" + "Laptop,999.99,15\r\n"
+                + "\"Pot, \"\"large\"\"\",12.5,0\r\n"
+                + "\"Two\nlines\",1.0,2\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void xlsxHasWorkbookPartsAndTypedCells() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EXPORT.write(Format.XLSX, Stream.of(new Row("Garden <Hose> & Co", 29.99,
+                30)), out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(List.of("xl/worksheets/sheet1.xml", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "_rels/.rels",
+                "[Content_Types].xml"), List.copyOf(entries.keySet()));
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("<row r=\"1\"><c t=\"inlineStr\"><is>"
+                + "<t xml:space=\"preserve\">Name</t>"), sheet);
+        assertTrue(sheet.contains("Garden &lt;Hose&gt; &amp; Co"), sheet);
+        assertTrue(sheet.contains("<c><v>29.99</v></c><c><v>30</v></c>"),
+                sheet);
+    }
+
+    @Test
+    void xlsxContinuesOnNewSheetsWithHeaders() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxTableWriter writer = new XlsxTableWriter(out, 4);
+        writer.header(List.of("N"));
+        for (int i = 0; i < 7; i++) {
+            writer.row(new Object[] { i });
+        }
+        writer.finish();
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        String first = entries.get("xl/worksheets/sheet1.xml");
+        String second = entries.get("xl/worksheets/sheet2.xml");
+        String third = entries.get("xl/worksheets/sheet3.xml");
+        assertTrue(first.contains("<row r=\"4\"><c><v>2</v>"), first);
+        assertTrue(second.contains("<row r=\"1\"><c t=\"inlineStr\">"),
+                second);
+        assertTrue(second.contains("<row r=\"2\"><c><v>3</v>"), second);
+        assertTrue(third.contains("<row r=\"2\"><c><v>6</v>"), third);
+        assertTrue(entries.get("xl/workbook.xml").contains("name=\"Sheet3\""));
+    }
+
+    @Test
+    void exportsLazilyGeneratedRows() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        long count = EXPORT.write(Format.CSV, IntStream.range(0, 100_000)
+                .mapToObj(i -> new Row("Product " + i, i, i % 50)), out);
+
+        assertEquals(100_000, count);
+        assertTrue(out.getCount() > 100_000 * 10);
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(
+                new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(),
+                        StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
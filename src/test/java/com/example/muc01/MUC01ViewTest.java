@@ -1,5 +1,6 @@
 package com.example.muc01;
 
+import com.example.views.WindowedList;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,6 +14,7 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.textfield.TextField;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
@@ -129,4 +131,31 @@ class MUC01ViewTest extends SpringBrowserlessTest {
                 .anyMatch(d -> d.getText() != null
                         && d.getText().contains("Total messages: 0")));
     }
+
+    @Test
+    void scrollingPastFirstWindowShowsLaterMessages() {
+        for (int i = 0; i < 100; i++) {
+            muc01Signals.appendMessage(
+                    new MUC01Signals.Message("userB", "User B", "Message " + i));
+        }
+        navigate(MUC01View.class);
+        runPendingSignalsTasks();
+
+        assertTrue(hasMessage("Message 0"));
+        assertFalse(hasMessage("Message 60"));
+
+        // Messages are 80px high with an 8px gap, below 16px of padding
+        WindowedList<?> messages = $view(WindowedList.class).single();
+        messages.onViewportChange(16 + 60 * 88, 400);
+        runPendingSignalsTasks();
+
+        assertTrue(hasMessage("Message 60"));
+        assertTrue(hasMessage("Message 65"));
+        assertFalse(hasMessage("Message 0"));
+    }
+
+    private boolean hasMessage(String text) {
+        return $view(Div.class).all().stream()
+                .anyMatch(d -> text.equals(d.getText()));
+    }
 }
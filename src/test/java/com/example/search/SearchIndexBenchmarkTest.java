@@ -0,0 +1,113 @@
+package com.example.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the search index with a linear scan over a generated product
+ * catalog.
+ * <p>
+ * The catalog has 200 000 products by default, set the system property
+ * {@code search.benchmark.documents} to use another size, for example one
+ * million. Both approaches must find the same number of matches, and the
+ * times of both are published as test report entries. Run it with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SearchIndexBenchmarkTest {
+
+    private static final int DOCUMENTS = Integer
+            .getInteger("search.benchmark.documents", 200_000);
+    private static final int ROUNDS = 20;
+    private static final int LIMIT = 20;
+
+    private static final String[] BRANDS = { "Acme", "Globex", "Initech",
+            "Umbrella", "Hooli", "Stark", "Wayne", "Tyrell", "Cyberdyne",
+            "Soylent" };
+    private static final String[] ADJECTIVES = { "Wireless", "Compact",
+            "Ergonomic", "Portable", "Smart", "Classic", "Premium", "Mini",
+            "Ultra", "Silent", "Rugged", "Slim" };
+    private static final String[] NOUNS = { "Laptop", "Mouse", "Keyboard",
+            "Chair", "Desk", "Lamp", "Monitor", "Headphones", "Webcam", "Hub",
+            "Bottle", "Notebook", "Speaker", "Router", "Charger" };
+    private static final String[] CATEGORIES = { "Electronics", "Furniture",
+            "Kitchen", "Stationery", "Audio", "Networking", "Lighting",
+            "Outdoor" };
+    private static final List<String> QUERIES = List.of("lap", "laptop",
+            "ergonomic chair", "stark", "cyberdyne router", "model 4711",
+            "sil", "no such product");
+
+    private record Product(String name, String category) {
+    }
+
+    @Test
+    void compareIndexWithLinearScan(TestReporter reporter) {
+        List<Product> products = generate();
+
+        long buildStart = System.nanoTime();
+        SearchIndex<Product> index = new SearchIndex<>(products,
+                Product::category,
+                List.of(new SearchIndex.Field<>(Product::name, 2),
+                        new SearchIndex.Field<>(Product::category, 1)));
+        reporter.publishEntry("build", DOCUMENTS + " products in "
+                + (System.nanoTime() - buildStart) / 1_000_000 + " ms");
+
+        for (String query : QUERIES) {
+            assertEquals(scan(products, query),
+                    index.search(query, null, LIMIT).total(),
+                    "Matches for '" + query + "'");
+        }
+
+        for (String query : QUERIES) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                index.search(query, null, LIMIT);
+            }
+            long indexed = (System.nanoTime() - start) / ROUNDS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                scan(products, query);
+            }
+            long scanned = (System.nanoTime() - start) / ROUNDS;
+
+            reporter.publishEntry("'" + query + "'", String.format(
+                    "index %.3f ms, scan %.3f ms", indexed / 1e6,
+                    scanned / 1e6));
+        }
+    }
+
+    private static int scan(List<Product> products, String query) {
+        String lowerQuery = query.toLowerCase();
+        int matches = 0;
+        for (Product product : products) {
+            if (product.name().toLowerCase().contains(lowerQuery)
+                    || product.category().toLowerCase()
+                            .contains(lowerQuery)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static List<Product> generate() {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " "
+                    + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " Model "
+                    + random.nextInt(10_000);
+            products.add(new Product(name,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        }
+        return products;
+    }
+}
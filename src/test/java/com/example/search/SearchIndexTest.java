@@ -0,0 +1,121 @@
+package com.example.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+
+    private record Item(String name, String category) {
+    }
+
+    private final SearchIndex<Item> index = new SearchIndex<>(
+            List.of(new Item("Laptop Pro 15", "Electronics"),
+                    new Item("Laptop Stand", "Furniture"),
+                    new Item("Wireless Mouse", "Electronics"),
+                    new Item("Desk Lamp", "Furniture"),
+                    new Item("Lamp Shade", "Furniture")),
+            Item::category, List.of(new SearchIndex.Field<>(Item::name, 2),
+                    new SearchIndex.Field<>(Item::category, 1)));
+
+    private List<String> names(SearchIndex.Result<Item> result) {
+        return result.hits().stream().map(hit -> hit.document().name())
+                .toList();
+    }
+
+    @Test
+    void findsSubstringsIgnoringCase() {
+        var result = index.search("APTO", null, 10);
+
+        assertEquals(List.of("Laptop Pro 15", "Laptop Stand"), names(result));
+        assertEquals(2, result.total());
+    }
+
+    @Test
+    void shortQueriesMatchSubstrings() {
+        assertEquals(List.of("Laptop Pro 15", "Laptop Stand", "Lamp Shade",
+                "Desk Lamp"), names(index.search("la", null, 10)));
+        assertEquals(List.of("Laptop Pro 15", "Laptop Stand"),
+                names(index.search("ap", null, 10)));
+        assertEquals(List.of("Laptop Pro 15"),
+                names(index.search("o 1", null, 10)));
+    }
+
+    @Test
+    void generatedCatalogMatchesLinearScan() {
+        String[] words = { "Acme", "Globex", "Wireless", "Compact", "Laptop",
+                "Mouse", "Lamp", "Desk", "Model", "Wi-Fi" };
+        String[] categories = { "Electronics", "Furniture", "Audio" };
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            items.add(new Item(words[random.nextInt(words.length)] + " "
+                    + words[random.nextInt(words.length)] + " "
+                    + random.nextInt(1000),
+                    categories[random.nextInt(categories.length)]));
+        }
+        SearchIndex<Item> catalog = new SearchIndex<>(items,
+                Item::category, List.of(new SearchIndex.Field<>(Item::name, 2),
+                        new SearchIndex.Field<>(Item::category, 1)));
+
+        for (String query : List.of("a", "1", "ap", "i-", "ss m", "lap",
+                "laptop", "model 4", "comp", "audio", "no such item")) {
+            long expected = items.stream()
+                    .filter(item -> item.name().toLowerCase().contains(query)
+                            || item.category().toLowerCase().contains(query))
+                    .count();
+            assertEquals(expected, catalog.search(query, null, 5).total(),
+                    "Matches for '" + query + "'");
+        }
+    }
+
+    @Test
+    void matchesAtStartOfFieldRankFirst() {
+        assertEquals(List.of("Lamp Shade", "Desk Lamp"),
+                names(index.search("lamp", null, 10)));
+    }
+
+    @Test
+    void categoryFiltersHitsButNotFacets() {
+        var result = index.search("lap", "Furniture", 10);
+
+        assertEquals(List.of("Laptop Stand"), names(result));
+        assertEquals(1, result.total());
+        assertEquals(Map.of("Electronics", 1, "Furniture", 1),
+                result.facets());
+    }
+
+    @Test
+    void emptyQueryMatchesWholeCategoryInOrder() {
+        var result = index.search(" ", "Furniture", 2);
+
+        assertEquals(List.of("Laptop Stand", "Desk Lamp"), names(result));
+        assertEquals(3, result.total());
+        assertEquals(List.of("Electronics", "Furniture"),
+                index.getCategories());
+    }
+
+    @Test
+    void limitKeepsBestHits() {
+        var result = index.search("l", null, 2);
+
+        assertEquals(2, result.hits().size());
+        assertEquals(5, result.total());
+    }
+
+    @Test
+    void hitsCarryHighlightOffsets() {
+        var hit = index.search("mouse", null, 10).hits().getFirst();
+
+        assertEquals(new SearchIndex.Highlight(0, 9, 14), hit.highlight(0));
+        assertNull(hit.highlight(1));
+        assertTrue(index.search("missing", null, 10).hits().isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.search;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchServiceTest {
+
+    private record Item(String name, String category) {
+    }
+
+    private final SearchIndex<Item> index = new SearchIndex<>(
+            List.of(new Item("Laptop Pro 15", "Electronics"),
+                    new Item("Laptop Stand", "Furniture"),
+                    new Item("Laptop Sleeve", "Accessories"),
+                    new Item("Lapel Pin", "Accessories"),
+                    new Item("Desk Lamp", "Furniture")),
+            Item::category, List.of(new SearchIndex.Field<>(Item::name, 2),
+                    new SearchIndex.Field<>(Item::category, 1)));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SearchService service = new SearchService(registry, 1000,
+            100);
+
+    private double requests(String result) {
+        return registry.get(SearchService.REQUESTS).tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    void typingRefinesPreviousMatches() {
+        var search = service.forSession("items", index);
+
+        search.search("lap", null, 10);
+        var refined = search.search("lapto", null, 10);
+        var again = search.search("laptop", null, 10);
+
+        assertEquals(index.search("laptop", null, 10), again);
+        assertEquals(index.search("lapto", null, 10), refined);
+        assertEquals(1, requests("miss"));
+        assertEquals(2, requests("refined"));
+        assertEquals(0, requests("hit"));
+    }
+
+    @Test
+    void repeatedQueriesAreHitsAcrossSessions() {
+        service.forSession("items", index).search("Stand", null, 10);
+
+        var result = service.forSession("items", index).search("stand ",
+                "Furniture", 10);
+
+        assertEquals(index.search("stand", "Furniture", 10), result);
+        assertEquals(1, requests("hit"));
+        assertEquals(0.5, registry.get(SearchService.HIT_RATIO).gauge()
+                .value());
+        assertEquals(2, registry.get(SearchService.LATENCY).timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void shortQueriesAreRefined() {
+        var search = service.forSession("items", index);
+
+        search.search("la", null, 10);
+        var refined = search.search("lam", null, 10);
+
+        assertEquals(index.search("lam", null, 10), refined);
+        assertEquals(1, requests("miss"));
+        assertEquals(1, requests("refined"));
+    }
+
+    @Test
+    void leastRecentlyUsedQueriesAreEvicted() {
+        QueryCache cache = new QueryCache(4);
+        cache.put(index.match("laptop"));
+        cache.put(index.match("lapel"));
+        cache.get("laptop");
+        cache.put(index.match("desk"));
+
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.getDocumentCount());
+        assertNull(cache.get("lapel"));
+        assertEquals("laptop", cache.getLongestPrefix("laptops").query());
+    }
+
+    @Test
+    void nameIsBoundToOneIndex() {
+        service.forSession("items", index);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.forSession("items", new SearchIndex<>(
+                        List.<Item> of(), Item::category,
+                        List.of(new SearchIndex.Field<>(Item::name, 1)))));
+    }
+}
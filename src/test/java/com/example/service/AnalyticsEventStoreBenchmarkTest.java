@@ -0,0 +1,75 @@
+package com.example.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.service.AnalyticsEventStore.Totals;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how fast a memory-mapped event store is scanned with one, two,
+ * four and so on up to all available cores, reporting the throughput per
+ * core.
+ * <p>
+ * The store has about ten million events by default, set the system
+ * property {@code analytics.benchmark.visits} to use another size, for
+ * example 97 million visits for 100 million events. Run it with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class AnalyticsEventStoreBenchmarkTest {
+
+    private static final long VISITS = Long
+            .getLong("analytics.benchmark.visits", 9_700_000);
+    private static final int ROUNDS = 5;
+
+    @Test
+    void scanThroughputPerCore(@TempDir Path directory,
+            TestReporter reporter) {
+        AnalyticsEventStore store = new AnalyticsEventStore(directory,
+                AnalyticsEventStore.DEFAULT_SEGMENT_EVENTS);
+        Instant to = Instant.parse("2026-01-01T00:00:00Z");
+        Instant from = to.minus(Duration.ofDays(365));
+        store.appendSynthetic(VISITS, from, to, 42);
+        long events = store.size();
+        Totals expected = store.aggregate(from, to, new ForkJoinPool(1));
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        double singleCore = 0;
+        int parallelism = 0;
+        while (parallelism < cores) {
+            parallelism = Math.min(Math.max(1, parallelism * 2), cores);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                // Warm up, also pages the segments in
+                assertEquals(expected, store.aggregate(from, to, pool));
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    store.aggregate(from, to, pool);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                double perSecond = events * 1e9 / best;
+                if (parallelism == 1) {
+                    singleCore = perSecond;
+                }
+                reporter.publishEntry(parallelism + " cores", String.format(
+                        "%,d events in %d ms, %,.0f events/s,"
+                                + " %,.0f events/s per core, %.1fx",
+                        events, best / 1_000_000, perSecond,
+                        perSecond / parallelism, perSecond / singleCore));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        assertTrue(singleCore > 0);
+    }
+}
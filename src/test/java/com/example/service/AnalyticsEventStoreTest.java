@@ -0,0 +1,100 @@
+package com.example.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.service.AnalyticsEventStore.EventType;
+import com.example.service.AnalyticsEventStore.Totals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalyticsEventStoreTest {
+
+    private static final Instant START = Instant.parse("2025-10-01T00:00:00Z");
+
+    private final AnalyticsEventStore store = new AnalyticsEventStore(null,
+            1_000);
+
+    @Test
+    void eventsOfPeriodAreAggregated() {
+        store.append(START, EventType.VISIT, 0);
+        store.append(START.plusSeconds(1), EventType.VISIT, 0);
+        store.append(START.plusSeconds(1), EventType.FIRST_ORDER, 30);
+        store.append(START.plusSeconds(2), EventType.ORDER, 20);
+        store.append(START.plusSeconds(3), EventType.VISIT, 0);
+        store.append(START.plusSeconds(3), EventType.FIRST_ORDER, 50);
+
+        assertEquals(new Totals(3, 3, 2, 100),
+                store.aggregate(START, START.plusSeconds(4)));
+        assertEquals(new Totals(1, 2, 1, 50), store
+                .aggregate(START.plusSeconds(1), START.plusSeconds(3)));
+        assertEquals(Totals.EMPTY, store.aggregate(START.plusSeconds(4),
+                START.plusSeconds(10)));
+        assertEquals(2 * 100.0 / 3, store.aggregate(START,
+                START.plusSeconds(4)).getConversionRate());
+    }
+
+    @Test
+    void parallelScanMatchesSequentialSums() {
+        Instant end = START.plus(Duration.ofDays(30));
+        store.appendSynthetic(300_000, START, end, 7);
+        assertTrue(store.size() > 300_000);
+
+        // The whole period spans hundreds of segments and is split into
+        // many fork-join tasks
+        Totals all = store.aggregate(START, end);
+        Totals days = Totals.EMPTY;
+        ForkJoinPool sequential = new ForkJoinPool(1);
+        try {
+            assertEquals(all, store.aggregate(START, end, sequential));
+            for (int day = 0; day < 30; day++) {
+                Instant from = START.plus(Duration.ofDays(day));
+                days = days.plus(store.aggregate(from,
+                        from.plus(Duration.ofDays(1)), sequential));
+            }
+        } finally {
+            sequential.shutdown();
+        }
+
+        assertEquals(all, days);
+        assertEquals(300_000, all.visits());
+        assertEquals(store.size(), all.visits() + all.orders());
+        assertTrue(all.conversions() < all.orders());
+        assertEquals(3.4, all.getConversionRate(), 0.2);
+    }
+
+    @Test
+    void mappedStoreSurvivesReopening(@TempDir Path directory) {
+        AnalyticsEventStore mapped = new AnalyticsEventStore(directory, 100);
+        mapped.appendSynthetic(1_000, START, START.plusSeconds(1_000), 1);
+        mapped.flush();
+        Totals totals = mapped.aggregate(START, START.plusSeconds(1_000));
+
+        AnalyticsEventStore reopened = new AnalyticsEventStore(directory,
+                100);
+        assertEquals(mapped.size(), reopened.size());
+        assertEquals(totals,
+                reopened.aggregate(START, START.plusSeconds(1_000)));
+
+        reopened.append(START.plusSeconds(1_000), EventType.VISIT, 0);
+        assertEquals(totals.visits() + 1, reopened
+                .aggregate(START, START.plusSeconds(1_001)).visits());
+
+        assertThrows(IllegalStateException.class,
+                () -> new AnalyticsEventStore(directory, 200));
+    }
+
+    @Test
+    void rejectsEventBeforePreviousOne() {
+        store.append(START, EventType.VISIT, 0);
+        assertThrows(IllegalArgumentException.class,
+                () -> store.append(START.minusSeconds(1), EventType.VISIT,
+                        0));
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.service.AnalyticsReportCache.Outcome;
+import com.example.service.AnalyticsReportCache.ReportJob;
+import com.example.service.AnalyticsReportCache.ReportKey;
+import com.example.service.AnalyticsService.AnalyticsReport;
+import com.example.service.AnalyticsService.RawAnalyticsData;
+import com.example.service.AnalyticsService.ReportPeriod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalyticsReportCacheTest {
+
+    private static final ReportKey KEY = new ReportKey(
+            ReportPeriod.lastDays(30), false);
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final Duration STALE = Duration.ofMinutes(5);
+
+    /**
+     * Generates reports only when told to, counting the generations.
+     */
+    private static final class ManualAnalyticsService
+            extends AnalyticsService {
+        final List<CompletableFuture<RawAnalyticsData>> fetches = new ArrayList<>();
+        final List<CompletableFuture<AnalyticsReport>> reports = new ArrayList<>();
+        final AtomicInteger fetchCount = new AtomicInteger();
+
+        ManualAnalyticsService() {
+            super(new AnalyticsEventStore(null, 1));
+        }
+
+        @Override
+        public synchronized CompletableFuture<RawAnalyticsData>
+                fetchReportData(ReportPeriod period, boolean simulateError) {
+            fetchCount.incrementAndGet();
+            CompletableFuture<RawAnalyticsData> fetch = new CompletableFuture<>();
+            fetches.add(fetch);
+            return fetch;
+        }
+
+        @Override
+        public synchronized CompletableFuture<AnalyticsReport>
+                generateReportFromData(RawAnalyticsData rawData,
+                        boolean simulateError) {
+            CompletableFuture<AnalyticsReport> report = new CompletableFuture<>();
+            reports.add(report);
+            return report;
+        }
+
+        /**
+         * Completes the latest generation with a report of the given revenue.
+         */
+        AnalyticsReport complete(int revenue) {
+            last(fetches).complete(new RawAnalyticsData("Q4 2025",
+                    revenue, 1, 1, 1));
+            AnalyticsReport report = new AnalyticsReport("Q4 2025", revenue, 1,
+                    1, 1);
+            last(reports).complete(report);
+            return report;
+        }
+
+        private synchronized <T> CompletableFuture<T> last(
+                List<CompletableFuture<T>> futures) {
+            return futures.get(futures.size() - 1);
+        }
+    }
+
+    private final ManualAnalyticsService service = new ManualAnalyticsService();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final AnalyticsReportCache cache = new AnalyticsReportCache(
+            service, registry, TTL, STALE, now::get);
+
+    private double count(Outcome outcome) {
+        return registry.get(AnalyticsReportCache.REQUESTS)
+                .tag("result", outcome.name().toLowerCase()).functionCounter()
+                .count();
+    }
+
+    @Test
+    void concurrentRequestsShareOneGeneration() throws Exception {
+        int requests = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ReportJob>> jobs = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            jobs.add(executor.submit(() -> {
+                start.await();
+                return cache.getReport(KEY);
+            }));
+        }
+        start.countDown();
+        List<ReportJob> started = new ArrayList<>();
+        for (Future<ReportJob> job : jobs) {
+            started.add(job.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, service.fetchCount.get());
+        assertEquals(1, count(Outcome.MISS));
+        assertEquals(requests - 1, count(Outcome.JOINED));
+
+        AnalyticsReport report = service.complete(100);
+        for (ReportJob job : started) {
+            assertSame(report, job.report().getNow(null));
+        }
+        assertEquals(1, registry.get(AnalyticsReportCache.GENERATION)
+                .tag("result", "success").timer().count());
+    }
+
+    @Test
+    void freshReportIsReturnedFromCache() {
+        cache.getReport(KEY);
+        AnalyticsReport report = service.complete(100);
+        now.addAndGet(TTL.toNanos() - 1);
+
+        ReportJob job = cache.getReport(KEY);
+
+        assertEquals(Outcome.HIT, job.outcome());
+        assertSame(report, job.report().getNow(null));
+        assertTrue(job.data().isDone());
+        assertEquals(1, service.fetchCount.get());
+        assertEquals(1, registry.get(AnalyticsReportCache.SIZE).gauge()
+                .value());
+    }
+
+    @Test
+    void staleReportIsReturnedWhileRefreshing() {
+        cache.getReport(KEY);
+        AnalyticsReport old = service.complete(100);
+        now.addAndGet(TTL.toNanos());
+
+        ReportJob stale = cache.getReport(KEY);
+        ReportJob again = cache.getReport(KEY);
+
+        assertEquals(Outcome.STALE, stale.outcome());
+        assertSame(old, stale.report().getNow(null));
+        assertSame(old, again.report().getNow(null));
+        assertEquals(2, service.fetchCount.get());
+
+        AnalyticsReport refreshed = service.complete(200);
+        ReportJob hit = cache.getReport(KEY);
+        assertEquals(Outcome.HIT, hit.outcome());
+        assertSame(refreshed, hit.report().getNow(null));
+    }
+
+    @Test
+    void expiredReportIsGeneratedAgain() {
+        cache.getReport(KEY);
+        service.complete(100);
+        now.addAndGet(TTL.plus(STALE).toNanos());
+
+        ReportJob job = cache.getReport(KEY);
+
+        assertEquals(Outcome.MISS, job.outcome());
+        assertFalse(job.report().isDone());
+        assertEquals(0, registry.get(AnalyticsReportCache.SIZE).gauge()
+                .value());
+    }
+
+    @Test
+    void failedGenerationIsNotCached() {
+        ReportJob failed = cache.getReport(KEY);
+        service.fetches.get(0)
+                .completeExceptionally(new RuntimeException("unavailable"));
+
+        assertTrue(failed.data().isCompletedExceptionally());
+        assertTrue(failed.report().isCompletedExceptionally());
+        assertEquals(1, registry.get(AnalyticsReportCache.GENERATION)
+                .tag("result", "failure").timer().count());
+
+        ReportJob retry = cache.getReport(KEY);
+        assertEquals(Outcome.MISS, retry.outcome());
+        assertEquals(2, service.fetchCount.get());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalyticsServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration YEAR = Duration.ofDays(365);
+
+    private final AnalyticsEventStore store = new AnalyticsEventStore(null,
+            1_000);
+    private final AnalyticsService service = new AnalyticsService(store,
+            3_650);
+
+    @Test
+    void emptyStoreIsFilledWithLastYear() {
+        service.topUp(NOW);
+
+        long visits = store.aggregate(NOW.minus(YEAR), NOW).visits();
+        assertEquals(3_650, visits);
+        assertTrue(store.aggregate(NOW.minus(Duration.ofDays(30)), NOW)
+                .visits() > 250);
+    }
+
+    @Test
+    void storedEventsAreToppedUpToNow() {
+        service.topUp(NOW);
+        long size = store.size();
+
+        Instant later = NOW.plus(Duration.ofDays(100));
+        service.topUp(later);
+
+        assertTrue(store.size() > size);
+        assertEquals(1_000 + 3_650, store.aggregate(NOW.minus(YEAR), later)
+                .visits(), 1);
+        // The last 30 days have as much traffic as before the restart
+        assertTrue(store.aggregate(later.minus(Duration.ofDays(30)), later)
+                .visits() > 250);
+    }
+
+    @Test
+    void repeatedTopUpAddsNothing() {
+        service.topUp(NOW);
+        long size = store.size();
+
+        service.topUp(NOW);
+        service.topUp(NOW.minus(Duration.ofHours(1)));
+
+        assertEquals(size, store.size());
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelLoadingServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Collects the outcomes of loads.
+     */
+    private static final class Outcomes<T>
+            implements ParallelLoadingService.Listener<T> {
+        final List<T> results = new CopyOnWriteArrayList<>();
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final List<Double> progress = new CopyOnWriteArrayList<>();
+        final CountDownLatch done;
+
+        Outcomes(int loads) {
+            this.done = new CountDownLatch(loads);
+        }
+
+        @Override
+        public void onProgress(double fraction) {
+            progress.add(fraction);
+        }
+
+        @Override
+        public void onSuccess(T result) {
+            results.add(result);
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable error) {
+            errors.add(error);
+            done.countDown();
+        }
+    }
+
+    @Test
+    void tenThousandConcurrentLoadsCompleteOnFewThreads() throws Exception {
+        int loads = 10_000;
+        ParallelLoadingService service = new ParallelLoadingService(loads,
+                TIMEOUT);
+        Outcomes<Integer> outcomes = new Outcomes<>(loads);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int platformThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        long start = System.nanoTime();
+        try (ParallelLoadingService.Scope scope = service.open()) {
+            for (int i = 0; i < loads; i++) {
+                int id = i;
+                scope.fork(progress -> {
+                    // A blocking call such as a slow query
+                    Thread.sleep(1000);
+                    return id;
+                }, outcomes);
+            }
+            assertTrue(outcomes.done.await(20, TimeUnit.SECONDS),
+                    "Loads did not complete");
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        int peak = threads.getPeakThreadCount();
+
+        assertEquals(loads, outcomes.results.size());
+        assertEquals(List.of(), outcomes.errors);
+        // All loads waited at the same time instead of in batches
+        assertTrue(millis < 10_000, "Took " + millis + " ms");
+        // Virtual threads only need a few carrier threads
+        assertTrue(peak - platformThreads < Runtime.getRuntime()
+                .availableProcessors() + 50, "Peak of " + peak
+                        + " platform threads");
+    }
+
+    @Test
+    void concurrencyIsLimitedAcrossScopes() throws Exception {
+        ParallelLoadingService service = new ParallelLoadingService(4,
+                TIMEOUT);
+        Outcomes<Integer> outcomes = new Outcomes<>(40);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        try (ParallelLoadingService.Scope first = service.open();
+                ParallelLoadingService.Scope second = service.open()) {
+            for (int i = 0; i < 20; i++) {
+                for (ParallelLoadingService.Scope scope : List.of(first,
+                        second)) {
+                    scope.fork(progress -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(),
+                                Math::max);
+                        Thread.sleep(10);
+                        running.decrementAndGet();
+                        return 0;
+                    }, outcomes);
+                }
+            }
+            assertTrue(outcomes.done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(40, outcomes.results.size());
+        assertTrue(maxRunning.get() <= 4, maxRunning + " loads ran at once");
+        assertEquals(0, service.getRunningCount());
+    }
+
+    @Test
+    void slowLoadTimesOut() throws Exception {
+        ParallelLoadingService service = new ParallelLoadingService(4,
+                TIMEOUT);
+        Outcomes<String> outcomes = new Outcomes<>(2);
+
+        try (ParallelLoadingService.Scope scope = service.open()) {
+            scope.fork(progress -> {
+                Thread.sleep(10_000);
+                return "slow";
+            }, Duration.ofMillis(50), outcomes);
+            scope.fork(progress -> "fast", Duration.ofMillis(50), outcomes);
+            assertTrue(outcomes.done.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of("fast"), outcomes.results);
+        assertEquals(1, outcomes.errors.size());
+        assertInstanceOf(TimeoutException.class, outcomes.errors.get(0));
+    }
+
+    @Test
+    void failureIsReported() throws Exception {
+        ParallelLoadingService service = new ParallelLoadingService(4,
+                TIMEOUT);
+        Outcomes<String> outcomes = new Outcomes<>(1);
+
+        try (ParallelLoadingService.Scope scope = service.open()) {
+            scope.fork(progress -> {
+                throw new IllegalStateException("Server down");
+            }, outcomes);
+            assertTrue(outcomes.done.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals("Server down", outcomes.errors.get(0).getMessage());
+    }
+
+    @Test
+    void progressIsForwarded() throws Exception {
+        ParallelLoadingService service = new ParallelLoadingService(4,
+                TIMEOUT);
+        Outcomes<String> outcomes = new Outcomes<>(1);
+
+        try (ParallelLoadingService.Scope scope = service.open()) {
+            scope.fork(progress -> {
+                progress.accept(0.5);
+                progress.accept(1);
+                return "done";
+            }, outcomes);
+            assertTrue(outcomes.done.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of(0.5, 1.0), outcomes.progress);
+    }
+
+    @Test
+    void cancelInterruptsRemainingLoads() throws Exception {
+        ParallelLoadingService service = new ParallelLoadingService(10,
+                TIMEOUT);
+        Outcomes<String> outcomes = new Outcomes<>(100);
+        AtomicInteger interrupted = new AtomicInteger();
+        ParallelLoadingService.Scope scope = service.open();
+        for (int i = 0; i < 100; i++) {
+            scope.fork(progress -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                    throw e;
+                }
+                return "loaded";
+            }, outcomes);
+        }
+        // Let the first loads start
+        Thread.sleep(100);
+
+        scope.cancel();
+
+        assertTrue(scope.join(Duration.ofSeconds(5)));
+        assertEquals(0, scope.getActiveCount());
+        assertEquals(10, interrupted.get());
+        assertEquals(0, service.getRunningCount());
+        assertEquals(List.of(), outcomes.results);
+        assertEquals(List.of(), outcomes.errors);
+    }
+}
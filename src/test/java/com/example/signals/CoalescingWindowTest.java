@@ -0,0 +1,204 @@
+package com.example.signals;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the coalescing policy with simulated time. A ticker-like stream
+ * changes values every 16 ms; the window is ticked at its flush interval
+ * while it asks to be.
+ */
+class CoalescingWindowTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(50);
+    private static final Duration MAX_LATENCY = Duration.ofMillis(200);
+    private static final long UPDATE_INTERVAL_MS = 16;
+
+    private final long[] now = { 0 };
+    private FakeHost host;
+    private CoalescingWindow window;
+    private long nextTick;
+
+    private static final class FakeHost implements CoalescingWindow.Host {
+        private boolean suspended;
+        private boolean untrackedChanges;
+        private boolean manualPush;
+        private @Nullable Runnable tick;
+        private int pushes;
+
+        @Override
+        public boolean isSuspended() {
+            return suspended;
+        }
+
+        @Override
+        public boolean hasUntrackedChanges() {
+            return untrackedChanges;
+        }
+
+        @Override
+        public void startTicking(Runnable tick) {
+            manualPush = true;
+            this.tick = tick;
+        }
+
+        @Override
+        public void stopTicking() {
+            manualPush = false;
+            tick = null;
+        }
+
+        @Override
+        public void push() {
+            pushes++;
+            untrackedChanges = false;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        host = new FakeHost();
+        window = new CoalescingWindow(FLUSH_INTERVAL, MAX_LATENCY,
+                () -> now[0], host);
+    }
+
+    /**
+     * Moves the clock forward, running the ticks that are due on the way.
+     */
+    private void advanceTo(long millis) {
+        long target = TimeUnit.MILLISECONDS.toNanos(millis);
+        while (host.tick != null && nextTick <= target) {
+            now[0] = nextTick;
+            host.tick.run();
+            nextTick += FLUSH_INTERVAL.toNanos();
+        }
+        now[0] = target;
+    }
+
+    private void change() {
+        boolean wasTicking = window.isTicking();
+        window.markChanged();
+        if (!wasTicking && window.isTicking()) {
+            nextTick = now[0] + FLUSH_INTERVAL.toNanos();
+        }
+    }
+
+    @Test
+    void idleWindowDoesNotTick() {
+        advanceTo(10_000);
+
+        assertFalse(window.isTicking());
+        assertFalse(host.manualPush);
+        assertEquals(0, window.getTicks());
+        assertEquals(0, host.pushes);
+    }
+
+    @Test
+    void streamOfChangesIsMergedIntoFewPushes() {
+        int updates = 600;
+        for (int i = 0; i < updates; i++) {
+            advanceTo(i * UPDATE_INTERVAL_MS);
+            change();
+        }
+        advanceTo(updates * UPDATE_INTERVAL_MS + MAX_LATENCY.toMillis());
+
+        assertEquals(updates, window.getTrackedChanges());
+        assertTrue(host.pushes * 5 < updates,
+                "Coalescing should merge most updates, pushes: "
+                        + host.pushes);
+        assertTrue(host.pushes > 0);
+        assertTrue(window.getMaxObservedLatency()
+                .compareTo(MAX_LATENCY.plus(FLUSH_INTERVAL)) <= 0);
+        assertEquals(host.pushes, window.getPushCount());
+    }
+
+    @Test
+    void quietBurstIsPushedAfterFlushInterval() {
+        change();
+        advanceTo(10);
+        change();
+
+        advanceTo(50);
+        assertEquals(0, host.pushes);
+        advanceTo(100);
+        assertEquals(1, host.pushes);
+    }
+
+    @Test
+    void ticksStopOnceNothingIsPending() {
+        change();
+        assertTrue(host.manualPush);
+
+        advanceTo(1000);
+
+        assertEquals(1, host.pushes);
+        assertFalse(window.isTicking());
+        assertFalse(host.manualPush);
+        long ticks = window.getTicks();
+        assertEquals(2, ticks);
+
+        advanceTo(10_000);
+        assertEquals(ticks, window.getTicks());
+    }
+
+    @Test
+    void untrackedChangesDuringBurstArePushedWithIt() {
+        change();
+        advanceTo(60);
+        assertEquals(1, host.pushes);
+
+        host.untrackedChanges = true;
+        advanceTo(1000);
+
+        assertEquals(2, host.pushes);
+        assertFalse(window.isTicking());
+    }
+
+    @Test
+    void suspendedWindowDoesNotStartTicking() {
+        host.suspended = true;
+        change();
+
+        assertFalse(window.isTicking());
+        assertEquals(0, window.getTrackedChanges());
+    }
+
+    @Test
+    void suspendStopsTickingWithoutPush() {
+        change();
+        host.suspended = true;
+        advanceTo(1000);
+
+        assertEquals(0, host.pushes);
+        assertFalse(window.isTicking());
+        assertEquals(1, window.getTicks());
+    }
+
+    @Test
+    void staleTickAfterCloseIsIgnored() {
+        change();
+        Runnable tick = host.tick;
+        window.close();
+
+        tick.run();
+        assertFalse(window.isTicking());
+        assertEquals(0, window.getTicks());
+        assertEquals(0, host.pushes);
+    }
+
+    @Test
+    void maxLatencyMustCoverFlushInterval() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CoalescingWindow(FLUSH_INTERVAL,
+                        Duration.ofMillis(10), () -> 0, host));
+    }
+}
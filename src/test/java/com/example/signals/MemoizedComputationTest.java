@@ -0,0 +1,68 @@
+package com.example.signals;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoizedComputationTest {
+
+    @Test
+    void equalAmountWithDifferentScaleDoesNotRunDependents() {
+        ValueSignal<BigDecimal> source = new ValueSignal<>(
+                new BigDecimal("10.0"));
+        Signal<BigDecimal> amount = MemoizedComputation.computed(source::get,
+                Equivalence.numericValue());
+        int[] runs = { 0 };
+        Signal<String> label = Signal.computed(() -> {
+            runs[0]++;
+            return "$" + amount.get();
+        });
+
+        assertEquals("$10.0", label.peek());
+        source.set(new BigDecimal("10.00"));
+        assertEquals("$10.0", label.peek());
+        assertEquals(1, runs[0]);
+
+        source.set(new BigDecimal("11"));
+        assertEquals("$11", label.peek());
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    void roundingNoiseIsAbsorbed() {
+        ValueSignal<Double> source = new ValueSignal<>(0.3);
+        MemoizedComputation<Double> sum = MemoizedComputation
+                .of(Equivalence.within(0.005), source::get);
+        Signal<Double> signal = Signal.computed(sum::get);
+
+        Double first = signal.peek();
+        source.set(0.1 + 0.2);
+
+        assertSame(first, signal.peek());
+        assertEquals(1, sum.getSuppressedCount());
+    }
+
+    @Test
+    void nullIsOnlyEquivalentToNull() {
+        Equivalence<BigDecimal> numericValue = Equivalence.numericValue();
+
+        assertTrue(numericValue.test(null, null));
+        assertFalse(numericValue.test(null, BigDecimal.ONE));
+        assertFalse(numericValue.test(BigDecimal.ONE, null));
+    }
+
+    @Test
+    void negativeEpsilonIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Equivalence.within(-1));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.signals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.usecase25.UseCase25View;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import com.vaadin.browserless.SpringBrowserlessTest;
+import com.vaadin.browserless.ViewPackages;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.server.communication.UidlWriter;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares push messages and bytes per second with and without a coalescing
+ * window for a ticker-like stream of updates.
+ * <p>
+ * Time is simulated so the result does not depend on machine speed: 20 values
+ * change 60 times per second for 10 seconds. Without coalescing, every update
+ * is one push message. With coalescing, the window is ticked at its flush
+ * interval while it asks to be and pushes when due. Message size is measured
+ * from the UIDL response that a push would send. Run it with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ViewPackages(classes = UseCase25View.class)
+@WithMockUser
+class PushCoalescingBenchmarkTest extends SpringBrowserlessTest {
+
+    private static final int VALUES = 20;
+    private static final long UPDATE_INTERVAL_MS = 16;
+    private static final int UPDATES = 600;
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(50);
+    private static final Duration MAX_LATENCY = Duration.ofMillis(200);
+
+    private record Result(long messages, long bytes, double seconds) {
+        double messagesPerSecond() {
+            return messages / seconds;
+        }
+
+        double bytesPerSecond() {
+            return bytes / seconds;
+        }
+    }
+
+    /**
+     * Pushes by writing the UIDL response of the test UI and counting it.
+     */
+    private final class CapturingHost implements CoalescingWindow.Host {
+        private @Nullable Runnable tick;
+
+        @Override
+        public boolean isSuspended() {
+            return false;
+        }
+
+        @Override
+        public boolean hasUntrackedChanges() {
+            return ui.getInternals().getStateTree().hasDirtyNodes();
+        }
+
+        @Override
+        public void startTicking(Runnable tick) {
+            this.tick = tick;
+        }
+
+        @Override
+        public void stopTicking() {
+            tick = null;
+        }
+
+        @Override
+        public void push() {
+            capture();
+        }
+    }
+
+    private UI ui;
+    private List<ValueSignal<String>> values;
+    private long messages;
+    private long bytes;
+
+    @Test
+    void coalescingReducesPushMessagesAndBytes(TestReporter reporter) {
+        Result direct = run(false);
+        Result coalesced = run(true);
+
+        reporter.publishEntry("without coalescing",
+                "%.1f messages/s, %.0f bytes/s".formatted(
+                        direct.messagesPerSecond(), direct.bytesPerSecond()));
+        reporter.publishEntry(
+                "with coalescing (%d ms / %d ms)".formatted(
+                        FLUSH_INTERVAL.toMillis(), MAX_LATENCY.toMillis()),
+                "%.1f messages/s, %.0f bytes/s".formatted(
+                        coalesced.messagesPerSecond(),
+                        coalesced.bytesPerSecond()));
+
+        assertTrue(coalesced.messages() * 5 < direct.messages(),
+                "Coalescing should merge most updates");
+        assertTrue(coalesced.bytes() < direct.bytes(),
+                "Coalescing should send fewer bytes");
+    }
+
+    private Result run(boolean coalesce) {
+        setUpValues();
+        long[] now = { 0 };
+        CapturingHost host = new CapturingHost();
+        CoalescingWindow window = new CoalescingWindow(FLUSH_INTERVAL,
+                MAX_LATENCY, () -> now[0], host);
+        long flushNanos = FLUSH_INTERVAL.toNanos();
+        long nextTick = 0;
+        Random random = new Random(42);
+
+        for (int i = 0; i < UPDATES; i++) {
+            long updateTime = i * UPDATE_INTERVAL_MS * 1_000_000;
+            nextTick = tickUntil(host, now, nextTick, updateTime);
+            now[0] = updateTime;
+
+            for (int j = 0; j < 3; j++) {
+                values.get(random.nextInt(VALUES))
+                        .set("%.2f".formatted(random.nextDouble() * 100));
+            }
+            runPendingSignalsTasks();
+
+            if (coalesce) {
+                boolean wasTicking = window.isTicking();
+                window.markChanged();
+                if (!wasTicking) {
+                    nextTick = updateTime + flushNanos;
+                }
+            } else {
+                capture();
+            }
+        }
+        tickUntil(host, now, nextTick,
+                now[0] + MAX_LATENCY.toNanos() + flushNanos);
+        double seconds = UPDATES * UPDATE_INTERVAL_MS / 1000.0;
+        return new Result(messages, bytes, seconds);
+    }
+
+    /**
+     * Runs the window ticks that are due up to a point in simulated time.
+     *
+     * @return the time of the next tick
+     */
+    private long tickUntil(CapturingHost host, long[] now, long nextTick,
+            long target) {
+        long next = nextTick;
+        while (host.tick != null && next <= target) {
+            now[0] = next;
+            host.tick.run();
+            next += FLUSH_INTERVAL.toNanos();
+        }
+        return next;
+    }
+
+    private void setUpValues() {
+        ui = UI.getCurrent();
+        ui.removeAll();
+        Div container = new Div();
+        values = new ArrayList<>();
+        for (int i = 0; i < VALUES; i++) {
+            ValueSignal<String> value = new ValueSignal<>("0.00");
+            values.add(value);
+            Span span = new Span();
+            span.bindText(value);
+            container.add(span);
+        }
+        ui.add(container);
+        runPendingSignalsTasks();
+        // Discard the initial render so only updates are measured
+        new UidlWriter().createUidl(ui, false);
+        messages = 0;
+        bytes = 0;
+    }
+
+    private void capture() {
+        var uidl = new UidlWriter().createUidl(ui, true);
+        messages++;
+        bytes += uidl.toString().length();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.signals;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.component.PushConfiguration;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.communication.PushMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PushCoalescingServiceTest {
+
+    private final PushCoalescingService service = new PushCoalescingService();
+    private final PushMode[] pushMode = { PushMode.AUTOMATIC };
+    private UI ui;
+    private TabDormancy dormancy;
+
+    @BeforeEach
+    void setUp() {
+        // A UI without a session cannot enable push, so only the push mode
+        // of its configuration is kept
+        PushConfiguration pushConfiguration = (PushConfiguration) Proxy
+                .newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[] { PushConfiguration.class },
+                        (proxy, method, args) -> switch (method.getName()) {
+                        case "getPushMode" -> pushMode[0];
+                        case "setPushMode" -> {
+                            pushMode[0] = (PushMode) args[0];
+                            yield null;
+                        }
+                        default -> null;
+                        });
+        ui = new UI() {
+            @Override
+            public PushConfiguration getPushConfiguration() {
+                return pushConfiguration;
+            }
+        };
+        dormancy = TabDormancy.forUI(ui);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void changesStartTickingWithAutomaticPush() {
+        CoalescingWindow window = service.enable(ui);
+        window.markChanged();
+
+        assertTrue(window.isTicking());
+        assertEquals(1, window.getTrackedChanges());
+        assertEquals(PushMode.MANUAL, pushMode[0]);
+    }
+
+    @Test
+    void manualPushIsLeftToTheView() {
+        pushMode[0] = PushMode.MANUAL;
+        CoalescingWindow window = service.enable(ui);
+        window.markChanged();
+
+        assertFalse(window.isTicking());
+        assertEquals(0, window.getTrackedChanges());
+    }
+
+    @Test
+    void windowEnabledWhileDormantWorksAfterResync() {
+        dormancy.setVisible(false);
+        assertEquals(PushMode.MANUAL, pushMode[0]);
+
+        CoalescingWindow window = service.enable(ui);
+        window.markChanged();
+        assertFalse(window.isTicking());
+
+        dormancy.setVisible(true);
+        assertEquals(PushMode.AUTOMATIC, pushMode[0]);
+        window.markChanged();
+
+        assertTrue(window.isTicking());
+        assertEquals(1, window.getTrackedChanges());
+    }
+}
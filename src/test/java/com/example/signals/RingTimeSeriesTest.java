@@ -0,0 +1,76 @@
+package com.example.signals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.signals.Signal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RingTimeSeriesTest {
+
+    private final RingTimeSeries series = new RingTimeSeries(3, "a", "b");
+    private final double[] point = new double[2];
+
+    private void append(String label, double a, double b) {
+        point[0] = a;
+        point[1] = b;
+        series.append(label, point);
+    }
+
+    @Test
+    void keepsPointsInOrderUntilFull() {
+        append("t1", 1, 10);
+        append("t2", 2, 20);
+
+        assertEquals(2, series.size());
+        assertEquals("t1", series.getLabel(0));
+        assertEquals(2, series.getValue(0, 1));
+        assertEquals(20, series.getValue(1, 1));
+        assertEquals(List.of("a", "b"), series.getSeriesNames());
+    }
+
+    @Test
+    void appendingToFullWindowEvictsOldest() {
+        append("t1", 1, 10);
+        append("t2", 2, 20);
+        append("t3", 3, 30);
+        append("t4", 4, 40);
+
+        assertEquals(3, series.size());
+        assertEquals(4, series.getAppendedCount());
+        assertEquals("t2", series.getLabel(0));
+        assertEquals("t4", series.getLabel(2));
+        assertEquals(40, series.getValue(1, 2));
+        assertEquals("t3", series.getLabelAt(2));
+        assertEquals(3, series.getValueAt(0, 2));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> series.getLabelAt(0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> series.getValueAt(0, 4));
+    }
+
+    @Test
+    void readersSeeEveryAppend() {
+        Signal<Long> count = Signal
+                .computed(() -> series.appendedSignal().get());
+        assertEquals(0, count.peek());
+
+        append("t1", 1, 10);
+        append("t2", 1, 10);
+        assertEquals(2, count.peek());
+        series.clear();
+        assertEquals(0, count.peek());
+        assertEquals(0, series.size());
+    }
+
+    @Test
+    void rejectsPointWithWrongNumberOfValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> series.append("t1", new double[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RingTimeSeries(0, "a"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.signals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SharedDerivationsTest {
+
+    private final SharedDerivations derivations = new SharedDerivations();
+    private final ValueSignal<List<Integer>> source = new ValueSignal<>(
+            List.of(1, 2, 3));
+    private final int[] runs = { 0 };
+    private final UI ui = new UI();
+
+    private Signal<Integer> sum(Div owner) {
+        return derivations.get(owner, source, "sum", () -> {
+            runs[0]++;
+            return source.get().stream().mapToInt(Integer::intValue).sum();
+        });
+    }
+
+    private Div attachedOwner() {
+        Div owner = new Div();
+        ui.add(owner);
+        return owner;
+    }
+
+    @Test
+    void viewsShareOneComputation() {
+        Signal<Integer> first = sum(attachedOwner());
+        Signal<Integer> second = sum(attachedOwner());
+
+        assertSame(first, second);
+        assertEquals(6, first.peek());
+        assertEquals(6, second.peek());
+        source.set(List.of(4, 5));
+        assertEquals(9, first.peek());
+        assertEquals(9, second.peek());
+        assertEquals(2, runs[0]);
+        assertEquals(2, derivations.getReferenceCount(source, "sum"));
+    }
+
+    @Test
+    void derivationsAreKeyedBySourceIdentityAndName() {
+        Div owner = attachedOwner();
+        Signal<Integer> sum = sum(owner);
+        Signal<Integer> count = derivations.get(owner, source, "count",
+                () -> source.get().size());
+        ValueSignal<List<Integer>> other = new ValueSignal<>(List.of(1, 2, 3));
+        Signal<Integer> otherSum = derivations.get(owner, other, "sum",
+                () -> other.get().size());
+
+        assertNotSame(sum, count);
+        assertNotSame(sum, otherSum);
+        assertEquals(3, derivations.size());
+    }
+
+    @Test
+    void ownerIsRetainedOnlyWhileAttached() {
+        Div owner = new Div();
+        Signal<Integer> signal = sum(owner);
+        assertEquals(6, signal.peek());
+        assertEquals(0, derivations.size());
+
+        ui.add(owner);
+        assertEquals(1, derivations.getReferenceCount(source, "sum"));
+        assertSame(signal, sum(new Div()));
+
+        ui.remove(owner);
+        assertEquals(0, derivations.size());
+    }
+
+    @Test
+    void lastDetachReleasesDerivation() {
+        Div first = new Div();
+        Div second = new Div();
+        ui.add(first, second);
+        Signal<Integer> signal = sum(first);
+        sum(second);
+
+        ui.remove(first);
+        assertEquals(1, derivations.getReferenceCount(source, "sum"));
+        ui.remove(second);
+        assertEquals(0, derivations.getReferenceCount(source, "sum"));
+        assertEquals(0, derivations.size());
+
+        ui.add(first);
+        assertEquals(1, derivations.getReferenceCount(source, "sum"));
+        assertSame(signal, sum(new Div()));
+    }
+}
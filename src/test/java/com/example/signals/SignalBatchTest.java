@@ -0,0 +1,86 @@
+package com.example.signals;
+
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.function.SerializableRunnable;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalBatchTest {
+
+    private final ValueSignal<Integer> a = new ValueSignal<>(1);
+    private final ValueSignal<Integer> b = new ValueSignal<>(2);
+
+    @Test
+    void deferredSignalKeepsValueUntilCommit() {
+        Signal<Integer> sum = SignalBatch
+                .deferred(Signal.computed(() -> a.get() + b.get()));
+        int[] runs = { 0 };
+        Signal<String> label = Signal.computed(() -> {
+            runs[0]++;
+            return "Sum " + sum.get();
+        });
+        assertEquals("Sum 3", label.peek());
+
+        SignalBatch.run(() -> {
+            a.set(10);
+            assertEquals("Sum 3", label.peek());
+            b.set(20);
+            assertEquals("Sum 3", label.peek());
+            assertEquals(20, b.peek());
+        });
+
+        assertEquals("Sum 30", label.peek());
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    void deferredSignalFollowsSourceOutsideBatch() {
+        Signal<Integer> sum = SignalBatch
+                .deferred(Signal.computed(() -> a.get() + b.get()));
+
+        assertEquals(3, sum.peek());
+        a.set(5);
+        assertEquals(7, sum.peek());
+    }
+
+    @Test
+    void deferredEffectSkipsWorkInsideBatch() {
+        int[] runs = { 0 };
+        SerializableRunnable effect = SignalBatch
+                .deferredEffect(() -> runs[0]++);
+
+        effect.run();
+        SignalBatch.run(() -> {
+            assertTrue(SignalBatch.isActive());
+            effect.run();
+            SignalBatch.run(effect::run);
+            assertTrue(SignalBatch.isActive());
+        });
+
+        assertFalse(SignalBatch.isActive());
+        assertEquals(1, runs[0]);
+        effect.run();
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    void failedBatchStillCommits() {
+        Signal<Integer> sum = SignalBatch
+                .deferred(Signal.computed(() -> a.get() + b.get()));
+        assertEquals(3, sum.peek());
+
+        assertThrows(IllegalStateException.class, () -> SignalBatch.run(() -> {
+            a.set(4);
+            throw new IllegalStateException("failed");
+        }));
+
+        assertFalse(SignalBatch.isActive());
+        assertEquals(6, sum.peek());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.signals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void disabledMetricsRegisterNothing() {
+        SignalMetrics metrics = new SignalMetrics(registry, false);
+
+        metrics.accessWait("scheduler").accept(1000);
+        metrics.forView(Div.class).recordWrite("cursors");
+        Signal<Integer> computed = metrics.forView(Div.class)
+                .computed("double", () -> 2);
+        assertEquals(2, computed.peek());
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    @Test
+    void computedRecomputationsAreTimed() {
+        SignalMetrics metrics = new SignalMetrics(registry, true);
+        ValueSignal<Integer> source = new ValueSignal<>(1);
+        Signal<Integer> doubled = metrics.forView(Div.class).computed("double",
+                () -> source.get() * 2);
+
+        assertEquals(2, doubled.peek());
+        source.set(2);
+        assertEquals(4, doubled.peek());
+
+        Timer timer = registry.find(SignalMetrics.COMPUTED)
+                .tags("view", "Div", "signal", "double").timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void writesRecordFanOut() {
+        SignalMetrics metrics = new SignalMetrics(registry, true);
+        ViewSignalMetrics view = metrics.forView(Div.class);
+        UI first = new UI();
+        UI second = new UI();
+        UI third = new UI();
+        metrics.addObserver("cursors", first);
+        metrics.addObserver("cursors", second);
+        metrics.addObserver("cursors", third);
+
+        view.recordWrite("cursors");
+        metrics.removeObserver("cursors", third);
+        view.recordWrite("cursors");
+
+        assertEquals(2, registry.get(SignalMetrics.SHARED_WRITES)
+                .tags("view", "Div", "signal", "cursors").counter().count());
+        DistributionSummary fanOut = registry.get(SignalMetrics.FAN_OUT)
+                .tag("signal", "cursors").summary();
+        assertEquals(2, fanOut.count());
+        assertEquals(5, fanOut.totalAmount());
+        assertEquals(3, fanOut.max());
+    }
+
+    @Test
+    void observersAreCountedPerUI() {
+        SignalMetrics metrics = new SignalMetrics(registry, true);
+        UI ui = new UI();
+        UI other = new UI();
+        metrics.addObserver("cursors", ui);
+        metrics.addObserver("cursors", ui);
+        metrics.addObserver("cursors", other);
+        assertEquals(2, metrics.getObserverCount("cursors"));
+
+        metrics.removeObserver("cursors", ui);
+        assertEquals(2, metrics.getObserverCount("cursors"));
+        metrics.removeObserver("cursors", ui);
+        assertEquals(1, metrics.getObserverCount("cursors"));
+        assertEquals(1, registry.get("signals.shared.observers")
+                .tag("signal", "cursors").gauge().value());
+    }
+
+    @Test
+    void accessWaitIncludesSupersededUpdates() {
+        SignalMetrics metrics = new SignalMetrics(registry, true);
+        List<Command> queued = new ArrayList<>();
+        long[] now = { 0 };
+        UiBacklog backlog = new UiBacklog(queued::add, () -> now[0], () -> 0);
+        int[] runs = { 0 };
+
+        backlog.submit("ticker", () -> runs[0]++,
+                metrics.accessWait("scheduler"));
+        now[0] = TimeUnit.MILLISECONDS.toNanos(300);
+        backlog.submit("ticker", () -> runs[0]++,
+                metrics.accessWait("scheduler"));
+        now[0] = TimeUnit.MILLISECONDS.toNanos(400);
+        queued.forEach(Command::execute);
+
+        assertEquals(1, runs[0]);
+        Timer timer = registry.get(SignalMetrics.ACCESS_WAIT)
+                .tag("source", "scheduler").timer();
+        assertEquals(1, timer.count());
+        assertEquals(400, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.signals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalProfilerTest {
+
+    private SignalProfiler profiler;
+    private ValueSignal<Integer> number;
+    private Signal<String> label;
+
+    @BeforeEach
+    void setUp() {
+        profiler = new SignalProfiler(true);
+        number = new ValueSignal<>(1);
+        Signal<Integer> source = profiler.source("number", number);
+        Signal<Boolean> odd = profiler.map("odd", source, n -> n % 2 != 0);
+        label = profiler.computed("label",
+                () -> odd.get() ? "odd" : "even");
+    }
+
+    private SignalProfiler.NodeStats stats(String name) {
+        return profiler.getNodeStats().stream()
+                .filter(stats -> stats.name().equals(name)).findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void capturesDependencyGraph() {
+        assertEquals("odd", label.peek());
+
+        assertEquals(List.of("number"), stats("odd").dependencies());
+        assertEquals(List.of("odd"), stats("label").dependencies());
+        assertTrue(profiler.toDot().contains("\"number\" -> \"odd\""));
+        assertTrue(profiler.toDot().contains("\"odd\" -> \"label\""));
+    }
+
+    @Test
+    void flagsDownstreamRunsAfterUnchangedValue() {
+        assertEquals("odd", label.peek());
+
+        profiler.beginChange("set 3");
+        number.set(3);
+        assertEquals("odd", label.peek());
+
+        profiler.beginChange("set 4");
+        number.set(4);
+        assertEquals("even", label.peek());
+
+        SignalProfiler.NodeStats odd = stats("odd");
+        assertEquals(3, odd.runs());
+        assertEquals(1, odd.unchangedRuns());
+        assertEquals(0, odd.redundantRuns());
+
+        // Whether the label reran after "set 3" depends on the signal
+        // implementation; if it did, that run must be flagged
+        SignalProfiler.NodeStats labelStats = stats("label");
+        assertEquals(labelStats.runs() - 2, labelStats.redundantRuns());
+
+        List<SignalProfiler.Change> changes = profiler.getChanges();
+        assertEquals(List.of("initial", "set 3", "set 4"),
+                changes.stream().map(SignalProfiler.Change::label).toList());
+        assertFalse(changes.get(2).runs().stream()
+                .anyMatch(SignalProfiler.Run::redundant));
+    }
+
+    @Test
+    void exportsJson() {
+        label.peek();
+
+        String json = profiler.toJson();
+        assertTrue(json.startsWith("{\"nodes\":[{\"name\":\"number\""));
+        assertTrue(json.contains(
+                "\"name\":\"label\",\"kind\":\"computed\",\"runs\":1"));
+        assertTrue(json.contains("\"dependencies\":[\"odd\"]"));
+    }
+
+    @Test
+    void rejectsDuplicateNames() {
+        assertThrows(IllegalArgumentException.class,
+                () -> profiler.computed("label", () -> ""));
+    }
+
+    @Test
+    void disabledProfilerReturnsSourceUnchanged() {
+        SignalProfiler disabled = new SignalProfiler(false);
+
+        assertSame(number, disabled.source("number", number));
+        assertEquals("1", disabled.map("text", number, String::valueOf).peek());
+        assertTrue(disabled.getNodeStats().isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.signals;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalTimersTest {
+
+    @Test
+    void runsTaskAfterDelay() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        SignalTimers.schedule(Duration.ofMillis(50), ran::countDown);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS
+                .toNanos(50));
+    }
+
+    @Test
+    void cancelledTaskDoesNotRun() throws InterruptedException {
+        AtomicBoolean cancelledRan = new AtomicBoolean();
+        CountDownLatch laterRan = new CountDownLatch(1);
+
+        SignalTimers.Timeout timeout = SignalTimers
+                .schedule(Duration.ofMillis(30), () -> cancelledRan.set(true));
+        assertTrue(timeout.cancel());
+        SignalTimers.schedule(Duration.ofMillis(60), laterRan::countDown);
+
+        assertTrue(laterRan.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.isCancelled());
+        assertFalse(cancelledRan.get());
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheTimer() throws InterruptedException {
+        CountDownLatch laterRan = new CountDownLatch(1);
+
+        SignalTimers.schedule(Duration.ofMillis(10), () -> {
+            throw new AssertionError("Task failure");
+        });
+        SignalTimers.schedule(Duration.ofMillis(50), laterRan::countDown);
+
+        assertTrue(laterRan.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void delaysLongerThanOneTurnOfTheWheelAreKept() {
+        SignalTimers.Timeout timeout = SignalTimers
+                .schedule(Duration.ofMinutes(10), () -> {
+                });
+        try {
+            assertTrue(SignalTimers.getPendingCount() >= 1);
+            assertFalse(timeout.isCancelled());
+        } finally {
+            timeout.cancel();
+        }
+    }
+
+    @Test
+    void latestTokenCancelsEarlierOnes() {
+        LatestOnly searches = new LatestOnly();
+
+        LatestOnly.Token first = searches.next();
+        LatestOnly.Token second = searches.next();
+
+        assertTrue(first.isCancelled());
+        assertFalse(second.isCancelled());
+        searches.cancel();
+        assertTrue(second.isCancelled());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.signals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TabDormancyTest {
+
+    private UI ui;
+    private TabDormancy dormancy;
+
+    @BeforeEach
+    void setUp() {
+        ui = new UI();
+        dormancy = TabDormancy.forUI(ui);
+    }
+
+    @Test
+    void stateIsKeptPerUI() {
+        assertSame(dormancy, TabDormancy.forUI(ui));
+        assertFalse(dormancy.isDormant());
+    }
+
+    @Test
+    void gatedSignalKeepsValueWhileHidden() {
+        ValueSignal<Integer> source = new ValueSignal<>(1);
+        Signal<Integer> gated = dormancy.gate(source);
+        assertEquals(1, gated.peek());
+
+        dormancy.setVisible(false);
+        source.set(2);
+        assertEquals(1, gated.peek());
+        source.set(3);
+        assertEquals(1, gated.peek());
+        assertEquals(0, dormancy.getDeferredSignalUpdates());
+
+        dormancy.setVisible(true);
+        assertEquals(3, gated.peek());
+        assertEquals(1, dormancy.getDeferredSignalUpdates());
+    }
+
+    @Test
+    void gatedSignalDoesNotReadSourceWhileHidden() {
+        ValueSignal<Integer> source = new ValueSignal<>(1);
+        AtomicInteger reads = new AtomicInteger();
+        Signal<Integer> counted = Signal.computed(() -> {
+            reads.incrementAndGet();
+            return source.get();
+        });
+        Signal<Integer> gated = dormancy.gate(counted);
+        assertEquals(1, gated.peek());
+
+        dormancy.setVisible(false);
+        int readsWhenHidden = reads.get();
+        source.set(2);
+        assertEquals(1, gated.peek());
+        source.set(3);
+        assertEquals(1, gated.peek());
+        assertEquals(readsWhenHidden, reads.get());
+    }
+
+    @Test
+    void unchangedGateIsNotCountedOnResync() {
+        ValueSignal<Integer> source = new ValueSignal<>(1);
+        Signal<Integer> gated = dormancy.gate(source);
+
+        dormancy.setVisible(false);
+        source.set(2);
+        source.set(1);
+        dormancy.setVisible(true);
+
+        assertEquals(1, gated.peek());
+        assertEquals(0, dormancy.getDeferredSignalUpdates());
+    }
+
+    @Test
+    void countersAreKeptPerUI() {
+        TabDormancy other = TabDormancy.forUI(new UI());
+        dormancy.setVisible(false);
+        dormancy.deferIfDormant("ticker", () -> {
+        });
+        dormancy.setVisible(true);
+
+        assertEquals(1, dormancy.getSkippedTasks());
+        assertEquals(1, dormancy.getResyncs());
+        assertEquals(0, other.getSkippedTasks());
+        assertEquals(0, other.getResyncs());
+        assertTrue(TabDormancy.all().contains(dormancy));
+        assertTrue(TabDormancy.all().contains(other));
+    }
+
+    @Test
+    void visibleTabDoesNotDefer() {
+        assertFalse(dormancy.deferIfDormant("ticker", () -> {
+        }));
+        assertEquals(0, dormancy.getSkippedTasks());
+    }
+
+    @Test
+    void deferredTasksRunOnceWithLatestPerKey() {
+        List<String> runs = new ArrayList<>();
+        dormancy.setVisible(false);
+
+        assertTrue(
+                dormancy.deferIfDormant("ticker", () -> runs.add("tick 1")));
+        assertTrue(
+                dormancy.deferIfDormant("ticker", () -> runs.add("tick 2")));
+        assertTrue(dormancy.deferIfDormant("dashboard",
+                () -> runs.add("dashboard")));
+        assertTrue(runs.isEmpty());
+        assertEquals(3, dormancy.getSkippedTasks());
+        assertEquals(1, dormancy.getDroppedTasks());
+
+        dormancy.setVisible(true);
+        assertEquals(List.of("tick 2", "dashboard"), runs);
+        assertEquals(1, dormancy.getResyncs());
+
+        // Repeated visible reports do not resync again
+        dormancy.setVisible(true);
+        assertEquals(1, dormancy.getResyncs());
+        assertEquals(2, runs.size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.signals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimedSignalsTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(100);
+
+    private final List<Integer> updates = new CopyOnWriteArrayList<>();
+
+    @Test
+    void firstValueIsTakenImmediately() {
+        TimedSignals.Throttle<Integer> throttle = new TimedSignals.Throttle<>(
+                INTERVAL, updates::add);
+
+        throttle.offer(1, Runnable::run);
+
+        assertEquals(List.of(1), updates);
+        assertFalse(throttle.isPending());
+    }
+
+    @Test
+    void valuesWithinIntervalAreMergedIntoLatest()
+            throws InterruptedException {
+        CountDownLatch trailing = new CountDownLatch(1);
+        TimedSignals.Throttle<Integer> throttle = new TimedSignals.Throttle<>(
+                INTERVAL, value -> {
+                    updates.add(value);
+                    if (updates.size() == 2) {
+                        trailing.countDown();
+                    }
+                });
+        long start = System.nanoTime();
+
+        throttle.offer(1, Runnable::run);
+        throttle.offer(2, Runnable::run);
+        throttle.offer(3, Runnable::run);
+        assertEquals(List.of(1), updates);
+        assertTrue(throttle.isPending());
+
+        assertTrue(trailing.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= INTERVAL.toNanos());
+        assertEquals(List.of(1, 3), updates);
+        assertFalse(throttle.isPending());
+    }
+
+    @Test
+    void cancelledTrailingUpdateDoesNotRun() throws InterruptedException {
+        TimedSignals.Throttle<Integer> throttle = new TimedSignals.Throttle<>(
+                INTERVAL, updates::add);
+        CountDownLatch laterRan = new CountDownLatch(1);
+
+        throttle.offer(1, Runnable::run);
+        throttle.offer(2, Runnable::run);
+        throttle.cancel();
+        SignalTimers.schedule(INTERVAL.multipliedBy(2), laterRan::countDown);
+
+        assertTrue(laterRan.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1), updates);
+        assertFalse(throttle.isPending());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.signals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.server.Command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UiBacklogTest {
+
+    private final List<Command> queued = new ArrayList<>();
+    private final long[] now = { 0 };
+    private UiBacklog backlog;
+
+    @BeforeEach
+    void setUp() {
+        backlog = new UiBacklog(queued::add, () -> now[0], () -> 0);
+    }
+
+    private void advanceMillis(long millis) {
+        now[0] += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private void runQueued() {
+        List<Command> commands = new ArrayList<>(queued);
+        queued.clear();
+        commands.forEach(Command::execute);
+    }
+
+    @Test
+    void laterUpdateReplacesQueuedOne() {
+        List<String> delivered = new ArrayList<>();
+        backlog.submit("ticker", () -> delivered.add("1"));
+        backlog.submit("ticker", () -> delivered.add("2"));
+        backlog.submit("ticker", () -> delivered.add("3"));
+
+        assertEquals(1, queued.size());
+        assertEquals(1, backlog.getQueuedTasks());
+
+        runQueued();
+        assertEquals(List.of("3"), delivered);
+        assertEquals(2, backlog.getSupersededTasks());
+        assertEquals(1, backlog.getExecutedTasks());
+        assertEquals(0, backlog.getQueuedTasks());
+    }
+
+    @Test
+    void keysAreDeliveredIndependently() {
+        List<String> delivered = new ArrayList<>();
+        backlog.submit("ticker", () -> delivered.add("ticker"));
+        backlog.submit("dashboard", () -> delivered.add("dashboard"));
+
+        runQueued();
+        assertEquals(List.of("ticker", "dashboard"), delivered);
+        assertEquals(0, backlog.getSupersededTasks());
+    }
+
+    @Test
+    void slowDeliveryEntersDegradedModeAndThinsTicks() {
+        backlog.submit("ticker", () -> {
+        });
+        advanceMillis(UiBacklog.DEGRADE_LAG_MILLIS + 500);
+        runQueued();
+
+        assertTrue(backlog.isDegraded());
+        assertEquals(1, backlog.getDegradedCount());
+
+        int delivered = 0;
+        for (int i = 0; i < 4 * UiBacklog.DEGRADED_TICK_DIVISOR; i++) {
+            if (!backlog.shouldSkipTick()) {
+                delivered++;
+            }
+        }
+        assertEquals(4, delivered);
+        assertEquals(4 * (UiBacklog.DEGRADED_TICK_DIVISOR - 1),
+                backlog.getSkippedTicks());
+    }
+
+    @Test
+    void fastDeliveryLeavesDegradedMode() {
+        backlog.submit("ticker", () -> {
+        });
+        advanceMillis(UiBacklog.DEGRADE_LAG_MILLIS + 500);
+        runQueued();
+        assertTrue(backlog.isDegraded());
+
+        backlog.submit("ticker", () -> {
+        });
+        advanceMillis(10);
+        runQueued();
+
+        assertFalse(backlog.isDegraded());
+        assertFalse(backlog.shouldSkipTick());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.usecase04;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how long a filter change takes on a generated product table,
+ * including fetching the first sorted page the grid would show.
+ * <p>
+ * The table has one million rows by default, set the system property
+ * {@code product.benchmark.rows} to use another size, for example five
+ * million. Run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ProductTableBenchmarkTest {
+
+    private static final int ROWS = Integer
+            .getInteger("product.benchmark.rows", 1_000_000);
+    private static final long MAX_MILLIS = 100;
+
+    private static final String[] ADJECTIVES = { "Red", "Blue", "Smart",
+            "Classic", "Pro", "Mini", "Ultra", "Eco" };
+    private static final String[] NOUNS = { "Laptop", "Mouse", "Keyboard",
+            "Jacket", "Jeans", "Novel", "Hose", "Pot", "Lamp", "Chair" };
+    private static final String[] CATEGORIES = { "Electronics", "Clothing",
+            "Books", "Home & Garden" };
+
+    private record Filter(@Nullable String category, String search,
+            boolean inStockOnly) {
+    }
+
+    @Test
+    void filterChangesStayWellUnderBudget(TestReporter reporter) {
+        ProductTable table = generate();
+        Filter[] filters = { new Filter(null, "", false),
+                new Filter("Books", "", true), new Filter(null, "lap", false),
+                new Filter("Clothing", "smart lamp 12", true),
+                new Filter(null, "p10012", false),
+                new Filter("Electronics", "a", true) };
+
+        // Warm up, also computes the price sort order once
+        for (Filter filter : filters) {
+            apply(table, filter);
+        }
+
+        for (Filter filter : filters) {
+            long start = System.nanoTime();
+            int matches = apply(table, filter);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            reporter.publishEntry(filter.toString(),
+                    matches + " rows in " + millis + " ms");
+            assertTrue(millis < MAX_MILLIS, filter + " took " + millis
+                    + " ms");
+        }
+    }
+
+    private static int apply(ProductTable table, Filter filter) {
+        BitSet rows = table.filter(filter.category(), filter.search(),
+                filter.inStockOnly());
+        table.fetch(rows, ProductTable.Column.PRICE, true, 0, 50).toList();
+        return rows.cardinality();
+    }
+
+    private static ProductTable generate() {
+        Random random = new Random(42);
+        ProductTable.Builder builder = ProductTable.builder();
+        for (int i = 0; i < ROWS; i++) {
+            builder.add("P" + (10_000_000 + i), ADJECTIVES[random
+                    .nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " "
+                    + random.nextInt(1000),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    random.nextInt(100_000) / 100.0, random.nextInt(20) - 2);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.usecase04;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductTableTest {
+
+    private final ProductTable table = ProductTable.of(List.of(
+            new Product("P001", "Laptop", "Electronics", 999.99, 15),
+            new Product("P002", "T-Shirt", "Clothing", 19.99, 50),
+            new Product("P003", "Java Programming Book", "Books", 49.99, 0),
+            new Product("P004", "Laptop", "Electronics", 899.99, 0),
+            new Product("P005", "Wireless Mouse", "Electronics", 25.99, 8),
+            new Product("Q006", "Jeans", "Clothing", 59.99, 20)));
+
+    private List<String> ids(BitSet rows, ProductTable.Column sort,
+            boolean descending) {
+        return table.fetch(rows, sort, descending, 0, 10).map(Product::id)
+                .toList();
+    }
+
+    @Test
+    void filtersCombineCategoryStockAndSearch() {
+        assertEquals(6, table.filter(null, "", false).cardinality());
+        assertEquals(3, table.filter("Electronics", "", false).cardinality());
+        assertEquals(2, table.filter("Electronics", "", true).cardinality());
+        assertEquals(1, table.filter("Electronics", "LAP", true)
+                .cardinality());
+        assertEquals(0, table.filter("Garden", "", false).cardinality());
+    }
+
+    @Test
+    void searchMatchesNameAndIdSubstrings() {
+        assertEquals(2, table.filter(null, "aptop", false).cardinality());
+        assertEquals(4, table.filter(null, "o", false).cardinality());
+        assertEquals(5, table.filter(null, "p00", false).cardinality());
+        assertEquals(1, table.filter(null, "q", false).cardinality());
+        assertEquals(1, table.filter(null, "006", false).cardinality());
+        assertEquals(4, table.filter(null, "00", true).cardinality());
+        assertEquals(1, table.filter("Clothing", "6", false)
+                .cardinality());
+    }
+
+    @Test
+    void fetchSortsOnTheServer() {
+        BitSet all = table.filter(null, "", false);
+
+        assertEquals(List.of("P002", "P005", "P003", "Q006", "P004", "P001"),
+                ids(all, ProductTable.Column.PRICE, false));
+        assertEquals(List.of("P002", "Q006", "P001", "P005", "P004", "P003"),
+                ids(all, ProductTable.Column.STOCK, true));
+        assertEquals(List.of("P003", "Q006", "P001", "P004", "P002", "P005"),
+                ids(all, ProductTable.Column.NAME, false));
+        assertEquals(List.of("P001", "P004", "P005"),
+                ids(table.filter("Electronics", "", false),
+                        ProductTable.Column.ID, false));
+    }
+
+    @Test
+    void fetchReturnsRequestedWindow() {
+        BitSet all = table.filter(null, "", false);
+
+        assertEquals(List.of("P003", "P004"), table.fetch(all, null, false, 2,
+                2).map(Product::id).toList());
+        assertEquals(List.of("P002", "P005"),
+                table.fetch(all, ProductTable.Column.PRICE, false, 0, 2)
+                        .map(Product::id).toList());
+        assertEquals(new Product("P005", "Wireless Mouse", "Electronics",
+                25.99, 8), table.get(4));
+        assertEquals(List.of("Electronics", "Clothing", "Books"),
+                table.getCategories());
+    }
+}
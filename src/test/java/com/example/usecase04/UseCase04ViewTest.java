@@ -1,5 +1,8 @@
 package com.example.usecase04;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -9,6 +12,7 @@ import com.vaadin.browserless.ViewPackages;
 import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridSortOrder;
 import com.vaadin.flow.component.textfield.TextField;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -116,4 +120,28 @@ class UseCase04ViewTest extends SpringBrowserlessTest {
         assertEquals(10,
                 test((Grid<Product>) $view(Grid.class).single()).size());
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void exportStreamsFilteredAndSortedRows() {
+        UseCase04View view = navigate(UseCase04View.class);
+        runPendingSignalsTasks();
+
+        ComboBox<String> categoryFilter = $view(ComboBox.class).single();
+        test(categoryFilter).selectItem("Electronics");
+        Grid<Product> grid = $view(Grid.class).single();
+        grid.sort(GridSortOrder.desc(grid.getColumnByKey("price")).build());
+        runPendingSignalsTasks();
+
+        Stream<Product> exported = view.exportRows();
+        List<Product> shown = grid.getGenericDataView().getItems().toList();
+
+        // The export is not affected by changes made while it is written
+        test(categoryFilter).selectItem("Books");
+        runPendingSignalsTasks();
+
+        assertEquals(shown, exported.toList());
+        assertEquals(List.of("P001", "P009", "P005"),
+                shown.stream().map(Product::id).toList());
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.usecase05;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocationIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private LocationIndex sample() throws IOException {
+        LocationIndex.Builder builder = LocationIndex.builder();
+        LocationService.read(new BufferedReader(new StringReader("""
+                # comment
+                United States\tTexas\tHouston
+                United States\tTexas\tAustin
+                United States\tCalifornia\tSan Diego
+                United States\tCalifornia\tsan Jose
+                United States\tCalifornia\tSan Francisco
+                United States\tCalifornia\tSacramento
+                Germany\tBerlin
+                Canada
+                """)), builder);
+        Path file = directory.resolve("locations.idx");
+        builder.write(file);
+        return LocationIndex.open(file);
+    }
+
+    @Test
+    void childrenAreSortedIgnoringCase() throws IOException {
+        LocationIndex index = sample();
+
+        assertEquals(List.of("Canada", "Germany", "United States"),
+                names(index, LocationIndex.ROOT, ""));
+        int us = index.find(LocationIndex.ROOT, "United States");
+        assertEquals(List.of("California", "Texas"), names(index, us, ""));
+        int california = index.find(us, "California");
+        assertEquals(us, index.getParent(california));
+        assertEquals(List.of("Sacramento", "San Diego", "San Francisco",
+                "san Jose"), names(index, california, ""));
+        assertEquals(12, index.size());
+    }
+
+    @Test
+    void findReturnsNoneForMissingLocations() throws IOException {
+        LocationIndex index = sample();
+
+        int canada = index.find(LocationIndex.ROOT, "Canada");
+        assertEquals(0, index.getChildCount(canada));
+        assertEquals(LocationIndex.NONE, index.find(canada, "Ontario"));
+        assertEquals(LocationIndex.NONE,
+                index.find(LocationIndex.ROOT, "canada"));
+        assertEquals(LocationIndex.NONE, index.find(LocationIndex.ROOT, null));
+        assertEquals(0, index.getChildCount(LocationIndex.NONE));
+        assertEquals(List.of(), names(index, LocationIndex.NONE, ""));
+    }
+
+    @Test
+    void prefixFilterIgnoresCaseAndPages() throws IOException {
+        LocationIndex index = sample();
+        int california = index.find(
+                index.find(LocationIndex.ROOT, "United States"), "California");
+
+        assertEquals(3, index.countChildren(california, "SAN"));
+        assertEquals(List.of("San Francisco", "san Jose"),
+                index.getChildren(california, "san", 1, 10).toList());
+        assertEquals(List.of("San Diego"),
+                index.getChildren(california, "san", 0, 1).toList());
+        assertEquals(0, index.countChildren(california, "x"));
+        assertEquals(1, index.countChildren(california, "San Jose"));
+        assertEquals(0, index.countChildren(california, "San Josef"));
+    }
+
+    @Test
+    void prefetchLoadsAllDescendants() throws IOException {
+        LocationIndex index = sample();
+
+        assertEquals(8, index.prefetch(
+                index.find(LocationIndex.ROOT, "United States")));
+        assertEquals(1,
+                index.prefetch(index.find(LocationIndex.ROOT, "Germany")));
+        assertEquals(12, index.prefetch(LocationIndex.ROOT));
+    }
+
+    @Test
+    void largeIndexAnswersFromTheMappedFile() {
+        LocationIndex.Builder builder = LocationIndex.builder();
+        for (int city = 0; city < 300_000; city++) {
+            builder.add("Country " + city % 200, "State " + city % 3000,
+                    "City " + city);
+        }
+        Path file = directory.resolve("large.idx");
+        builder.write(file);
+        LocationIndex index = LocationIndex.open(file);
+
+        assertEquals(200, index.getChildCount(LocationIndex.ROOT));
+        int country = index.find(LocationIndex.ROOT, "Country 7");
+        assertEquals(15, index.getChildCount(country));
+        int state = index.find(country, "State 7");
+        assertEquals(100, index.getChildCount(state));
+        assertEquals(36, index.countChildren(state, "city 1"));
+        assertEquals(List.of("City 102007", "City 105007"),
+                index.getChildren(state, "City 10", 0, 2).toList());
+    }
+
+    private static List<String> names(LocationIndex index, int parent,
+            String prefix) {
+        return index.getChildren(parent, prefix, 0, Integer.MAX_VALUE)
+                .toList();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.usecase10;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiskUploadHandlerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void transferWritesFileAndChecksum() throws Exception {
+        byte[] data = new byte[3 * DiskUploadHandler.BUFFER_SIZE + 123];
+        new Random(42).nextBytes(data);
+        Path file = directory.resolve("upload.tmp");
+        List<Long> progress = new ArrayList<>();
+
+        DiskUploadHandler.Result result = DiskUploadHandler.transfer(
+                "data.bin", new ByteArrayInputStream(data), file,
+                progress::add);
+
+        assertEquals("data.bin", result.fileName());
+        assertEquals(data.length, result.size());
+        assertArrayEquals(data, Files.readAllBytes(file));
+        assertEquals(HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(data)),
+                result.sha256());
+        assertEquals(List.of((long) DiskUploadHandler.BUFFER_SIZE,
+                2L * DiskUploadHandler.BUFFER_SIZE,
+                3L * DiskUploadHandler.BUFFER_SIZE, (long) data.length),
+                progress);
+    }
+
+    @Test
+    void transferOfEmptyUpload() throws Exception {
+        Path file = directory.resolve("empty.tmp");
+
+        DiskUploadHandler.Result result = DiskUploadHandler.transfer(
+                "empty.txt", InputStream.nullInputStream(), file, bytes -> {
+                });
+
+        assertEquals(0, result.size());
+        assertEquals(0, Files.size(file));
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                result.sha256());
+    }
+
+    @Test
+    void throttleLetsThroughOncePerInterval() {
+        long[] now = { 1_000 };
+        DiskUploadHandler.Throttle throttle = new DiskUploadHandler.Throttle(
+                Duration.ofNanos(100), () -> now[0]);
+
+        assertTrue(throttle.tryAcquire());
+        assertFalse(throttle.tryAcquire());
+        now[0] += 99;
+        assertFalse(throttle.tryAcquire());
+        now[0] += 1;
+        assertTrue(throttle.tryAcquire());
+        now[0] += 1_000;
+        assertTrue(throttle.tryAcquire());
+        assertFalse(throttle.tryAcquire());
+    }
+
+    /**
+     * Streams a large generated upload to disk and checks that throughput
+     * does not drop as the file grows. The size is 1 GB by default, set the
+     * system property {@code upload.benchmark.bytes} to change it. Run it
+     * with {@code mvn test -Pbenchmark}.
+     */
+    @Tag("benchmark")
+    @Test
+    void throughputStaysSteadyForLargeUploads(TestReporter reporter)
+            throws IOException, NoSuchAlgorithmException {
+        long bytes = Long.getLong("upload.benchmark.bytes", 1L << 30);
+        long segment = bytes / 8;
+        List<Double> rates = new ArrayList<>();
+        long[] segmentStart = { System.nanoTime(), 0 };
+        Path file = directory.resolve("large.tmp");
+
+        long start = System.nanoTime();
+        DiskUploadHandler.Result result = DiskUploadHandler.transfer(
+                "large.bin", new GeneratedInputStream(bytes), file,
+                transferred -> {
+                    if (transferred - segmentStart[1] >= segment) {
+                        long now = System.nanoTime();
+                        rates.add((transferred - segmentStart[1]) * 1e3
+                                / (now - segmentStart[0]));
+                        segmentStart[0] = now;
+                        segmentStart[1] = transferred;
+                    }
+                });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        Files.delete(file);
+
+        reporter.publishEntry((bytes >> 20) + " MB in " + millis + " ms",
+                "MB/s per segment: " + rates.stream()
+                        .map(rate -> String.format("%.0f", rate)).toList());
+        assertEquals(bytes, result.size());
+        double first = rates.subList(0, rates.size() / 2).stream()
+                .mapToDouble(Double::doubleValue).average().orElseThrow();
+        double last = rates.subList(rates.size() / 2, rates.size()).stream()
+                .mapToDouble(Double::doubleValue).average().orElseThrow();
+        assertTrue(last > first / 4, "Throughput dropped from " + first
+                + " to " + last + " MB/s");
+    }
+
+    /**
+     * A stream of pseudo-random bytes that is never held in memory.
+     */
+    private static final class GeneratedInputStream extends InputStream {
+        private final long length;
+        private long position;
+
+        GeneratedInputStream(long length) {
+            this.length = length;
+        }
+
+        @Override
+        public int read() {
+            if (position == length) {
+                return -1;
+            }
+            return (int) (position++ * 31 >>> 3) & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position == length) {
+                return -1;
+            }
+            int count = (int) Math.min(len, length - position);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte) (position++ * 31 >>> 3);
+            }
+            return count;
+        }
+    }
+}
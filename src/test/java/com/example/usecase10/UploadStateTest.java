@@ -41,20 +41,22 @@ class UploadStateTest {
 
     @Test
     void succeededLabelShowsFileNameAndSizeInBytes() {
-        UploadState state = new UploadState.Succeeded("tiny.txt", 512);
+        UploadState state = new UploadState.Succeeded("tiny.txt", 512,
+                "e3b0c442");
         assertEquals("Succeeded — tiny.txt (512 B)", state.label());
     }
 
     @Test
     void succeededLabelShowsKilobytes() {
-        UploadState state = new UploadState.Succeeded("doc.pdf", 5120);
+        UploadState state = new UploadState.Succeeded("doc.pdf", 5120,
+                "e3b0c442");
         assertEquals("Succeeded — doc.pdf (5.0 KB)", state.label());
     }
 
     @Test
     void succeededLabelShowsMegabytes() {
         UploadState state = new UploadState.Succeeded("video.mp4",
-                3 * 1024 * 1024);
+                3 * 1024 * 1024, "e3b0c442");
         assertEquals("Succeeded — video.mp4 (3.0 MB)", state.label());
     }
 
@@ -1,5 +1,7 @@
 package com.example.usecase15;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -53,6 +55,38 @@ class UseCase15ViewTest extends SpringBrowserlessTest {
                         && s.getText().contains("\"laptop\"")));
     }
 
+    @Test
+    void debouncedQueryFollowsOnceTypingStops() throws InterruptedException {
+        navigate(UseCase15View.class);
+        runPendingSignalsTasks();
+
+        TextField searchField = $view(TextField.class).all().stream()
+                .filter(f -> "Search Products".equals(f.getLabel())).findFirst()
+                .orElseThrow();
+        test(searchField).setValue("lap");
+        runPendingSignalsTasks();
+        test(searchField).setValue("laptop");
+        runPendingSignalsTasks();
+
+        // Only the instant value shows the query until the delay has passed
+        assertEquals(1, countSpans("\"laptop\""));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countSpans("\"laptop\"") < 2
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            runPendingSignalsTasks();
+        }
+        assertEquals(2, countSpans("\"laptop\""));
+        // The intermediate query was never taken
+        assertEquals(0, countSpans("\"lap\""));
+    }
+
+    private long countSpans(String text) {
+        return $view(Span.class).all().stream()
+                .filter(s -> text.equals(s.getText())).count();
+    }
+
     @Test
     void keystrokeCounterIncrements() {
         navigate(UseCase15View.class);
@@ -0,0 +1,51 @@
+package com.example.usecase18;
+
+import com.example.LazyItemsBinding;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import com.vaadin.browserless.SpringBrowserlessTest;
+import com.vaadin.browserless.ViewPackages;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ViewPackages(classes = UseCase18View.class)
+@WithMockUser
+class UseCase18ViewTest extends SpringBrowserlessTest {
+
+    @Test
+    void statusChangeRefreshesOneRow() {
+        UseCase18View view = navigate(UseCase18View.class);
+        runPendingSignalsTasks();
+        LazyItemsBinding<Task> taskItems = view.getTaskItems();
+        long fullRefreshes = taskItems.getFullRefreshCount();
+
+        view.tasksSignal.get().get(1)
+                .update(task -> task.withStatus(Task.TaskStatus.DONE));
+        runPendingSignalsTasks();
+
+        assertFalse(taskItems.isLastChangeStructural());
+        assertEquals(1, taskItems.getLastRefreshedItems());
+        assertEquals(1, taskItems.getRefreshedItemCount());
+        assertEquals(fullRefreshes, taskItems.getFullRefreshCount());
+    }
+
+    @Test
+    void insertRefreshesStructurally() {
+        UseCase18View view = navigate(UseCase18View.class);
+        runPendingSignalsTasks();
+        LazyItemsBinding<Task> taskItems = view.getTaskItems();
+        long fullRefreshes = taskItems.getFullRefreshCount();
+
+        view.tasksSignal.insertLast(Task.create("Plan sprint", "Next sprint"));
+        runPendingSignalsTasks();
+
+        assertTrue(taskItems.isLastChangeStructural());
+        assertEquals(fullRefreshes + 1, taskItems.getFullRefreshCount());
+        assertEquals(0, taskItems.getRefreshedItemCount());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.usecase23;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricsArchiveTest {
+
+    private static final List<MetricsArchive.Tier> TIERS = List.of(
+            new MetricsArchive.Tier("raw", Duration.ofSeconds(1), 10),
+            new MetricsArchive.Tier("minutes", Duration.ofMinutes(1), 5));
+
+    private final MetricsArchive archive = new MetricsArchive(
+            List.of("a", "b"), TIERS, null);
+
+    @Test
+    void samplesInOneStepAreConsolidated() {
+        archive.record(1_000, new double[] { 1, 10 });
+        archive.record(1_500, new double[] { 3, 30 });
+        archive.record(2_000, new double[] { 5, 50 });
+
+        List<MetricsArchive.Row> rows = archive
+                .fetch(Duration.ofSeconds(10), 2_000);
+
+        assertEquals(2, rows.size());
+        MetricsArchive.Row first = rows.get(0);
+        assertEquals(1_000, first.time());
+        assertArrayEquals(new double[] { 1, 10 }, first.min());
+        assertArrayEquals(new double[] { 2, 20 }, first.avg());
+        assertArrayEquals(new double[] { 3, 30 }, first.max());
+        assertArrayEquals(new double[] { 5, 50 }, rows.get(1).avg());
+    }
+
+    @Test
+    void longerRangesUseCoarserTier() {
+        for (int second = 0; second < 120; second++) {
+            archive.record(second * 1_000L, new double[] { second, 0 });
+        }
+
+        List<MetricsArchive.Row> rows = archive
+                .fetch(Duration.ofMinutes(5), 119_000);
+
+        assertEquals(2, rows.size());
+        assertArrayEquals(new double[] { 0, 0 }, rows.get(0).min());
+        assertArrayEquals(new double[] { 29.5, 0 }, rows.get(0).avg());
+        assertArrayEquals(new double[] { 119, 0 }, rows.get(1).max());
+    }
+
+    @Test
+    void oldStepsAreOverwritten() {
+        for (int second = 0; second < 25; second++) {
+            archive.record(second * 1_000L, new double[] { second, 0 });
+        }
+
+        List<MetricsArchive.Row> rows = archive
+                .fetch(Duration.ofSeconds(10), 24_000);
+
+        assertEquals(10, rows.size());
+        assertEquals(15_000, rows.get(0).time());
+        assertEquals(24, rows.get(9).max()[0]);
+    }
+
+    @Test
+    void mappedArchiveSurvivesReopening(@TempDir Path directory) {
+        MetricsArchive mapped = new MetricsArchive(List.of("a", "b"), TIERS,
+                directory);
+        mapped.record(1_000, new double[] { 4, 8 });
+        mapped.flush();
+
+        MetricsArchive reopened = new MetricsArchive(List.of("a", "b"),
+                TIERS, directory);
+        List<MetricsArchive.Row> rows = reopened
+                .fetch(Duration.ofSeconds(10), 1_000);
+
+        assertEquals(1, rows.size());
+        assertArrayEquals(new double[] { 4, 8 }, rows.get(0).avg());
+
+        MetricsArchive resized = new MetricsArchive(List.of("a"), TIERS,
+                directory);
+        assertEquals(0, resized.fetch(Duration.ofSeconds(10), 1_000).size());
+    }
+
+    @Test
+    void rejectsSampleWithWrongNumberOfValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> archive.record(0, new double[] { 1 }));
+    }
+}
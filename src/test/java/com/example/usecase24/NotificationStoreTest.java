@@ -0,0 +1,83 @@
+package com.example.usecase24;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationStoreTest {
+
+    private static Notification notification(String id,
+            NotificationType type, boolean read) {
+        return new Notification(id, id, id, type, read, LocalDateTime.now());
+    }
+
+    @Test
+    void selectIntersectsTypeAndReadIndexes() {
+        NotificationStore store = new NotificationStore();
+        store.add(notification("a", NotificationType.INFO, false));
+        store.add(notification("b", NotificationType.ERROR, false));
+        store.add(notification("c", NotificationType.INFO, true));
+        store.add(notification("d", NotificationType.ERROR, true));
+
+        assertEquals(4, store.select(null, null).size());
+        assertEquals(2, store.select(NotificationType.INFO, null).size());
+        assertEquals(1, store.select(NotificationType.ERROR, false).size());
+        assertEquals(2, store.select(null, true).size());
+        assertEquals(0, store.select(NotificationType.SUCCESS, null).size());
+        assertEquals(2, store.unreadCount());
+    }
+
+    @Test
+    void fetchReturnsNewestFirstWindow() {
+        NotificationStore store = new NotificationStore();
+        for (int i = 0; i < 200; i++) {
+            store.add(notification("n" + i, NotificationType.INFO, false));
+        }
+
+        List<Notification> window = store.select(null, null).fetch(70, 3);
+        assertEquals(List.of("n129", "n128", "n127"),
+                window.stream().map(Notification::id).toList());
+        assertTrue(store.select(null, null).fetch(200, 10).isEmpty());
+        assertEquals(5, store.select(null, null).fetch(195, 10).size());
+    }
+
+    @Test
+    void setReadAndRemoveUpdateCounts() {
+        NotificationStore store = new NotificationStore();
+        store.add(notification("a", NotificationType.INFO, false));
+        store.add(notification("b", NotificationType.WARNING, false));
+
+        assertTrue(store.setRead("a", true));
+        assertFalse(store.setRead("a", true));
+        assertEquals(1, store.unreadCount());
+        assertEquals("a", store.select(null, true).fetch(0, 10).get(0).id());
+
+        assertTrue(store.remove("b"));
+        assertFalse(store.remove("b"));
+        assertEquals(1, store.size());
+        assertEquals(0, store.unreadCount());
+        assertEquals(0, store.select(NotificationType.WARNING, null).size());
+    }
+
+    @Test
+    void markAllReadAndClear() {
+        NotificationStore store = new NotificationStore();
+        store.add(notification("a", NotificationType.INFO, false));
+        store.add(notification("b", NotificationType.ERROR, false));
+
+        assertTrue(store.markAllRead());
+        assertEquals(0, store.unreadCount());
+        assertEquals(2, store.select(null, true).size());
+        assertTrue(store.select(null, true).fetch(0, 2).stream()
+                .allMatch(Notification::read));
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.select(null, null).size());
+    }
+}
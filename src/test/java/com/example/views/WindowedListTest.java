@@ -0,0 +1,114 @@
+package com.example.views;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.signals.Signal;
+import com.vaadin.flow.signals.local.ValueSignal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WindowedListTest {
+
+    private static final int ITEM_HEIGHT = 50;
+    private static final int GAP = 10;
+    private static final int BUFFER = 5;
+
+    private final List<String> items = IntStream.range(0, 1000)
+            .mapToObj(i -> "Item " + i).toList();
+    private final Map<Component, Signal<String>> slots = new IdentityHashMap<>();
+    private WindowedList<String> list;
+
+    @BeforeEach
+    void setUp() {
+        list = new WindowedList<>(new ValueSignal<>(items), ITEM_HEIGHT, 10,
+                BUFFER, slot -> {
+                    Span span = new Span();
+                    slots.put(span, slot);
+                    return span;
+                });
+        list.setItemGap(GAP);
+    }
+
+    private List<String> shown() {
+        return list.getItemContainer().getChildren()
+                .map(child -> slots.get(child).peek()).toList();
+    }
+
+    private String padding(String side) {
+        return list.getItemContainer().getStyle().get("padding-" + side);
+    }
+
+    @Test
+    void windowCoversVisibleItemsAndBuffer() {
+        list.layout(items, new WindowedList.Viewport(100, 10));
+
+        assertEquals(items.subList(95, 115), shown());
+        assertEquals(20, list.getMaterializedCount());
+    }
+
+    @Test
+    void paddingStandsInForItemsAndGapsOutsideWindow() {
+        list.layout(items, new WindowedList.Viewport(100, 10));
+
+        assertEquals(95 * (ITEM_HEIGHT + GAP) + "px", padding("top"));
+        assertEquals(885 * (ITEM_HEIGHT + GAP) + "px", padding("bottom"));
+    }
+
+    @Test
+    void windowIsClampedAtListStart() {
+        list.layout(items, new WindowedList.Viewport(0, 10));
+
+        assertEquals(items.subList(0, 15), shown());
+        assertEquals("0px", padding("top"));
+    }
+
+    @Test
+    void scrollingReusesChildren() {
+        list.layout(items, new WindowedList.Viewport(0, 10));
+        assertEquals(15, list.getCreatedCount());
+
+        // Far away: every child is recycled, only the extra ones are created
+        list.layout(items, new WindowedList.Viewport(100, 10));
+        assertEquals(20, list.getCreatedCount());
+        Component kept = list.getItemContainer().getComponentAt(3);
+
+        // A short scroll keeps the children of indexes still in the window
+        list.layout(items, new WindowedList.Viewport(103, 10));
+        assertEquals(20, list.getCreatedCount());
+        assertEquals(items.subList(98, 118), shown());
+        assertSame(kept, list.getItemContainer().getComponentAt(0));
+    }
+
+    @Test
+    void repeatedElementsGetOneChildEach() {
+        List<String> repeated = List.of("a", "a", "b", "a");
+        list.layout(repeated, new WindowedList.Viewport(0, 10));
+
+        assertEquals(repeated, shown());
+        assertEquals(4, list.getCreatedCount());
+
+        list.layout(List.of("a", "a"), new WindowedList.Viewport(0, 10));
+        assertEquals(List.of("a", "a"), shown());
+        assertEquals(2, list.getPooledCount());
+    }
+
+    @Test
+    void contentPaddingIsAddedAroundWindow() {
+        list.setContentPadding(16);
+        list.layout(items, new WindowedList.Viewport(100, 10));
+
+        assertEquals(95 * (ITEM_HEIGHT + GAP) + 16 + "px", padding("top"));
+        assertEquals(885 * (ITEM_HEIGHT + GAP) + 16 + "px",
+                padding("bottom"));
+        assertEquals("16px", padding("left"));
+    }
+}